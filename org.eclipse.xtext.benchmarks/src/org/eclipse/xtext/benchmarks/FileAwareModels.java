@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.eclipse.xtext.testlanguages.fileAware.FileAwareTestLanguageStandaloneSetup;
+
+import com.google.inject.Injector;
+
+/**
+ * Generates synthetic models of the FileAwareTestLanguage. File <code>i</code> declares the package
+ * <code>pack&lt;i&gt;</code> with nested elements, and its elements reference elements of the same file and of the
+ * previous files.
+ */
+public class FileAwareModels {
+
+	public static final String FILE_EXTENSION = "fileawaretestlanguage";
+
+	private static Injector injector;
+
+	public static synchronized Injector getInjector() {
+		if (injector == null) {
+			injector = new FileAwareTestLanguageStandaloneSetup().createInjectorAndDoEMFRegistration();
+		}
+		return injector;
+	}
+
+	/**
+	 * Returns the contents of the file with the given index.
+	 *
+	 * @param elementCount
+	 *            the number of top level elements, each of them has two children.
+	 */
+	public static String getModel(int fileIndex, int elementCount) {
+		StringBuilder result = new StringBuilder();
+		result.append("package pack").append(fileIndex).append("\n\n");
+		if (fileIndex > 0) {
+			result.append("import pack").append(fileIndex - 1).append(".element0\n\n");
+		}
+		for (int i = 0; i < elementCount; i++) {
+			result.append("element element").append(i).append(" {\n");
+			result.append("\telement child").append(i).append("a {\n");
+			if (i > 0) {
+				result.append("\t\tref element").append(i - 1).append(".child").append(i - 1).append("b\n");
+			}
+			result.append("\t}\n");
+			result.append("\telement child").append(i).append("b {\n");
+			result.append("\t\tref element").append(i).append(".child").append(i).append("a\n");
+			if (fileIndex > 0) {
+				result.append("\t\tref pack").append(fileIndex - 1).append(".element").append(i).append("\n");
+				result.append("\t\tref element0\n");
+			}
+			result.append("\t}\n");
+			result.append("}\n");
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Returns the URI of the file with the given index in the in-memory file system.
+	 */
+	public static URI getURI(int fileIndex) {
+		return URI.createURI(InMemoryURIHandler.SCHEME + ":/src/pack" + fileIndex + "/File" + fileIndex + "."
+				+ FILE_EXTENSION);
+	}
+
+	/**
+	 * Writes a workspace with the given number of files into the handler and returns their URIs.
+	 */
+	public static List<URI> createWorkspace(InMemoryURIHandler handler, int fileCount, int elementCount)
+			throws IOException {
+		List<URI> result = new ArrayList<URI>(fileCount);
+		for (int i = 0; i < fileCount; i++) {
+			URI uri = getURI(i);
+			try (OutputStream out = handler.createOutputStream(uri, Collections.emptyMap())) {
+				out.write(getModel(i, elementCount).getBytes(StandardCharsets.UTF_8));
+			}
+			result.add(uri);
+		}
+		return result;
+	}
+
+	/**
+	 * Creates an empty resource set that reads its resources from the given handler.
+	 */
+	public static XtextResourceSet createResourceSet(InMemoryURIHandler handler) {
+		XtextResourceSet result = getInjector().getInstance(XtextResourceSet.class);
+		result.getURIConverter().getURIHandlers().add(0, handler);
+		return result;
+	}
+
+	private FileAwareModels() {
+	}
+}
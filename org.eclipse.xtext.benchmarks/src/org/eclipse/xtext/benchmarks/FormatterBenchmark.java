@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.xtext.formatting2.FormatterRequest;
+import org.eclipse.xtext.formatting2.IFormatter2;
+import org.eclipse.xtext.formatting2.regionaccess.ITextReplacement;
+import org.eclipse.xtext.formatting2.regionaccess.TextRegionAccessBuilder;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.inject.Provider;
+
+/**
+ * Measures formatting a whole model with the {@link IFormatter2} of the language, including the creation of the
+ * text region access from the node model and of the {@link org.eclipse.xtext.formatting2.IFormattableDocument
+ * IFormattableDocument}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatterBenchmark {
+
+	@Param({ "100", "1000" })
+	public int elementCount;
+
+	private XtextResource resource;
+
+	private Provider<IFormatter2> formatterProvider;
+
+	private Provider<FormatterRequest> requestProvider;
+
+	private Provider<TextRegionAccessBuilder> regionAccessBuilderProvider;
+
+	@Setup
+	public void setUp() throws IOException {
+		InMemoryURIHandler handler = new InMemoryURIHandler();
+		FileAwareModels.createWorkspace(handler, 1, elementCount);
+		resource = (XtextResource) FileAwareModels.createResourceSet(handler).getResource(FileAwareModels.getURI(0),
+				true);
+		formatterProvider = FileAwareModels.getInjector().getProvider(IFormatter2.class);
+		requestProvider = FileAwareModels.getInjector().getProvider(FormatterRequest.class);
+		regionAccessBuilderProvider = FileAwareModels.getInjector().getProvider(TextRegionAccessBuilder.class);
+	}
+
+	@Benchmark
+	public List<ITextReplacement> format() {
+		FormatterRequest request = requestProvider.get();
+		request.setTextRegionAccess(regionAccessBuilderProvider.get().forNodeModel(resource).create());
+		return formatterProvider.get().format(request);
+	}
+}
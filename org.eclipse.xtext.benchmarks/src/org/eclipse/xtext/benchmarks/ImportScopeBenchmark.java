@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.scoping.impl.ImportNormalizer;
+import org.eclipse.xtext.scoping.impl.ImportNormalizerIndex;
+import org.eclipse.xtext.scoping.impl.ImportScope;
+import org.eclipse.xtext.scoping.impl.MultimapBasedSelectable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of simple names in an {@link ImportScope} with many explicit and wildcard imports. The
+ * <code>unindexed</code> variant uses import normalizers that are not indexed by the {@link ImportNormalizerIndex}, so
+ * each lookup asks all of them as before the index was introduced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImportScopeBenchmark {
+
+	@Param({ "indexed", "unindexed" })
+	public String normalizers;
+
+	@Param({ "10", "100", "500" })
+	public int importCount;
+
+	@Param({ "10" })
+	public int wildcardCount;
+
+	@Param({ "20" })
+	public int elementCount;
+
+	private ImportNormalizerIndex index;
+
+	private MultimapBasedSelectable importFrom;
+
+	private QualifiedName[] names;
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		int packageCount = importCount + wildcardCount;
+		List<IEObjectDescription> descriptions = new ArrayList<IEObjectDescription>(packageCount * elementCount);
+		for (int i = 0; i < packageCount; i++) {
+			for (int j = 0; j < elementCount; j++) {
+				descriptions.add(EObjectDescription.create(QualifiedName.create("pack" + i, "e" + i + "x" + j),
+						EcoreFactory.eINSTANCE.createEClass()));
+			}
+		}
+		importFrom = new MultimapBasedSelectable(descriptions);
+		List<ImportNormalizer> imports = new ArrayList<ImportNormalizer>();
+		names = new QualifiedName[packageCount];
+		for (int i = 0; i < packageCount; i++) {
+			boolean wildcard = i >= importCount;
+			QualifiedName namespace = wildcard ? QualifiedName.create("pack" + i)
+					: QualifiedName.create("pack" + i, "e" + i + "x" + (i % elementCount));
+			imports.add("indexed".equals(normalizers) ? new ImportNormalizer(namespace, wildcard, false)
+					: new ImportNormalizer(namespace, wildcard, false) {
+					});
+			names[i] = QualifiedName.create("e" + i + "x" + (i % elementCount));
+		}
+		index = new ImportNormalizerIndex(imports);
+	}
+
+	@Benchmark
+	public IEObjectDescription getSingleElement() {
+		ImportScope scope = new ImportScope(index, IScope.NULLSCOPE, importFrom, EcorePackage.Literals.ECLASS, false);
+		return scope.getSingleElement(names[nextIndex()]);
+	}
+
+	private int nextIndex() {
+		int result = next;
+		next = (next + 1) % names.length;
+		return result;
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.build.BuildRequest;
+import org.eclipse.xtext.build.IncrementalBuilder;
+import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.build.Source2GeneratedMapping;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ProjectDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full build of a synthetic workspace with {@link IncrementalBuilder}, i.e. indexing, linking and
+ * validation of all files. The large workspaces need a big heap, the fork uses <code>-Xmx8g</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class IncrementalBuilderBenchmark {
+
+	private static final String PROJECT_NAME = "benchmark";
+
+	@Param({ "1000", "10000", "50000" })
+	public int fileCount;
+
+	@Param({ "10" })
+	public int elementCount;
+
+	private InMemoryURIHandler handler;
+
+	private List<URI> uris;
+
+	private IncrementalBuilder builder;
+
+	private IResourceServiceProvider.Registry languages;
+
+	@Setup
+	public void setUp() throws IOException {
+		handler = new InMemoryURIHandler();
+		uris = FileAwareModels.createWorkspace(handler, fileCount, elementCount);
+		builder = FileAwareModels.getInjector().getInstance(IncrementalBuilder.class);
+		languages = FileAwareModels.getInjector().getInstance(IResourceServiceProvider.Registry.class);
+	}
+
+	@Benchmark
+	public IncrementalBuilder.Result build() {
+		XtextResourceSet resourceSet = FileAwareModels.createResourceSet(handler);
+		ProjectDescription projectDescription = new ProjectDescription();
+		projectDescription.setName(PROJECT_NAME);
+		projectDescription.attachToEmfObject(resourceSet);
+		ResourceDescriptionsData index = new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList());
+		new ChunkedResourceDescriptions(Collections.<String, ResourceDescriptionsData>emptyMap(), resourceSet)
+				.setContainer(PROJECT_NAME, index);
+		BuildRequest request = new BuildRequest();
+		request.setBaseDir(URI.createURI(InMemoryURIHandler.SCHEME + ":/"));
+		request.setResourceSet(resourceSet);
+		request.setState(new IndexState(index, new Source2GeneratedMapping()));
+		request.setDirtyFiles(uris);
+		request.setAfterValidate((uri, issues) -> true);
+		return builder.build(request, uri -> languages.getResourceServiceProvider(uri));
+	}
+}
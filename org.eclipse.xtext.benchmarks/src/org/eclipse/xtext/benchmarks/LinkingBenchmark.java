@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution of the lazy cross references of freshly loaded resources by the
+ * {@link org.eclipse.xtext.linking.lazy.LazyLinker LazyLinker} and the scope providers, with and without
+ * {@link LazyLinkingResource#BATCH_LINKING batch linking}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkingBenchmark {
+
+	@Param({ "10", "100" })
+	public int fileCount;
+
+	@Param({ "100" })
+	public int elementCount;
+
+	@Param({ "false", "true" })
+	public boolean batchLinking;
+
+	private InMemoryURIHandler handler;
+
+	private List<URI> uris;
+
+	private XtextResourceSet resourceSet;
+
+	@Setup
+	public void createWorkspace() throws IOException {
+		handler = new InMemoryURIHandler();
+		uris = FileAwareModels.createWorkspace(handler, fileCount, elementCount);
+	}
+
+	@Setup(Level.Invocation)
+	public void loadResources() {
+		resourceSet = FileAwareModels.createResourceSet(handler);
+		for (URI uri : uris) {
+			((LazyLinkingResource) resourceSet.getResource(uri, true)).setBatchLinking(batchLinking);
+		}
+	}
+
+	@Benchmark
+	public XtextResourceSet resolveCrossReferences() {
+		for (Resource resource : resourceSet.getResources()) {
+			EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+		}
+		return resourceSet;
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.parser.IParser;
+import org.eclipse.xtext.util.ReplaceRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full parse of a model and a partial reparse after a small edit in the middle of the model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	@Param({ "100", "1000" })
+	public int elementCount;
+
+	private IParser parser;
+
+	private String model;
+
+	private IParseResult parseResult;
+
+	private int editOffset;
+
+	private boolean edited;
+
+	@Setup
+	public void setUp() {
+		parser = FileAwareModels.getInjector().getInstance(IParser.class);
+		model = FileAwareModels.getModel(1, elementCount);
+		parseResult = parser.parse(new StringReader(model));
+		editOffset = model.indexOf("element element" + elementCount / 2) + "element ".length();
+	}
+
+	@Benchmark
+	public IParseResult parse() {
+		return parser.parse(new StringReader(model));
+	}
+
+	/**
+	 * Renames an element in the middle of the model. The edit is reverted by the next invocation, so the model keeps
+	 * its size.
+	 */
+	@Benchmark
+	public IParseResult reparse() {
+		String replacement = edited ? "element" : "elemenx";
+		edited = !edited;
+		parseResult = parser.reparse(parseResult, new ReplaceRegion(editOffset, replacement.length(), replacement));
+		return parseResult;
+	}
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.CompactResourceDescriptionsData;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the lookups of a {@link ResourceDescriptionsData} by URI, by exported name and by type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceDescriptionsDataBenchmark {
+
+	@Param({ "default", "compact" })
+	public String implementation;
+
+	@Param({ "1000", "10000" })
+	public int resourceCount;
+
+	@Param({ "20" })
+	public int objectCount;
+
+	private ResourceDescriptionsData data;
+
+	private URI[] uris;
+
+	private QualifiedName[] names;
+
+	private int next;
+
+	@Setup
+	public void setUp() {
+		List<IResourceDescription> descriptions = new ArrayList<IResourceDescription>(resourceCount);
+		uris = new URI[resourceCount];
+		names = new QualifiedName[resourceCount];
+		for (int i = 0; i < resourceCount; i++) {
+			uris[i] = FileAwareModels.getURI(i);
+			List<SerializableEObjectDescription> objects = new ArrayList<SerializableEObjectDescription>(objectCount);
+			for (int j = 0; j < objectCount; j++) {
+				SerializableEObjectDescription object = new SerializableEObjectDescription();
+				object.setEObjectURI(uris[i].appendFragment("//@contents." + j));
+				EClass eClass = j % 2 == 0 ? EcorePackage.Literals.ECLASS : EcorePackage.Literals.EDATA_TYPE;
+				object.setEClass(eClass);
+				object.setQualifiedName(QualifiedName.create("pack" + i, "element" + j));
+				object.setUserData(new HashMap<String, String>());
+				objects.add(object);
+			}
+			SerializableResourceDescription description = new SerializableResourceDescription();
+			description.setURI(uris[i]);
+			description.setDescriptions(objects);
+			descriptions.add(description);
+			names[i] = QualifiedName.create("pack" + i, "element" + (i % objectCount));
+		}
+		if ("compact".equals(implementation)) {
+			data = new CompactResourceDescriptionsData(descriptions);
+		} else {
+			data = new ResourceDescriptionsData(descriptions);
+		}
+	}
+
+	@Benchmark
+	public IResourceDescription getResourceDescription() {
+		return data.getResourceDescription(uris[nextIndex()]);
+	}
+
+	@Benchmark
+	public void getExportedObjects(Blackhole blackhole) {
+		for (IEObjectDescription object : data.getExportedObjects(EcorePackage.Literals.EOBJECT, names[nextIndex()],
+				false)) {
+			blackhole.consume(object);
+		}
+	}
+
+	@Benchmark
+	public void getExportedObjectsIgnoreCase(Blackhole blackhole) {
+		for (IEObjectDescription object : data.getExportedObjects(EcorePackage.Literals.EOBJECT,
+				names[nextIndex()].toUpperCase(), true)) {
+			blackhole.consume(object);
+		}
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void getExportedObjectsByType(Blackhole blackhole) {
+		for (IEObjectDescription object : data.getExportedObjectsByType(EcorePackage.Literals.ECLASS)) {
+			blackhole.consume(object);
+		}
+	}
+
+	private int nextIndex() {
+		int result = next;
+		next = (next + 1) % resourceCount;
+		return result;
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.CompactResourceDescriptionsData;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the retained heap of a {@link ResourceDescriptionsData} and of a {@link CompactResourceDescriptionsData}
+ * for a synthetic index. The retained heap is reported as the secondary result <code>retainedMB</code>. Run with a
+ * fixed heap, e.g. <code>-PjmhArgs='-jvmArgs -Xmx4g'</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ResourceDescriptionsDataMemoryBenchmark {
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class RetainedHeap {
+
+		public long retainedMB;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			retainedMB = 0;
+		}
+	}
+
+	@Param({ "default", "compact" })
+	public String implementation;
+
+	@Param({ "20000" })
+	public int resourceCount;
+
+	@Param({ "100" })
+	public int objectCount;
+
+	@Benchmark
+	public void createIndex(RetainedHeap heap, Blackhole blackhole) {
+		long before = usedMemory();
+		List<IResourceDescription> descriptions = createDescriptions();
+		ResourceDescriptionsData index;
+		if ("compact".equals(implementation)) {
+			index = new CompactResourceDescriptionsData(descriptions);
+		} else {
+			index = new ResourceDescriptionsData(descriptions);
+		}
+		// the compact index does not retain the original descriptions
+		descriptions = null;
+		heap.retainedMB = (usedMemory() - before) / (1024 * 1024);
+		// keeps the index reachable until the heap has been measured
+		blackhole.consume(index);
+	}
+
+	private List<IResourceDescription> createDescriptions() {
+		List<IResourceDescription> result = new ArrayList<IResourceDescription>(resourceCount);
+		for (int i = 0; i < resourceCount; i++) {
+			URI uri = FileAwareModels.getURI(i);
+			List<SerializableEObjectDescription> objects = new ArrayList<SerializableEObjectDescription>(objectCount);
+			for (int j = 0; j < objectCount; j++) {
+				SerializableEObjectDescription object = new SerializableEObjectDescription();
+				object.setEObjectURI(uri.appendFragment("//@elements." + j));
+				EClass eClass = j % 3 == 0 ? EcorePackage.Literals.ECLASS : EcorePackage.Literals.EATTRIBUTE;
+				object.setEClass(eClass);
+				object.setQualifiedName(QualifiedName.create("pack" + (i % 100), "Resource" + i, "element" + j));
+				object.setUserData(new HashMap<String, String>());
+				objects.add(object);
+			}
+			SerializableResourceDescription description = new SerializableResourceDescription();
+			description.setURI(uri);
+			description.setDescriptions(objects);
+			result.add(description);
+		}
+		return result;
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.resource.SaveOptions;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.serializer.ISerializer;
+import org.eclipse.xtext.testing.util.InMemoryURIHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ISerializer#serialize(EObject, SaveOptions)} of a linked model with its node model and with
+ * formatting.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+	@Param({ "100", "1000" })
+	public int elementCount;
+
+	private ISerializer serializer;
+
+	private EObject model;
+
+	@Setup
+	public void setUp() throws IOException {
+		InMemoryURIHandler handler = new InMemoryURIHandler();
+		FileAwareModels.createWorkspace(handler, 1, elementCount);
+		XtextResource resource = (XtextResource) FileAwareModels.createResourceSet(handler)
+				.getResource(FileAwareModels.getURI(0), true);
+		EcoreUtil.resolveAll(resource);
+		model = resource.getContents().get(0);
+		serializer = resource.getResourceServiceProvider().get(ISerializer.class);
+	}
+
+	@Benchmark
+	public String serialize() {
+		return serializer.serialize(model, SaveOptions.newBuilder().getOptions());
+	}
+
+	@Benchmark
+	public String serializeFormatted() {
+		return serializer.serialize(model, SaveOptions.newBuilder().format().getOptions());
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.editor.contentassist.antlr;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.antlr.runtime.RecognitionException;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElement;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElementCache;
+import org.eclipse.xtext.testlanguages.xtextgrammar.ide.contentassist.antlr.XtextGrammarTestLanguageParser;
+import org.junit.Test;
+
+import com.google.inject.Inject;
+
+/**
+ * Runs the parser tests against follow elements that are answered by the {@link FollowElementCache}.
+ */
+public class CachedParserTest extends AbstractParserTest {
+
+	private static class CountingCache extends FollowElementCache {
+		private int hits;
+
+		@Override
+		public synchronized <FE> List<FE> get(Key key) {
+			List<FE> result = super.get(key);
+			if (result != null) {
+				hits++;
+			}
+			return result;
+		}
+	}
+
+	@Inject
+	private XtextGrammarTestLanguageParser parser;
+
+	@Override
+	protected Collection<FollowElement> getFollowSet(String input) throws RecognitionException {
+		CountingCache cache = new CountingCache();
+		parser.setFollowElementCache(cache);
+		Collection<FollowElement> parsed = parser.getFollowElements(input, false);
+		assertEquals(0, cache.hits);
+		Collection<FollowElement> cached = parser.getFollowElements(input, false);
+		assertEquals(1, cache.hits);
+		assertEquals(parsed, cached);
+		return cached;
+	}
+
+	@Test
+	public void testKeyIncludesStrictAndEntryRule() {
+		CountingCache cache = new CountingCache();
+		parser.setFollowElementCache(cache);
+		parser.getFollowElements("grammar org", false);
+		parser.getFollowElements("grammar org", true);
+		assertEquals(0, cache.hits);
+		parser.initializeFor(grammarAccess.getAbstractRuleRule());
+		try {
+			parser.getFollowElements("grammar org", false);
+			assertEquals(0, cache.hits);
+		} finally {
+			parser.initializeFor(grammarAccess.getGrammarRule());
+		}
+		parser.getFollowElements("grammar org", false);
+		assertEquals(1, cache.hits);
+	}
+
+	@Test
+	public void testResultIsCopied() {
+		parser.setFollowElementCache(new FollowElementCache());
+		Collection<FollowElement> first = parser.getFollowElements("grammar org", false);
+		int size = first.size();
+		first.clear();
+		assertEquals(size, parser.getFollowElements("grammar org", false).size());
+		assertEquals(size, parser.getFollowElements("grammar org", false).size());
+	}
+
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.xtext.ide.server.semanticHighlight.ChangedLines;
+import org.eclipse.xtext.util.TextRegion;
+import org.junit.Test;
+
+public class ChangedLinesTest {
+
+	@Test
+	public void testEqualTexts() {
+		assertNull(ChangedLines.compute("a\nb", "a\nb"));
+	}
+
+	@Test
+	public void testChangeWithinLine() {
+		ChangedLines changedLines = ChangedLines.compute("a\nbcd\ne", "a\nbxd\ne");
+		assertEquals(1, changedLines.getStartLine());
+		assertEquals(2, changedLines.getOldEndLine());
+		assertEquals(2, changedLines.getNewEndLine());
+		assertEquals(new TextRegion(2, 3), changedLines.getRegion());
+		assertEquals(0, changedLines.getOldLine(0));
+		assertEquals(-1, changedLines.getOldLine(1));
+		assertEquals(2, changedLines.getOldLine(2));
+	}
+
+	@Test
+	public void testInsertedLines() {
+		ChangedLines changedLines = ChangedLines.compute("a\nb\nc", "a\nb\nx\ny\nc");
+		assertEquals(2, changedLines.getStartLine());
+		assertEquals(3, changedLines.getOldEndLine());
+		assertEquals(5, changedLines.getNewEndLine());
+		assertEquals(2, changedLines.getLineDelta());
+		assertEquals(1, changedLines.getOldLine(1));
+		assertEquals(-1, changedLines.getOldLine(4));
+	}
+
+	@Test
+	public void testRemovedLines() {
+		ChangedLines changedLines = ChangedLines.compute("a\nb\nc\nd", "a\nd");
+		assertEquals(1, changedLines.getStartLine());
+		assertEquals(-2, changedLines.getLineDelta());
+		assertEquals(1, changedLines.getNewLineCount());
+		assertEquals(0, changedLines.getOldLine(0));
+		assertEquals(-1, changedLines.getOldLine(1));
+	}
+
+	@Test
+	public void testChangeAtEnd() {
+		ChangedLines changedLines = ChangedLines.compute("a\nb", "a\nbc");
+		assertEquals(1, changedLines.getStartLine());
+		assertEquals(new TextRegion(2, 2), changedLines.getRegion());
+	}
+
+}
@@ -96,6 +96,22 @@ class DocumentTest {
         ]
     }
     
+    @Test def void testUpdate_sequentialChanges() {
+        new Document(1, '''
+            hello world
+            foo
+            bar'''.normalize) => [
+            assertEquals('''
+                hello
+                world
+                fuzz
+                bar'''.normalize, applyChanges(#[
+                change(position(0,5), position(0,6), "\n"),
+                change(position(2,1), position(2,3), "uzz")
+            ]).contents)
+        ]
+    }
+    
     @Test def void testUpdate_nonIncrementalChange() {
         new Document(1, '''
             hello world
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.build.IncrementalBuilder;
+import org.eclipse.xtext.ide.server.ProjectBuildScheduler;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.eclipse.xtext.resource.impl.ProjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.After;
+import org.junit.Test;
+
+public class ProjectBuildSchedulerTest {
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final Map<String, List<IResourceDescription.Delta>> upstreamDeltas = new ConcurrentHashMap<>();
+
+	@After
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test(timeout = 5000)
+	public void testIndependentProjectsAreBuiltConcurrently() throws Exception {
+		ProjectDescription a = project("a");
+		ProjectDescription b = project("b", "a");
+		ProjectDescription c = project("c");
+		ProjectDescription d = project("d", "b");
+		CountDownLatch cStarted = new CountDownLatch(1);
+		List<String> finished = new ArrayList<>();
+		List<IncrementalBuilder.Result> results = new ProjectBuildScheduler(executor, 4).build(
+				Arrays.asList(a, b, c, d), name -> null, (project, deltas) -> {
+					if (project == a) {
+						await(cStarted);
+					} else if (project == c) {
+						cStarted.countDown();
+					}
+					return build(project, deltas);
+				}, (project, result) -> finished.add(project.getName()));
+		assertEquals(Arrays.asList("a", "b", "c", "d"), resultUris(results));
+		assertEquals(Collections.emptyList(), deltaUris(upstreamDeltas.get("a")));
+		assertEquals(Arrays.asList("a"), deltaUris(upstreamDeltas.get("b")));
+		assertEquals(Collections.emptyList(), deltaUris(upstreamDeltas.get("c")));
+		assertEquals(Arrays.asList("a", "b"), deltaUris(upstreamDeltas.get("d")));
+		assertTrue(finished.indexOf("a") < finished.indexOf("b"));
+		assertTrue(finished.indexOf("b") < finished.indexOf("d"));
+	}
+
+	@Test(timeout = 5000)
+	public void testTransitiveDependencyViaProjectThatIsNotBuilt() throws Exception {
+		ProjectDescription a = project("a");
+		ProjectDescription b = project("b", "a");
+		ProjectDescription c = project("c", "b");
+		new ProjectBuildScheduler(executor, 2).build(Arrays.asList(a, c), name -> name.equals("b") ? b : null,
+				this::build, (project, result) -> {
+				});
+		assertEquals(Arrays.asList("a"), deltaUris(upstreamDeltas.get("c")));
+	}
+
+	@Test(timeout = 5000)
+	public void testCyclicDependenciesAreBuiltInGivenOrder() throws Exception {
+		ProjectDescription a = project("a", "b");
+		ProjectDescription b = project("b", "a");
+		new ProjectBuildScheduler(executor, 2).build(Arrays.asList(a, b), name -> null, this::build,
+				(project, result) -> {
+				});
+		assertEquals(Collections.emptyList(), deltaUris(upstreamDeltas.get("a")));
+		assertEquals(Arrays.asList("a"), deltaUris(upstreamDeltas.get("b")));
+	}
+
+	@Test(timeout = 5000)
+	public void testParallelism() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<ProjectDescription> projects = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			projects.add(project("p" + i));
+		}
+		new ProjectBuildScheduler(executor, 2).build(projects, name -> null, (project, deltas) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			running.decrementAndGet();
+			return build(project, deltas);
+		}, (project, result) -> {
+		});
+		assertTrue(maxRunning.get() <= 2);
+		assertEquals(6, upstreamDeltas.size());
+	}
+
+	@Test(timeout = 5000)
+	public void testFailureStopsScheduling() throws Exception {
+		ProjectDescription a = project("a");
+		ProjectDescription b = project("b", "a");
+		IllegalStateException failure = new IllegalStateException();
+		List<String> finished = new ArrayList<>();
+		try {
+			new ProjectBuildScheduler(executor, 2).build(Arrays.asList(a, b), name -> null, (project, deltas) -> {
+				if (project == a) {
+					throw failure;
+				}
+				return build(project, deltas);
+			}, (project, result) -> finished.add(project.getName()));
+			fail();
+		} catch (IllegalStateException e) {
+			assertSame(failure, e);
+		}
+		assertFalse(upstreamDeltas.containsKey("b"));
+		assertTrue(finished.isEmpty());
+	}
+
+	private IncrementalBuilder.Result build(ProjectDescription project, List<IResourceDescription.Delta> deltas) {
+		upstreamDeltas.put(project.getName(), deltas);
+		SerializableResourceDescription description = new SerializableResourceDescription();
+		description.setURI(URI.createURI(project.getName()));
+		return new IncrementalBuilder.Result(null,
+				Collections.singletonList(new DefaultResourceDescriptionDelta(null, description)));
+	}
+
+	private static ProjectDescription project(String name, String... dependencies) {
+		ProjectDescription result = new ProjectDescription();
+		result.setName(name);
+		result.setDependencies(Arrays.asList(dependencies));
+		return result;
+	}
+
+	private static List<String> resultUris(List<IncrementalBuilder.Result> results) {
+		List<String> result = new ArrayList<>();
+		for (IncrementalBuilder.Result it : results) {
+			result.add(it.getAffectedResources().get(0).getUri().toString());
+		}
+		return result;
+	}
+
+	private static List<String> deltaUris(List<IResourceDescription.Delta> deltas) {
+		List<String> result = new ArrayList<>();
+		for (IResourceDescription.Delta it : deltas) {
+			result.add(it.getUri().toString());
+		}
+		return result;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(2, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.eclipse.xtext.ide.server.Rope;
+import org.junit.Test;
+
+public class RopeTest {
+
+	@Test
+	public void testLines() {
+		Rope rope = Rope.of("aaa\nbb\n\nc");
+		assertEquals(3, rope.getLineBreakCount());
+		assertEquals(0, rope.getLineOffset(0));
+		assertEquals(4, rope.getLineOffset(1));
+		assertEquals(7, rope.getLineOffset(2));
+		assertEquals(8, rope.getLineOffset(3));
+		assertEquals(3, rope.getLineLength(0));
+		assertEquals(0, rope.getLineLength(2));
+		assertEquals(1, rope.getLineLength(3));
+		assertEquals(0, rope.getLine(3));
+		assertEquals(1, rope.getLine(4));
+		assertEquals(3, rope.getLine(9));
+	}
+
+	@Test
+	public void testEmpty() {
+		Rope rope = Rope.of("");
+		assertEquals(0, rope.length());
+		assertEquals(0, rope.getLineBreakCount());
+		assertEquals(0, rope.getLine(0));
+		assertEquals(0, rope.getLineLength(0));
+		assertEquals("", Rope.of("abc").replace(0, 3, "").toString());
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testLineOutOfBounds() {
+		Rope.of("a\nb").getLineOffset(2);
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random = new Random(42);
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			builder.append(random.nextInt(10) == 0 ? '\n' : (char) ('a' + random.nextInt(26)));
+		}
+		String expected = builder.toString();
+		Rope rope = Rope.of(expected);
+		for (int i = 0; i < 2000; i++) {
+			int start = random.nextInt(expected.length() + 1);
+			int end = Math.min(expected.length(), start + random.nextInt(i % 100 == 0 ? 3000 : 5));
+			String text = random.nextBoolean() ? "x\ny" : "z";
+			expected = expected.substring(0, start) + text + expected.substring(end);
+			Rope previous = rope;
+			String previousText = previous.toString();
+			rope = rope.replace(start, end, text);
+			assertEquals(previousText, previous.toString());
+			if (i % 200 == 0) {
+				assertRope(expected, rope);
+			}
+		}
+		assertRope(expected, rope);
+	}
+
+	private void assertRope(String expected, Rope rope) {
+		assertEquals(expected.length(), rope.length());
+		assertEquals(expected, rope.substring(0, rope.length()));
+		int line = 0;
+		for (int offset = 0; offset <= expected.length(); offset++) {
+			assertEquals(line, rope.getLine(offset));
+			if (offset == 0 || expected.charAt(offset - 1) == '\n') {
+				assertEquals(offset, rope.getLineOffset(line));
+			}
+			if (offset < expected.length()) {
+				assertEquals(expected.charAt(offset), rope.charAt(offset));
+				if (expected.charAt(offset) == '\n') {
+					line++;
+				}
+			}
+		}
+		assertEquals(line, rope.getLineBreakCount());
+		assertEquals(expected, rope.toString());
+	}
+
+}
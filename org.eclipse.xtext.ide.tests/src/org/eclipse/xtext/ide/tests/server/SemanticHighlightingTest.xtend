@@ -105,9 +105,8 @@ class SemanticHighlightingTest extends AbstractTestLangLanguageServerTest {
 			];
 		]);
 
-		fileUri.assertInfos('''0 : [5:1:[typeDeclaration]]
-1 : [2:3:[primitiveType], 6:1:[identifier]]
-2 : [5:3:[identifier], 9:1:[parameterName], 12:1:[type], 16:6:[primitiveType]]
+		// Only the changed and the moved lines are sent.
+		fileUri.assertInfos('''2 : [5:3:[identifier], 9:1:[parameterName], 12:1:[type], 16:6:[primitiveType]]
 3 : []''');
 
 		notifications.clear;
@@ -126,9 +125,7 @@ class SemanticHighlightingTest extends AbstractTestLangLanguageServerTest {
 				]
 			];
 		]);
-		fileUri.assertInfos('''0 : [5:1:[typeDeclaration]]
-1 : [2:3:[primitiveType], 6:1:[identifier]]
-2 : []''');
+		fileUri.assertInfos('''2 : []''');
 
 		notifications.clear;
 		// Restore the original state.
@@ -148,14 +145,29 @@ class SemanticHighlightingTest extends AbstractTestLangLanguageServerTest {
 				]
 			];
 		]);
-		fileUri.assertInfos('''0 : [5:1:[typeDeclaration]]
-1 : [2:3:[primitiveType], 6:1:[identifier]]
-2 : [5:3:[identifier]]
+		fileUri.assertInfos('''2 : [5:3:[identifier]]
 3 : [5:3:[identifier], 9:1:[parameterName], 12:1:[type], 16:6:[primitiveType]]
 4 : []''');
 
 	}
 
+	@Test
+	def void testReopen() {
+		val file = root.toPath.resolve('''MyModel.fileExtension''').toFile;
+		val uri = file.toURI.toUriString;
+		val model = '''
+			type A {
+			  int a
+			}''';
+		uri.open(model);
+		uri.close;
+		notifications.clear;
+		uri.open(model);
+		uri.assertInfos('''0 : [5:1:[typeDeclaration]]
+1 : [2:3:[primitiveType], 6:1:[identifier]]
+2 : []''');
+	}
+
 	protected def void assertInfos(String uri, String expected) {
 		val params = semanticHighlightingParams;
 		assertEquals(1, params.size);
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server.concurrent;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.ObjectName;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.commands.RequestMetricsCommandService;
+import org.eclipse.xtext.ide.server.concurrent.RequestManager;
+import org.eclipse.xtext.ide.server.concurrent.RequestPriority;
+import org.eclipse.xtext.ide.server.concurrent.RequestQueueMetrics;
+import org.eclipse.xtext.ide.server.concurrent.RequestStatistics;
+import org.eclipse.xtext.service.OperationCanceledError;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+
+public class RequestMetricsTest {
+
+	private static final URI DOCUMENT = URI.createURI("file:/a.testlang");
+
+	@Inject
+	private RequestManager requestManager;
+
+	@Inject
+	private RequestMetricsCommandService commandService;
+
+	private RequestQueueMetrics metrics;
+
+	@Before
+	public void setUp() {
+		Guice.createInjector(new ServerModule()).injectMembers(this);
+		metrics = requestManager.getMetrics();
+	}
+
+	@After
+	public void tearDown() {
+		requestManager.shutdown();
+	}
+
+	@Test(timeout = 2000)
+	public void testRecordsRequestsByMethod() throws Exception {
+		requestManager.runRead("textDocument/hover", DOCUMENT, RequestPriority.HIGH, cancelIndicator -> "hover").join();
+		requestManager.runRead("textDocument/hover", DOCUMENT, RequestPriority.HIGH, cancelIndicator -> "hover").join();
+		CompletableFuture<Object> cancelled = requestManager.runRead("textDocument/codeLens", DOCUMENT,
+				RequestPriority.LOW, cancelIndicator -> {
+					throw new OperationCanceledError(new RuntimeException());
+				});
+		CompletableFuture<Object> failed = requestManager.runRead("textDocument/codeLens", DOCUMENT, RequestPriority.LOW,
+				cancelIndicator -> {
+					throw new IllegalStateException();
+				});
+		awaitCompletion(cancelled);
+		awaitCompletion(failed);
+		requestManager.runWrite("textDocument/didChange", Collections.singletonList(DOCUMENT), () -> null,
+				(CancelIndicator cancelIndicator, Object ignore) -> null).join();
+
+		List<RequestStatistics> statistics = awaitStatistics(5);
+		assertEquals(Lists.newArrayList("textDocument/codeLens", "textDocument/didChange", "textDocument/hover"),
+				Lists.transform(statistics, RequestStatistics::getMethod));
+		RequestStatistics codeLens = statistics.get(0);
+		assertEquals(2, codeLens.getCount());
+		assertEquals(1, codeLens.getCancelledCount());
+		assertEquals(1, codeLens.getFailedCount());
+		assertEquals(-1, codeLens.getAverageAllocatedBytes());
+		RequestStatistics didChange = statistics.get(1);
+		assertEquals(1, didChange.getCount());
+		assertEquals(0, didChange.getCancelledCount());
+		RequestStatistics hover = statistics.get(2);
+		assertEquals(2, hover.getCount());
+		assertEquals(0, hover.getFailedCount());
+		assertTrue(hover.getMaxExecutionTime() >= hover.getAverageExecutionTime());
+		assertTrue(hover.getMaxQueueTime() >= hover.getAverageQueueTime());
+	}
+
+	@Test(timeout = 2000)
+	public void testRequestsWithoutMethod() throws Exception {
+		requestManager.runRead(cancelIndicator -> null).join();
+		assertEquals(RequestQueueMetrics.UNKNOWN_METHOD, awaitStatistics(1).get(0).getMethod());
+	}
+
+	@Test(timeout = 2000)
+	public void testAllocationSampling() throws Exception {
+		metrics.setAllocationSampling(true);
+		requestManager.runRead("allocate", null, RequestPriority.NORMAL, cancelIndicator -> new byte[1024]).join();
+		RequestStatistics statistics = awaitStatistics(1).get(0);
+		if (metrics.getCurrentThreadAllocatedBytes() >= 0) {
+			assertTrue(statistics.toString(), statistics.getAverageAllocatedBytes() >= 1024);
+		} else {
+			assertEquals(-1, statistics.getAverageAllocatedBytes());
+		}
+	}
+
+	@Test(timeout = 2000)
+	public void testCommand() throws Exception {
+		assertEquals(Lists.newArrayList(RequestMetricsCommandService.COMMAND), commandService.initialize());
+		requestManager.runRead("textDocument/hover", DOCUMENT, RequestPriority.HIGH, cancelIndicator -> null).join();
+		awaitStatistics(1);
+		ExecuteCommandParams params = new ExecuteCommandParams(RequestMetricsCommandService.COMMAND,
+				Lists.<Object>newArrayList("\"" + RequestMetricsCommandService.RESET + "\"",
+						RequestMetricsCommandService.SAMPLE_ALLOCATIONS));
+		List<?> result = (List<?>) commandService.execute(params, null, CancelIndicator.NullImpl);
+		assertEquals(1, result.size());
+		assertTrue(metrics.getStatistics().isEmpty());
+		assertTrue(metrics.isAllocationSampling());
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+		ObjectName name = metrics.registerMBean();
+		assertNotNull(name);
+		try {
+			assertEquals(Boolean.FALSE, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "AllocationSampling"));
+		} finally {
+			metrics.unregisterMBean(name);
+		}
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+
+	@Test(timeout = 2000)
+	public void testOverriddenDocumentMethodsAreCalled() throws Exception {
+		List<String> events = new CopyOnWriteArrayList<>();
+		RequestManager custom = new RequestManager() {
+			@Override
+			public <V> CompletableFuture<V> runRead(URI uri, RequestPriority priority,
+					Function1<? super CancelIndicator, ? extends V> cancellable) {
+				events.add("runRead");
+				return super.runRead(uri, priority, cancellable);
+			}
+
+			@Override
+			public <U, V> CompletableFuture<V> runWrite(Collection<URI> uris, Function0<? extends U> nonCancellable,
+					Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
+				events.add("runWrite");
+				return super.runWrite(uris, nonCancellable, cancellable);
+			}
+		};
+		Guice.createInjector(new ServerModule()).injectMembers(custom);
+		try {
+			custom.runRead("textDocument/hover", DOCUMENT, RequestPriority.HIGH, cancelIndicator -> null).join();
+			custom.runWrite("textDocument/didChange", Collections.singletonList(DOCUMENT), () -> null,
+					(CancelIndicator cancelIndicator, Object ignore) -> null).join();
+			assertEquals(Lists.newArrayList("runRead", "runWrite"), events);
+		} finally {
+			custom.shutdown();
+		}
+	}
+
+	@Test(timeout = 2000)
+	public void testResetClearsQueueCounters() throws Exception {
+		requestManager.runRead("textDocument/hover", DOCUMENT, RequestPriority.HIGH, cancelIndicator -> null).join();
+		assertEquals(1, metrics.getSubmittedCount(RequestPriority.HIGH));
+		metrics.reset();
+		assertEquals(0, metrics.getSubmittedCount(RequestPriority.HIGH));
+		assertEquals(0, metrics.getStartedCount(RequestPriority.HIGH));
+	}
+
+	/**
+	 * Requests are recorded right after their result has been completed.
+	 */
+	private List<RequestStatistics> awaitStatistics(int count) throws InterruptedException {
+		while (true) {
+			List<RequestStatistics> statistics = metrics.getStatistics();
+			if (statistics.stream().mapToLong(RequestStatistics::getCount).sum() >= count) {
+				return statistics;
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	private static void awaitCompletion(CompletableFuture<?> future) {
+		try {
+			future.join();
+		} catch (RuntimeException e) {
+			// expected
+		}
+	}
+
+}
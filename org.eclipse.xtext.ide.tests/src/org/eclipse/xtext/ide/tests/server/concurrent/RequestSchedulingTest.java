@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.server.concurrent;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.ide.server.concurrent.RequestManager;
+import org.eclipse.xtext.ide.server.concurrent.RequestPriority;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+
+public class RequestSchedulingTest {
+
+	private static final URI DOCUMENT_A = URI.createURI("file:/a.testlang");
+
+	private static final URI DOCUMENT_B = URI.createURI("file:/b.testlang");
+
+	@Inject
+	private RequestManager requestManager;
+
+	@Before
+	public void setUp() {
+		Guice.createInjector(new ServerModule()).injectMembers(this);
+	}
+
+	@After
+	public void tearDown() {
+		requestManager.shutdown();
+	}
+
+	@Test(timeout = 2000)
+	public void testReadOfOtherDocumentKeepsRunningWhileWriteIsApplied() throws Exception {
+		CountDownLatch readStarted = new CountDownLatch(1);
+		CountDownLatch applied = new CountDownLatch(1);
+		List<String> events = new CopyOnWriteArrayList<>();
+		CompletableFuture<String> read = requestManager.runRead(DOCUMENT_B, RequestPriority.NORMAL, cancelIndicator -> {
+			readStarted.countDown();
+			await(applied);
+			events.add("read");
+			return "read";
+		});
+		readStarted.await();
+		CompletableFuture<Object> write = requestManager.runWrite(Collections.singletonList(DOCUMENT_A), () -> {
+			events.add("apply");
+			applied.countDown();
+			return null;
+		}, (cancelIndicator, ignore) -> {
+			events.add("build");
+			return null;
+		});
+		write.join();
+		assertEquals("read", read.join());
+		assertEquals(Lists.newArrayList("apply", "read", "build"), events);
+	}
+
+	@Test(timeout = 2000)
+	public void testWriteCancelsReadOfSameDocument() throws Exception {
+		CountDownLatch readStarted = new CountDownLatch(1);
+		CompletableFuture<Object> read = requestManager.runRead(DOCUMENT_A, RequestPriority.NORMAL, cancelIndicator -> {
+			readStarted.countDown();
+			while (!cancelIndicator.isCanceled()) {
+				sleep(10);
+			}
+			return null;
+		});
+		readStarted.await();
+		requestManager.runWrite(Collections.singletonList(DOCUMENT_A), () -> null, (cancelIndicator, ignore) -> null)
+				.join();
+		assertTrue(read.isCancelled());
+	}
+
+	@Test(timeout = 2000)
+	public void testReadOfChangedDocumentWaitsForBuild() throws Exception {
+		List<String> events = new CopyOnWriteArrayList<>();
+		requestManager.runWrite(Collections.singletonList(DOCUMENT_A), () -> null, (cancelIndicator, ignore) -> {
+			sleep(50);
+			events.add("build");
+			return null;
+		});
+		requestManager.runRead(DOCUMENT_A, RequestPriority.HIGH, cancelIndicator -> events.add("read")).join();
+		assertEquals(Lists.newArrayList("build", "read"), events);
+	}
+
+	@Test(timeout = 2000)
+	public void testPendingRequestsAreStartedByPriority() throws Exception {
+		requestManager.setMaxParallelReads(1);
+		CountDownLatch blockerStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> events = new CopyOnWriteArrayList<>();
+		requestManager.runRead(DOCUMENT_A, RequestPriority.NORMAL, cancelIndicator -> {
+			blockerStarted.countDown();
+			await(release);
+			return null;
+		});
+		blockerStarted.await();
+		CompletableFuture<Boolean> low = requestManager.runRead(DOCUMENT_A, RequestPriority.LOW,
+				cancelIndicator -> events.add("low"));
+		CompletableFuture<Boolean> high = requestManager.runRead(DOCUMENT_B, RequestPriority.HIGH,
+				cancelIndicator -> events.add("high"));
+		assertEquals(2, requestManager.getPendingCount());
+		release.countDown();
+		CompletableFuture.allOf(low, high).join();
+		assertEquals(Lists.newArrayList("high", "low"), events);
+		assertEquals(1, requestManager.getMetrics().getStartedCount(RequestPriority.HIGH));
+		assertEquals(1, requestManager.getMetrics().getStartedCount(RequestPriority.LOW));
+	}
+
+	@Test(timeout = 2000)
+	public void testCancelledPendingReadIsDiscarded() throws Exception {
+		requestManager.setMaxParallelReads(1);
+		CountDownLatch blockerStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Object> blocker = requestManager.runRead(DOCUMENT_A, RequestPriority.NORMAL, cancelIndicator -> {
+			blockerStarted.countDown();
+			await(release);
+			return null;
+		});
+		blockerStarted.await();
+		CompletableFuture<Object> pending = requestManager.runRead(DOCUMENT_B, RequestPriority.LOW, cancelIndicator -> {
+			fail("cancelled request must not run");
+			return null;
+		});
+		pending.cancel(true);
+		release.countDown();
+		blocker.join();
+		try {
+			pending.join();
+			fail();
+		} catch (CancellationException e) {
+			// expected
+		}
+		requestManager.runRead(DOCUMENT_B, RequestPriority.LOW, cancelIndicator -> null).join();
+		assertEquals(1, requestManager.getMetrics().getDiscardedCount(RequestPriority.LOW));
+	}
+
+	@Test(timeout = 2000)
+	public void testOverriddenLegacyMethodsAreCalled() throws Exception {
+		List<String> events = new CopyOnWriteArrayList<>();
+		RequestManager legacy = new RequestManager() {
+			@Override
+			public <V> CompletableFuture<V> runRead(Function1<? super CancelIndicator, ? extends V> cancellable) {
+				events.add("runRead");
+				return super.runRead(cancellable);
+			}
+
+			@Override
+			public <U, V> CompletableFuture<V> runWrite(Function0<? extends U> nonCancellable,
+					Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
+				events.add("runWrite");
+				return super.runWrite(nonCancellable, cancellable);
+			}
+		};
+		Guice.createInjector(new ServerModule()).injectMembers(legacy);
+		try {
+			assertEquals("read", legacy.runRead(DOCUMENT_A, RequestPriority.HIGH, cancelIndicator -> "read").join());
+			legacy.runWrite(Collections.singletonList(DOCUMENT_A), () -> null, (cancelIndicator, ignore) -> null).join();
+			assertEquals(Lists.newArrayList("runRead", "runWrite"), events);
+		} finally {
+			legacy.shutdown();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
@@ -11,6 +11,7 @@ import org.eclipse.emf.ecore.EObject
 import org.eclipse.emf.ecore.EStructuralFeature
 import org.eclipse.xtext.ide.editor.syntaxcoloring.DefaultSemanticHighlightingCalculator
 import org.eclipse.xtext.ide.editor.syntaxcoloring.IHighlightedPositionAcceptor
+import org.eclipse.xtext.ide.editor.syntaxcoloring.ISemanticHighlightingCalculator
 import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.Operation
 import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.Parameter
 import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.PrimitiveType
@@ -22,7 +23,7 @@ import org.eclipse.xtext.util.CancelIndicator
 
 import static org.eclipse.xtext.ide.tests.testlanguage.testLanguage.TestLanguagePackage.Literals.*
 
-class SemanticHighlightingCalculatorImpl extends DefaultSemanticHighlightingCalculator {
+class SemanticHighlightingCalculatorImpl extends DefaultSemanticHighlightingCalculator implements ISemanticHighlightingCalculator.RegionAware {
 
 	static val IDENTIFIER_STYLE = 'identifier';
 	static val PRIMITIVE_TYPE_STYLE = 'primitiveType';
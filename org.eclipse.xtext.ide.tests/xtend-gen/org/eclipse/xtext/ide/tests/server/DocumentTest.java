@@ -143,6 +143,33 @@ public class DocumentTest {
     ObjectExtensions.<Document>operator_doubleArrow(_document, _function);
   }
   
+  @Test
+  public void testUpdate_sequentialChanges() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("hello world");
+    _builder.newLine();
+    _builder.append("foo");
+    _builder.newLine();
+    _builder.append("bar");
+    String _normalize = this.normalize(_builder);
+    Document _document = new Document(Integer.valueOf(1), _normalize);
+    final Procedure1<Document> _function = (Document it) -> {
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("hello");
+      _builder_1.newLine();
+      _builder_1.append("world");
+      _builder_1.newLine();
+      _builder_1.append("fuzz");
+      _builder_1.newLine();
+      _builder_1.append("bar");
+      TextEdit _change = this.change(this.position(0, 5), this.position(0, 6), "\n");
+      TextEdit _change_1 = this.change(this.position(2, 1), this.position(2, 3), "uzz");
+      Assert.assertEquals(this.normalize(_builder_1), it.applyChanges(
+        Collections.<TextEdit>unmodifiableList(CollectionLiterals.<TextEdit>newArrayList(_change, _change_1))).getContents());
+    };
+    ObjectExtensions.<Document>operator_doubleArrow(_document, _function);
+  }
+  
   @Test
   public void testUpdate_nonIncrementalChange() {
     StringConcatenation _builder = new StringConcatenation();
@@ -194,10 +194,6 @@ public class SemanticHighlightingTest extends AbstractTestLangLanguageServerTest
     DidChangeTextDocumentParams _doubleArrow = ObjectExtensions.<DidChangeTextDocumentParams>operator_doubleArrow(_didChangeTextDocumentParams, _function);
     this.languageServer.didChange(_doubleArrow);
     StringConcatenation _builder_2 = new StringConcatenation();
-    _builder_2.append("0 : [5:1:[typeDeclaration]]");
-    _builder_2.newLine();
-    _builder_2.append("1 : [2:3:[primitiveType], 6:1:[identifier]]");
-    _builder_2.newLine();
     _builder_2.append("2 : [5:3:[identifier], 9:1:[parameterName], 12:1:[type], 16:6:[primitiveType]]");
     _builder_2.newLine();
     _builder_2.append("3 : []");
@@ -229,10 +225,6 @@ public class SemanticHighlightingTest extends AbstractTestLangLanguageServerTest
     DidChangeTextDocumentParams _doubleArrow_1 = ObjectExtensions.<DidChangeTextDocumentParams>operator_doubleArrow(_didChangeTextDocumentParams_1, _function_1);
     this.languageServer.didChange(_doubleArrow_1);
     StringConcatenation _builder_3 = new StringConcatenation();
-    _builder_3.append("0 : [5:1:[typeDeclaration]]");
-    _builder_3.newLine();
-    _builder_3.append("1 : [2:3:[primitiveType], 6:1:[identifier]]");
-    _builder_3.newLine();
     _builder_3.append("2 : []");
     this.assertInfos(fileUri, _builder_3.toString());
     this.notifications.clear();
@@ -268,10 +260,6 @@ public class SemanticHighlightingTest extends AbstractTestLangLanguageServerTest
     DidChangeTextDocumentParams _doubleArrow_2 = ObjectExtensions.<DidChangeTextDocumentParams>operator_doubleArrow(_didChangeTextDocumentParams_2, _function_2);
     this.languageServer.didChange(_doubleArrow_2);
     StringConcatenation _builder_4 = new StringConcatenation();
-    _builder_4.append("0 : [5:1:[typeDeclaration]]");
-    _builder_4.newLine();
-    _builder_4.append("1 : [2:3:[primitiveType], 6:1:[identifier]]");
-    _builder_4.newLine();
     _builder_4.append("2 : [5:3:[identifier]]");
     _builder_4.newLine();
     _builder_4.append("3 : [5:3:[identifier], 9:1:[parameterName], 12:1:[type], 16:6:[primitiveType]]");
@@ -280,6 +268,35 @@ public class SemanticHighlightingTest extends AbstractTestLangLanguageServerTest
     this.assertInfos(fileUri, _builder_4.toString());
   }
   
+  @Test
+  public void testReopen() {
+    Path _path = this.root.toPath();
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("MyModel.");
+    _builder.append(this.fileExtension);
+    final File file = _path.resolve(_builder.toString()).toFile();
+    final String uri = this._uriExtensions.toUriString(file.toURI());
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("type A {");
+    _builder_1.newLine();
+    _builder_1.append("  ");
+    _builder_1.append("int a");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    final String model = _builder_1.toString();
+    this.open(uri, model);
+    this.close(uri);
+    this.notifications.clear();
+    this.open(uri, model);
+    StringConcatenation _builder_2 = new StringConcatenation();
+    _builder_2.append("0 : [5:1:[typeDeclaration]]");
+    _builder_2.newLine();
+    _builder_2.append("1 : [2:3:[primitiveType], 6:1:[identifier]]");
+    _builder_2.newLine();
+    _builder_2.append("2 : []");
+    this.assertInfos(uri, _builder_2.toString());
+  }
+  
   protected void assertInfos(final String uri, final String expected) {
     final Map<VersionedTextDocumentIdentifier, List<SemanticHighlightingInformation>> params = this.getSemanticHighlightingParams();
     Assert.assertEquals(1, params.size());
@@ -17,6 +17,7 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.xtext.ide.editor.syntaxcoloring.DefaultSemanticHighlightingCalculator;
 import org.eclipse.xtext.ide.editor.syntaxcoloring.IHighlightedPositionAcceptor;
+import org.eclipse.xtext.ide.editor.syntaxcoloring.ISemanticHighlightingCalculator;
 import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.Operation;
 import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.Parameter;
 import org.eclipse.xtext.ide.tests.testlanguage.testLanguage.PrimitiveType;
@@ -35,7 +36,7 @@ import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
 
 @SuppressWarnings("all")
-public class SemanticHighlightingCalculatorImpl extends DefaultSemanticHighlightingCalculator {
+public class SemanticHighlightingCalculatorImpl extends DefaultSemanticHighlightingCalculator implements ISemanticHighlightingCalculator.RegionAware {
   private static final String IDENTIFIER_STYLE = "identifier";
   
   private static final String PRIMITIVE_TYPE_STYLE = "primitiveType";
@@ -13,6 +13,7 @@ import org.apache.log4j.Logger
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.CrossReference
 import org.eclipse.xtext.naming.IQualifiedNameConverter
+import org.eclipse.xtext.naming.QualifiedName
 import org.eclipse.xtext.resource.IEObjectDescription
 import org.eclipse.xtext.scoping.IScope
 
@@ -32,6 +33,8 @@ class IdeCrossrefProposalProvider {
 	
 	@Inject IdeContentProposalPriorities proposalPriorities
 	
+	@Inject IPrefixMatcher prefixMatcher
+	
 	def void lookupCrossReference(IScope scope, CrossReference crossReference, ContentAssistContext context,
 			IIdeContentProposalAcceptor acceptor, Predicate<IEObjectDescription> filter) {
 		try {
@@ -50,9 +53,28 @@ class IdeCrossrefProposalProvider {
 	}
 	
 	protected def queryScope(IScope scope, CrossReference crossReference, ContentAssistContext context) {
+		val prefix = getQueryPrefix(crossReference, context)
+		if (prefix !== null) {
+			return scope.getElementsByPrefix(prefix)
+		}
 		return scope.allElements
 	}
 	
+	/**
+	 * Returns the prefix that the names of all candidates accepted by the {@link IPrefixMatcher} start with, or
+	 * <code>null</code> if all elements of the scope have to be queried. A prefix is only returned for the default
+	 * prefix matcher and qualified name converter, where the text typed so far can be split into name segments.
+	 * 
+	 * @since 2.16
+	 */
+	protected def QualifiedName getQueryPrefix(CrossReference crossReference, ContentAssistContext context) {
+		if (context.prefix.nullOrEmpty || prefixMatcher.class !== IPrefixMatcher.IgnoreCase
+				|| !(qualifiedNameConverter instanceof IQualifiedNameConverter.DefaultImpl)) {
+			return null
+		}
+		return qualifiedNameConverter.toQualifiedName(context.prefix)
+	}
+	
 	protected def ContentAssistEntry createProposal(IEObjectDescription candidate, CrossReference crossRef, ContentAssistContext context) {
 		proposalCreator.createProposal(qualifiedNameConverter.toString(candidate.name), context) [
 			source = candidate
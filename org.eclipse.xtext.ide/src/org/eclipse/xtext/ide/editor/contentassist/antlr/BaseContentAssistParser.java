@@ -63,6 +63,9 @@ public abstract class BaseContentAssistParser<FE extends BaseFollowElement<LATer
 	@Inject
 	private RuleNames ruleNames;
 
+	@Inject
+	private FollowElementCache followElementCache;
+
 	private AbstractRule entryRule;
 
 	/**
@@ -249,6 +252,22 @@ public abstract class BaseContentAssistParser<FE extends BaseFollowElement<LATer
 	protected abstract String[] getInitialHiddenTokens();
 
 	public Collection<FE> getFollowElements(String input, boolean strict) {
+		FollowElementCache.Key key = createCacheKey(entryRule, input, strict);
+		List<FE> cached = getCachedFollowElements(key);
+		if (cached != null) {
+			return Lists.newArrayList(cached);
+		}
+		Collection<FE> result = computeFollowElements(input, strict);
+		cacheFollowElements(key, result);
+		return result;
+	}
+
+	/**
+	 * Parses the given input from the entry rule without consulting the {@link FollowElementCache}.
+	 * 
+	 * @since 2.16
+	 */
+	protected Collection<FE> computeFollowElements(String input, boolean strict) {
 		TokenSource tokenSource = createTokenSource(input);
 		InternalParser parser = createParser();
 		parser.setStrict(strict);
@@ -377,6 +396,12 @@ public abstract class BaseContentAssistParser<FE extends BaseFollowElement<LATer
 		ICompositeNode entryPoint = entryPointFinder.findEntryPoint(parseResult, offset);
 		if (entryPoint != null) {
 			String parseMe = getTextToParse(parseResult, entryPoint, offset);
+			AbstractElement entryGrammarElement = getEntryGrammarElement(entryPoint);
+			FollowElementCache.Key key = createCacheKey(entryGrammarElement, parseMe, strict);
+			List<FE> cached = getCachedFollowElements(key);
+			if (cached != null) {
+				return Lists.newArrayList(cached);
+			}
 			TokenSource tokenSource = createTokenSource(parseMe);
 			InternalParser parser = createParser();
 			parser.setStrict(strict);
@@ -387,12 +412,15 @@ public abstract class BaseContentAssistParser<FE extends BaseFollowElement<LATer
 			parser.setUnorderedGroupHelper(helper);
 			helper.initializeWith(parser);
 			tokens.setListener(parser);
+			Collection<FE> result;
 			try {
-				Collection<FE> followElements = getFollowElements(parser, getEntryGrammarElement(entryPoint));
-				return Lists.newArrayList(followElements);
+				Collection<FE> followElements = getFollowElements(parser, entryGrammarElement);
+				result = Lists.newArrayList(followElements);
 			} catch (InfiniteRecursion infinite) {
-				return Lists.newArrayList(parser.getFollowElements());
+				result = Lists.newArrayList(parser.getFollowElements());
 			}
+			cacheFollowElements(key, result);
+			return result;
 		} else {
 			String text = parseResult.getRootNode().getText();
 			String parseMe = text.substring(0, offset);
@@ -402,6 +430,51 @@ public abstract class BaseContentAssistParser<FE extends BaseFollowElement<LATer
 		}
 	}
 
+	/**
+	 * @since 2.16
+	 */
+	protected FollowElementCache.Key createCacheKey(EObject entryPoint, String input, boolean strict) {
+		return new FollowElementCache.Key(getClass(), entryPoint, input, strict);
+	}
+
+	/**
+	 * @return the cached follow elements for the given key or <code>null</code>.
+	 * @since 2.16
+	 */
+	protected List<FE> getCachedFollowElements(FollowElementCache.Key key) {
+		if (followElementCache == null) {
+			return null;
+		}
+		return followElementCache.get(key);
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected void cacheFollowElements(FollowElementCache.Key key, Collection<FE> followElements) {
+		if (followElementCache != null) {
+			followElementCache.put(key, followElements);
+		}
+	}
+
+	/**
+	 * Public for testing purpose.
+	 * 
+	 * @since 2.16
+	 */
+	public void setFollowElementCache(FollowElementCache followElementCache) {
+		this.followElementCache = followElementCache;
+	}
+
+	/**
+	 * Public for testing purpose.
+	 * 
+	 * @since 2.16
+	 */
+	public FollowElementCache getFollowElementCache() {
+		return followElementCache;
+	}
+
 	protected AbstractElement getEntryGrammarElement(ICompositeNode entryPoint) {
 		EObject grammarElement = entryPoint.getGrammarElement();
 		if (grammarElement instanceof RuleCall) {
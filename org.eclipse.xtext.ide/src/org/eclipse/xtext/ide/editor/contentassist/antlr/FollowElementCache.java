@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.editor.contentassist.antlr;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Singleton;
+
+/**
+ * Remembers the follow elements that the content assist parser computed for the most recently parsed inputs.
+ * Subsequent completion requests usually parse the same text again, e.g. the text in front of the token that is being
+ * typed, or the document prefix when the caret did not move. Since the follow elements only depend on the parsed text,
+ * the parser and its entry point, the cached results stay valid when the document changes elsewhere.
+ *
+ * @since 2.16
+ */
+@Singleton
+public class FollowElementCache {
+
+	public static class Key {
+		private final Class<?> parserType;
+		private final EObject entryPoint;
+		private final String input;
+		private final boolean strict;
+		private final int hashCode;
+
+		/**
+		 * @param entryPoint
+		 *            the rule or grammar element the parser starts with, may be <code>null</code>.
+		 */
+		public Key(Class<?> parserType, EObject entryPoint, String input, boolean strict) {
+			this.parserType = parserType;
+			this.entryPoint = entryPoint;
+			this.input = input;
+			this.strict = strict;
+			int result = 31 + parserType.hashCode();
+			result = 31 * result + (entryPoint == null ? 0 : entryPoint.hashCode());
+			result = 31 * result + input.hashCode();
+			this.hashCode = 31 * result + (strict ? 1231 : 1237);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			Key other = (Key) obj;
+			return hashCode == other.hashCode && strict == other.strict && parserType == other.parserType
+					&& entryPoint == other.entryPoint && input.equals(other.input);
+		}
+	}
+
+	private static final int DEFAULT_MAX_SIZE = 16;
+
+	private final int maxSize;
+
+	private final Map<Key, List<?>> cache;
+
+	public FollowElementCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	@SuppressWarnings("serial")
+	protected FollowElementCache(final int maxSize) {
+		this.maxSize = maxSize;
+		this.cache = new LinkedHashMap<Key, List<?>>(maxSize * 2, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, List<?>> eldest) {
+				return size() > FollowElementCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * @return the follow elements that were {@link #put(Key, Collection) stored} for the given key, or
+	 *         <code>null</code>. The result must not be modified.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <FE> List<FE> get(Key key) {
+		return (List<FE>) cache.get(key);
+	}
+
+	public synchronized void put(Key key, Collection<?> followElements) {
+		cache.put(key, ImmutableList.copyOf(followElements));
+	}
+
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+}
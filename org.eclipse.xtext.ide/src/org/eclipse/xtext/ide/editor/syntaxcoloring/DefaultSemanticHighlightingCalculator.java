@@ -13,6 +13,7 @@ import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
@@ -26,6 +27,9 @@ import org.eclipse.xtext.util.ITextRegion;
 import com.google.inject.Inject;
 
 /**
+ * The default calculator also knows how to highlight a region of the document. Subclasses can declare to implement
+ * {@link ISemanticHighlightingCalculator.RegionAware} if their highlighting fits its contract.
+ * 
  * @author Stefan Oehme - Initial contribution and API
  * @since 2.9
  */
@@ -45,6 +49,55 @@ public class DefaultSemanticHighlightingCalculator implements ISemanticHighlight
 		doProvideHighlightingFor(resource, acceptor, cancelIndicator);
 	}
 
+	/**
+	 * Provides the highlighting of the elements whose text intersects the given region. Positions outside of the
+	 * region are not announced.
+	 * 
+	 * @since 2.16
+	 */
+	public void provideHighlightingFor(XtextResource resource, ITextRegion region, IHighlightedPositionAcceptor acceptor,
+			CancelIndicator cancelIndicator) {
+		if (resource == null)
+			return;
+		IParseResult parseResult = resource.getParseResult();
+		if (parseResult == null || parseResult.getRootASTElement() == null)
+			return;
+		IHighlightedPositionAcceptor regionAcceptor = (offset, length, ids) -> {
+			if (intersects(region, offset, length)) {
+				acceptor.addPosition(offset, length, ids);
+			}
+		};
+		doProvideHighlightingFor(resource, region, regionAcceptor, cancelIndicator);
+	}
+
+	/**
+	 * Like {@link #doProvideHighlightingFor(XtextResource, IHighlightedPositionAcceptor, CancelIndicator)} but skips
+	 * the elements whose text does not intersect the given region.
+	 * 
+	 * @since 2.16
+	 */
+	protected void doProvideHighlightingFor(XtextResource resource, ITextRegion region,
+			IHighlightedPositionAcceptor acceptor, CancelIndicator cancelIndicator) {
+		TreeIterator<EObject> iterator = EcoreUtil2.eAll(resource.getParseResult().getRootASTElement());
+		while (iterator.hasNext()) {
+			EObject object = iterator.next();
+			ICompositeNode node = NodeModelUtils.getNode(object);
+			if (node != null && !intersects(region, node.getTotalOffset(), node.getTotalLength())) {
+				iterator.prune();
+			} else if (highlightElement(object, acceptor, cancelIndicator)) {
+				iterator.prune();
+			}
+		}
+		highlightTasks(resource, acceptor);
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected boolean intersects(ITextRegion region, int offset, int length) {
+		return offset <= region.getOffset() + region.getLength() && offset + length >= region.getOffset();
+	}
+
 	/**
 	 * <p>
 	 * Actual implementation of the semantic highlighting calculation. It is ensured, that the given resource is not
@@ -9,6 +9,7 @@ package org.eclipse.xtext.ide.editor.syntaxcoloring;
 
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.ITextRegion;
 
 import com.google.inject.ImplementedBy;
 
@@ -30,4 +31,27 @@ public interface ISemanticHighlightingCalculator {
 	 */
 	void provideHighlightingFor(XtextResource resource, IHighlightedPositionAcceptor acceptor, CancelIndicator cancelIndicator);
 	
+	/**
+	 * A calculator that can compute the highlighting of a region of the document in isolation. Calculators should
+	 * only implement this interface if the highlighting of a text range does not depend on text outside of the
+	 * elements that contain it, e.g. if cross references are not highlighted depending on their target.
+	 * 
+	 * @since 2.16
+	 */
+	interface RegionAware extends ISemanticHighlightingCalculator {
+
+		/**
+		 * Announces the highlighted ranges that intersect the given region. Ranges outside of the region may be
+		 * announced as well and will be ignored by the caller.
+		 * 
+		 * @param resource the resource that will be highlighted. May be <code>null</code> in some rare cases.
+		 * @param region the region of the document whose highlighting has to be computed.
+		 * @param acceptor used to announce the mapping from text-range to the style's id. The acceptor will never be <code>null</code>.
+		 * @param cancelIndicator used to determine whether we should stop searching for highlighting positions
+		 */
+		void provideHighlightingFor(XtextResource resource, ITextRegion region, IHighlightedPositionAcceptor acceptor,
+				CancelIndicator cancelIndicator);
+
+	}
+
 }
@@ -10,10 +10,12 @@ package org.eclipse.xtext.ide.server
 import com.google.common.collect.HashMultimap
 import com.google.inject.Inject
 import com.google.inject.Provider
+import com.google.inject.name.Named
 import java.util.ArrayList
 import java.util.Collection
 import java.util.List
 import java.util.Set
+import java.util.concurrent.ExecutorService
 import org.eclipse.emf.common.util.URI
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend.lib.annotations.Data
@@ -30,9 +32,25 @@ class BuildManager {
     
     public static val CYCLIC_PROJECT_DEPENDENCIES = BuildManager.canonicalName + '.cyclicProjectDependencies'
 
+    /**
+     * The name of the binding of the maximum number of projects that are built at the same time.
+     * @since 2.16
+     */
+    public static val PARALLEL_PROJECT_BUILDS = 'org.eclipse.xtext.ide.server.BuildManager.parallelProjectBuilds'
+
     @Accessors(PUBLIC_SETTER)
     WorkspaceManager workspaceManager
     @Inject Provider<TopologicalSorter> sorterProvider
+    @Inject(optional=true) ExecutorService executorService
+
+    /**
+     * The maximum number of projects that are built at the same time. If greater than one, projects that do not
+     * depend on each other are built in parallel. The issue acceptors and the services used by the builds of the
+     * affected languages have to be thread-safe then.
+     * @since 2.16
+     */
+    @Inject(optional=true) @Named(PARALLEL_PROJECT_BUILDS)
+    @Accessors int parallelProjectBuilds = 1
 
     val dirtyFiles = <URI>newLinkedHashSet
     val deletedFiles = <URI>newLinkedHashSet
@@ -54,6 +72,13 @@ class BuildManager {
 
     def List<IResourceDescription.Delta> doInitialBuild(List<ProjectDescription> projects, CancelIndicator indicator) {
         val sortedDescriptions = sortByDependencies(projects)
+        val scheduler = getProjectBuildScheduler(sortedDescriptions)
+        if (scheduler !== null) {
+            val results = scheduler.build(sortedDescriptions, [findProjectDescription(it)], [ description, upstreamDeltas |
+                workspaceManager.getProjectManager(description.name).doInitialBuild(indicator)
+            ], [])
+            return results.map[affectedResources].flatten.toList
+        }
         val result = newArrayList
         for(description : sortedDescriptions) {
             val partialresult = workspaceManager.getProjectManager(description.name).doInitialBuild(indicator)
@@ -75,6 +100,17 @@ class BuildManager {
             project2deleted.put(projectManager, deleted)
         }
         val sortedDescriptions = sortByDependencies(project2dirty.keySet + project2deleted.keySet)
+        val scheduler = getProjectBuildScheduler(sortedDescriptions)
+        if (scheduler !== null) {
+            val results = scheduler.build(sortedDescriptions, [findProjectDescription(it)], [ description, upstreamDeltas |
+                val projectManager = workspaceManager.getProjectManager(description.name)
+                projectManager.doBuild(project2dirty.get(description).toList, project2deleted.get(description).toList, upstreamDeltas, cancelIndicator)
+            ], [ description, partialResult |
+                this.dirtyFiles -= project2dirty.get(description)
+                this.deletedFiles -= project2deleted.get(description)
+            ])
+            return results.map[affectedResources].flatten.toList
+        }
         val result = newArrayList()
         for(ProjectDescription it: sortedDescriptions) {
             val projectManager = workspaceManager.getProjectManager(name)
@@ -89,6 +125,26 @@ class BuildManager {
         return result
     }
     
+    /**
+     * Returns the scheduler that builds the given projects in parallel, or <code>null</code> to build them one
+     * after the other in the given order. A project that is built in parallel receives the deltas of the projects
+     * it depends on, otherwise the deltas of all projects that have been built before it.
+     * 
+     * @since 2.16
+     */
+    protected def ProjectBuildScheduler getProjectBuildScheduler(List<ProjectDescription> sortedDescriptions) {
+        if (parallelProjectBuilds <= 1 || executorService === null || sortedDescriptions.size < 2)
+            return null
+        return new ProjectBuildScheduler(executorService, parallelProjectBuilds)
+    }
+
+    /**
+     * @since 2.16
+     */
+    protected def ProjectDescription findProjectDescription(String name) {
+        return workspaceManager.getProjectManager(name)?.projectDescription
+    }
+
     protected def sortByDependencies(Iterable<ProjectDescription> projectDescriptions) {
         sorterProvider.get.sortByDependencies(projectDescriptions.toList) [
             workspaceManager.getProjectManager(name).reportDependencyCycle
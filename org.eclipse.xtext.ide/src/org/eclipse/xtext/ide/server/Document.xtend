@@ -13,13 +13,20 @@ import org.eclipse.xtend.lib.annotations.Data
 import org.eclipse.lsp4j.Range
 
 /**
+ * An immutable document of the language server. The text is stored in a {@link Rope} that indexes the line breaks,
+ * so offsets and positions are converted in logarithmic time and {@link #applyChanges(Iterable) changes} share the
+ * unchanged parts of the text with the original document.
+ * 
  * @author Sven Efftinge - Initial contribution and API
  * @since 2.11
  */
 @Data class Document {
 
     Integer version
-    String contents
+    /**
+     * @since 2.16
+     */
+    Rope text
     boolean printSourceOnError
 
     new(Integer version, String contents) {
@@ -30,55 +37,39 @@ import org.eclipse.lsp4j.Range
      * @since 2.15
      */
     new(Integer version, String contents, boolean printSourceOnError) {
+        this(version, Rope.of(contents), printSourceOnError)
+    }
+
+    /**
+     * @since 2.16
+     */
+    new(Integer version, Rope text, boolean printSourceOnError) {
         this.version = version
-        this.contents = contents
+        this.text = text
         this.printSourceOnError = printSourceOnError
     }
 
+    /**
+     * Returns the text of this document. The string is created on the first access.
+     */
+    def String getContents() {
+        return text.toString
+    }
+
     def int getOffSet(Position position) throws IndexOutOfBoundsException {
-        val l = contents.length
-        val char NL = '\n'
-        var line = 0
-        var column = 0
-        for (var i = 0; i < l; i++) {
-            val ch = contents.charAt(i)
-            if (position.line === line && position.character === column) {
-                return i
-            }
-            if (ch === NL) {
-                line++
-                column = 0
-            } else {
-                column++
-            }
-        }
-        if (position.line === line && position.character === column) {
-            return l
+        val line = position.line
+        val column = position.character
+        if (line < 0 || line > text.lineBreakCount || column < 0 || column > text.getLineLength(line)) {
+            throw new IndexOutOfBoundsException(position.toString + if (printSourceOnError) "" else (" text was : " + contents))
         }
-        throw new IndexOutOfBoundsException(position.toString + if (printSourceOnError) "" else (" text was : " + contents))
+        return text.getLineOffset(line) + column
     }
 
-    def Position getPosition(int offset) throws IndexOutOfBoundsException{
-        val l = contents.length
-        if (offset < 0 || offset > l)
+    def Position getPosition(int offset) throws IndexOutOfBoundsException {
+        if (offset < 0 || offset > text.length)
             throw new IndexOutOfBoundsException(offset + if (printSourceOnError) "" else (" text was : " + contents))
-
-        val char NL = '\n'
-        var line = 0
-        var column = 0
-        for (var i = 0; i < l; i++) {
-            val ch = contents.charAt(i)
-            if (i === offset) {
-                return new Position(line, column)
-            }
-            if (ch === NL) {
-                line++
-                column = 0
-            } else {
-                column++
-            }
-        }
-        return new Position(line, column)
+        val line = text.getLine(offset)
+        return new Position(line, offset - text.getLineOffset(line))
     }
 
     /**
@@ -86,56 +77,42 @@ import org.eclipse.lsp4j.Range
      * argument is negative or exceeds the number of lines in the document.
      */
     def String getLineContent(int lineNumber) throws IndexOutOfBoundsException {
-        if (lineNumber < 0) {
+        if (lineNumber < 0 || lineNumber > text.lineBreakCount) {
             throw new IndexOutOfBoundsException(lineNumber + if (printSourceOnError) "" else (" text was : " + contents));
         }
-        val char NL = '\n';
-        val l = contents.length;
-        val lineContent = new StringBuilder;
-        var line = 0;
-        for (var i = 0; i < l; i++) {
-            if (line > lineNumber) {
-                return lineContent.toString;
-            }
-            val ch = contents.charAt(i);
-            if (line === lineNumber && ch !== NL) {
-                lineContent.append(ch);
-            }
-            if (ch === NL) {
-                line++;
-            }
-        }
-        if (line < lineNumber) {
-            throw new IndexOutOfBoundsException(lineNumber + if (printSourceOnError) "" else (" text was : " + contents));
-        }
-        return lineContent.toString;
+        val start = text.getLineOffset(lineNumber)
+        return text.substring(start, start + text.getLineLength(lineNumber))
     }
 
     /**
      * Get the number of lines in the document. Empty document has line count: {@code 1}.
      */
     def int getLineCount() {
-        return getPosition(contents.length).line + 1;
+        return text.lineBreakCount + 1;
     }
 
     def String getSubstring(Range range) {
     		val start = getOffSet(range.start)
     		val end = getOffSet(range.end)
-    		return this.contents.substring(start, end)
+    		return this.text.substring(start, end)
     }
 
+    /**
+     * Applies the changes one after the other, i.e. the range of a change refers to the text after the previous
+     * changes have been applied.
+     */
     def Document applyChanges(Iterable<? extends TextEdit> changes) {
-        var newContent = contents
+        var document = this
         for (change : changes) {
             if (change.range === null) {
-                newContent = change.newText
+                document = new Document(version, change.newText)
             } else {
-                val start = getOffSet(change.range.start)
-                val end = getOffSet(change.range.end)
-                newContent = newContent.substring(0, start) + change.newText + newContent.substring(end)
+                val start = document.getOffSet(change.range.start)
+                val end = document.getOffSet(change.range.end)
+                document = new Document(version, document.text.replace(start, end, change.newText), true)
             }
         }
-        return new Document(if (version !== null) version + 1 else null, newContent)
+        return new Document(if (version !== null) version + 1 else null, document.text, true)
     }
     
     /**
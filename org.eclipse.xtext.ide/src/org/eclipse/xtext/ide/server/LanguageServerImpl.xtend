@@ -79,6 +79,7 @@ import org.eclipse.xtext.ide.server.codelens.ICodeLensService
 import org.eclipse.xtext.ide.server.coloring.IColoringService
 import org.eclipse.xtext.ide.server.commands.ExecutableCommandRegistry
 import org.eclipse.xtext.ide.server.concurrent.RequestManager
+import org.eclipse.xtext.ide.server.concurrent.RequestPriority
 import org.eclipse.xtext.ide.server.contentassist.ContentAssistService
 import org.eclipse.xtext.ide.server.findReferences.WorkspaceResourceAccess
 import org.eclipse.xtext.ide.server.formatting.FormattingService
@@ -190,7 +191,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 		
 		access.addBuildListener(this);
 		
-		return requestManager.runWrite([
+		return requestManager.runWrite("initialize", null, [
 			workspaceManager.initialize(baseDir, [this.publishDiagnostics($0, $1)], CancelIndicator.NullImpl)
 			return null
 		], []).thenApply [result]
@@ -239,7 +240,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	// end notification callbacks
 	// file/content change events
 	override didOpen(DidOpenTextDocumentParams params) {
-		requestManager.runWrite([
+		requestManager.runWrite("textDocument/didOpen", #[params.textDocument.uri.toUri], [
 			workspaceManager.didOpen(params.textDocument.uri.toUri, params.textDocument.version, params.textDocument.text)
 		], [cancelIndicator , buildable | 
 			buildable.build(cancelIndicator)
@@ -247,7 +248,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override didChange(DidChangeTextDocumentParams params) {
-		requestManager.runWrite([ 
+		requestManager.runWrite("textDocument/didChange", #[params.textDocument.uri.toUri], [ 
 			workspaceManager.didChange(params.textDocument.uri.toUri, params.textDocument.version, params.contentChanges.map [ event |
 				new TextEdit(event.range, event.text)
 			])
@@ -257,7 +258,8 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override didClose(DidCloseTextDocumentParams params) {
-		requestManager.runWrite([
+		requestManager.runWrite("textDocument/didClose", #[params.textDocument.uri.toUri], [
+			semanticHighlightingRegistry.remove(params.textDocument.uri.toUri)
 			workspaceManager.didClose(params.textDocument.uri.toUri)
 		], [cancelIndicator , buildable | 
 			buildable.build(cancelIndicator)
@@ -270,7 +272,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
-		requestManager.runWrite([
+		requestManager.runWrite("workspace/didChangeWatchedFiles", null, [
 			val dirtyFiles = newArrayList
 			val deletedFiles = newArrayList
 			params.changes.map[fileEvent|toUri(fileEvent.uri) -> fileEvent.type].filter [
@@ -292,7 +294,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 	
 	override didChangeConfiguration(DidChangeConfigurationParams params) {
-		requestManager.runWrite([
+		requestManager.runWrite("workspace/didChangeConfiguration", null, [
             workspaceManager.refreshWorkspaceConfig(CancelIndicator.NullImpl)
             return null
         ], [])
@@ -352,7 +354,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 	// completion stuff
 	override completion(CompletionParams params) {
-		return requestManager.runRead[cancelIndicator | completion(cancelIndicator, params)]
+		return requestManager.runRead("textDocument/completion", params.textDocument.uri.toUri, RequestPriority.HIGH)[cancelIndicator | completion(cancelIndicator, params)]
 	}
 	
 	protected def Either<List<CompletionItem>, CompletionList> completion(CancelIndicator originalCancelIndicator, CompletionParams params) {
@@ -373,7 +375,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	// end completion stuff
 	// symbols
 	override definition(TextDocumentPositionParams params) {
-		return requestManager.runRead[cancelIndicator|definition(cancelIndicator, params)]
+		return requestManager.runRead("textDocument/definition", null, RequestPriority.NORMAL)[cancelIndicator|definition(cancelIndicator, params)]
 	}
 	
 	protected def List<? extends Location> definition(CancelIndicator cancelIndicator, TextDocumentPositionParams params) {
@@ -389,7 +391,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override references(ReferenceParams params) {
-		return requestManager.<List<? extends Location>>runRead[ cancelIndicator |
+		return requestManager.<List<? extends Location>>runRead("textDocument/references", null, RequestPriority.NORMAL)[ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val documentSymbolService = resourceServiceProvider?.get(DocumentSymbolService)
@@ -403,7 +405,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override documentSymbol(DocumentSymbolParams params) {
-		return requestManager.<List<Either<SymbolInformation, DocumentSymbol>>>runRead[ cancelIndicator |
+		return requestManager.<List<Either<SymbolInformation, DocumentSymbol>>>runRead("textDocument/documentSymbol", params.textDocument.uri.toUri, RequestPriority.NORMAL)[ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val documentSymbolService = resourceServiceProvider.IDocumentSymbolService
@@ -437,7 +439,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override symbol(WorkspaceSymbolParams params) {
-		return requestManager.<List<? extends SymbolInformation>>runRead [ cancelIndicator |
+		return requestManager.<List<? extends SymbolInformation>>runRead("workspace/symbol", null, RequestPriority.NORMAL)[ cancelIndicator |
 			val indexData = workspaceManager.index
 			return workspaceSymbolService.getSymbols(params.query, resourceAccess, indexData, cancelIndicator)
 		]
@@ -448,7 +450,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	// hover
 	
 	override hover(TextDocumentPositionParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/hover", params.textDocument.uri.toUri, RequestPriority.HIGH)[ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val hoverService = resourceServiceProvider?.get(IHoverService)
@@ -468,7 +470,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override signatureHelp(TextDocumentPositionParams params) {
-		return requestManager.runRead [ cancelIndicator |
+		return requestManager.runRead("textDocument/signatureHelp", params.textDocument.uri.toUri, RequestPriority.HIGH) [ cancelIndicator |
             val uri = params.textDocument.uri.toUri;
             val serviceProvider = uri.resourceServiceProvider;
             val helper = serviceProvider?.get(ISignatureHelpService);
@@ -482,7 +484,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override documentHighlight(TextDocumentPositionParams params) {
-		return requestManager.runRead [ cancelIndicator |
+		return requestManager.runRead("textDocument/documentHighlight", params.textDocument.uri.toUri, RequestPriority.NORMAL) [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri;
 			val serviceProvider = uri.resourceServiceProvider;
 			val service = serviceProvider?.get(IDocumentHighlightService);
@@ -496,7 +498,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override codeAction(CodeActionParams params) {
-		return requestManager.runRead [ cancelIndicator |
+		return requestManager.runRead("textDocument/codeAction", params.textDocument.uri.toUri, RequestPriority.NORMAL) [ cancelIndicator |
 			val uri = params.textDocument.uri.toUri;
 			val serviceProvider = uri.resourceServiceProvider;
 			val service = serviceProvider?.get(ICodeActionService);
@@ -533,7 +535,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 	
 	override codeLens(CodeLensParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/codeLens", params.textDocument.uri.toUri, RequestPriority.LOW)[ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val codeLensService = resourceServiceProvider?.get(ICodeLensService)
@@ -553,7 +555,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 		if (uri === null) {
 			return CompletableFuture.completedFuture(unresolved)
 		}
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("codeLens/resolve", uri, RequestPriority.LOW)[ cancelIndicator |
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val resolver = resourceServiceProvider?.get(ICodeLensResolver)
 			if (resolver === null)
@@ -567,7 +569,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override formatting(DocumentFormattingParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/formatting", params.textDocument.uri.toUri, RequestPriority.NORMAL)[ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val formatterService = resourceServiceProvider?.get(FormattingService)
@@ -581,7 +583,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override rangeFormatting(DocumentRangeFormattingParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/rangeFormatting", params.textDocument.uri.toUri, RequestPriority.NORMAL)[ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val formatterService = resourceServiceProvider?.get(FormattingService)
@@ -595,7 +597,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 	
 	override executeCommand(ExecuteCommandParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("workspace/executeCommand", null, RequestPriority.NORMAL)[ cancelIndicator |
 			this.commandRegistry.executeCommand(params, this.access, cancelIndicator)
 		]
 	}
@@ -605,7 +607,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 
 	override rename(RenameParams params) {
-		return requestManager.runRead[ cancelIndicator |
+		return requestManager.runRead("textDocument/rename", null, RequestPriority.NORMAL)[ cancelIndicator |
 			val uri = params.textDocument.uri.toUri
 			val resourceServiceProvider = uri.resourceServiceProvider
 			val renameService = resourceServiceProvider?.get(IRenameService)
@@ -707,6 +709,7 @@ import static org.eclipse.xtext.diagnostics.Severity.*
 	}
 	
 	override afterBuild(List<Delta> deltas) {
+		deltas.filter[^new === null].forEach[semanticHighlightingRegistry.remove(uri)]
 		deltas.filter[^new !== null].map[uri.toString].forEach [
 				access.<Void>doRead(it) [ ctx |
 					if (ctx.documentOpen) {
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.eclipse.xtext.build.IncrementalBuilder;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ProjectDescription;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Builds projects concurrently on an executor while respecting their dependencies. A project is started as soon as
+ * all projects that it depends on - directly or via projects that are not part of the build - have been built, and it
+ * receives their deltas. At most {@link #getParallelism() parallelism} projects are built at the same time.
+ *
+ * <p>
+ * The result does not depend on the timing of the builds: the deltas a project receives and the list of results are
+ * always in the given topological order. If a build fails, no further projects are started; the scheduler waits for
+ * the running builds and rethrows the failure of the first project in topological order.
+ * </p>
+ *
+ * @since 2.16
+ */
+@Beta
+public class ProjectBuildScheduler {
+
+	/**
+	 * Builds a single project.
+	 */
+	public interface ProjectBuild {
+
+		/**
+		 * @param upstreamDeltas
+		 *            the deltas of the already built projects that the project depends on
+		 */
+		IncrementalBuilder.Result build(ProjectDescription project, List<IResourceDescription.Delta> upstreamDeltas);
+
+	}
+
+	private final Executor executor;
+
+	private final int parallelism;
+
+	public ProjectBuildScheduler(Executor executor, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism: " + parallelism);
+		}
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @param sortedProjects
+	 *            the projects to build, sorted by their dependencies
+	 * @param lookup
+	 *            finds the description of a project that is not built, used to follow transitive dependencies; may
+	 *            return <code>null</code>
+	 * @param build
+	 *            builds a project, called on a thread of the executor
+	 * @param finished
+	 *            called on the calling thread after a project has been built successfully
+	 * @return the results of the builds in the order of the given projects
+	 */
+	public List<IncrementalBuilder.Result> build(List<ProjectDescription> sortedProjects,
+			Function<String, ProjectDescription> lookup, ProjectBuild build,
+			BiConsumer<ProjectDescription, IncrementalBuilder.Result> finished) {
+		int size = sortedProjects.size();
+		List<BitSet> upstream = computeUpstreamProjects(sortedProjects, lookup);
+		IncrementalBuilder.Result[] results = new IncrementalBuilder.Result[size];
+		Throwable[] failures = new Throwable[size];
+		BitSet started = new BitSet(size);
+		BitSet done = new BitSet(size);
+		BlockingQueue<Future<Integer>> completed = new LinkedBlockingQueue<>();
+		ExecutorCompletionService<Integer> completionService = new ExecutorCompletionService<>(executor, completed);
+		Map<Future<Integer>, Integer> running = new HashMap<>();
+		boolean failed = false;
+		while (true) {
+			if (!failed) {
+				for (int i = started.nextClearBit(0); i < size && running.size() < parallelism; i = started
+						.nextClearBit(i + 1)) {
+					if (isReady(upstream.get(i), done)) {
+						started.set(i);
+						int index = i;
+						List<IResourceDescription.Delta> deltas = collectDeltas(upstream.get(index), results);
+						Future<Integer> future = completionService.submit(() -> {
+							results[index] = build.build(sortedProjects.get(index), deltas);
+							return index;
+						});
+						running.put(future, index);
+					}
+				}
+			}
+			if (running.isEmpty()) {
+				break;
+			}
+			Future<Integer> future = Uninterruptibles.takeUninterruptibly(completed);
+			int index = running.remove(future);
+			try {
+				Uninterruptibles.getUninterruptibly(future);
+				done.set(index);
+				finished.accept(sortedProjects.get(index), results[index]);
+			} catch (ExecutionException e) {
+				failed = true;
+				failures[index] = e.getCause();
+			} catch (RuntimeException | Error e) {
+				failed = true;
+				failures[index] = e;
+			}
+		}
+		for (Throwable failure : failures) {
+			if (failure != null) {
+				throw propagate(failure);
+			}
+		}
+		return Arrays.asList(results);
+	}
+
+	protected boolean isReady(BitSet upstream, BitSet done) {
+		BitSet missing = (BitSet) upstream.clone();
+		missing.andNot(done);
+		return missing.isEmpty();
+	}
+
+	protected List<IResourceDescription.Delta> collectDeltas(BitSet upstream, IncrementalBuilder.Result[] results) {
+		List<IResourceDescription.Delta> deltas = new ArrayList<>();
+		for (int i = upstream.nextSetBit(0); i >= 0; i = upstream.nextSetBit(i + 1)) {
+			deltas.addAll(results[i].getAffectedResources());
+		}
+		return deltas;
+	}
+
+	/**
+	 * For each project, computes the earlier projects in the list that it depends on, directly or transitively. Only
+	 * earlier projects are considered, so that projects with cyclic dependencies are built in the given order.
+	 */
+	protected List<BitSet> computeUpstreamProjects(List<ProjectDescription> sortedProjects,
+			Function<String, ProjectDescription> lookup) {
+		Map<String, Integer> name2index = new HashMap<>();
+		for (int i = 0; i < sortedProjects.size(); i++) {
+			name2index.put(sortedProjects.get(i).getName(), i);
+		}
+		List<BitSet> result = new ArrayList<>(sortedProjects.size());
+		for (int i = 0; i < sortedProjects.size(); i++) {
+			BitSet upstream = new BitSet();
+			Set<String> visited = new HashSet<>();
+			List<String> queue = new ArrayList<>(sortedProjects.get(i).getDependencies());
+			while (!queue.isEmpty()) {
+				String name = queue.remove(queue.size() - 1);
+				if (!visited.add(name)) {
+					continue;
+				}
+				Integer index = name2index.get(name);
+				ProjectDescription description = index != null ? sortedProjects.get(index) : lookup.apply(name);
+				if (index != null && index < i) {
+					upstream.set(index);
+				}
+				if (description != null) {
+					queue.addAll(description.getDependencies());
+				}
+			}
+			result.add(upstream);
+		}
+		return result;
+	}
+
+	private static RuntimeException propagate(Throwable failure) {
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		throw new RuntimeException(failure);
+	}
+
+}
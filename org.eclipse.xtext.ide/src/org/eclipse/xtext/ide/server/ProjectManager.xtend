@@ -9,12 +9,16 @@ package org.eclipse.xtext.ide.server
 
 import com.google.inject.Inject
 import com.google.inject.Provider
+import com.google.inject.name.Named
 import java.util.List
 import java.util.Map
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.ForkJoinPool
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.build.BuildRequest
+import org.eclipse.xtext.build.BuildRequest.IStreamingValidationCallback
 import org.eclipse.xtext.build.IncrementalBuilder
 import org.eclipse.xtext.build.IncrementalBuilder.Result
 import org.eclipse.xtext.build.IndexState
@@ -22,6 +26,7 @@ import org.eclipse.xtext.diagnostics.Severity
 import org.eclipse.xtext.resource.IExternalContentSupport
 import org.eclipse.xtext.resource.IExternalContentSupport.IExternalContentProvider
 import org.eclipse.xtext.resource.IResourceServiceProvider
+import org.eclipse.xtext.resource.ISynchronizable
 import org.eclipse.xtext.resource.XtextResourceSet
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
 import org.eclipse.xtext.resource.impl.ProjectDescription
@@ -39,12 +44,39 @@ import org.eclipse.xtext.resource.IResourceDescription
  */
 class ProjectManager {
     
+    /**
+     * The name of the binding that enables publishing the diagnostics of a resource while it is validated.
+     * @since 2.16
+     */
+    public static val STREAM_DIAGNOSTICS = 'org.eclipse.xtext.ide.server.ProjectManager.streamDiagnostics'
+    
+    /**
+     * The name of the binding that enables loading the resources of the initial build in parallel.
+     * @since 2.16
+     */
+    public static val PARALLEL_INITIAL_BUILD = 'org.eclipse.xtext.ide.server.ProjectManager.parallelInitialBuild'
+    
     @Inject protected IncrementalBuilder incrementalBuilder
     @Inject protected Provider<XtextResourceSet> resourceSetProvider
     @Inject protected IResourceServiceProvider.Registry languagesRegistry
     @Inject protected IFileSystemScanner fileSystemScanner
     @Inject protected IExternalContentSupport externalContentSupport
     
+    /**
+     * Whether the syntax and linking errors of a resource are published before its semantic validation is done.
+     * @since 2.16
+     */
+    @Inject(optional=true) @Named(STREAM_DIAGNOSTICS)
+    @Accessors boolean streamDiagnostics = false
+    
+    /**
+     * Whether the initial build loads, parses and indexes the resources in parallel.
+     * @see #getInitialBuildExecutor(BuildRequest)
+     * @since 2.16
+     */
+    @Inject(optional=true) @Named(PARALLEL_INITIAL_BUILD)
+    @Accessors boolean parallelInitialBuild = false
+    
     @Accessors(PUBLIC_GETTER)
     IndexState indexState = new IndexState
 
@@ -69,6 +101,19 @@ class ProjectManager {
         this.issueAcceptor = acceptor
         this.openedDocumentsContentProvider = openedDocumentsContentProvider
         this.indexProvider = indexProvider
+        this.indexState = createInitialIndexState
+    }
+    
+    /**
+     * Creates the empty index state before the initial build. Override to use a different
+     * {@link ResourceDescriptionsData} implementation, e.g. a
+     * {@link org.eclipse.xtext.resource.impl.CompactResourceDescriptionsData CompactResourceDescriptionsData}
+     * for large workspaces.
+     * 
+     * @since 2.16
+     */
+    protected def IndexState createInitialIndexState() {
+        return new IndexState
     }
     
     def Result doInitialBuild(CancelIndicator cancelIndicator) {
@@ -76,11 +121,19 @@ class ProjectManager {
         projectConfig.sourceFolders.forEach [
             fileSystemScanner.scan(path) [uris += it]
         ] 
-        return doBuild(uris, emptyList, emptyList, cancelIndicator)        
+        val request = newBuildRequest(uris, emptyList, emptyList, cancelIndicator)
+        request.loadingExecutor = getInitialBuildExecutor(request)
+        return doBuild(request)
     } 
 
     def Result doBuild(List<URI> dirtyFiles, List<URI> deletedFiles, List<IResourceDescription.Delta> externalDeltas, CancelIndicator cancelIndicator) {
-        val request = newBuildRequest(dirtyFiles, deletedFiles, externalDeltas, cancelIndicator)
+        return doBuild(newBuildRequest(dirtyFiles, deletedFiles, externalDeltas, cancelIndicator))
+    }
+
+    /**
+     * @since 2.16
+     */
+    protected def Result doBuild(BuildRequest request) {
         val result = incrementalBuilder.build(request, [
             languagesRegistry.getResourceServiceProvider(it)
         ])
@@ -90,6 +143,21 @@ class ProjectManager {
         return result;
     }
 
+    /**
+     * Returns the executor that loads, parses and indexes the resources of the initial build in parallel, or
+     * <code>null</code> to build on the calling thread. It is used as the {@link BuildRequest#getLoadingExecutor()
+     * loading executor}, so linking, validation and generation still run on the calling thread. The default uses the
+     * common {@link ForkJoinPool} if {@link #isParallelInitialBuild() parallel initial builds} are enabled and the
+     * resource set of the request is {@link ISynchronizable}.
+     * 
+     * @since 2.16
+     */
+    protected def ExecutorService getInitialBuildExecutor(BuildRequest request) {
+        if (parallelInitialBuild && request.resourceSet instanceof ISynchronizable<?>)
+            return ForkJoinPool.commonPool
+        return null
+    }
+
     protected def BuildRequest newBuildRequest(List<URI> changedFiles, List<URI> deletedFiles, List<IResourceDescription.Delta> externalDeltas, CancelIndicator cancelIndicator) {
         new BuildRequest => [
             it.baseDir = baseDir
@@ -98,14 +166,36 @@ class ProjectManager {
             it.dirtyFiles = changedFiles
             it.deletedFiles = deletedFiles
             it.externalDeltas = externalDeltas
-            afterValidate = [ uri, issues |
-                issueAcceptor.apply(uri, issues)
-                return true
-            ]
+            if (streamDiagnostics) {
+                afterValidate = createStreamingValidationCallback
+            } else {
+                afterValidate = [ uri, issues |
+                    issueAcceptor.apply(uri, issues)
+                    return true
+                ]
+            }
             it.cancelIndicator = cancelIndicator
         ]
     }
 
+    /**
+     * Creates the validation callback that publishes the issues of a resource while it is validated.
+     * 
+     * @since 2.16
+     */
+    protected def IStreamingValidationCallback createStreamingValidationCallback() {
+        return new IStreamingValidationCallback() {
+            override acceptIssues(URI validated, Iterable<Issue> issues) {
+                issueAcceptor.apply(validated, issues)
+            }
+
+            override afterValidate(URI validated, Iterable<Issue> issues) {
+                issueAcceptor.apply(validated, issues)
+                return true
+            }
+        }
+    }
+
 	def XtextResourceSet createNewResourceSet(ResourceDescriptionsData newIndex) {
 		resourceSetProvider.get => [
             projectDescription.attachToEmfObject(it)
@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * An immutable text that is stored as a balanced tree of text chunks. Each node knows the length and the number of
+ * line breaks of its text, so that offsets can be converted to lines and vice versa in logarithmic time. A
+ * {@link #replace(int, int, String) replacement} shares all chunks that are not affected by it with the original
+ * rope and allocates in proportion to the size of the replacement.
+ *
+ * <p>
+ * Lines are separated by <code>'\n'</code>.
+ * </p>
+ *
+ * @since 2.16
+ */
+@Beta
+public final class Rope implements CharSequence {
+
+	/**
+	 * The maximum length of a chunk.
+	 */
+	protected static final int MAX_LEAF_LENGTH = 1024;
+
+	private static final char NL = '\n';
+
+	private static final Rope EMPTY = new Rope(new Leaf(""));
+
+	private final Node root;
+
+	private volatile String string;
+
+	private Rope(Node root) {
+		this.root = root;
+	}
+
+	private Rope(Node root, String string) {
+		this.root = root;
+		this.string = string;
+	}
+
+	public static Rope of(CharSequence text) {
+		if (text instanceof Rope) {
+			return (Rope) text;
+		}
+		if (text.length() == 0) {
+			return EMPTY;
+		}
+		String string = text.toString();
+		return new Rope(build(string, 0, string.length()), string);
+	}
+
+	private static Node build(String text, int start, int end) {
+		if (end - start <= MAX_LEAF_LENGTH) {
+			return new Leaf(text.substring(start, end));
+		}
+		int middle = (start + end) >>> 1;
+		return new Branch(build(text, start, middle), build(text, middle, end));
+	}
+
+	@Override
+	public int length() {
+		return root.length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		checkOffset(index, length() - 1);
+		Node node = root;
+		while (node instanceof Branch) {
+			Branch branch = (Branch) node;
+			if (index < branch.left.length) {
+				node = branch.left;
+			} else {
+				index -= branch.left.length;
+				node = branch.right;
+			}
+		}
+		return ((Leaf) node).text.charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return substring(start, end);
+	}
+
+	public String substring(int start, int end) {
+		checkOffset(start, end);
+		checkOffset(end, length());
+		String cached = string;
+		if (cached != null) {
+			return cached.substring(start, end);
+		}
+		StringBuilder result = new StringBuilder(end - start);
+		append(root, start, end, result);
+		return result.toString();
+	}
+
+	private static void append(Node node, int start, int end, StringBuilder result) {
+		if (start >= end) {
+			return;
+		}
+		if (node instanceof Leaf) {
+			result.append(((Leaf) node).text, start, end);
+		} else {
+			Branch branch = (Branch) node;
+			int leftLength = branch.left.length;
+			append(branch.left, start, Math.min(end, leftLength), result);
+			append(branch.right, Math.max(start - leftLength, 0), end - leftLength, result);
+		}
+	}
+
+	/**
+	 * @return the number of line breaks, i.e. the number of lines minus one
+	 */
+	public int getLineBreakCount() {
+		return root.lineBreaks;
+	}
+
+	/**
+	 * @return the zero-based line of the given offset, i.e. the number of line breaks before the offset
+	 */
+	public int getLine(int offset) {
+		checkOffset(offset, length());
+		int line = 0;
+		Node node = root;
+		while (node instanceof Branch) {
+			Branch branch = (Branch) node;
+			if (offset <= branch.left.length) {
+				node = branch.left;
+			} else {
+				line += branch.left.lineBreaks;
+				offset -= branch.left.length;
+				node = branch.right;
+			}
+		}
+		String text = ((Leaf) node).text;
+		for (int i = 0; i < offset; i++) {
+			if (text.charAt(i) == NL) {
+				line++;
+			}
+		}
+		return line;
+	}
+
+	/**
+	 * @return the offset of the first character of the given zero-based line
+	 */
+	public int getLineOffset(int line) {
+		checkOffset(line, getLineBreakCount());
+		if (line == 0) {
+			return 0;
+		}
+		int offset = 0;
+		Node node = root;
+		while (node instanceof Branch) {
+			Branch branch = (Branch) node;
+			if (line <= branch.left.lineBreaks) {
+				node = branch.left;
+			} else {
+				line -= branch.left.lineBreaks;
+				offset += branch.left.length;
+				node = branch.right;
+			}
+		}
+		String text = ((Leaf) node).text;
+		for (int i = 0;; i++) {
+			if (text.charAt(i) == NL && --line == 0) {
+				return offset + i + 1;
+			}
+		}
+	}
+
+	/**
+	 * @return the length of the given zero-based line without its line break
+	 */
+	public int getLineLength(int line) {
+		int start = getLineOffset(line);
+		int end = line < getLineBreakCount() ? getLineOffset(line + 1) - 1 : length();
+		return end - start;
+	}
+
+	/**
+	 * @return a rope with the text between the given offsets replaced by the given text
+	 */
+	public Rope replace(int start, int end, String text) {
+		checkOffset(start, end);
+		checkOffset(end, length());
+		Node result = concat(concat(split(root, start, true), text.isEmpty() ? null : of(text).root),
+				split(root, end, false));
+		return result == null ? EMPTY : new Rope(result);
+	}
+
+	/**
+	 * @return the text before (<code>head == true</code>) or after the given offset
+	 */
+	private static Node split(Node node, int offset, boolean head) {
+		if (head && offset == 0 || !head && offset == node.length) {
+			return null;
+		}
+		if (head && offset == node.length || !head && offset == 0) {
+			return node;
+		}
+		if (node instanceof Leaf) {
+			String text = ((Leaf) node).text;
+			return new Leaf(head ? text.substring(0, offset) : text.substring(offset));
+		}
+		Branch branch = (Branch) node;
+		int leftLength = branch.left.length;
+		if (offset < leftLength) {
+			Node left = split(branch.left, offset, head);
+			return head ? left : concat(left, branch.right);
+		} else {
+			Node right = split(branch.right, offset - leftLength, head);
+			return head ? concat(branch.left, right) : right;
+		}
+	}
+
+	/**
+	 * Concatenates two balanced trees, see the join operation of AVL trees.
+	 */
+	private static Node concat(Node left, Node right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left instanceof Leaf && right instanceof Leaf && left.length + right.length <= MAX_LEAF_LENGTH) {
+			return new Leaf(((Leaf) left).text + ((Leaf) right).text);
+		}
+		if (left.height > right.height + 1) {
+			Branch branch = (Branch) left;
+			return balance(branch.left, concat(branch.right, right));
+		}
+		if (right.height > left.height + 1) {
+			Branch branch = (Branch) right;
+			return balance(concat(left, branch.left), branch.right);
+		}
+		return new Branch(left, right);
+	}
+
+	private static Node balance(Node left, Node right) {
+		if (left.height > right.height + 1) {
+			Branch branch = (Branch) left;
+			if (branch.left.height >= branch.right.height) {
+				return new Branch(branch.left, new Branch(branch.right, right));
+			}
+			Branch inner = (Branch) branch.right;
+			return new Branch(new Branch(branch.left, inner.left), new Branch(inner.right, right));
+		}
+		if (right.height > left.height + 1) {
+			Branch branch = (Branch) right;
+			if (branch.right.height >= branch.left.height) {
+				return new Branch(new Branch(left, branch.left), branch.right);
+			}
+			Branch inner = (Branch) branch.left;
+			return new Branch(new Branch(left, inner.left), new Branch(inner.right, branch.right));
+		}
+		return new Branch(left, right);
+	}
+
+	private void checkOffset(int offset, int max) {
+		if (offset < 0 || offset > max) {
+			throw new IndexOutOfBoundsException(String.valueOf(offset));
+		}
+	}
+
+	@Override
+	public String toString() {
+		String result = string;
+		if (result == null) {
+			StringBuilder builder = new StringBuilder(length());
+			append(root, 0, length(), builder);
+			result = builder.toString();
+			string = result;
+		}
+		return result;
+	}
+
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Rope)) {
+			return false;
+		}
+		Rope other = (Rope) obj;
+		return length() == other.length() && toString().equals(other.toString());
+	}
+
+	private static abstract class Node {
+
+		final int length;
+
+		final int lineBreaks;
+
+		final int height;
+
+		Node(int length, int lineBreaks, int height) {
+			this.length = length;
+			this.lineBreaks = lineBreaks;
+			this.height = height;
+		}
+
+	}
+
+	private static class Leaf extends Node {
+
+		final String text;
+
+		Leaf(String text) {
+			super(text.length(), countLineBreaks(text), 0);
+			this.text = text;
+		}
+
+		private static int countLineBreaks(String text) {
+			int result = 0;
+			for (int i = 0; i < text.length(); i++) {
+				if (text.charAt(i) == NL) {
+					result++;
+				}
+			}
+			return result;
+		}
+
+	}
+
+	private static class Branch extends Node {
+
+		final Node left;
+
+		final Node right;
+
+		Branch(Node left, Node right) {
+			super(left.length + right.length, left.lineBreaks + right.lineBreaks,
+					Math.max(left.height, right.height) + 1);
+			this.left = left;
+			this.right = right;
+		}
+
+	}
+
+}
@@ -14,6 +14,7 @@ import java.util.HashSet
 import java.util.List
 import java.util.Map
 import java.util.Set
+import java.util.concurrent.ConcurrentHashMap
 import org.eclipse.emf.common.util.URI
 import org.eclipse.lsp4j.TextEdit
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException
@@ -56,9 +57,11 @@ import org.eclipse.xtext.workspace.IWorkspaceConfig
 		this.buildListeners += listener
 	}
 
-	Map<String, ResourceDescriptionsData> fullIndex = newHashMap()
+	/* projects that do not depend on each other may be built in parallel */
+	Map<String, ResourceDescriptionsData> fullIndex = new ConcurrentHashMap()
 
-	Map<URI, Document> openDocuments = newHashMap()
+	/* reads of other documents may run while a document is opened, changed or closed */
+	Map<URI, Document> openDocuments = new ConcurrentHashMap()
 
 	val openedDocumentsContentProvider = new IExternalContentProvider() {
 
@@ -9,6 +9,7 @@ package org.eclipse.xtext.ide.server.commands
 
 import com.google.common.collect.HashMultimap
 import com.google.common.collect.Multimap
+import com.google.inject.Inject
 import java.util.UUID
 import org.eclipse.lsp4j.ClientCapabilities
 import org.eclipse.lsp4j.ExecuteCommandOptions
@@ -35,6 +36,11 @@ import org.eclipse.xtext.util.internal.Log
 	
 	LanguageClient client
 	
+	/**
+	 * @since 2.16
+	 */
+	@Inject RequestMetricsCommandService requestMetricsCommandService
+	
 	def void initialize(Iterable<? extends IResourceServiceProvider> allLanguages, ClientCapabilities capabilities, LanguageClient client) {
 		this.client = client
 		registeredCommands = HashMultimap.create
@@ -53,6 +59,11 @@ import org.eclipse.xtext.util.internal.Log
 				}
 			}
 		}
+		if (requestMetricsCommandService !== null) {
+			for (c : requestMetricsCommandService.initialize()) {
+				registeredCommands.put(c, requestMetricsCommandService)
+			}
+		}
 	}
 	
 	protected def IDisposable register(String command, IExecutableCommandService service) {
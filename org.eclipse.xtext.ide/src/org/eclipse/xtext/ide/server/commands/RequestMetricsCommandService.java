@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.commands;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.lsp4j.ExecuteCommandParams;
+import org.eclipse.xtext.ide.server.ILanguageServerAccess;
+import org.eclipse.xtext.ide.server.concurrent.RequestQueueMetrics;
+import org.eclipse.xtext.util.CancelIndicator;
+
+import com.google.common.annotations.Beta;
+import com.google.inject.Inject;
+
+/**
+ * Returns the {@link RequestQueueMetrics#getStatistics() statistics} of the requests of the language server. The command takes the optional arguments
+ * {@value #RESET}, which resets the metrics after they have been read, and {@value #SAMPLE_ALLOCATIONS} or
+ * {@value #NO_ALLOCATIONS}, which turn the sampling of allocated bytes on or off.
+ *
+ * @since 2.16
+ */
+@Beta
+public class RequestMetricsCommandService implements IExecutableCommandService {
+
+	public static final String COMMAND = "xtext.requestMetrics";
+
+	public static final String RESET = "reset";
+
+	public static final String SAMPLE_ALLOCATIONS = "sampleAllocations";
+
+	public static final String NO_ALLOCATIONS = "noAllocations";
+
+	@Inject
+	private RequestQueueMetrics metrics;
+
+	@Override
+	public List<String> initialize() {
+		return Collections.singletonList(COMMAND);
+	}
+
+	@Override
+	public Object execute(ExecuteCommandParams params, ILanguageServerAccess access, CancelIndicator cancelIndicator) {
+		if (!COMMAND.equals(params.getCommand())) {
+			return null;
+		}
+		List<Object> arguments = params.getArguments() != null ? params.getArguments() : Collections.emptyList();
+		Object result = metrics.getStatistics();
+		for (Object argument : arguments) {
+			// JSON arguments arrive as quoted primitives
+			String value = String.valueOf(argument).replace("\"", "");
+			if (RESET.equals(value)) {
+				metrics.reset();
+			} else if (SAMPLE_ALLOCATIONS.equals(value)) {
+				metrics.setAllocationSampling(true);
+			} else if (NO_ALLOCATIONS.equals(value)) {
+				metrics.setAllocationSampling(false);
+			}
+		}
+		return result;
+	}
+
+}
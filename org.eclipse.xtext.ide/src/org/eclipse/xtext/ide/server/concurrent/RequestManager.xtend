@@ -9,15 +9,41 @@ package org.eclipse.xtext.ide.server.concurrent
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.google.inject.Inject
+import java.util.Collection
+import java.util.Set
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionException
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import org.eclipse.emf.common.util.URI
+import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
+import org.eclipse.xtext.xbase.lib.Functions.Function0
+import org.eclipse.xtext.xbase.lib.Functions.Function1
+import org.eclipse.xtext.xbase.lib.Functions.Function2
 
 /**
+ * Schedules the requests of the language server. Reads run in parallel, writes run one after the other.
+ * 
+ * <p>
+ * Requests may declare the documents they work on. A write first applies its changes to its documents and then runs
+ * its cancellable part, e.g. the build, exclusively. Reads of other documents keep running while the changes are
+ * applied. A new write cancels all pending writes and the reads of the documents it changes. Requests that don't
+ * declare their documents conflict with all writes.
+ * </p>
+ * 
+ * <p>
+ * Pending requests are started by their {@link RequestPriority priority}, but a request never overtakes an earlier
+ * request that it conflicts with.
+ * </p>
+ * 
+ * <p>
+ * The queue time, execution time and outcome of each request are recorded in the {@link RequestQueueMetrics} under
+ * the method of the request.
+ * </p>
  * 
  * @author kosyakov - Initial contribution and API
  * @since 2.11
@@ -32,7 +58,22 @@ class RequestManager {
 	val queue = Executors.newSingleThreadExecutor(
 		new ThreadFactoryBuilder().setDaemon(true).setNameFormat("RequestManager-Queue-%d").build
 	)
-	var requests = <AbstractRequest<?>>newArrayList
+
+	/**
+	 * The maximum number of reads that run at the same time.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors int maxParallelReads = Math.max(2, Runtime.runtime.availableProcessors)
+
+	/**
+	 * @since 2.16
+	 */
+	@Inject @Accessors(PUBLIC_GETTER) RequestQueueMetrics metrics = new RequestQueueMetrics
+
+	val pending = <AbstractRequest<?>>newArrayList
+	val running = <AbstractRequest<?>>newHashSet
+	var long sequence = 0
 
 	def void shutdown() {
 		queue.shutdown()
@@ -40,37 +81,269 @@ class RequestManager {
 		cancel()
 	}
 
+	/**
+	 * Whether a subclass overrides the methods that existed before 2.16, which have to be called then.
+	 */
+	val boolean legacyRunRead = isOverridden('runRead', Function1)
+	val boolean legacyRunWrite = isOverridden('runWrite', Function0, Function2)
+
+	/**
+	 * Whether a subclass overrides the methods that don't take the method of a request.
+	 */
+	val boolean documentRunRead = isOverridden('runRead', URI, RequestPriority, Function1)
+	val boolean documentRunWrite = isOverridden('runWrite', Collection, Function0, Function2)
+
+	def private boolean isOverridden(String name, Class<?>... parameterTypes) {
+		return class.getMethod(name, parameterTypes).declaringClass !== RequestManager
+	}
+
 	def <V> CompletableFuture<V> runRead((CancelIndicator)=>V cancellable) {
-		return submit(
-			new ReadRequest(cancellable, parallel)
-		)
+		return submitRead(null, null, RequestPriority.NORMAL, cancellable)
+	}
+
+	/**
+	 * Runs a read request that only works on the given document. If the document is <code>null</code>, the request may
+	 * read any document. If a subclass overrides {@link #runRead(Function1)}, that method is called instead.
+	 * 
+	 * @since 2.16
+	 */
+	def <V> CompletableFuture<V> runRead(URI uri, RequestPriority priority, (CancelIndicator)=>V cancellable) {
+		if (legacyRunRead)
+			return runRead(cancellable)
+		return submitRead(null, uri, priority, cancellable)
+	}
+
+	/**
+	 * Like {@link #runRead(URI, RequestPriority, Function1)}, but the method, e.g. the LSP method, identifies the
+	 * request in the {@link RequestQueueMetrics}. If a subclass overrides one of the other <code>runRead</code>
+	 * methods, that method is called instead.
+	 * 
+	 * @since 2.16
+	 */
+	def <V> CompletableFuture<V> runRead(String method, URI uri, RequestPriority priority,
+		(CancelIndicator)=>V cancellable) {
+		if (legacyRunRead)
+			return runRead(cancellable)
+		if (documentRunRead)
+			return runRead(uri, priority, cancellable)
+		return submitRead(method, uri, priority, cancellable)
+	}
+
+	def private <V> CompletableFuture<V> submitRead(String method, URI uri, RequestPriority priority,
+		(CancelIndicator)=>V cancellable) {
+		val request = new ReadRequest(cancellable)
+		request.method = method
+		request.uris = if (uri !== null) newHashSet(uri)
+		request.priority = priority
+		return submit(request)
 	}
 
 	def <U, V> CompletableFuture<V> runWrite(()=>U nonCancellable, (CancelIndicator, U)=>V cancellable) {
-		val cancelFuture = cancel()
-		return submit(
-			new WriteRequest(nonCancellable, cancellable, cancelFuture)
-		)
+		return submitWrite(null, null, nonCancellable, cancellable)
 	}
 
-	protected def <V> CompletableFuture<V> submit(AbstractRequest<V> request) {
-		requests += request
-		queue.submit(request)
-		return request.get
+	/**
+	 * Runs a write request. The non-cancellable part must only change the given documents. If the documents are
+	 * <code>null</code>, it may change any document. The cancellable part always runs exclusively. If a subclass
+	 * overrides {@link #runWrite(Function0, Function2)}, that method is called instead.
+	 * 
+	 * @since 2.16
+	 */
+	def <U, V> CompletableFuture<V> runWrite(Collection<URI> uris, ()=>U nonCancellable,
+		(CancelIndicator, U)=>V cancellable) {
+		if (legacyRunWrite)
+			return runWrite(nonCancellable, cancellable)
+		return submitWrite(null, uris, nonCancellable, cancellable)
+	}
+
+	/**
+	 * Like {@link #runWrite(Collection, Function0, Function2)}, but the method, e.g. the LSP method, identifies the
+	 * request in the {@link RequestQueueMetrics}. If a subclass overrides one of the other <code>runWrite</code>
+	 * methods, that method is called instead.
+	 * 
+	 * @since 2.16
+	 */
+	def <U, V> CompletableFuture<V> runWrite(String method, Collection<URI> uris, ()=>U nonCancellable,
+		(CancelIndicator, U)=>V cancellable) {
+		if (legacyRunWrite)
+			return runWrite(nonCancellable, cancellable)
+		if (documentRunWrite)
+			return runWrite(uris, nonCancellable, cancellable)
+		return submitWrite(method, uris, nonCancellable, cancellable)
+	}
+
+	def private <U, V> CompletableFuture<V> submitWrite(String method, Collection<URI> uris, ()=>U nonCancellable,
+		(CancelIndicator, U)=>V cancellable) {
+		val request = new WriteRequest(nonCancellable, cancellable)
+		request.method = method
+		request.uris = uris?.toSet
+		return submit(request)
 	}
 
-	protected def CompletableFuture<Void> cancel() {
-		val localRequests = requests
-		requests = newArrayList
+	protected synchronized def <V> CompletableFuture<V> submit(AbstractRequest<V> request) {
+		request.sequence = sequence++
+		request.submitTime = System.nanoTime
+		if (request.isWrite) {
+			for (other : pending + running) {
+				if (conflicts(request, other))
+					other.cancel
+			}
+		}
+		pending += request
+		metrics.submitted(request.priority)
+		schedule()
+		return request.get
+	}
 
+	protected synchronized def CompletableFuture<Void> cancel() {
 		val cfs = newArrayList
-		for (request : localRequests) {
+		for (request : pending + running) {
 			request.cancel
 			cfs += request.get
 		}
+		pending.clear
 		return CompletableFuture.allOf(cfs)
 	}
 
+	/**
+	 * Starts the pending requests that don't conflict with a running request or an earlier pending request.
+	 * 
+	 * @since 2.16
+	 */
+	protected synchronized def void schedule() {
+		if (queue.isShutdown)
+			return;
+		for (request : pending.filter[isDiscardable].toList) {
+			pending -= request
+			if (request.submitTime != 0) {
+				metrics.discarded(request.priority)
+				metrics.discarded(request.method, System.nanoTime - request.submitTime)
+			} else {
+				// a write that has been cancelled after it has applied its changes
+				metrics.finished(request.method, request.queueTime, request.executionTime, request.allocatedBytes, true,
+					false)
+			}
+		}
+		val candidates = pending.sortWith [ a, b |
+			if (a.priority != b.priority)
+				b.priority.compareTo(a.priority)
+			else
+				Long.compare(a.sequence, b.sequence)
+		]
+		for (request : candidates) {
+			if (canStart(request)) {
+				pending -= request
+				start(request)
+			}
+		}
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected def boolean canStart(AbstractRequest<?> request) {
+		if (!request.isWrite && running.filter[!isWrite].size >= maxParallelReads)
+			return false
+		if (running.exists[conflicts(request, it)])
+			return false
+		return !pending.exists[sequence < request.sequence && conflicts(request, it)]
+	}
+
+	/**
+	 * Writes conflict with each other. An exclusive write conflicts with all reads, other writes only conflict with the
+	 * reads of their documents.
+	 * 
+	 * @since 2.16
+	 */
+	protected def boolean conflicts(AbstractRequest<?> request, AbstractRequest<?> other) {
+		if (!request.isWrite && !other.isWrite)
+			return false
+		if (request.isWrite && other.isWrite || request.isExclusive || other.isExclusive)
+			return true
+		return request.uris === null || other.uris === null || request.uris.exists[other.uris.contains(it)]
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected def void start(AbstractRequest<?> request) {
+		running += request
+		if (request.submitTime != 0) {
+			request.queueTime = System.nanoTime - request.submitTime
+			metrics.started(request.priority, request.queueTime)
+			request.submitTime = 0
+		}
+		val executor = if(request.isWrite) queue else parallel
+		try {
+			executor.submit [
+				run(request)
+			]
+		} catch (RejectedExecutionException e) {
+			running -= request
+			request.cancel
+		}
+	}
+
+	/**
+	 * Runs the given request on the current thread and measures its execution time and allocations.
+	 * 
+	 * @since 2.16
+	 */
+	protected def void run(AbstractRequest<?> request) {
+		val allocatedBefore = metrics.currentThreadAllocatedBytes
+		val startTime = System.nanoTime
+		try {
+			request.run
+		} finally {
+			request.executionTime = request.executionTime + (System.nanoTime - startTime)
+			if (allocatedBefore >= 0) {
+				val allocated = metrics.currentThreadAllocatedBytes - allocatedBefore
+				request.allocatedBytes = Math.max(0, request.allocatedBytes) + allocated
+			}
+			finished(request)
+		}
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected synchronized def void finished(AbstractRequest<?> request) {
+		running -= request
+		if (request.isResumable) {
+			pending += request
+		} else {
+			val cancelled = isCancelled(request)
+			metrics.finished(request.method, request.queueTime, request.executionTime, request.allocatedBytes, cancelled,
+				!cancelled && request.get.isCompletedExceptionally)
+		}
+		schedule()
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected def boolean isCancelled(AbstractRequest<?> request) {
+		val result = request.get
+		if (result.isCancelled)
+			return true
+		if (!result.isCompletedExceptionally)
+			return false
+		try {
+			result.getNow(null)
+			return false
+		} catch (Throwable t) {
+			return isCancelException(t)
+		}
+	}
+
+	/**
+	 * @return the number of requests that have not been started yet
+	 * @since 2.16
+	 */
+	synchronized def int getPendingCount() {
+		return pending.size
+	}
+
 	protected def boolean isCancelException(Throwable t) {
 		if(t === null) return false;
 		val cause = if(t instanceof CompletionException) t.cause else t
@@ -83,18 +356,14 @@ class RequestManager {
 class ReadRequest<V> extends AbstractRequest<V> {
 
 	val (CancelIndicator)=>V cancellable
-	val ExecutorService executor
 
 	override void run() {
-		if(result.cancelled) return;
-		executor.submit [
-			try {
-				cancelIndicator.checkCanceled
-				result.complete(cancellable.apply(cancelIndicator))
-			} catch(Throwable e) {
-				result.completeExceptionally(e)
-			}
-		]
+		try {
+			cancelIndicator.checkCanceled
+			result.complete(cancellable.apply(cancelIndicator))
+		} catch(Throwable e) {
+			result.completeExceptionally(e)
+		}
 	}
 
 }
@@ -104,24 +373,39 @@ class WriteRequest<U, V> extends AbstractRequest<V> {
 
 	val ()=>U nonCancellable
 	val (CancelIndicator, U)=>V cancellable
-	val CompletableFuture<Void> previous
+	var U intermediateResult
+	var boolean applied = false
 
 	override void run() {
 		try {
-			previous.join
-		} catch(Throwable e) {
-			// We are not interested in results, only to make sure that all previous requests are finished before running next write request.
-		}
-		try {
-			val intermediateResult = nonCancellable.apply
-
-			cancelIndicator.checkCanceled
-			result.complete(cancellable.apply(cancelIndicator, intermediateResult))
+			if (!applied) {
+				intermediateResult = nonCancellable.apply
+				applied = true
+			} else {
+				cancelIndicator.checkCanceled
+				result.complete(cancellable.apply(cancelIndicator, intermediateResult))
+			}
 		} catch(Throwable e) {
 			result.completeExceptionally(e)
 		}
 	}
 
+	override isWrite() {
+		return true
+	}
+
+	override isExclusive() {
+		return applied
+	}
+
+	override isResumable() {
+		return applied && !result.done
+	}
+
+	override isDiscardable() {
+		return applied && result.done
+	}
+
 }
 
 abstract class AbstractRequest<V> implements Runnable, Cancellable {
@@ -129,6 +413,58 @@ abstract class AbstractRequest<V> implements Runnable, Cancellable {
 	protected val result = new CompletableFuture<V>()
 	protected val cancelIndicator = new RequestCancelIndicator(result)
 
+	/**
+	 * The method that identifies this request in the {@link RequestQueueMetrics}, e.g. the LSP method.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors String method
+
+	/**
+	 * The documents of this request or <code>null</code> if the request may work on all documents.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors Set<URI> uris
+
+	/**
+	 * @since 2.16
+	 */
+	@Accessors RequestPriority priority = RequestPriority.NORMAL
+
+	/**
+	 * @since 2.16
+	 */
+	@Accessors long sequence
+
+	/**
+	 * The time when the request has been submitted or <code>0</code> if it has been started.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors long submitTime
+
+	/**
+	 * The nanoseconds the request has been waiting until it was started.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors long queueTime
+
+	/**
+	 * The nanoseconds the request has been running.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors long executionTime
+
+	/**
+	 * The bytes allocated by the request or <code>-1</code> if allocations have not been sampled.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors long allocatedBytes = -1
+
 	override cancel() {
 		cancelIndicator.cancel
 	}
@@ -137,4 +473,38 @@ abstract class AbstractRequest<V> implements Runnable, Cancellable {
 		return result
 	}
 
+	/**
+	 * @since 2.16
+	 */
+	def boolean isWrite() {
+		return false
+	}
+
+	/**
+	 * Whether this request conflicts with all other requests.
+	 * 
+	 * @since 2.16
+	 */
+	def boolean isExclusive() {
+		return false
+	}
+
+	/**
+	 * Whether this request has to run again after it has been run, e.g. a write that has applied its changes.
+	 * 
+	 * @since 2.16
+	 */
+	def boolean isResumable() {
+		return false
+	}
+
+	/**
+	 * Whether this pending request can be dropped without running it.
+	 * 
+	 * @since 2.16
+	 */
+	def boolean isDiscardable() {
+		return result.done
+	}
+
 }
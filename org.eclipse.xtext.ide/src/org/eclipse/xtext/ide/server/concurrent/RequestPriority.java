@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * The priority of a request. Pending requests with a higher priority are started first, e.g. a completion request is
+ * started before a pending code lens request.
+ *
+ * @see RequestManager
+ * @since 2.16
+ */
+@Beta
+public enum RequestPriority {
+
+	/**
+	 * Requests that the user does not wait for, e.g. code lenses.
+	 */
+	LOW,
+
+	NORMAL,
+
+	/**
+	 * Requests that block the user while typing, e.g. completion.
+	 */
+	HIGH
+
+}
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.annotations.Beta;
+import com.google.inject.Singleton;
+
+/**
+ * Counts the requests of a {@link RequestManager} and records how long they have been waiting in the queue.
+ *
+ * <p>
+ * In addition, the queue time, the execution time, the outcome and optionally the allocated bytes of the finished
+ * requests are recorded per method, e.g. per LSP method. These {@link #getStatistics() statistics} can be read through
+ * the {@link org.eclipse.xtext.ide.server.commands.RequestMetricsCommandService command}
+ * {@value org.eclipse.xtext.ide.server.commands.RequestMetricsCommandService#COMMAND} and through JMX once the metrics
+ * have been {@link #registerMBean() registered}.
+ * </p>
+ *
+ * @since 2.16
+ */
+@Beta
+@Singleton
+public class RequestQueueMetrics implements RequestQueueMetricsMXBean {
+
+	private static final Logger LOG = Logger.getLogger(RequestQueueMetrics.class);
+
+	/**
+	 * The method of requests that don't declare one.
+	 */
+	public static final String UNKNOWN_METHOD = "unknown";
+
+	protected static class MethodMetrics {
+
+		private long count;
+
+		private long cancelledCount;
+
+		private long failedCount;
+
+		private long totalQueueNanos;
+
+		private long maxQueueNanos;
+
+		private long totalExecutionNanos;
+
+		private long maxExecutionNanos;
+
+		private long sampledCount;
+
+		private long totalAllocatedBytes;
+
+		protected synchronized void record(long queueNanos, long executionNanos, long allocatedBytes, boolean cancelled,
+				boolean failed) {
+			count++;
+			if (cancelled) {
+				cancelledCount++;
+			} else if (failed) {
+				failedCount++;
+			}
+			totalQueueNanos += queueNanos;
+			maxQueueNanos = Math.max(maxQueueNanos, queueNanos);
+			totalExecutionNanos += executionNanos;
+			maxExecutionNanos = Math.max(maxExecutionNanos, executionNanos);
+			if (allocatedBytes >= 0) {
+				sampledCount++;
+				totalAllocatedBytes += allocatedBytes;
+			}
+		}
+
+		protected synchronized RequestStatistics toStatistics(String method) {
+			return new RequestStatistics(method, count, cancelledCount, failedCount, toMillis(average(totalQueueNanos)),
+					toMillis(maxQueueNanos), toMillis(average(totalExecutionNanos)), toMillis(maxExecutionNanos),
+					sampledCount == 0 ? -1 : totalAllocatedBytes / sampledCount);
+		}
+
+		private long average(long total) {
+			return count == 0 ? 0 : total / count;
+		}
+
+		private double toMillis(long nanos) {
+			return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+		}
+
+	}
+
+	private final long[] submitted = new long[RequestPriority.values().length];
+
+	private final long[] started = new long[RequestPriority.values().length];
+
+	private final long[] discarded = new long[RequestPriority.values().length];
+
+	private final long[] totalQueueNanos = new long[RequestPriority.values().length];
+
+	private final long[] maxQueueNanos = new long[RequestPriority.values().length];
+
+	private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+	private volatile boolean allocationSampling = false;
+
+	public synchronized void submitted(RequestPriority priority) {
+		submitted[priority.ordinal()]++;
+	}
+
+	public synchronized void started(RequestPriority priority, long queueNanos) {
+		int index = priority.ordinal();
+		started[index]++;
+		totalQueueNanos[index] += queueNanos;
+		maxQueueNanos[index] = Math.max(maxQueueNanos[index], queueNanos);
+	}
+
+	/**
+	 * Records a request that has been cancelled before it was started.
+	 */
+	public synchronized void discarded(RequestPriority priority) {
+		discarded[priority.ordinal()]++;
+	}
+
+	public synchronized long getSubmittedCount(RequestPriority priority) {
+		return submitted[priority.ordinal()];
+	}
+
+	public synchronized long getStartedCount(RequestPriority priority) {
+		return started[priority.ordinal()];
+	}
+
+	public synchronized long getDiscardedCount(RequestPriority priority) {
+		return discarded[priority.ordinal()];
+	}
+
+	/**
+	 * @return the average time the started requests of the given priority have been waiting in the queue
+	 */
+	public synchronized long getAverageQueueLatency(RequestPriority priority, TimeUnit unit) {
+		int index = priority.ordinal();
+		if (started[index] == 0) {
+			return 0;
+		}
+		return unit.convert(totalQueueNanos[index] / started[index], TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return the longest time a started request of the given priority has been waiting in the queue
+	 */
+	public synchronized long getMaxQueueLatency(RequestPriority priority, TimeUnit unit) {
+		return unit.convert(maxQueueNanos[priority.ordinal()], TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Records a finished request under its method.
+	 *
+	 * @param allocatedBytes
+	 *            the bytes allocated by the request or <code>-1</code> if they have not been sampled
+	 */
+	public void finished(String method, long queueNanos, long executionNanos, long allocatedBytes, boolean cancelled,
+			boolean failed) {
+		getMethodMetrics(method).record(queueNanos, executionNanos, allocatedBytes, cancelled, failed);
+	}
+
+	/**
+	 * Records a request that has been cancelled before it was started under its method. The request must have been
+	 * counted as {@link #discarded(RequestPriority) discarded} already.
+	 */
+	public void discarded(String method, long queueNanos) {
+		finished(method, queueNanos, 0, -1, true, false);
+	}
+
+	protected MethodMetrics getMethodMetrics(String method) {
+		return methods.computeIfAbsent(method != null ? method : UNKNOWN_METHOD, m -> new MethodMetrics());
+	}
+
+	/**
+	 * @return the bytes allocated by the current thread so far or <code>-1</code> if allocations are not sampled
+	 */
+	public long getCurrentThreadAllocatedBytes() {
+		if (!allocationSampling) {
+			return -1;
+		}
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+			if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+				return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public List<RequestStatistics> getStatistics() {
+		List<RequestStatistics> result = new ArrayList<>();
+		methods.forEach((method, metrics) -> result.add(metrics.toStatistics(method)));
+		result.sort((a, b) -> a.getMethod().compareTo(b.getMethod()));
+		return result;
+	}
+
+	@Override
+	public boolean isAllocationSampling() {
+		return allocationSampling;
+	}
+
+	/**
+	 * Sampling uses {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)} and is ignored if the JVM
+	 * doesn't support it.
+	 */
+	@Override
+	public void setAllocationSampling(boolean allocationSampling) {
+		this.allocationSampling = allocationSampling;
+	}
+
+	/**
+	 * Resets the counters per priority and the statistics per method.
+	 */
+	@Override
+	public synchronized void reset() {
+		Arrays.fill(submitted, 0);
+		Arrays.fill(started, 0);
+		Arrays.fill(discarded, 0);
+		Arrays.fill(totalQueueNanos, 0);
+		Arrays.fill(maxQueueNanos, 0);
+		methods.clear();
+	}
+
+	/**
+	 * Registers these metrics with the platform MBean server.
+	 *
+	 * @return the name of the MBean or <code>null</code> if it could not be registered
+	 */
+	public ObjectName registerMBean() {
+		try {
+			ObjectName name = new ObjectName("org.eclipse.xtext.ide.server:type=RequestQueueMetrics,id="
+					+ Integer.toHexString(System.identityHashCode(this)));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+			return name;
+		} catch (JMException e) {
+			LOG.error("Cannot register the request metrics", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Removes the MBean with the given name from the platform MBean server.
+	 */
+	public void unregisterMBean(ObjectName name) {
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		} catch (JMException e) {
+			LOG.error("Cannot unregister the request metrics", e);
+		}
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder result = new StringBuilder(getClass().getSimpleName());
+		for (RequestPriority priority : RequestPriority.values()) {
+			result.append("\n  ").append(priority);
+			result.append(": submitted=").append(getSubmittedCount(priority));
+			result.append(", started=").append(getStartedCount(priority));
+			result.append(", discarded=").append(getDiscardedCount(priority));
+			result.append(", avgQueueLatency=").append(getAverageQueueLatency(priority, TimeUnit.MICROSECONDS)).append("us");
+			result.append(", maxQueueLatency=").append(getMaxQueueLatency(priority, TimeUnit.MICROSECONDS)).append("us");
+		}
+		return result.toString();
+	}
+
+}
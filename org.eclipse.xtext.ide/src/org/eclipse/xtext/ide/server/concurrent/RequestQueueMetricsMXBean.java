@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import java.util.List;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * The management interface of the {@link RequestQueueMetrics}.
+ *
+ * @since 2.16
+ */
+@Beta
+public interface RequestQueueMetricsMXBean {
+
+	List<RequestStatistics> getStatistics();
+
+	boolean isAllocationSampling();
+
+	void setAllocationSampling(boolean allocationSampling);
+
+	void reset();
+
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.concurrent;
+
+import java.beans.ConstructorProperties;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A snapshot of the {@link RequestQueueMetrics} of one method. Times are in milliseconds. The allocated bytes are
+ * <code>-1</code> if allocations have not been sampled.
+ *
+ * @since 2.16
+ */
+@Beta
+public class RequestStatistics {
+
+	private final String method;
+
+	private final long count;
+
+	private final long cancelledCount;
+
+	private final long failedCount;
+
+	private final double averageQueueTime;
+
+	private final double maxQueueTime;
+
+	private final double averageExecutionTime;
+
+	private final double maxExecutionTime;
+
+	private final long averageAllocatedBytes;
+
+	@ConstructorProperties({ "method", "count", "cancelledCount", "failedCount", "averageQueueTime", "maxQueueTime",
+			"averageExecutionTime", "maxExecutionTime", "averageAllocatedBytes" })
+	public RequestStatistics(String method, long count, long cancelledCount, long failedCount, double averageQueueTime,
+			double maxQueueTime, double averageExecutionTime, double maxExecutionTime, long averageAllocatedBytes) {
+		this.method = method;
+		this.count = count;
+		this.cancelledCount = cancelledCount;
+		this.failedCount = failedCount;
+		this.averageQueueTime = averageQueueTime;
+		this.maxQueueTime = maxQueueTime;
+		this.averageExecutionTime = averageExecutionTime;
+		this.maxExecutionTime = maxExecutionTime;
+		this.averageAllocatedBytes = averageAllocatedBytes;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return the number of finished requests, including the cancelled and failed ones
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	public long getCancelledCount() {
+		return cancelledCount;
+	}
+
+	public long getFailedCount() {
+		return failedCount;
+	}
+
+	public double getAverageQueueTime() {
+		return averageQueueTime;
+	}
+
+	public double getMaxQueueTime() {
+		return maxQueueTime;
+	}
+
+	public double getAverageExecutionTime() {
+		return averageExecutionTime;
+	}
+
+	public double getMaxExecutionTime() {
+		return maxExecutionTime;
+	}
+
+	public long getAverageAllocatedBytes() {
+		return averageAllocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"%s: count=%d, cancelled=%d, failed=%d, queue=%.2fms (max %.2fms), execution=%.2fms (max %.2fms), allocated=%d bytes",
+				method, count, cancelledCount, failedCount, averageQueueTime, maxQueueTime, averageExecutionTime,
+				maxExecutionTime, averageAllocatedBytes);
+	}
+
+}
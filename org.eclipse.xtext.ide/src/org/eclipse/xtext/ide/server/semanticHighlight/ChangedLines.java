@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.server.semanticHighlight;
+
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.TextRegion;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * The range of lines in which two versions of a document differ. The lines before the {@link #getStartLine() start
+ * line} are equal in both versions, and so are the lines after the changed range, which are shifted by
+ * {@link #getLineDelta()}.
+ *
+ * @since 2.16
+ */
+@Beta
+public class ChangedLines {
+
+	private final int startLine;
+
+	private final int oldEndLine;
+
+	private final int newEndLine;
+
+	private final ITextRegion region;
+
+	protected ChangedLines(int startLine, int oldEndLine, int newEndLine, ITextRegion region) {
+		this.startLine = startLine;
+		this.oldEndLine = oldEndLine;
+		this.newEndLine = newEndLine;
+		this.region = region;
+	}
+
+	/**
+	 * Compares the texts by their common prefix and suffix.
+	 *
+	 * @return the changed lines or <code>null</code> if both texts are equal
+	 */
+	public static ChangedLines compute(String oldText, String newText) {
+		if (oldText.equals(newText)) {
+			return null;
+		}
+		int oldLength = oldText.length();
+		int newLength = newText.length();
+		int minLength = Math.min(oldLength, newLength);
+		int prefix = 0;
+		while (prefix < minLength && oldText.charAt(prefix) == newText.charAt(prefix)) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < minLength - prefix
+				&& oldText.charAt(oldLength - suffix - 1) == newText.charAt(newLength - suffix - 1)) {
+			suffix++;
+		}
+		int startOffset = newText.lastIndexOf('\n', prefix - 1) + 1;
+		int endOffset = newText.indexOf('\n', newLength - suffix);
+		if (endOffset < 0) {
+			endOffset = newLength;
+		}
+		int startLine = countLines(newText, 0, startOffset);
+		int oldEndLine = startLine + countLines(oldText, startOffset, oldLength - suffix) + 1;
+		int newEndLine = startLine + countLines(newText, startOffset, newLength - suffix) + 1;
+		return new ChangedLines(startLine, oldEndLine, newEndLine, new TextRegion(startOffset, endOffset - startOffset));
+	}
+
+	private static int countLines(String text, int from, int to) {
+		int result = 0;
+		for (int i = from; i < to; i++) {
+			if (text.charAt(i) == '\n') {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the first changed line
+	 */
+	public int getStartLine() {
+		return startLine;
+	}
+
+	/**
+	 * @return the line after the changed lines in the old text
+	 */
+	public int getOldEndLine() {
+		return oldEndLine;
+	}
+
+	/**
+	 * @return the line after the changed lines in the new text
+	 */
+	public int getNewEndLine() {
+		return newEndLine;
+	}
+
+	/**
+	 * @return the number of changed lines in the new text
+	 */
+	public int getNewLineCount() {
+		return newEndLine - startLine;
+	}
+
+	/**
+	 * @return the number of lines the unchanged lines after the changed range have been moved
+	 */
+	public int getLineDelta() {
+		return newEndLine - oldEndLine;
+	}
+
+	/**
+	 * @return the text region of the changed lines in the new text, without the trailing line break
+	 */
+	public ITextRegion getRegion() {
+		return region;
+	}
+
+	/**
+	 * @return the line in the old text that corresponds to the given line of the new text or <code>-1</code> if the
+	 *         line has changed
+	 */
+	public int getOldLine(int newLine) {
+		if (newLine < startLine) {
+			return newLine;
+		}
+		if (newLine >= newEndLine) {
+			return newLine - getLineDelta();
+		}
+		return -1;
+	}
+
+	@Override
+	public String toString() {
+		return "ChangedLines [startLine=" + startLine + ", oldEndLine=" + oldEndLine + ", newEndLine=" + newEndLine
+				+ "]";
+	}
+
+}
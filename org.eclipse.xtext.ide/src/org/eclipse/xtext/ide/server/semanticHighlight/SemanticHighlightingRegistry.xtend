@@ -14,6 +14,9 @@ import com.google.common.collect.ImmutableList
 import com.google.common.collect.ImmutableMultimap
 import com.google.inject.Inject
 import java.util.List
+import java.util.Map
+import java.util.concurrent.ConcurrentHashMap
+import org.eclipse.emf.common.util.URI
 import org.eclipse.lsp4j.ClientCapabilities
 import org.eclipse.lsp4j.Position
 import org.eclipse.lsp4j.Range
@@ -31,6 +34,7 @@ import org.eclipse.xtext.ide.server.UriExtensions
 import org.eclipse.xtext.resource.IResourceServiceProvider
 import org.eclipse.xtext.resource.XtextResource
 import org.eclipse.xtext.util.CancelIndicator
+import org.eclipse.xtext.util.ITextRegion
 import org.eclipse.xtext.util.internal.Log
 
 import static extension org.eclipse.lsp4j.util.SemanticHighlightingTokens.encode
@@ -41,6 +45,13 @@ import com.google.common.collect.Maps
  * Responsible for converting the semantic highlighted ranges into the LSP standard by producing a compact,
  * {@code base64} encoded token string.
  * 
+ * <p>
+ * The registry remembers the highlighting it has sent for each open document and only sends the lines that have
+ * changed since then. Lines that have been moved by an edit are sent again as well, so clients don't have to move
+ * the highlighting of the following lines themselves. If the calculator is
+ * {@link ISemanticHighlightingCalculator.RegionAware region aware}, only the changed lines of the document are
+ * recomputed. The remembered highlighting is {@link #remove(URI) removed} when a document is closed or deleted.
+ * </p>
  */
 @Log
 class SemanticHighlightingRegistry {
@@ -82,6 +93,13 @@ class SemanticHighlightingRegistry {
 
 	protected LanguageClient client;
 
+	/**
+	 * The document and the encoded tokens per line that have last been sent to the client, by document URI.
+	 * 
+	 * @since 2.16
+	 */
+	protected val Map<String, Pair<Document, List<String>>> sentHighlighting = new ConcurrentHashMap;
+
 	def void initialize(Iterable<? extends IResourceServiceProvider> allLanguages, ClientCapabilities capabilities, LanguageClient client) {
 		Preconditions.checkState(this.client === null, 'Already initialized.');
 		val enabled = capabilities?.textDocument?.semanticHighlightingCapabilities?.semanticHighlighting ?: false;
@@ -142,7 +160,9 @@ class SemanticHighlightingRegistry {
 		if (!(context.resource instanceof XtextResource)) {
 			return;
 		}
+		val uri = context.resource.URI.toUriString;
 		if (!context.documentOpen) {
+			sentHighlighting.remove(uri);
 			return;
 		}
 
@@ -154,8 +174,65 @@ class SemanticHighlightingRegistry {
 		}
 
 		val document = context.document;
+		val previous = sentHighlighting.get(uri);
+		val changedLines = if (previous !== null) ChangedLines.compute(previous.key.contents, document.contents);
+		val lineCount = document.lineCount;
+		val region = if (changedLines !== null && calculator instanceof ISemanticHighlightingCalculator.RegionAware
+				&& isRegionUpdate(changedLines, lineCount)) changedLines.region;
+		val computed = computeLineTokens(resource, calculator, mapper, document, region);
+		val sent = <String>newArrayList;
+		val lines = <SemanticHighlightingInformation>newArrayList;
+		for (line : 0 ..< lineCount) {
+			val oldLine = if (previous === null) -1 else if (changedLines === null) line else changedLines.getOldLine(line);
+			val tokens = if (region !== null && oldLine >= 0) previous.value.get(oldLine) else computed.get(line);
+			sent += tokens;
+			if (oldLine != line || tokens != previous.value.get(oldLine)) {
+				lines += new SemanticHighlightingInformation(line, tokens);
+			}
+		}
+		sentHighlighting.put(uri, document -> sent);
+		if (previous === null || !lines.empty) {
+			val textDocument = context.toVersionedTextDocumentIdentifier;
+			notifyClient(new SemanticHighlightingParams(textDocument, lines));
+		}
+	}
+
+	/**
+	 * Forgets the highlighting that has been sent for the given document.
+	 * 
+	 * @since 2.16
+	 */
+	def void remove(URI uri) {
+		sentHighlighting.remove(uri.toUriString);
+	}
+
+	/**
+	 * {@code true} if only the changed lines have to be recomputed by a
+	 * {@link ISemanticHighlightingCalculator.RegionAware region aware} calculator. By default, this is the case if at
+	 * most half of the lines have changed, as the full computation is cheaper otherwise.
+	 * 
+	 * @since 2.16
+	 */
+	protected def boolean isRegionUpdate(ChangedLines changedLines, int lineCount) {
+		return changedLines.newLineCount * 2 <= lineCount;
+	}
+
+	/**
+	 * Computes the encoded tokens of each line of the document, {@code null} for lines without tokens. If a region is
+	 * given, only the tokens of the lines in the region are computed.
+	 * 
+	 * @since 2.16
+	 */
+	protected def List<String> computeLineTokens(XtextResource resource, ISemanticHighlightingCalculator calculator,
+		ISemanticHighlightingStyleToTokenMapper mapper, Document document, ITextRegion region) {
+
 		val acceptor = new MergingHighlightedPositionAcceptor(calculator);
-		calculator.provideHighlightingFor(resource, acceptor, CancelIndicator.NullImpl);
+		if (region !== null) {
+			(calculator as ISemanticHighlightingCalculator.RegionAware).provideHighlightingFor(resource, region, acceptor,
+				CancelIndicator.NullImpl);
+		} else {
+			calculator.provideHighlightingFor(resource, acceptor, CancelIndicator.NullImpl);
+		}
 		val ranges = acceptor.positions.map [ position |
 			position.ids.map [ id |
 				val start = document.getPosition(position.offset);
@@ -165,9 +242,11 @@ class SemanticHighlightingRegistry {
 			]
 		].flatten;
 
-		val lines = ranges.toSemanticHighlightingInformation(document);
-		val textDocument = context.toVersionedTextDocumentIdentifier;
-		notifyClient(new SemanticHighlightingParams(textDocument, lines));
+		val String[] result = newArrayOfSize(document.lineCount);
+		ranges.toSemanticHighlightingInformation(document).forEach [
+			result.set(line, tokens);
+		];
+		return result;
 	}
 
 	/**
@@ -9,11 +9,17 @@ package org.eclipse.xtext.ide.server.symbol
 
 import com.google.inject.Inject
 import com.google.inject.Singleton
+import com.google.inject.name.Named
 import java.util.List
 import org.eclipse.lsp4j.SymbolInformation
+import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.findReferences.IReferenceFinder.IResourceAccess
+import org.eclipse.xtext.resource.IEObjectDescription
+import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.IResourceServiceProvider
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
 import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
 
@@ -24,20 +30,52 @@ import org.eclipse.xtext.util.CancelIndicator
 @Singleton
 class WorkspaceSymbolService {
 
+	/**
+	 * The name of the binding that enables the trigram index of the exported names. It may only be enabled if the
+	 * {@link DocumentSymbolService#filter(IEObjectDescription, String) filter} of all languages accepts only names
+	 * that contain the query, ignoring case, like the default does.
+	 * @since 2.16
+	 */
+	public static val USE_NAME_INDEX = 'org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolService.useNameIndex'
+
+	/**
+	 * The name of the binding of the maximum number of returned symbols.
+	 * @since 2.16
+	 */
+	public static val MAX_SYMBOLS = 'org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolService.maxSymbols'
+
 	@Inject
 	extension IResourceServiceProvider.Registry
 
 	@Inject
 	OperationCanceledManager operationCanceledManager
 
+	/**
+	 * Whether only the resources that the trigram index of the names yields for the query are searched.
+	 * @since 2.16
+	 */
+	@Inject(optional=true) @Named(USE_NAME_INDEX)
+	@Accessors boolean useNameIndex = false
+
+	/**
+	 * The maximum number of returned symbols, or zero for no limit. If there is a limit, the matching objects are
+	 * {@link #getRank(IEObjectDescription, String) ranked} and only the locations of the best ones are computed.
+	 * @since 2.16
+	 */
+	@Inject(optional=true) @Named(MAX_SYMBOLS)
+	@Accessors int maxSymbols = 0
+
 	def List<? extends SymbolInformation> getSymbols(
 		String query,
 		IResourceAccess resourceAccess,
 		IResourceDescriptions indexData,
 		CancelIndicator cancelIndicator
 	) {
+		if (maxSymbols > 0) {
+			return getTopSymbols(query, resourceAccess, indexData, cancelIndicator)
+		}
 		val result = newLinkedList
-		for (resourceDescription : indexData.allResourceDescriptions) {
+		for (resourceDescription : getCandidateResourceDescriptions(query, indexData)) {
 			operationCanceledManager.checkCanceled(cancelIndicator)
 			val resourceServiceProvider = resourceDescription.URI.resourceServiceProvider
 			val documentSymbolService = resourceServiceProvider?.get(DocumentSymbolService)
@@ -48,4 +86,119 @@ class WorkspaceSymbolService {
 		return result
 	}
 
+	/**
+	 * Returns the symbols of the {@link #getMaxSymbols() maxSymbols} best ranked objects that match the query. Objects
+	 * with the same rank are returned in the order of the index.
+	 * @since 2.16
+	 */
+	protected def List<? extends SymbolInformation> getTopSymbols(
+		String query,
+		IResourceAccess resourceAccess,
+		IResourceDescriptions indexData,
+		CancelIndicator cancelIndicator
+	) {
+		val lowerCaseQuery = query.toLowerCase
+		val List<List<Pair<IEObjectDescription, DocumentSymbolService>>> ranked = newArrayList
+		for (resourceDescription : getCandidateResourceDescriptions(query, indexData)) {
+			operationCanceledManager.checkCanceled(cancelIndicator)
+			val resourceServiceProvider = resourceDescription.URI.resourceServiceProvider
+			val documentSymbolService = resourceServiceProvider?.get(DocumentSymbolService)
+			if (documentSymbolService !== null) {
+				for (description : resourceDescription.exportedObjects) {
+					if (documentSymbolService.filter(description, query)) {
+						val rank = getRank(description, lowerCaseQuery)
+						while (ranked.size <= rank) {
+							ranked.add(newArrayList)
+						}
+						// more objects of the same rank are not needed, they cannot replace the collected ones
+						if (ranked.get(rank).size < maxSymbols) {
+							ranked.get(rank).add(description -> documentSymbolService)
+						}
+					}
+				}
+			}
+		}
+		val result = newLinkedList
+		for (candidates : ranked) {
+			for (candidate : candidates) {
+				if (result.size >= maxSymbols) {
+					return result
+				}
+				operationCanceledManager.checkCanceled(cancelIndicator)
+				candidate.value.createSymbol(candidate.key, resourceAccess) [ symbol |
+					result += symbol
+				]
+			}
+		}
+		return result
+	}
+
+	/**
+	 * Ranks an object that matches the query, lower is better: 0 if its simple name is the query, 1 if its simple name
+	 * starts with the query, 2 if its qualified name starts with the query and 3 otherwise.
+	 * @since 2.16
+	 */
+	protected def int getRank(IEObjectDescription description, String lowerCaseQuery) {
+		val name = description.qualifiedName.toLowerCase
+		if (name.isEmpty) {
+			return 3
+		}
+		val simpleName = name.lastSegment
+		if (simpleName == lowerCaseQuery) {
+			return 0
+		}
+		if (simpleName.startsWith(lowerCaseQuery)) {
+			return 1
+		}
+		if (name.toString.startsWith(lowerCaseQuery)) {
+			return 2
+		}
+		return 3
+	}
+
+	/**
+	 * Returns the resource descriptions that may contain symbols matching the query.
+	 * @since 2.16
+	 */
+	protected def Iterable<IResourceDescription> getCandidateResourceDescriptions(String query,
+		IResourceDescriptions indexData) {
+		if (useNameIndex) {
+			if (indexData instanceof ResourceDescriptionsData) {
+				val candidates = findCandidates(query, indexData)
+				if (candidates !== null) {
+					return candidates
+				}
+			} else if (indexData instanceof ChunkedResourceDescriptions) {
+				val List<IResourceDescription> result = newArrayList
+				for (chunkName : indexData.chunkNames) {
+					val container = indexData.getContainer(chunkName)
+					if (container !== null) {
+						val candidates = findCandidates(query, container)
+						if (candidates === null) {
+							return indexData.allResourceDescriptions
+						}
+						result += candidates
+					}
+				}
+				return result
+			}
+		}
+		return indexData.allResourceDescriptions
+	}
+
+	private def List<IResourceDescription> findCandidates(String query, ResourceDescriptionsData data) {
+		val uris = data.getResourceURIsWithNameContaining(query)
+		if (uris === null) {
+			return null
+		}
+		val List<IResourceDescription> result = newArrayList
+		for (uri : uris) {
+			val description = data.getResourceDescription(uri)
+			if (description !== null) {
+				result += description
+			}
+		}
+		return result
+	}
+
 }
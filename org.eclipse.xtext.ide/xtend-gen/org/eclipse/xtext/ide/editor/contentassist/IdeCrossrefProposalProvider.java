@@ -16,15 +16,18 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.CrossReference;
 import org.eclipse.xtext.ide.editor.contentassist.ContentAssistContext;
 import org.eclipse.xtext.ide.editor.contentassist.ContentAssistEntry;
+import org.eclipse.xtext.ide.editor.contentassist.IPrefixMatcher;
 import org.eclipse.xtext.ide.editor.contentassist.IIdeContentProposalAcceptor;
 import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalCreator;
 import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalPriorities;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Pure;
+import org.eclipse.xtext.xbase.lib.StringExtensions;
 
 /**
  * Special content assist proposal provider for cross-references.
@@ -45,6 +48,9 @@ public class IdeCrossrefProposalProvider {
   @Inject
   private IdeContentProposalPriorities proposalPriorities;
   
+  @Inject
+  private IPrefixMatcher prefixMatcher;
+  
   public void lookupCrossReference(final IScope scope, final CrossReference crossReference, final ContentAssistContext context, final IIdeContentProposalAcceptor acceptor, final Predicate<IEObjectDescription> filter) {
     try {
       Iterable<IEObjectDescription> _queryScope = this.queryScope(scope, crossReference, context);
@@ -73,9 +79,27 @@ public class IdeCrossrefProposalProvider {
   }
   
   protected Iterable<IEObjectDescription> queryScope(final IScope scope, final CrossReference crossReference, final ContentAssistContext context) {
+    final QualifiedName prefix = this.getQueryPrefix(crossReference, context);
+    if ((prefix != null)) {
+      return scope.getElementsByPrefix(prefix);
+    }
     return scope.getAllElements();
   }
   
+  /**
+   * Returns the prefix that the names of all candidates accepted by the {@link IPrefixMatcher} start with, or
+   * <code>null</code> if all elements of the scope have to be queried. A prefix is only returned for the default
+   * prefix matcher and qualified name converter, where the text typed so far can be split into name segments.
+   * 
+   * @since 2.16
+   */
+  protected QualifiedName getQueryPrefix(final CrossReference crossReference, final ContentAssistContext context) {
+    if (((StringExtensions.isNullOrEmpty(context.getPrefix()) || (this.prefixMatcher.getClass() != IPrefixMatcher.IgnoreCase.class)) || (!(this.qualifiedNameConverter instanceof IQualifiedNameConverter.DefaultImpl)))) {
+      return null;
+    }
+    return this.qualifiedNameConverter.toQualifiedName(context.getPrefix());
+  }
+  
   protected ContentAssistEntry createProposal(final IEObjectDescription candidate, final CrossReference crossRef, final ContentAssistContext context) {
     final Procedure1<ContentAssistEntry> _function = (ContentAssistEntry it) -> {
       it.setSource(candidate);
@@ -11,17 +11,22 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.Data;
 import org.eclipse.xtext.build.IncrementalBuilder;
 import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.ide.server.ProjectBuildScheduler;
 import org.eclipse.xtext.ide.server.ProjectManager;
 import org.eclipse.xtext.ide.server.TopologicalSorter;
 import org.eclipse.xtext.ide.server.WorkspaceManager;
@@ -112,12 +117,32 @@ public class BuildManager {
   
   public static final String CYCLIC_PROJECT_DEPENDENCIES = (BuildManager.class.getCanonicalName() + ".cyclicProjectDependencies");
   
+  /**
+   * The name of the binding of the maximum number of projects that are built at the same time.
+   * @since 2.16
+   */
+  public static final String PARALLEL_PROJECT_BUILDS = "org.eclipse.xtext.ide.server.BuildManager.parallelProjectBuilds";
+  
   @Accessors(AccessorType.PUBLIC_SETTER)
   private WorkspaceManager workspaceManager;
   
   @Inject
   private Provider<TopologicalSorter> sorterProvider;
   
+  @Inject(optional = true)
+  private ExecutorService executorService;
+  
+  /**
+   * The maximum number of projects that are built at the same time. If greater than one, projects that do not
+   * depend on each other are built in parallel. The issue acceptors and the services used by the builds of the
+   * affected languages have to be thread-safe then.
+   * @since 2.16
+   */
+  @Inject(optional = true)
+  @Named(BuildManager.PARALLEL_PROJECT_BUILDS)
+  @Accessors
+  private int parallelProjectBuilds = 1;
+  
   private final LinkedHashSet<URI> dirtyFiles = CollectionLiterals.<URI>newLinkedHashSet();
   
   private final LinkedHashSet<URI> deletedFiles = CollectionLiterals.<URI>newLinkedHashSet();
@@ -142,6 +167,22 @@ public class BuildManager {
   
   public List<IResourceDescription.Delta> doInitialBuild(final List<ProjectDescription> projects, final CancelIndicator indicator) {
     final List<ProjectDescription> sortedDescriptions = this.sortByDependencies(projects);
+    final ProjectBuildScheduler scheduler = this.getProjectBuildScheduler(sortedDescriptions);
+    if ((scheduler != null)) {
+      final Function<String, ProjectDescription> _function = (String it) -> {
+        return this.findProjectDescription(it);
+      };
+      final ProjectBuildScheduler.ProjectBuild _function_1 = (ProjectDescription description, List<IResourceDescription.Delta> upstreamDeltas) -> {
+        return this.workspaceManager.getProjectManager(description.getName()).doInitialBuild(indicator);
+      };
+      final BiConsumer<ProjectDescription, IncrementalBuilder.Result> _function_2 = (ProjectDescription $0, IncrementalBuilder.Result $1) -> {
+      };
+      final List<IncrementalBuilder.Result> results = scheduler.build(sortedDescriptions, _function, _function_1, _function_2);
+      final Function1<IncrementalBuilder.Result, List<IResourceDescription.Delta>> _function_3 = (IncrementalBuilder.Result it) -> {
+        return it.getAffectedResources();
+      };
+      return IterableExtensions.<IResourceDescription.Delta>toList(Iterables.<IResourceDescription.Delta>concat(ListExtensions.<IncrementalBuilder.Result, List<IResourceDescription.Delta>>map(results, _function_3)));
+    }
     final ArrayList<IResourceDescription.Delta> result = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
     for (final ProjectDescription description : sortedDescriptions) {
       {
@@ -172,6 +213,29 @@ public class BuildManager {
     Set<ProjectDescription> _keySet_1 = project2deleted.keySet();
     Iterable<ProjectDescription> _plus = Iterables.<ProjectDescription>concat(_keySet, _keySet_1);
     final List<ProjectDescription> sortedDescriptions = this.sortByDependencies(_plus);
+    final ProjectBuildScheduler scheduler = this.getProjectBuildScheduler(sortedDescriptions);
+    if ((scheduler != null)) {
+      final Function<String, ProjectDescription> _function = (String it) -> {
+        return this.findProjectDescription(it);
+      };
+      final ProjectBuildScheduler.ProjectBuild _function_1 = (ProjectDescription description, List<IResourceDescription.Delta> upstreamDeltas) -> {
+        IncrementalBuilder.Result _xblockexpression = null;
+        {
+          final ProjectManager projectManager = this.workspaceManager.getProjectManager(description.getName());
+          _xblockexpression = projectManager.doBuild(IterableExtensions.<URI>toList(project2dirty.get(description)), IterableExtensions.<URI>toList(project2deleted.get(description)), upstreamDeltas, cancelIndicator);
+        }
+        return _xblockexpression;
+      };
+      final BiConsumer<ProjectDescription, IncrementalBuilder.Result> _function_2 = (ProjectDescription description, IncrementalBuilder.Result partialResult) -> {
+        Iterables.removeAll(this.dirtyFiles, project2dirty.get(description));
+        Iterables.removeAll(this.deletedFiles, project2deleted.get(description));
+      };
+      final List<IncrementalBuilder.Result> results = scheduler.build(sortedDescriptions, _function, _function_1, _function_2);
+      final Function1<IncrementalBuilder.Result, List<IResourceDescription.Delta>> _function_3 = (IncrementalBuilder.Result it) -> {
+        return it.getAffectedResources();
+      };
+      return IterableExtensions.<IResourceDescription.Delta>toList(Iterables.<IResourceDescription.Delta>concat(ListExtensions.<IncrementalBuilder.Result, List<IResourceDescription.Delta>>map(results, _function_3)));
+    }
     final ArrayList<IResourceDescription.Delta> result = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
     for (final ProjectDescription it : sortedDescriptions) {
       {
@@ -179,10 +243,10 @@ public class BuildManager {
         final List<URI> projectDirty = IterableExtensions.<URI>toList(project2dirty.get(it));
         final List<URI> projectDeleted = IterableExtensions.<URI>toList(project2deleted.get(it));
         final IncrementalBuilder.Result partialResult = projectManager.doBuild(projectDirty, projectDeleted, result, cancelIndicator);
-        final Function1<IResourceDescription.Delta, URI> _function = (IResourceDescription.Delta it_1) -> {
+        final Function1<IResourceDescription.Delta, URI> _function_4 = (IResourceDescription.Delta it_1) -> {
           return it_1.getUri();
         };
-        allDirty.addAll(ListExtensions.<IResourceDescription.Delta, URI>map(partialResult.getAffectedResources(), _function));
+        allDirty.addAll(ListExtensions.<IResourceDescription.Delta, URI>map(partialResult.getAffectedResources(), _function_4));
         Iterables.removeAll(this.dirtyFiles, projectDirty);
         Iterables.removeAll(this.deletedFiles, projectDeleted);
         result.addAll(partialResult.getAffectedResources());
@@ -191,6 +255,32 @@ public class BuildManager {
     return result;
   }
   
+  /**
+   * Returns the scheduler that builds the given projects in parallel, or <code>null</code> to build them one
+   * after the other in the given order. A project that is built in parallel receives the deltas of the projects
+   * it depends on, otherwise the deltas of all projects that have been built before it.
+   * 
+   * @since 2.16
+   */
+  protected ProjectBuildScheduler getProjectBuildScheduler(final List<ProjectDescription> sortedDescriptions) {
+    if ((((this.parallelProjectBuilds <= 1) || (this.executorService == null)) || (sortedDescriptions.size() < 2))) {
+      return null;
+    }
+    return new ProjectBuildScheduler(this.executorService, this.parallelProjectBuilds);
+  }
+  
+  /**
+   * @since 2.16
+   */
+  protected ProjectDescription findProjectDescription(final String name) {
+    ProjectManager _projectManager = this.workspaceManager.getProjectManager(name);
+    ProjectDescription _projectDescription = null;
+    if (_projectManager!=null) {
+      _projectDescription=_projectManager.getProjectDescription();
+    }
+    return _projectDescription;
+  }
+  
   protected List<ProjectDescription> sortByDependencies(final Iterable<ProjectDescription> projectDescriptions) {
     final Procedure1<ProjectDescription> _function = (ProjectDescription it) -> {
       this.reportDependencyCycle(this.workspaceManager.getProjectManager(it.getName()));
@@ -205,4 +295,13 @@ public class BuildManager {
   public void setWorkspaceManager(final WorkspaceManager workspaceManager) {
     this.workspaceManager = workspaceManager;
   }
+  
+  @Pure
+  public int getParallelProjectBuilds() {
+    return this.parallelProjectBuilds;
+  }
+  
+  public void setParallelProjectBuilds(final int parallelProjectBuilds) {
+    this.parallelProjectBuilds = parallelProjectBuilds;
+  }
 }
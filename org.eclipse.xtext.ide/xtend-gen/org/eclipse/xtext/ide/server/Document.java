@@ -15,6 +15,10 @@ import org.eclipse.xtext.xbase.lib.Pure;
 import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
 
 /**
+ * An immutable document of the language server. The text is stored in a {@link Rope} that indexes the line breaks,
+ * so offsets and positions are converted in logarithmic time and {@link #applyChanges(Iterable) changes} share the
+ * unchanged parts of the text with the original document.
+ * 
  * @author Sven Efftinge - Initial contribution and API
  * @since 2.11
  */
@@ -23,7 +27,10 @@ import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
 public class Document {
   private final Integer version;
   
-  private final String contents;
+  /**
+   * @since 2.16
+   */
+  private final Rope text;
   
   private final boolean printSourceOnError;
   
@@ -35,74 +42,60 @@ public class Document {
    * @since 2.15
    */
   public Document(final Integer version, final String contents, final boolean printSourceOnError) {
+    this(version, Rope.of(contents), printSourceOnError);
+  }
+  
+  /**
+   * @since 2.16
+   */
+  public Document(final Integer version, final Rope text, final boolean printSourceOnError) {
     this.version = version;
-    this.contents = contents;
+    this.text = text;
     this.printSourceOnError = printSourceOnError;
   }
   
+  /**
+   * Returns the text of this document. The string is created on the first access.
+   */
+  public String getContents() {
+    return this.text.toString();
+  }
+  
   public int getOffSet(final Position position) throws IndexOutOfBoundsException {
-    final int l = this.contents.length();
-    final char NL = '\n';
-    int line = 0;
-    int column = 0;
-    for (int i = 0; (i < l); i++) {
-      {
-        final char ch = this.contents.charAt(i);
-        if (((position.getLine() == line) && (position.getCharacter() == column))) {
-          return i;
-        }
-        if ((ch == NL)) {
-          line++;
-          column = 0;
-        } else {
-          column++;
-        }
+    final int line = position.getLine();
+    final int column = position.getCharacter();
+    if (((((line < 0) || (line > this.text.getLineBreakCount())) || (column < 0)) || (column > this.text.getLineLength(line)))) {
+      String _string = position.toString();
+      String _xifexpression = null;
+      if (this.printSourceOnError) {
+        _xifexpression = "";
+      } else {
+        String _contents = this.getContents();
+        _xifexpression = (" text was : " + _contents);
       }
+      String _plus = (_string + _xifexpression);
+      throw new IndexOutOfBoundsException(_plus);
     }
-    if (((position.getLine() == line) && (position.getCharacter() == column))) {
-      return l;
-    }
-    String _string = position.toString();
-    String _xifexpression = null;
-    if (this.printSourceOnError) {
-      _xifexpression = "";
-    } else {
-      _xifexpression = (" text was : " + this.contents);
-    }
-    String _plus = (_string + _xifexpression);
-    throw new IndexOutOfBoundsException(_plus);
+    int _lineOffset = this.text.getLineOffset(line);
+    return (_lineOffset + column);
   }
   
   public Position getPosition(final int offset) throws IndexOutOfBoundsException {
-    final int l = this.contents.length();
-    if (((offset < 0) || (offset > l))) {
+    if (((offset < 0) || (offset > this.text.length()))) {
       String _xifexpression = null;
       if (this.printSourceOnError) {
         _xifexpression = "";
       } else {
-        _xifexpression = (" text was : " + this.contents);
+        String _contents = this.getContents();
+        _xifexpression = (" text was : " + _contents);
       }
       String _plus = (Integer.valueOf(offset) + _xifexpression);
       throw new IndexOutOfBoundsException(_plus);
     }
-    final char NL = '\n';
-    int line = 0;
-    int column = 0;
-    for (int i = 0; (i < l); i++) {
-      {
-        final char ch = this.contents.charAt(i);
-        if ((i == offset)) {
-          return new Position(line, column);
-        }
-        if ((ch == NL)) {
-          line++;
-          column = 0;
-        } else {
-          column++;
-        }
-      }
-    }
-    return new Position(line, column);
+    final int line = this.text.getLine(offset);
+    int _lineOffset = this.text.getLineOffset(line);
+    int _minus = (offset - _lineOffset);
+    return new Position(line, _minus);
   }
   
   /**
@@ -110,77 +103,56 @@ public class Document {
    * argument is negative or exceeds the number of lines in the document.
    */
   public String getLineContent(final int lineNumber) throws IndexOutOfBoundsException {
-    if ((lineNumber < 0)) {
+    if (((lineNumber < 0) || (lineNumber > this.text.getLineBreakCount()))) {
       String _xifexpression = null;
       if (this.printSourceOnError) {
         _xifexpression = "";
       } else {
-        _xifexpression = (" text was : " + this.contents);
+        String _contents = this.getContents();
+        _xifexpression = (" text was : " + _contents);
       }
       String _plus = (Integer.valueOf(lineNumber) + _xifexpression);
       throw new IndexOutOfBoundsException(_plus);
     }
-    final char NL = '\n';
-    final int l = this.contents.length();
-    final StringBuilder lineContent = new StringBuilder();
-    int line = 0;
-    for (int i = 0; (i < l); i++) {
-      {
-        if ((line > lineNumber)) {
-          return lineContent.toString();
-        }
-        final char ch = this.contents.charAt(i);
-        if (((line == lineNumber) && (ch != NL))) {
-          lineContent.append(ch);
-        }
-        if ((ch == NL)) {
-          line++;
-        }
-      }
-    }
-    if ((line < lineNumber)) {
-      String _xifexpression_1 = null;
-      if (this.printSourceOnError) {
-        _xifexpression_1 = "";
-      } else {
-        _xifexpression_1 = (" text was : " + this.contents);
-      }
-      String _plus_1 = (Integer.valueOf(lineNumber) + _xifexpression_1);
-      throw new IndexOutOfBoundsException(_plus_1);
-    }
-    return lineContent.toString();
+    final int start = this.text.getLineOffset(lineNumber);
+    int _lineLength = this.text.getLineLength(lineNumber);
+    int _plus_1 = (start + _lineLength);
+    return this.text.substring(start, _plus_1);
   }
   
   /**
    * Get the number of lines in the document. Empty document has line count: {@code 1}.
    */
   public int getLineCount() {
-    int _line = this.getPosition(this.contents.length()).getLine();
-    return (_line + 1);
+    int _lineBreakCount = this.text.getLineBreakCount();
+    return (_lineBreakCount + 1);
   }
   
   public String getSubstring(final Range range) {
     final int start = this.getOffSet(range.getStart());
     final int end = this.getOffSet(range.getEnd());
-    return this.contents.substring(start, end);
+    return this.text.substring(start, end);
   }
   
+  /**
+   * Applies the changes one after the other, i.e. the range of a change refers to the text after the previous
+   * changes have been applied.
+   */
   public Document applyChanges(final Iterable<? extends TextEdit> changes) {
-    String newContent = this.contents;
+    Document document = this;
     for (final TextEdit change : changes) {
       Range _range = change.getRange();
       boolean _tripleEquals = (_range == null);
       if (_tripleEquals) {
-        newContent = change.getNewText();
-      } else {
-        final int start = this.getOffSet(change.getRange().getStart());
-        final int end = this.getOffSet(change.getRange().getEnd());
-        String _substring = newContent.substring(0, start);
         String _newText = change.getNewText();
-        String _plus = (_substring + _newText);
-        String _substring_1 = newContent.substring(end);
-        String _plus_1 = (_plus + _substring_1);
-        newContent = _plus_1;
+        Document _document = new Document(this.version, _newText);
+        document = _document;
+      } else {
+        final int start = document.getOffSet(change.getRange().getStart());
+        final int end = document.getOffSet(change.getRange().getEnd());
+        Rope _replace = document.text.replace(start, end, change.getNewText());
+        Document _document_1 = new Document(this.version, _replace, true);
+        document = _document_1;
       }
     }
     Integer _xifexpression = null;
@@ -189,7 +161,7 @@ public class Document {
     } else {
       _xifexpression = null;
     }
-    return new Document(_xifexpression, newContent);
+    return new Document(_xifexpression, document.text, true);
   }
   
   /**
@@ -206,7 +178,7 @@ public class Document {
     final int prime = 31;
     int result = 1;
     result = prime * result + ((this.version== null) ? 0 : this.version.hashCode());
-    result = prime * result + ((this.contents== null) ? 0 : this.contents.hashCode());
+    result = prime * result + ((this.text== null) ? 0 : this.text.hashCode());
     return prime * result + (this.printSourceOnError ? 1231 : 1237);
   }
   
@@ -225,10 +197,10 @@ public class Document {
         return false;
     } else if (!this.version.equals(other.version))
       return false;
-    if (this.contents == null) {
-      if (other.contents != null)
+    if (this.text == null) {
+      if (other.text != null)
         return false;
-    } else if (!this.contents.equals(other.contents))
+    } else if (!this.text.equals(other.text))
       return false;
     if (other.printSourceOnError != this.printSourceOnError)
       return false;
@@ -240,7 +212,7 @@ public class Document {
   public String toString() {
     ToStringBuilder b = new ToStringBuilder(this);
     b.add("version", this.version);
-    b.add("contents", this.contents);
+    b.add("text", this.text);
     b.add("printSourceOnError", this.printSourceOnError);
     return b.toString();
   }
@@ -251,7 +223,7 @@ public class Document {
   }
   
   @Pure
-  public String getContents() {
-    return this.contents;
+  public Rope getText() {
+    return this.text;
   }
 }
@@ -110,6 +110,7 @@ import org.eclipse.xtext.ide.server.codelens.ICodeLensService;
 import org.eclipse.xtext.ide.server.coloring.IColoringService;
 import org.eclipse.xtext.ide.server.commands.ExecutableCommandRegistry;
 import org.eclipse.xtext.ide.server.concurrent.RequestManager;
+import org.eclipse.xtext.ide.server.concurrent.RequestPriority;
 import org.eclipse.xtext.ide.server.contentassist.ContentAssistService;
 import org.eclipse.xtext.ide.server.findReferences.WorkspaceResourceAccess;
 import org.eclipse.xtext.ide.server.formatting.FormattingService;
@@ -322,7 +323,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function<Object, InitializeResult> _function_3 = (Object it) -> {
       return result;
     };
-    return this.requestManager.<Object, Object>runWrite(_function_1, _function_2).<InitializeResult>thenApply(_function_3);
+    return this.requestManager.<Object, Object>runWrite("initialize", null, _function_1, _function_2).<InitializeResult>thenApply(_function_3);
   }
   
   @Override
@@ -384,7 +385,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
       return buildable.build(cancelIndicator);
     };
-    this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite("textDocument/didOpen", Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_uri)), _function, _function_1);
   }
   
   @Override
@@ -400,18 +402,25 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
       return buildable.build(cancelIndicator);
     };
-    this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite("textDocument/didChange", Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_uri)), _function, _function_1);
   }
   
   @Override
   public void didClose(final DidCloseTextDocumentParams params) {
     final Function0<BuildManager.Buildable> _function = () -> {
-      return this.workspaceManager.didClose(this._uriExtensions.toUri(params.getTextDocument().getUri()));
+      BuildManager.Buildable _xblockexpression = null;
+      {
+        this.semanticHighlightingRegistry.remove(this._uriExtensions.toUri(params.getTextDocument().getUri()));
+        _xblockexpression = this.workspaceManager.didClose(this._uriExtensions.toUri(params.getTextDocument().getUri()));
+      }
+      return _xblockexpression;
     };
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
       return buildable.build(cancelIndicator);
     };
-    this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite("textDocument/didClose", Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_uri)), _function, _function_1);
   }
   
   @Override
@@ -456,7 +465,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function2<CancelIndicator, BuildManager.Buildable, List<IResourceDescription.Delta>> _function_1 = (CancelIndicator cancelIndicator, BuildManager.Buildable buildable) -> {
       return buildable.build(cancelIndicator);
     };
-    this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite(_function, _function_1);
+    this.requestManager.<BuildManager.Buildable, List<IResourceDescription.Delta>>runWrite("workspace/didChangeWatchedFiles", null, _function, _function_1);
   }
   
   @Override
@@ -468,7 +477,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function2<CancelIndicator, Object, Object> _function_1 = (CancelIndicator $0, Object $1) -> {
       return null;
     };
-    this.requestManager.<Object, Object>runWrite(_function, _function_1);
+    this.requestManager.<Object, Object>runWrite("workspace/didChangeConfiguration", null, _function, _function_1);
   }
   
   private WorkspaceResourceAccess resourceAccess;
@@ -558,7 +567,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function1<CancelIndicator, Either<List<CompletionItem>, CompletionList>> _function = (CancelIndicator cancelIndicator) -> {
       return this.completion(cancelIndicator, params);
     };
-    return this.requestManager.<Either<List<CompletionItem>, CompletionList>>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<Either<List<CompletionItem>, CompletionList>>runRead("textDocument/completion", _uri, RequestPriority.HIGH, _function);
   }
   
   protected Either<List<CompletionItem>, CompletionList> completion(final CancelIndicator originalCancelIndicator, final CompletionParams params) {
@@ -586,7 +596,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function1<CancelIndicator, List<? extends Location>> _function = (CancelIndicator cancelIndicator) -> {
       return this.definition(cancelIndicator, params);
     };
-    return this.requestManager.<List<? extends Location>>runRead(_function);
+    return this.requestManager.<List<? extends Location>>runRead("textDocument/definition", null, RequestPriority.NORMAL, _function);
   }
   
   protected List<? extends Location> definition(final CancelIndicator cancelIndicator, final TextDocumentPositionParams params) {
@@ -624,7 +634,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends Location>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends Location>>runRead(_function);
+    return this.requestManager.<List<? extends Location>>runRead("textDocument/references", null, RequestPriority.NORMAL, _function);
   }
   
   @Override
@@ -641,7 +651,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<Either<SymbolInformation, DocumentSymbol>>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<Either<SymbolInformation, DocumentSymbol>>>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<List<Either<SymbolInformation, DocumentSymbol>>>runRead("textDocument/documentSymbol", _uri, RequestPriority.NORMAL, _function);
   }
   
   /**
@@ -695,7 +706,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       final IResourceDescriptions indexData = this.workspaceManager.getIndex();
       return this.workspaceSymbolService.getSymbols(params.getQuery(), this.resourceAccess, indexData, cancelIndicator);
     };
-    return this.requestManager.<List<? extends SymbolInformation>>runRead(_function);
+    return this.requestManager.<List<? extends SymbolInformation>>runRead("workspace/symbol", null, RequestPriority.NORMAL, _function);
   }
   
   @Override
@@ -716,7 +727,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<Hover>doRead(uri, _function_1);
     };
-    return this.requestManager.<Hover>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<Hover>runRead("textDocument/hover", _uri, RequestPriority.HIGH, _function);
   }
   
   @Override
@@ -742,7 +754,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<SignatureHelp>doRead(uri, _function_1);
     };
-    return this.requestManager.<SignatureHelp>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<SignatureHelp>runRead("textDocument/signatureHelp", _uri, RequestPriority.HIGH, _function);
   }
   
   @Override
@@ -763,7 +776,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends DocumentHighlight>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends DocumentHighlight>>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<List<? extends DocumentHighlight>>runRead("textDocument/documentHighlight", _uri, RequestPriority.NORMAL, _function);
   }
   
   @Override
@@ -784,7 +798,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<Either<Command, CodeAction>>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<Either<Command, CodeAction>>>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<List<Either<Command, CodeAction>>>runRead("textDocument/codeAction", _uri, RequestPriority.NORMAL, _function);
   }
   
   private void installURI(final List<? extends CodeLens> codeLenses, final String uri) {
@@ -837,7 +852,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends CodeLens>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends CodeLens>>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<List<? extends CodeLens>>runRead("textDocument/codeLens", _uri, RequestPriority.LOW, _function);
   }
   
   @Override
@@ -862,7 +878,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<CodeLens>doRead(uri, _function_1);
     };
-    return this.requestManager.<CodeLens>runRead(_function);
+    return this.requestManager.<CodeLens>runRead("codeLens/resolve", uri, RequestPriority.LOW, _function);
   }
   
   @Override
@@ -883,7 +899,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends TextEdit>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends TextEdit>>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<List<? extends TextEdit>>runRead("textDocument/formatting", _uri, RequestPriority.NORMAL, _function);
   }
   
   @Override
@@ -904,7 +921,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       };
       return this.workspaceManager.<List<? extends TextEdit>>doRead(uri, _function_1);
     };
-    return this.requestManager.<List<? extends TextEdit>>runRead(_function);
+    URI _uri = this._uriExtensions.toUri(params.getTextDocument().getUri());
+    return this.requestManager.<List<? extends TextEdit>>runRead("textDocument/rangeFormatting", _uri, RequestPriority.NORMAL, _function);
   }
   
   @Override
@@ -912,7 +930,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
     final Function1<CancelIndicator, Object> _function = (CancelIndicator cancelIndicator) -> {
       return this.commandRegistry.executeCommand(params, this.access, cancelIndicator);
     };
-    return this.requestManager.<Object>runRead(_function);
+    return this.requestManager.<Object>runRead("workspace/executeCommand", null, RequestPriority.NORMAL, _function);
   }
   
   @Override
@@ -939,7 +957,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
       }
       return _xblockexpression;
     };
-    return this.requestManager.<WorkspaceEdit>runRead(_function);
+    return this.requestManager.<WorkspaceEdit>runRead("textDocument/rename", null, RequestPriority.NORMAL, _function);
   }
   
   @Override
@@ -1075,14 +1093,22 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
   @Override
   public void afterBuild(final List<IResourceDescription.Delta> deltas) {
     final Function1<IResourceDescription.Delta, Boolean> _function = (IResourceDescription.Delta it) -> {
+      IResourceDescription _new = it.getNew();
+      return Boolean.valueOf((_new == null));
+    };
+    final Consumer<IResourceDescription.Delta> _function_1 = (IResourceDescription.Delta it) -> {
+      this.semanticHighlightingRegistry.remove(it.getUri());
+    };
+    IterableExtensions.<IResourceDescription.Delta>filter(deltas, _function).forEach(_function_1);
+    final Function1<IResourceDescription.Delta, Boolean> _function_2 = (IResourceDescription.Delta it) -> {
       IResourceDescription _new = it.getNew();
       return Boolean.valueOf((_new != null));
     };
-    final Function1<IResourceDescription.Delta, String> _function_1 = (IResourceDescription.Delta it) -> {
+    final Function1<IResourceDescription.Delta, String> _function_3 = (IResourceDescription.Delta it) -> {
       return it.getUri().toString();
     };
-    final Consumer<String> _function_2 = (String it) -> {
-      final Function<ILanguageServerAccess.Context, Void> _function_3 = (ILanguageServerAccess.Context ctx) -> {
+    final Consumer<String> _function_4 = (String it) -> {
+      final Function<ILanguageServerAccess.Context, Void> _function_5 = (ILanguageServerAccess.Context ctx) -> {
         boolean _isDocumentOpen = ctx.isDocumentOpen();
         if (_isDocumentOpen) {
           Resource _resource = ctx.getResource();
@@ -1113,9 +1139,9 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Tex
         this.semanticHighlightingRegistry.update(ctx);
         return null;
       };
-      this.access.<Void>doRead(it, _function_3);
+      this.access.<Void>doRead(it, _function_5);
     };
-    IterableExtensions.<IResourceDescription.Delta, String>map(IterableExtensions.<IResourceDescription.Delta>filter(deltas, _function), _function_1).forEach(_function_2);
+    IterableExtensions.<IResourceDescription.Delta, String>map(IterableExtensions.<IResourceDescription.Delta>filter(deltas, _function_2), _function_3).forEach(_function_4);
   }
   
   private static final Logger LOG = Logger.getLogger(LanguageServerImpl.class);
@@ -9,11 +9,14 @@ package org.eclipse.xtext.ide.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -27,6 +30,7 @@ import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.resource.IExternalContentSupport;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.ISynchronizable;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
 import org.eclipse.xtext.resource.impl.ProjectDescription;
@@ -51,6 +55,18 @@ import org.eclipse.xtext.xbase.lib.Pure;
  */
 @SuppressWarnings("all")
 public class ProjectManager {
+  /**
+   * The name of the binding that enables publishing the diagnostics of a resource while it is validated.
+   * @since 2.16
+   */
+  public static final String STREAM_DIAGNOSTICS = "org.eclipse.xtext.ide.server.ProjectManager.streamDiagnostics";
+  
+  /**
+   * The name of the binding that enables loading the resources of the initial build in parallel.
+   * @since 2.16
+   */
+  public static final String PARALLEL_INITIAL_BUILD = "org.eclipse.xtext.ide.server.ProjectManager.parallelInitialBuild";
+  
   @Inject
   protected IncrementalBuilder incrementalBuilder;
   
@@ -66,6 +82,25 @@ public class ProjectManager {
   @Inject
   protected IExternalContentSupport externalContentSupport;
   
+  /**
+   * Whether the syntax and linking errors of a resource are published before its semantic validation is done.
+   * @since 2.16
+   */
+  @Inject(optional = true)
+  @Named(ProjectManager.STREAM_DIAGNOSTICS)
+  @Accessors
+  private boolean streamDiagnostics = false;
+  
+  /**
+   * Whether the initial build loads, parses and indexes the resources in parallel.
+   * @see #getInitialBuildExecutor(BuildRequest)
+   * @since 2.16
+   */
+  @Inject(optional = true)
+  @Named(ProjectManager.PARALLEL_INITIAL_BUILD)
+  @Accessors
+  private boolean parallelInitialBuild = false;
+  
   @Accessors(AccessorType.PUBLIC_GETTER)
   private IndexState indexState = new IndexState();
   
@@ -93,6 +128,19 @@ public class ProjectManager {
     this.issueAcceptor = acceptor;
     this.openedDocumentsContentProvider = openedDocumentsContentProvider;
     this.indexProvider = indexProvider;
+    this.indexState = this.createInitialIndexState();
+  }
+  
+  /**
+   * Creates the empty index state before the initial build. Override to use a different
+   * {@link ResourceDescriptionsData} implementation, e.g. a
+   * {@link org.eclipse.xtext.resource.impl.CompactResourceDescriptionsData CompactResourceDescriptionsData}
+   * for large workspaces.
+   * 
+   * @since 2.16
+   */
+  protected IndexState createInitialIndexState() {
+    return new IndexState();
   }
   
   public IncrementalBuilder.Result doInitialBuild(final CancelIndicator cancelIndicator) {
@@ -104,11 +152,19 @@ public class ProjectManager {
       this.fileSystemScanner.scan(it.getPath(), _function_1);
     };
     this.projectConfig.getSourceFolders().forEach(_function);
-    return this.doBuild(uris, CollectionLiterals.<URI>emptyList(), CollectionLiterals.<IResourceDescription.Delta>emptyList(), cancelIndicator);
+    final BuildRequest request = this.newBuildRequest(uris, CollectionLiterals.<URI>emptyList(), CollectionLiterals.<IResourceDescription.Delta>emptyList(), cancelIndicator);
+    request.setLoadingExecutor(this.getInitialBuildExecutor(request));
+    return this.doBuild(request);
   }
   
   public IncrementalBuilder.Result doBuild(final List<URI> dirtyFiles, final List<URI> deletedFiles, final List<IResourceDescription.Delta> externalDeltas, final CancelIndicator cancelIndicator) {
-    final BuildRequest request = this.newBuildRequest(dirtyFiles, deletedFiles, externalDeltas, cancelIndicator);
+    return this.doBuild(this.newBuildRequest(dirtyFiles, deletedFiles, externalDeltas, cancelIndicator));
+  }
+  
+  /**
+   * @since 2.16
+   */
+  protected IncrementalBuilder.Result doBuild(final BuildRequest request) {
     final Function1<URI, IResourceServiceProvider> _function = (URI it) -> {
       return this.languagesRegistry.getResourceServiceProvider(it);
     };
@@ -119,6 +175,22 @@ public class ProjectManager {
     return result;
   }
   
+  /**
+   * Returns the executor that loads, parses and indexes the resources of the initial build in parallel, or
+   * <code>null</code> to build on the calling thread. It is used as the {@link BuildRequest#getLoadingExecutor()
+   * loading executor}, so linking, validation and generation still run on the calling thread. The default uses the
+   * common {@link ForkJoinPool} if {@link #isParallelInitialBuild() parallel initial builds} are enabled and the
+   * resource set of the request is {@link ISynchronizable}.
+   * 
+   * @since 2.16
+   */
+  protected ExecutorService getInitialBuildExecutor(final BuildRequest request) {
+    if ((this.parallelInitialBuild && (request.getResourceSet() instanceof ISynchronizable<?>))) {
+      return ForkJoinPool.commonPool();
+    }
+    return null;
+  }
+  
   protected BuildRequest newBuildRequest(final List<URI> changedFiles, final List<URI> deletedFiles, final List<IResourceDescription.Delta> externalDeltas, final CancelIndicator cancelIndicator) {
     BuildRequest _buildRequest = new BuildRequest();
     final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
@@ -131,16 +203,40 @@ public class ProjectManager {
       it.setDirtyFiles(changedFiles);
       it.setDeletedFiles(deletedFiles);
       it.setExternalDeltas(externalDeltas);
-      final BuildRequest.IPostValidationCallback _function_1 = (URI uri, Iterable<Issue> issues) -> {
-        this.issueAcceptor.apply(uri, issues);
-        return true;
-      };
-      it.setAfterValidate(_function_1);
+      if (this.streamDiagnostics) {
+        it.setAfterValidate(this.createStreamingValidationCallback());
+      } else {
+        final BuildRequest.IPostValidationCallback _function_1 = (URI uri, Iterable<Issue> issues) -> {
+          this.issueAcceptor.apply(uri, issues);
+          return true;
+        };
+        it.setAfterValidate(_function_1);
+      }
       it.setCancelIndicator(cancelIndicator);
     };
     return ObjectExtensions.<BuildRequest>operator_doubleArrow(_buildRequest, _function);
   }
   
+  /**
+   * Creates the validation callback that publishes the issues of a resource while it is validated.
+   * 
+   * @since 2.16
+   */
+  protected BuildRequest.IStreamingValidationCallback createStreamingValidationCallback() {
+    return new BuildRequest.IStreamingValidationCallback() {
+      @Override
+      public void acceptIssues(final URI validated, final Iterable<Issue> issues) {
+        ProjectManager.this.issueAcceptor.apply(validated, issues);
+      }
+      
+      @Override
+      public boolean afterValidate(final URI validated, final Iterable<Issue> issues) {
+        ProjectManager.this.issueAcceptor.apply(validated, issues);
+        return true;
+      }
+    };
+  }
+  
   public XtextResourceSet createNewResourceSet(final ResourceDescriptionsData newIndex) {
     XtextResourceSet _get = this.resourceSetProvider.get();
     final Procedure1<XtextResourceSet> _function = (XtextResourceSet it) -> {
@@ -186,6 +282,24 @@ public class ProjectManager {
     this.issueAcceptor.apply(this.baseDir, Collections.<Issue>unmodifiableList(CollectionLiterals.<Issue>newArrayList(_doubleArrow)));
   }
   
+  @Pure
+  public boolean isStreamDiagnostics() {
+    return this.streamDiagnostics;
+  }
+  
+  public void setStreamDiagnostics(final boolean streamDiagnostics) {
+    this.streamDiagnostics = streamDiagnostics;
+  }
+  
+  @Pure
+  public boolean isParallelInitialBuild() {
+    return this.parallelInitialBuild;
+  }
+  
+  public void setParallelInitialBuild(final boolean parallelInitialBuild) {
+    this.parallelInitialBuild = parallelInitialBuild;
+  }
+  
   @Pure
   public IndexState getIndexState() {
     return this.indexState;
@@ -16,6 +16,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
@@ -79,9 +80,9 @@ public class WorkspaceManager {
     this.buildListeners.add(listener);
   }
   
-  private Map<String, ResourceDescriptionsData> fullIndex = CollectionLiterals.<String, ResourceDescriptionsData>newHashMap();
+  private Map<String, ResourceDescriptionsData> fullIndex = new ConcurrentHashMap<String, ResourceDescriptionsData>();
   
-  private Map<URI, Document> openDocuments = CollectionLiterals.<URI, Document>newHashMap();
+  private Map<URI, Document> openDocuments = new ConcurrentHashMap<URI, Document>();
   
   private final IExternalContentSupport.IExternalContentProvider openedDocumentsContentProvider = new IExternalContentSupport.IExternalContentProvider() {
     @Override
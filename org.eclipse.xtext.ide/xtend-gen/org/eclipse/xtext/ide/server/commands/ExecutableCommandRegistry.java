@@ -9,6 +9,7 @@ package org.eclipse.xtext.ide.server.commands;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.inject.Inject;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +28,7 @@ import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.ide.server.ILanguageServerAccess;
 import org.eclipse.xtext.ide.server.commands.IExecutableCommandService;
+import org.eclipse.xtext.ide.server.commands.RequestMetricsCommandService;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.IDisposable;
@@ -49,6 +51,12 @@ public class ExecutableCommandRegistry {
   
   private LanguageClient client;
   
+  /**
+   * @since 2.16
+   */
+  @Inject
+  private RequestMetricsCommandService requestMetricsCommandService;
+  
   public void initialize(final Iterable<? extends IResourceServiceProvider> allLanguages, final ClientCapabilities capabilities, final LanguageClient client) {
     this.client = client;
     this.registeredCommands = HashMultimap.<String, IExecutableCommandService>create();
@@ -85,6 +93,12 @@ public class ExecutableCommandRegistry {
         }
       }
     }
+    if ((this.requestMetricsCommandService != null)) {
+      List<String> _initialize = this.requestMetricsCommandService.initialize();
+      for (final String c : _initialize) {
+        this.registeredCommands.put(c, this.requestMetricsCommandService);
+      }
+    }
   }
   
   protected IDisposable register(final String command, final IExecutableCommandService service) {
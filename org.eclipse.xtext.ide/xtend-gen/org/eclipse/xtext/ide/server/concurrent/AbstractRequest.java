@@ -7,9 +7,14 @@
  */
 package org.eclipse.xtext.ide.server.concurrent;
 
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.ide.server.concurrent.Cancellable;
 import org.eclipse.xtext.ide.server.concurrent.RequestCancelIndicator;
+import org.eclipse.xtext.ide.server.concurrent.RequestPriority;
+import org.eclipse.xtext.xbase.lib.Pure;
 
 @SuppressWarnings("all")
 public abstract class AbstractRequest<V extends Object> implements Runnable, Cancellable {
@@ -17,6 +22,66 @@ public abstract class AbstractRequest<V extends Object> implements Runnable, Can
   
   protected final RequestCancelIndicator cancelIndicator = new RequestCancelIndicator(this.result);
   
+  /**
+   * The method that identifies this request in the {@link RequestQueueMetrics}, e.g. the LSP method.
+   * 
+   * @since 2.16
+   */
+  @Accessors
+  private String method;
+  
+  /**
+   * The documents of this request or <code>null</code> if the request may work on all documents.
+   * 
+   * @since 2.16
+   */
+  @Accessors
+  private Set<URI> uris;
+  
+  /**
+   * @since 2.16
+   */
+  @Accessors
+  private RequestPriority priority = RequestPriority.NORMAL;
+  
+  /**
+   * @since 2.16
+   */
+  @Accessors
+  private long sequence;
+  
+  /**
+   * The time when the request has been submitted or <code>0</code> if it has been started.
+   * 
+   * @since 2.16
+   */
+  @Accessors
+  private long submitTime;
+  
+  /**
+   * The nanoseconds the request has been waiting until it was started.
+   * 
+   * @since 2.16
+   */
+  @Accessors
+  private long queueTime;
+  
+  /**
+   * The nanoseconds the request has been running.
+   * 
+   * @since 2.16
+   */
+  @Accessors
+  private long executionTime;
+  
+  /**
+   * The bytes allocated by the request or <code>-1</code> if allocations have not been sampled.
+   * 
+   * @since 2.16
+   */
+  @Accessors
+  private long allocatedBytes = (-1);
+  
   @Override
   public void cancel() {
     this.cancelIndicator.cancel();
@@ -25,4 +90,110 @@ public abstract class AbstractRequest<V extends Object> implements Runnable, Can
   public CompletableFuture<V> get() {
     return this.result;
   }
+  
+  /**
+   * @since 2.16
+   */
+  public boolean isWrite() {
+    return false;
+  }
+  
+  /**
+   * Whether this request conflicts with all other requests.
+   * 
+   * @since 2.16
+   */
+  public boolean isExclusive() {
+    return false;
+  }
+  
+  /**
+   * Whether this request has to run again after it has been run, e.g. a write that has applied its changes.
+   * 
+   * @since 2.16
+   */
+  public boolean isResumable() {
+    return false;
+  }
+  
+  /**
+   * Whether this pending request can be dropped without running it.
+   * 
+   * @since 2.16
+   */
+  public boolean isDiscardable() {
+    return this.result.isDone();
+  }
+  
+  @Pure
+  public String getMethod() {
+    return this.method;
+  }
+  
+  public void setMethod(final String method) {
+    this.method = method;
+  }
+  
+  @Pure
+  public Set<URI> getUris() {
+    return this.uris;
+  }
+  
+  public void setUris(final Set<URI> uris) {
+    this.uris = uris;
+  }
+  
+  @Pure
+  public RequestPriority getPriority() {
+    return this.priority;
+  }
+  
+  public void setPriority(final RequestPriority priority) {
+    this.priority = priority;
+  }
+  
+  @Pure
+  public long getSequence() {
+    return this.sequence;
+  }
+  
+  public void setSequence(final long sequence) {
+    this.sequence = sequence;
+  }
+  
+  @Pure
+  public long getSubmitTime() {
+    return this.submitTime;
+  }
+  
+  public void setSubmitTime(final long submitTime) {
+    this.submitTime = submitTime;
+  }
+  
+  @Pure
+  public long getQueueTime() {
+    return this.queueTime;
+  }
+  
+  public void setQueueTime(final long queueTime) {
+    this.queueTime = queueTime;
+  }
+  
+  @Pure
+  public long getExecutionTime() {
+    return this.executionTime;
+  }
+  
+  public void setExecutionTime(final long executionTime) {
+    this.executionTime = executionTime;
+  }
+  
+  @Pure
+  public long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+  
+  public void setAllocatedBytes(final long allocatedBytes) {
+    this.allocatedBytes = allocatedBytes;
+  }
 }
@@ -7,25 +7,60 @@
  */
 package org.eclipse.xtext.ide.server.concurrent;
 
+import com.google.common.base.Objects;
+import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtend.lib.annotations.AccessorType;
+import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.ide.server.concurrent.AbstractRequest;
 import org.eclipse.xtext.ide.server.concurrent.ReadRequest;
+import org.eclipse.xtext.ide.server.concurrent.RequestPriority;
+import org.eclipse.xtext.ide.server.concurrent.RequestQueueMetrics;
 import org.eclipse.xtext.ide.server.concurrent.WriteRequest;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
+import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.Pure;
 
 /**
+ * Schedules the requests of the language server. Reads run in parallel, writes run one after the other.
+ * 
+ * <p>
+ * Requests may declare the documents they work on. A write first applies its changes to its documents and then runs
+ * its cancellable part, e.g. the build, exclusively. Reads of other documents keep running while the changes are
+ * applied. A new write cancels all pending writes and the reads of the documents it changes. Requests that don't
+ * declare their documents conflict with all writes.
+ * </p>
+ * 
+ * <p>
+ * Pending requests are started by their {@link RequestPriority priority}, but a request never overtakes an earlier
+ * request that it conflicts with.
+ * </p>
+ * 
+ * <p>
+ * The queue time, execution time and outcome of each request are recorded in the {@link RequestQueueMetrics} under
+ * the method of the request.
+ * </p>
+ * 
  * @author kosyakov - Initial contribution and API
  * @since 2.11
  */
@@ -40,7 +75,26 @@ public class RequestManager {
   private final ExecutorService queue = Executors.newSingleThreadExecutor(
     new ThreadFactoryBuilder().setDaemon(true).setNameFormat("RequestManager-Queue-%d").build());
   
-  private ArrayList<AbstractRequest<?>> requests = CollectionLiterals.<AbstractRequest<?>>newArrayList();
+  /**
+   * The maximum number of reads that run at the same time.
+   * 
+   * @since 2.16
+   */
+  @Accessors
+  private int maxParallelReads = Math.max(2, Runtime.getRuntime().availableProcessors());
+  
+  /**
+   * @since 2.16
+   */
+  @Inject
+  @Accessors(AccessorType.PUBLIC_GETTER)
+  private RequestQueueMetrics metrics = new RequestQueueMetrics();
+  
+  private final ArrayList<AbstractRequest<?>> pending = CollectionLiterals.<AbstractRequest<?>>newArrayList();
+  
+  private final HashSet<AbstractRequest<?>> running = CollectionLiterals.<AbstractRequest<?>>newHashSet();
+  
+  private long sequence = 0;
   
   public void shutdown() {
     this.queue.shutdown();
@@ -48,37 +102,371 @@ public class RequestManager {
     this.cancel();
   }
   
+  /**
+   * Whether a subclass overrides the methods that existed before 2.16, which have to be called then.
+   */
+  private final boolean legacyRunRead = this.isOverridden("runRead", Function1.class);
+  
+  private final boolean legacyRunWrite = this.isOverridden("runWrite", Function0.class, Function2.class);
+  
+  /**
+   * Whether a subclass overrides the methods that don't take the method of a request.
+   */
+  private final boolean documentRunRead = this.isOverridden("runRead", URI.class, RequestPriority.class, Function1.class);
+  
+  private final boolean documentRunWrite = this.isOverridden("runWrite", Collection.class, Function0.class, Function2.class);
+  
+  private boolean isOverridden(final String name, final Class<?>... parameterTypes) {
+    try {
+      Class<?> _declaringClass = this.getClass().getMethod(name, parameterTypes).getDeclaringClass();
+      return (_declaringClass != RequestManager.class);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
   public <V extends Object> CompletableFuture<V> runRead(final Function1<? super CancelIndicator, ? extends V> cancellable) {
-    ReadRequest<V> _readRequest = new ReadRequest<V>(cancellable, this.parallel);
-    return this.<V>submit(_readRequest);
+    return this.<V>submitRead(null, null, RequestPriority.NORMAL, cancellable);
+  }
+  
+  /**
+   * Runs a read request that only works on the given document. If the document is <code>null</code>, the request may
+   * read any document. If a subclass overrides {@link #runRead(Function1)}, that method is called instead.
+   * 
+   * @since 2.16
+   */
+  public <V extends Object> CompletableFuture<V> runRead(final URI uri, final RequestPriority priority, final Function1<? super CancelIndicator, ? extends V> cancellable) {
+    if (this.legacyRunRead) {
+      return this.<V>runRead(cancellable);
+    }
+    return this.<V>submitRead(null, uri, priority, cancellable);
+  }
+  
+  /**
+   * Like {@link #runRead(URI, RequestPriority, Function1)}, but the method, e.g. the LSP method, identifies the
+   * request in the {@link RequestQueueMetrics}. If a subclass overrides one of the other <code>runRead</code>
+   * methods, that method is called instead.
+   * 
+   * @since 2.16
+   */
+  public <V extends Object> CompletableFuture<V> runRead(final String method, final URI uri, final RequestPriority priority, final Function1<? super CancelIndicator, ? extends V> cancellable) {
+    if (this.legacyRunRead) {
+      return this.<V>runRead(cancellable);
+    }
+    if (this.documentRunRead) {
+      return this.<V>runRead(uri, priority, cancellable);
+    }
+    return this.<V>submitRead(method, uri, priority, cancellable);
+  }
+  
+  private <V extends Object> CompletableFuture<V> submitRead(final String method, final URI uri, final RequestPriority priority, final Function1<? super CancelIndicator, ? extends V> cancellable) {
+    final ReadRequest<V> request = new ReadRequest<V>(cancellable);
+    request.setMethod(method);
+    HashSet<URI> _xifexpression = null;
+    if ((uri != null)) {
+      _xifexpression = CollectionLiterals.<URI>newHashSet(uri);
+    }
+    request.setUris(_xifexpression);
+    request.setPriority(priority);
+    return this.<V>submit(request);
   }
   
   public <U extends Object, V extends Object> CompletableFuture<V> runWrite(final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
-    final CompletableFuture<Void> cancelFuture = this.cancel();
-    WriteRequest<U, V> _writeRequest = new WriteRequest<U, V>(nonCancellable, cancellable, cancelFuture);
-    return this.<V>submit(_writeRequest);
+    return this.<U, V>submitWrite(null, null, nonCancellable, cancellable);
   }
   
-  protected <V extends Object> CompletableFuture<V> submit(final AbstractRequest<V> request) {
-    this.requests.add(request);
-    this.queue.submit(request);
+  /**
+   * Runs a write request. The non-cancellable part must only change the given documents. If the documents are
+   * <code>null</code>, it may change any document. The cancellable part always runs exclusively. If a subclass
+   * overrides {@link #runWrite(Function0, Function2)}, that method is called instead.
+   * 
+   * @since 2.16
+   */
+  public <U extends Object, V extends Object> CompletableFuture<V> runWrite(final Collection<URI> uris, final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
+    if (this.legacyRunWrite) {
+      return this.<U, V>runWrite(nonCancellable, cancellable);
+    }
+    return this.<U, V>submitWrite(null, uris, nonCancellable, cancellable);
+  }
+  
+  /**
+   * Like {@link #runWrite(Collection, Function0, Function2)}, but the method, e.g. the LSP method, identifies the
+   * request in the {@link RequestQueueMetrics}. If a subclass overrides one of the other <code>runWrite</code>
+   * methods, that method is called instead.
+   * 
+   * @since 2.16
+   */
+  public <U extends Object, V extends Object> CompletableFuture<V> runWrite(final String method, final Collection<URI> uris, final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
+    if (this.legacyRunWrite) {
+      return this.<U, V>runWrite(nonCancellable, cancellable);
+    }
+    if (this.documentRunWrite) {
+      return this.<U, V>runWrite(uris, nonCancellable, cancellable);
+    }
+    return this.<U, V>submitWrite(method, uris, nonCancellable, cancellable);
+  }
+  
+  private <U extends Object, V extends Object> CompletableFuture<V> submitWrite(final String method, final Collection<URI> uris, final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
+    final WriteRequest<U, V> request = new WriteRequest<U, V>(nonCancellable, cancellable);
+    request.setMethod(method);
+    Set<URI> _set = null;
+    if (uris!=null) {
+      _set=IterableExtensions.<URI>toSet(uris);
+    }
+    request.setUris(_set);
+    return this.<V>submit(request);
+  }
+  
+  protected synchronized <V extends Object> CompletableFuture<V> submit(final AbstractRequest<V> request) {
+    long _plusPlus = this.sequence++;
+    request.setSequence(_plusPlus);
+    request.setSubmitTime(System.nanoTime());
+    boolean _isWrite = request.isWrite();
+    if (_isWrite) {
+      Iterable<AbstractRequest<?>> _plus = Iterables.<AbstractRequest<?>>concat(this.pending, this.running);
+      for (final AbstractRequest<?> other : _plus) {
+        boolean _conflicts = this.conflicts(request, other);
+        if (_conflicts) {
+          other.cancel();
+        }
+      }
+    }
+    this.pending.add(request);
+    this.metrics.submitted(request.getPriority());
+    this.schedule();
     return request.get();
   }
   
-  protected CompletableFuture<Void> cancel() {
-    final ArrayList<AbstractRequest<?>> localRequests = this.requests;
-    this.requests = CollectionLiterals.<AbstractRequest<?>>newArrayList();
+  protected synchronized CompletableFuture<Void> cancel() {
     final ArrayList<CompletableFuture<?>> cfs = CollectionLiterals.<CompletableFuture<?>>newArrayList();
-    for (final AbstractRequest<?> request : localRequests) {
+    Iterable<AbstractRequest<?>> _plus = Iterables.<AbstractRequest<?>>concat(this.pending, this.running);
+    for (final AbstractRequest<?> request : _plus) {
       {
         request.cancel();
         CompletableFuture<?> _get = request.get();
         cfs.add(_get);
       }
     }
+    this.pending.clear();
     return CompletableFuture.allOf(((CompletableFuture<?>[])Conversions.unwrapArray(cfs, CompletableFuture.class)));
   }
   
+  /**
+   * Starts the pending requests that don't conflict with a running request or an earlier pending request.
+   * 
+   * @since 2.16
+   */
+  protected synchronized void schedule() {
+    boolean _isShutdown = this.queue.isShutdown();
+    if (_isShutdown) {
+      return;
+    }
+    final Function1<AbstractRequest<?>, Boolean> _function = (AbstractRequest<?> it) -> {
+      return Boolean.valueOf(it.isDiscardable());
+    };
+    List<AbstractRequest<?>> _list = IterableExtensions.<AbstractRequest<?>>toList(IterableExtensions.<AbstractRequest<?>>filter(this.pending, _function));
+    for (final AbstractRequest<?> request : _list) {
+      {
+        this.pending.remove(request);
+        long _submitTime = request.getSubmitTime();
+        boolean _notEquals = (_submitTime != 0);
+        if (_notEquals) {
+          this.metrics.discarded(request.getPriority());
+          String _method = request.getMethod();
+          long _nanoTime = System.nanoTime();
+          long _submitTime_1 = request.getSubmitTime();
+          long _minus = (_nanoTime - _submitTime_1);
+          this.metrics.discarded(_method, _minus);
+        } else {
+          this.metrics.finished(request.getMethod(), request.getQueueTime(), request.getExecutionTime(), request.getAllocatedBytes(), true, 
+            false);
+        }
+      }
+    }
+    final Function2<AbstractRequest<?>, AbstractRequest<?>, Integer> _function_1 = (AbstractRequest<?> a, AbstractRequest<?> b) -> {
+      int _xifexpression = (int) 0;
+      RequestPriority _priority = a.getPriority();
+      RequestPriority _priority_1 = b.getPriority();
+      boolean _notEquals = (!Objects.equal(_priority, _priority_1));
+      if (_notEquals) {
+        _xifexpression = b.getPriority().compareTo(a.getPriority());
+      } else {
+        _xifexpression = Long.compare(a.getSequence(), b.getSequence());
+      }
+      return Integer.valueOf(_xifexpression);
+    };
+    final List<AbstractRequest<?>> candidates = IterableExtensions.<AbstractRequest<?>>sortWith(this.pending, new Comparator<AbstractRequest<?>>() {
+        public int compare(AbstractRequest<?> arg0, AbstractRequest<?> arg1) {
+          return _function_1.apply(arg0, arg1);
+        }
+    });
+    for (final AbstractRequest<?> request_1 : candidates) {
+      boolean _canStart = this.canStart(request_1);
+      if (_canStart) {
+        this.pending.remove(request_1);
+        this.start(request_1);
+      }
+    }
+  }
+  
+  /**
+   * @since 2.16
+   */
+  protected boolean canStart(final AbstractRequest<?> request) {
+    if (((!request.isWrite()) && (IterableExtensions.size(IterableExtensions.<AbstractRequest<?>>filter(this.running, ((Function1<AbstractRequest<?>, Boolean>) (AbstractRequest<?> it) -> {
+      boolean _isWrite = it.isWrite();
+      return Boolean.valueOf((!_isWrite));
+    }))) >= this.maxParallelReads))) {
+      return false;
+    }
+    final Function1<AbstractRequest<?>, Boolean> _function = (AbstractRequest<?> it) -> {
+      return Boolean.valueOf(this.conflicts(request, it));
+    };
+    boolean _exists = IterableExtensions.<AbstractRequest<?>>exists(this.running, _function);
+    if (_exists) {
+      return false;
+    }
+    final Function1<AbstractRequest<?>, Boolean> _function_1 = (AbstractRequest<?> it) -> {
+      return Boolean.valueOf(((it.getSequence() < request.getSequence()) && this.conflicts(request, it)));
+    };
+    boolean _exists_1 = IterableExtensions.<AbstractRequest<?>>exists(this.pending, _function_1);
+    return (!_exists_1);
+  }
+  
+  /**
+   * Writes conflict with each other. An exclusive write conflicts with all reads, other writes only conflict with the
+   * reads of their documents.
+   * 
+   * @since 2.16
+   */
+  protected boolean conflicts(final AbstractRequest<?> request, final AbstractRequest<?> other) {
+    if (((!request.isWrite()) && (!other.isWrite()))) {
+      return false;
+    }
+    if ((((request.isWrite() && other.isWrite()) || request.isExclusive()) || other.isExclusive())) {
+      return true;
+    }
+    return (((request.getUris() == null) || (other.getUris() == null)) || IterableExtensions.<URI>exists(request.getUris(), ((Function1<URI, Boolean>) (URI it) -> {
+      return Boolean.valueOf(other.getUris().contains(it));
+    })));
+  }
+  
+  /**
+   * @since 2.16
+   */
+  protected void start(final AbstractRequest<?> request) {
+    this.running.add(request);
+    long _submitTime = request.getSubmitTime();
+    boolean _notEquals = (_submitTime != 0);
+    if (_notEquals) {
+      long _nanoTime = System.nanoTime();
+      long _submitTime_1 = request.getSubmitTime();
+      long _minus = (_nanoTime - _submitTime_1);
+      request.setQueueTime(_minus);
+      this.metrics.started(request.getPriority(), request.getQueueTime());
+      request.setSubmitTime(0);
+    }
+    ExecutorService _xifexpression = null;
+    boolean _isWrite = request.isWrite();
+    if (_isWrite) {
+      _xifexpression = this.queue;
+    } else {
+      _xifexpression = this.parallel;
+    }
+    final ExecutorService executor = _xifexpression;
+    try {
+      final Runnable _function = () -> {
+        this.run(request);
+      };
+      executor.submit(_function);
+    } catch (final Throwable _t) {
+      if (_t instanceof RejectedExecutionException) {
+        this.running.remove(request);
+        request.cancel();
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+  }
+  
+  /**
+   * Runs the given request on the current thread and measures its execution time and allocations.
+   * 
+   * @since 2.16
+   */
+  protected void run(final AbstractRequest<?> request) {
+    final long allocatedBefore = this.metrics.getCurrentThreadAllocatedBytes();
+    final long startTime = System.nanoTime();
+    try {
+      request.run();
+    } finally {
+      long _executionTime = request.getExecutionTime();
+      long _nanoTime = System.nanoTime();
+      long _minus = (_nanoTime - startTime);
+      long _plus = (_executionTime + _minus);
+      request.setExecutionTime(_plus);
+      if ((allocatedBefore >= 0)) {
+        long _currentThreadAllocatedBytes = this.metrics.getCurrentThreadAllocatedBytes();
+        final long allocated = (_currentThreadAllocatedBytes - allocatedBefore);
+        long _max = Math.max(0, request.getAllocatedBytes());
+        long _plus_1 = (_max + allocated);
+        request.setAllocatedBytes(_plus_1);
+      }
+      this.finished(request);
+    }
+  }
+  
+  /**
+   * @since 2.16
+   */
+  protected synchronized void finished(final AbstractRequest<?> request) {
+    this.running.remove(request);
+    boolean _isResumable = request.isResumable();
+    if (_isResumable) {
+      this.pending.add(request);
+    } else {
+      final boolean cancelled = this.isCancelled(request);
+      this.metrics.finished(request.getMethod(), request.getQueueTime(), request.getExecutionTime(), request.getAllocatedBytes(), cancelled, 
+        ((!cancelled) && request.get().isCompletedExceptionally()));
+    }
+    this.schedule();
+  }
+  
+  /**
+   * @since 2.16
+   */
+  protected boolean isCancelled(final AbstractRequest<?> request) {
+    final CompletableFuture<?> result = request.get();
+    boolean _isCancelled = result.isCancelled();
+    if (_isCancelled) {
+      return true;
+    }
+    boolean _isCompletedExceptionally = result.isCompletedExceptionally();
+    boolean _not = (!_isCompletedExceptionally);
+    if (_not) {
+      return false;
+    }
+    try {
+      result.getNow(null);
+      return false;
+    } catch (final Throwable _t) {
+      if (_t instanceof Throwable) {
+        final Throwable t = (Throwable)_t;
+        return this.isCancelException(t);
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+  }
+  
+  /**
+   * @return the number of requests that have not been started yet
+   * @since 2.16
+   */
+  public synchronized int getPendingCount() {
+    return this.pending.size();
+  }
+  
   protected boolean isCancelException(final Throwable t) {
     if ((t == null)) {
       return false;
@@ -92,4 +480,18 @@ public class RequestManager {
     final Throwable cause = _xifexpression;
     return this.operationCanceledManager.isOperationCanceledException(cause);
   }
+  
+  @Pure
+  public int getMaxParallelReads() {
+    return this.maxParallelReads;
+  }
+  
+  public void setMaxParallelReads(final int maxParallelReads) {
+    this.maxParallelReads = maxParallelReads;
+  }
+  
+  @Pure
+  public RequestQueueMetrics getMetrics() {
+    return this.metrics;
+  }
 }
@@ -7,7 +7,6 @@
  */
 package org.eclipse.xtext.ide.server.concurrent;
 
-import java.util.concurrent.CompletableFuture;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.ide.server.concurrent.AbstractRequest;
 import org.eclipse.xtext.util.CancelIndicator;
@@ -22,36 +21,53 @@ public class WriteRequest<U extends Object, V extends Object> extends AbstractRe
   
   private final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable;
   
-  private final CompletableFuture<Void> previous;
+  private U intermediateResult;
+  
+  private boolean applied = false;
   
   @Override
   public void run() {
     try {
-      this.previous.join();
+      if ((!this.applied)) {
+        this.intermediateResult = this.nonCancellable.apply();
+        this.applied = true;
+      } else {
+        this.cancelIndicator.checkCanceled();
+        this.result.complete(this.cancellable.apply(this.cancelIndicator, this.intermediateResult));
+      }
     } catch (final Throwable _t) {
       if (_t instanceof Throwable) {
+        final Throwable e = (Throwable)_t;
+        this.result.completeExceptionally(e);
       } else {
         throw Exceptions.sneakyThrow(_t);
       }
     }
-    try {
-      final U intermediateResult = this.nonCancellable.apply();
-      this.cancelIndicator.checkCanceled();
-      this.result.complete(this.cancellable.apply(this.cancelIndicator, intermediateResult));
-    } catch (final Throwable _t_1) {
-      if (_t_1 instanceof Throwable) {
-        final Throwable e_1 = (Throwable)_t_1;
-        this.result.completeExceptionally(e_1);
-      } else {
-        throw Exceptions.sneakyThrow(_t_1);
-      }
-    }
   }
   
-  public WriteRequest(final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable, final CompletableFuture<Void> previous) {
+  @Override
+  public boolean isWrite() {
+    return true;
+  }
+  
+  @Override
+  public boolean isExclusive() {
+    return this.applied;
+  }
+  
+  @Override
+  public boolean isResumable() {
+    return (this.applied && (!this.result.isDone()));
+  }
+  
+  @Override
+  public boolean isDiscardable() {
+    return (this.applied && this.result.isDone());
+  }
+  
+  public WriteRequest(final Function0<? extends U> nonCancellable, final Function2<? super CancelIndicator, ? super U, ? extends V> cancellable) {
     super();
     this.nonCancellable = nonCancellable;
     this.cancellable = cancellable;
-    this.previous = previous;
   }
 }
@@ -17,13 +17,16 @@ import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.lsp4j.ClientCapabilities;
 import org.eclipse.lsp4j.Position;
@@ -43,10 +46,12 @@ import org.eclipse.xtext.ide.editor.syntaxcoloring.MergingHighlightedPositionAcc
 import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.ILanguageServerAccess;
 import org.eclipse.xtext.ide.server.UriExtensions;
+import org.eclipse.xtext.ide.server.semanticHighlight.ChangedLines;
 import org.eclipse.xtext.ide.server.semanticHighlight.ISemanticHighlightingStyleToTokenMapper;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.util.internal.Log;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
@@ -56,6 +61,7 @@ import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
+import org.eclipse.xtext.xbase.lib.Pair;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
 import org.eclipse.xtext.xbase.lib.Pure;
@@ -65,6 +71,14 @@ import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
  * Shared semantic highlighting manager per language server.
  * Responsible for converting the semantic highlighted ranges into the LSP standard by producing a compact,
  * {@code base64} encoded token string.
+ * 
+ * <p>
+ * The registry remembers the highlighting it has sent for each open document and only sends the lines that have
+ * changed since then. Lines that have been moved by an edit are sent again as well, so clients don't have to move
+ * the highlighting of the following lines themselves. If the calculator is
+ * {@link ISemanticHighlightingCalculator.RegionAware region aware}, only the changed lines of the document are
+ * recomputed. The remembered highlighting is {@link #remove(URI) removed} when a document is closed or deleted.
+ * </p>
  */
 @Log
 @SuppressWarnings("all")
@@ -142,6 +156,13 @@ public class SemanticHighlightingRegistry {
   
   protected LanguageClient client;
   
+  /**
+   * The document and the encoded tokens per line that have last been sent to the client, by document URI.
+   * 
+   * @since 2.16
+   */
+  protected final Map<String, Pair<Document, List<String>>> sentHighlighting = new ConcurrentHashMap<String, Pair<Document, List<String>>>();
+  
   public void initialize(final Iterable<? extends IResourceServiceProvider> allLanguages, final ClientCapabilities capabilities, final LanguageClient client) {
     Preconditions.checkState((this.client == null), "Already initialized.");
     Boolean _elvis = null;
@@ -241,9 +262,11 @@ public class SemanticHighlightingRegistry {
     if (_not) {
       return;
     }
+    final String uri = this._uriExtensions.toUriString(context.getResource().getURI());
     boolean _isDocumentOpen = context.isDocumentOpen();
     boolean _not_1 = (!_isDocumentOpen);
     if (_not_1) {
+      this.sentHighlighting.remove(uri);
       return;
     }
     Resource _resource_1 = context.getResource();
@@ -264,8 +287,96 @@ public class SemanticHighlightingRegistry {
       return;
     }
     final Document document = context.getDocument();
+    final Pair<Document, List<String>> previous = this.sentHighlighting.get(uri);
+    ChangedLines _xifexpression = null;
+    if ((previous != null)) {
+      _xifexpression = ChangedLines.compute(previous.getKey().getContents(), document.getContents());
+    }
+    final ChangedLines changedLines = _xifexpression;
+    final int lineCount = document.getLineCount();
+    ITextRegion _xifexpression_1 = null;
+    if ((((changedLines != null) && (calculator instanceof ISemanticHighlightingCalculator.RegionAware)) && this.isRegionUpdate(changedLines, lineCount))) {
+      _xifexpression_1 = changedLines.getRegion();
+    }
+    final ITextRegion region = _xifexpression_1;
+    final List<String> computed = this.computeLineTokens(resource, calculator, mapper, document, region);
+    final ArrayList<String> sent = CollectionLiterals.<String>newArrayList();
+    final ArrayList<SemanticHighlightingInformation> lines = CollectionLiterals.<SemanticHighlightingInformation>newArrayList();
+    ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, lineCount, true);
+    for (final Integer line : _doubleDotLessThan) {
+      {
+        int _xifexpression_2 = (int) 0;
+        if ((previous == null)) {
+          _xifexpression_2 = (-1);
+        } else {
+          int _xifexpression_3 = (int) 0;
+          if ((changedLines == null)) {
+            _xifexpression_3 = (line).intValue();
+          } else {
+            _xifexpression_3 = changedLines.getOldLine((line).intValue());
+          }
+          _xifexpression_2 = _xifexpression_3;
+        }
+        final int oldLine = _xifexpression_2;
+        String _xifexpression_4 = null;
+        if (((region != null) && (oldLine >= 0))) {
+          _xifexpression_4 = previous.getValue().get(oldLine);
+        } else {
+          _xifexpression_4 = computed.get((line).intValue());
+        }
+        final String tokens = _xifexpression_4;
+        sent.add(tokens);
+        if (((oldLine != (line).intValue()) || (!Objects.equal(tokens, previous.getValue().get(oldLine))))) {
+          SemanticHighlightingInformation _semanticHighlightingInformation = new SemanticHighlightingInformation((line).intValue(), tokens);
+          lines.add(_semanticHighlightingInformation);
+        }
+      }
+    }
+    Pair<Document, List<String>> _mappedTo = Pair.<Document, List<String>>of(document, sent);
+    this.sentHighlighting.put(uri, _mappedTo);
+    if (((previous == null) || (!lines.isEmpty()))) {
+      final VersionedTextDocumentIdentifier textDocument = this.toVersionedTextDocumentIdentifier(context);
+      SemanticHighlightingParams _semanticHighlightingParams = new SemanticHighlightingParams(textDocument, lines);
+      this.notifyClient(_semanticHighlightingParams);
+    }
+  }
+  
+  /**
+   * Forgets the highlighting that has been sent for the given document.
+   * 
+   * @since 2.16
+   */
+  public void remove(final URI uri) {
+    this.sentHighlighting.remove(this._uriExtensions.toUriString(uri));
+  }
+  
+  /**
+   * {@code true} if only the changed lines have to be recomputed by a
+   * {@link ISemanticHighlightingCalculator.RegionAware region aware} calculator. By default, this is the case if at
+   * most half of the lines have changed, as the full computation is cheaper otherwise.
+   * 
+   * @since 2.16
+   */
+  protected boolean isRegionUpdate(final ChangedLines changedLines, final int lineCount) {
+    int _newLineCount = changedLines.getNewLineCount();
+    int _multiply = (_newLineCount * 2);
+    return (_multiply <= lineCount);
+  }
+  
+  /**
+   * Computes the encoded tokens of each line of the document, {@code null} for lines without tokens. If a region is
+   * given, only the tokens of the lines in the region are computed.
+   * 
+   * @since 2.16
+   */
+  protected List<String> computeLineTokens(final XtextResource resource, final ISemanticHighlightingCalculator calculator, final ISemanticHighlightingStyleToTokenMapper mapper, final Document document, final ITextRegion region) {
     final MergingHighlightedPositionAcceptor acceptor = new MergingHighlightedPositionAcceptor(calculator);
-    calculator.provideHighlightingFor(resource, acceptor, CancelIndicator.NullImpl);
+    if ((region != null)) {
+      ((ISemanticHighlightingCalculator.RegionAware) calculator).provideHighlightingFor(resource, region, acceptor, 
+        CancelIndicator.NullImpl);
+    } else {
+      calculator.provideHighlightingFor(resource, acceptor, CancelIndicator.NullImpl);
+    }
     final Function1<LightweightPosition, List<SemanticHighlightingRegistry.HighlightedRange>> _function = (LightweightPosition position) -> {
       final Function1<String, SemanticHighlightingRegistry.HighlightedRange> _function_1 = (String id) -> {
         final Position start = document.getPosition(position.getOffset());
@@ -279,10 +390,12 @@ public class SemanticHighlightingRegistry {
       return ListExtensions.<String, SemanticHighlightingRegistry.HighlightedRange>map(((List<String>)Conversions.doWrapArray(position.getIds())), _function_1);
     };
     final Iterable<SemanticHighlightingRegistry.HighlightedRange> ranges = Iterables.<SemanticHighlightingRegistry.HighlightedRange>concat(ListExtensions.<LightweightPosition, List<SemanticHighlightingRegistry.HighlightedRange>>map(acceptor.getPositions(), _function));
-    final List<SemanticHighlightingInformation> lines = this.toSemanticHighlightingInformation(ranges, document);
-    final VersionedTextDocumentIdentifier textDocument = this.toVersionedTextDocumentIdentifier(context);
-    SemanticHighlightingParams _semanticHighlightingParams = new SemanticHighlightingParams(textDocument, lines);
-    this.notifyClient(_semanticHighlightingParams);
+    final String[] result = new String[document.getLineCount()];
+    final Consumer<SemanticHighlightingInformation> _function_1 = (SemanticHighlightingInformation it) -> {
+      result[it.getLine()] = it.getTokens();
+    };
+    this.toSemanticHighlightingInformation(ranges, document).forEach(_function_1);
+    return (List<String>)Conversions.doWrapArray(result);
   }
   
   /**
@@ -7,21 +7,33 @@
  */
 package org.eclipse.xtext.ide.server.symbol;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.findReferences.IReferenceFinder;
 import org.eclipse.xtext.ide.server.symbol.DocumentSymbolService;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Extension;
+import org.eclipse.xtext.xbase.lib.Pair;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
+import org.eclipse.xtext.xbase.lib.Pure;
 
 /**
  * @author kosyakov - Initial contribution and API
@@ -30,17 +42,53 @@ import org.eclipse.xtext.xbase.lib.Extension;
 @Singleton
 @SuppressWarnings("all")
 public class WorkspaceSymbolService {
+  /**
+   * The name of the binding that enables the trigram index of the exported names. It may only be enabled if the
+   * {@link DocumentSymbolService#filter(IEObjectDescription, String) filter} of all languages accepts only names
+   * that contain the query, ignoring case, like the default does.
+   * @since 2.16
+   */
+  public static final String USE_NAME_INDEX = "org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolService.useNameIndex";
+
+  /**
+   * The name of the binding of the maximum number of returned symbols.
+   * @since 2.16
+   */
+  public static final String MAX_SYMBOLS = "org.eclipse.xtext.ide.server.symbol.WorkspaceSymbolService.maxSymbols";
+
   @Inject
   @Extension
   private IResourceServiceProvider.Registry _registry;
-  
+
   @Inject
   private OperationCanceledManager operationCanceledManager;
-  
+
+  /**
+   * Whether only the resources that the trigram index of the names yields for the query are searched.
+   * @since 2.16
+   */
+  @Inject(optional = true)
+  @Named(WorkspaceSymbolService.USE_NAME_INDEX)
+  @Accessors
+  private boolean useNameIndex = false;
+
+  /**
+   * The maximum number of returned symbols, or zero for no limit. If there is a limit, the matching objects are
+   * {@link #getRank(IEObjectDescription, String) ranked} and only the locations of the best ones are computed.
+   * @since 2.16
+   */
+  @Inject(optional = true)
+  @Named(WorkspaceSymbolService.MAX_SYMBOLS)
+  @Accessors
+  private int maxSymbols = 0;
+
   public List<? extends SymbolInformation> getSymbols(final String query, final IReferenceFinder.IResourceAccess resourceAccess, final IResourceDescriptions indexData, final CancelIndicator cancelIndicator) {
+    if ((this.maxSymbols > 0)) {
+      return this.getTopSymbols(query, resourceAccess, indexData, cancelIndicator);
+    }
     final LinkedList<SymbolInformation> result = CollectionLiterals.<SymbolInformation>newLinkedList();
-    Iterable<IResourceDescription> _allResourceDescriptions = indexData.getAllResourceDescriptions();
-    for (final IResourceDescription resourceDescription : _allResourceDescriptions) {
+    Iterable<IResourceDescription> _candidateResourceDescriptions = this.getCandidateResourceDescriptions(query, indexData);
+    for (final IResourceDescription resourceDescription : _candidateResourceDescriptions) {
       {
         this.operationCanceledManager.checkCanceled(cancelIndicator);
         final IResourceServiceProvider resourceServiceProvider = this._registry.getResourceServiceProvider(resourceDescription.getURI());
@@ -57,4 +105,159 @@ public class WorkspaceSymbolService {
     }
     return result;
   }
+
+  /**
+   * Returns the symbols of the {@link #getMaxSymbols() maxSymbols} best ranked objects that match the query. Objects
+   * with the same rank are returned in the order of the index.
+   * @since 2.16
+   */
+  protected List<? extends SymbolInformation> getTopSymbols(final String query, final IReferenceFinder.IResourceAccess resourceAccess, final IResourceDescriptions indexData, final CancelIndicator cancelIndicator) {
+    final String lowerCaseQuery = query.toLowerCase();
+    final List<List<Pair<IEObjectDescription, DocumentSymbolService>>> ranked = CollectionLiterals.<List<Pair<IEObjectDescription, DocumentSymbolService>>>newArrayList();
+    Iterable<IResourceDescription> _candidateResourceDescriptions = this.getCandidateResourceDescriptions(query, indexData);
+    for (final IResourceDescription resourceDescription : _candidateResourceDescriptions) {
+      {
+        this.operationCanceledManager.checkCanceled(cancelIndicator);
+        final IResourceServiceProvider resourceServiceProvider = this._registry.getResourceServiceProvider(resourceDescription.getURI());
+        DocumentSymbolService _get = null;
+        if (resourceServiceProvider!=null) {
+          _get=resourceServiceProvider.<DocumentSymbolService>get(DocumentSymbolService.class);
+        }
+        final DocumentSymbolService documentSymbolService = _get;
+        if ((documentSymbolService != null)) {
+          Iterable<IEObjectDescription> _exportedObjects = resourceDescription.getExportedObjects();
+          for (final IEObjectDescription description : _exportedObjects) {
+            boolean _filter = documentSymbolService.filter(description, query);
+            if (_filter) {
+              final int rank = this.getRank(description, lowerCaseQuery);
+              while ((ranked.size() <= rank)) {
+                ranked.add(CollectionLiterals.<Pair<IEObjectDescription, DocumentSymbolService>>newArrayList());
+              }
+              int _size = ranked.get(rank).size();
+              boolean _lessThan = (_size < this.maxSymbols);
+              if (_lessThan) {
+                List<Pair<IEObjectDescription, DocumentSymbolService>> _get_1 = ranked.get(rank);
+                Pair<IEObjectDescription, DocumentSymbolService> _mappedTo = Pair.<IEObjectDescription, DocumentSymbolService>of(description, documentSymbolService);
+                _get_1.add(_mappedTo);
+              }
+            }
+          }
+        }
+      }
+    }
+    final LinkedList<SymbolInformation> result = CollectionLiterals.<SymbolInformation>newLinkedList();
+    for (final List<Pair<IEObjectDescription, DocumentSymbolService>> candidates : ranked) {
+      for (final Pair<IEObjectDescription, DocumentSymbolService> candidate : candidates) {
+        {
+          int _size = result.size();
+          boolean _greaterEqualsThan = (_size >= this.maxSymbols);
+          if (_greaterEqualsThan) {
+            return result;
+          }
+          this.operationCanceledManager.checkCanceled(cancelIndicator);
+          final Procedure1<SymbolInformation> _function = (SymbolInformation symbol) -> {
+            result.add(symbol);
+          };
+          candidate.getValue().createSymbol(candidate.getKey(), resourceAccess, _function);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Ranks an object that matches the query, lower is better: 0 if its simple name is the query, 1 if its simple name
+   * starts with the query, 2 if its qualified name starts with the query and 3 otherwise.
+   * @since 2.16
+   */
+  protected int getRank(final IEObjectDescription description, final String lowerCaseQuery) {
+    final QualifiedName name = description.getQualifiedName().toLowerCase();
+    boolean _isEmpty = name.isEmpty();
+    if (_isEmpty) {
+      return 3;
+    }
+    final String simpleName = name.getLastSegment();
+    boolean _equals = Objects.equal(simpleName, lowerCaseQuery);
+    if (_equals) {
+      return 0;
+    }
+    boolean _startsWith = simpleName.startsWith(lowerCaseQuery);
+    if (_startsWith) {
+      return 1;
+    }
+    boolean _startsWith_1 = name.toString().startsWith(lowerCaseQuery);
+    if (_startsWith_1) {
+      return 2;
+    }
+    return 3;
+  }
+
+  /**
+   * Returns the resource descriptions that may contain symbols matching the query.
+   * @since 2.16
+   */
+  protected Iterable<IResourceDescription> getCandidateResourceDescriptions(final String query, final IResourceDescriptions indexData) {
+    if (this.useNameIndex) {
+      if ((indexData instanceof ResourceDescriptionsData)) {
+        final List<IResourceDescription> candidates = this.findCandidates(query, ((ResourceDescriptionsData)indexData));
+        if ((candidates != null)) {
+          return candidates;
+        }
+      } else {
+        if ((indexData instanceof ChunkedResourceDescriptions)) {
+          final List<IResourceDescription> result = CollectionLiterals.<IResourceDescription>newArrayList();
+          Set<String> _chunkNames = ((ChunkedResourceDescriptions)indexData).getChunkNames();
+          for (final String chunkName : _chunkNames) {
+            {
+              final ResourceDescriptionsData container = ((ChunkedResourceDescriptions)indexData).getContainer(chunkName);
+              if ((container != null)) {
+                final List<IResourceDescription> candidates_1 = this.findCandidates(query, container);
+                if ((candidates_1 == null)) {
+                  return ((ChunkedResourceDescriptions)indexData).getAllResourceDescriptions();
+                }
+                Iterables.<IResourceDescription>addAll(result, candidates_1);
+              }
+            }
+          }
+          return result;
+        }
+      }
+    }
+    return indexData.getAllResourceDescriptions();
+  }
+
+  private List<IResourceDescription> findCandidates(final String query, final ResourceDescriptionsData data) {
+    final Set<URI> uris = data.getResourceURIsWithNameContaining(query);
+    if ((uris == null)) {
+      return null;
+    }
+    final List<IResourceDescription> result = CollectionLiterals.<IResourceDescription>newArrayList();
+    for (final URI uri : uris) {
+      {
+        final IResourceDescription description = data.getResourceDescription(uri);
+        if ((description != null)) {
+          result.add(description);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Pure
+  public boolean isUseNameIndex() {
+    return this.useNameIndex;
+  }
+
+  public void setUseNameIndex(final boolean useNameIndex) {
+    this.useNameIndex = useNameIndex;
+  }
+
+  @Pure
+  public int getMaxSymbols() {
+    return this.maxSymbols;
+  }
+
+  public void setMaxSymbols(final int maxSymbols) {
+    this.maxSymbols = maxSymbols;
+  }
 }
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.build;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.Level;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.CompactResourceDescriptionsData;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest;
+import org.eclipse.xtext.testing.logging.LoggingTester;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+
+@RunWith(XtextRunner.class)
+@InjectWith(IndexTestLanguageInjectorProvider.class)
+public class CompactIndexIncrementalBuilderTest extends AbstractIncrementalBuilderTest {
+
+	@Inject
+	private IResourceServiceProvider.Registry resourceServiceProviderRegistry;
+
+	@Override
+	protected IResourceServiceProvider.Registry getLanguages() {
+		return resourceServiceProviderRegistry;
+	}
+
+	@Test
+	public void testBuildOverCompactIndex() {
+		indexState = new IndexState(
+				new CompactResourceDescriptionsData(Collections.<IResourceDescription> emptyList()),
+				new Source2GeneratedMapping());
+		URI a = operator_minus("src/A.indextestlanguage", "foo { entity A { foo.B b } }");
+		URI b = operator_minus("src/B.indextestlanguage", "foo { entity B {} }");
+		LoggingTester.LogCapture log = LoggingTester.captureLogging(Level.ERROR,
+				Indexer.ResolvedResourceDescription.class, () -> {
+					assertEquals(2, buildAndGetAffected(Lists.newArrayList(a, b)).size());
+					assertTrue(issues.toString(), issues.isEmpty());
+					assertTrue(indexState.getResourceDescriptions() instanceof CompactResourceDescriptionsData);
+					IResourceDescription description = indexState.getResourceDescriptions().getResourceDescription(a);
+					assertEquals(1, Iterables.size(description.getReferenceDescriptions()));
+					assertFalse(Iterables.isEmpty(description.getImportedNames()));
+
+					// the removal of foo.B affects A through the index entries of the first build
+					operator_minus("src/B.indextestlanguage", "foo { entity C {} }");
+					assertTrue(buildAndGetAffected(Lists.newArrayList(b)).contains(a));
+				});
+		log.assertNoLogEntries();
+	}
+
+	private List<URI> buildAndGetAffected(List<URI> dirtyFiles) {
+		BuildRequest request = newBuildRequest(it -> it.setDirtyFiles(dirtyFiles));
+		clean();
+		IncrementalBuilder.Result result = incrementalBuilder.build(request,
+				uri -> getLanguages().getResourceServiceProvider(uri));
+		indexState = result.getIndexState();
+		List<URI> uris = new ArrayList<>();
+		for (IResourceDescription.Delta delta : result.getAffectedResources()) {
+			uris.add(delta.getUri());
+		}
+		return uris;
+	}
+}
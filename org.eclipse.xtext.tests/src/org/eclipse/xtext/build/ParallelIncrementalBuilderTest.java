@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.build;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.testing.InjectWith;
+import org.eclipse.xtext.testing.XtextRunner;
+import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+
+@RunWith(XtextRunner.class)
+@InjectWith(IndexTestLanguageInjectorProvider.class)
+public class ParallelIncrementalBuilderTest extends AbstractIncrementalBuilderTest {
+
+	@Inject
+	private Injector injector;
+
+	@Inject
+	private IResourceServiceProvider.Registry resourceServiceProviderRegistry;
+
+	@Inject
+	private Provider<SynchronizedXtextResourceSet> synchronizedResourceSetProvider;
+
+	private ExecutorService executor;
+
+	@Override
+	protected IResourceServiceProvider.Registry getLanguages() {
+		return resourceServiceProviderRegistry;
+	}
+
+	@Before
+	public void setUpExecutor() {
+		executor = Executors.newFixedThreadPool(4);
+		resourceSetProvider = () -> synchronizedResourceSetProvider.get();
+	}
+
+	@After
+	public void shutdownExecutor() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void testParallelBuildProducesSequentialResult() {
+		List<URI> sequential = buildAll(null);
+		assertTrue(issues.toString(), issues.isEmpty());
+		assertEquals(8, generated.size());
+		IndexState sequentialState = indexState;
+
+		indexState = new IndexState();
+		List<URI> parallel = buildAll(executor);
+		assertTrue(issues.toString(), issues.isEmpty());
+		assertEquals(8, generated.size());
+		assertEquals(sequential, parallel);
+		assertEquals(
+				Lists.newArrayList(sequentialState.getResourceDescriptions().getAllURIs()),
+				Lists.newArrayList(indexState.getResourceDescriptions().getAllURIs()));
+	}
+
+	@Test
+	public void testParallelBuildReportsErrors() {
+		BuildRequest request = newBuildRequest(it -> {
+			it.setParallelExecutor(executor);
+			it.setDirtyFiles(Lists.newArrayList(
+					operator_minus("src/A.indextestlanguage", "foo { entity A { foo.Unknown ref } }"),
+					operator_minus("src/B.indextestlanguage", "foo { entity B { foo.A ref } }")));
+		});
+		build(request);
+		assertEquals(issues.toString(), 1, issues.size());
+		assertFalse(containsSuffix(generated.values(), "src-gen/A.txt"));
+		assertTrue(containsSuffix(generated.values(), "src-gen/B.txt"));
+	}
+
+	@Test
+	public void testParallelBuildLoadsResourcesOnExecutor() {
+		Set<Thread> loadingThreads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+		resourceSetProvider = () -> {
+			SynchronizedXtextResourceSet resourceSet = new SynchronizedXtextResourceSet() {
+				@Override
+				public URIConverter getURIConverter() {
+					loadingThreads.add(Thread.currentThread());
+					return super.getURIConverter();
+				}
+			};
+			injector.injectMembers(resourceSet);
+			return resourceSet;
+		};
+		buildAll(executor);
+		assertTrue(issues.toString(), issues.isEmpty());
+		assertEquals(8, generated.size());
+		loadingThreads.remove(Thread.currentThread());
+		assertFalse(loadingThreads.isEmpty());
+	}
+
+	@Test
+	public void testParallelBuildResolvesOnCallingThread() {
+		Thread buildThread = Thread.currentThread();
+		Set<URI> loadedConcurrently = Collections.newSetFromMap(new ConcurrentHashMap<URI, Boolean>());
+		resourceSetProvider = () -> {
+			SynchronizedXtextResourceSet resourceSet = new SynchronizedXtextResourceSet() {
+				@Override
+				public Resource getResource(URI uri, boolean loadOnDemand) {
+					if (loadOnDemand && Thread.currentThread() != buildThread) {
+						loadedConcurrently.add(uri);
+					}
+					return super.getResource(uri, loadOnDemand);
+				}
+			};
+			injector.injectMembers(resourceSet);
+			return resourceSet;
+		};
+		buildAll(executor);
+		assertTrue(issues.toString(), issues.isEmpty());
+		assertEquals(8, generated.size());
+		assertTrue(loadedConcurrently.toString(), loadedConcurrently.isEmpty());
+	}
+
+	@Test
+	public void testLoadingExecutorValidatesOnCallingThread() {
+		Set<Thread> validatingThreads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+		List<URI> sequential = buildAll(null);
+		IndexState sequentialState = indexState;
+
+		indexState = new IndexState();
+		List<URI> parallel = buildAll(null, executor, request -> {
+			BuildRequest.IPostValidationCallback callback = request.getAfterValidate();
+			request.setAfterValidate((uri, issues) -> {
+				validatingThreads.add(Thread.currentThread());
+				return callback.afterValidate(uri, issues);
+			});
+		});
+		assertTrue(issues.toString(), issues.isEmpty());
+		assertEquals(8, generated.size());
+		assertEquals(sequential, parallel);
+		assertEquals(
+				Lists.newArrayList(sequentialState.getResourceDescriptions().getAllURIs()),
+				Lists.newArrayList(indexState.getResourceDescriptions().getAllURIs()));
+		assertEquals(Collections.singleton(Thread.currentThread()), validatingThreads);
+	}
+
+	private List<URI> buildAll(ExecutorService parallelExecutor) {
+		return buildAll(parallelExecutor, null, request -> {
+		});
+	}
+
+	private List<URI> buildAll(ExecutorService parallelExecutor, ExecutorService loadingExecutor,
+			Consumer<BuildRequest> init) {
+		BuildRequest request = newBuildRequest(it -> {
+			it.setParallelExecutor(parallelExecutor);
+			it.setLoadingExecutor(loadingExecutor);
+			init.accept(it);
+			List<URI> dirtyFiles = new ArrayList<>();
+			for (String name : new String[] { "A", "B", "C", "D" }) {
+				dirtyFiles.add(operator_minus("src/" + name + ".indextestlanguage",
+						"foo { entity " + name + " { foo.A a foo.D d } entity " + name + "2 {} }"));
+			}
+			it.setDirtyFiles(dirtyFiles);
+		});
+		clean();
+		IncrementalBuilder.Result result = incrementalBuilder.build(request,
+				uri -> getLanguages().getResourceServiceProvider(uri));
+		indexState = result.getIndexState();
+		List<URI> uris = new ArrayList<>();
+		for (IResourceDescription.Delta delta : result.getAffectedResources()) {
+			uris.add(delta.getUri());
+		}
+		return uris;
+	}
+}
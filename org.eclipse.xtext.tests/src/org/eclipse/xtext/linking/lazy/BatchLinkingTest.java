@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.linking.lazy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.xtext.linking.ILinkingService;
+import org.eclipse.xtext.linking.impl.DefaultLinkingService;
+import org.eclipse.xtext.linking.impl.IllegalNodeException;
+import org.eclipse.xtext.linking.lazy.lazyLinking.LazyLinkingFactory;
+import org.eclipse.xtext.linking.lazy.lazyLinking.Model;
+import org.eclipse.xtext.linking.lazy.lazyLinking.Property;
+import org.eclipse.xtext.linking.lazy.lazyLinking.Type;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.resource.EObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.ISelectable;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.scoping.IGlobalScopeProvider;
+import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.scoping.impl.AbstractGlobalScopeProvider;
+import org.eclipse.xtext.scoping.impl.MultimapBasedSelectable;
+import org.eclipse.xtext.scoping.impl.SelectableBasedScope;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.StringInputStream;
+import org.junit.Test;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.inject.Binder;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+import com.google.inject.name.Names;
+
+public class BatchLinkingTest extends AbstractXtextTests {
+
+	@Singleton
+	public static class CountingLinkingService extends DefaultLinkingService {
+
+		private int scopes;
+
+		private int lookups;
+
+		@Override
+		protected IScope getScope(EObject context, EReference reference) {
+			scopes++;
+			return super.getScope(context, reference);
+		}
+
+		@Override
+		protected Map<IScope, Map<QualifiedName, IEObjectDescription>> getSingleElements(
+				Map<IScope, ? extends Collection<QualifiedName>> namesByScope) {
+			for (Collection<QualifiedName> names : namesByScope.values()) {
+				lookups += names.size();
+			}
+			return super.getSingleElements(namesByScope);
+		}
+	}
+
+	public static class SingleNodeLinkingService extends CountingLinkingService {
+
+		private int linkedNodes;
+
+		@Override
+		public List<EObject> getLinkedObjects(EObject context, EReference ref, INode node)
+				throws IllegalNodeException {
+			linkedNodes++;
+			return super.getLinkedObjects(context, ref, node);
+		}
+	}
+
+	/**
+	 * Counts the queries of the index, i.e. of the selectable of the global scope.
+	 */
+	public static class CountingSelectable extends MultimapBasedSelectable {
+
+		private int probes;
+
+		public CountingSelectable(Iterable<IEObjectDescription> allDescriptions) {
+			super(allDescriptions);
+		}
+
+		@Override
+		public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
+			probes++;
+			return super.getExportedObjects(type, name, ignoreCase);
+		}
+
+		@Override
+		public Map<QualifiedName, Iterable<IEObjectDescription>> getExportedObjectsByNames(EClass type,
+				Collection<QualifiedName> names, boolean ignoreCase) {
+			probes++;
+			Map<QualifiedName, Iterable<IEObjectDescription>> result = Maps.newHashMap();
+			for (QualifiedName name : names) {
+				result.put(name, super.getExportedObjects(type, name, ignoreCase));
+			}
+			return result;
+		}
+	}
+
+	@Singleton
+	public static class IndexGlobalScopeProvider extends AbstractGlobalScopeProvider {
+
+		private final Type global = createType("Global");
+
+		private final CountingSelectable index = new CountingSelectable(Lists.newArrayList(
+				EObjectDescription.create("Global", global),
+				EObjectDescription.create("Other", createType("Other"))));
+
+		private int globalScopes;
+
+		@Override
+		protected IScope getScope(Resource resource, boolean ignoreCase, EClass type,
+				Predicate<IEObjectDescription> filter) {
+			globalScopes++;
+			return SelectableBasedScope.createScope(IScope.NULLSCOPE, index, filter, type, ignoreCase);
+		}
+
+		private static Type createType(String name) {
+			Type result = LazyLinkingFactory.eINSTANCE.createType();
+			result.setName(name);
+			return result;
+		}
+	}
+
+	@Override
+	protected boolean shouldTestSerializer(XtextResource resource) {
+		return false;
+	}
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new LazyLinkingTestLanguageStandaloneSetup() {
+			@Override
+			public Injector createInjector() {
+				return Guice.createInjector(new LazyLinkingTestLanguageRuntimeModule() {
+					@Override
+					public Class<? extends ILinkingService> bindILinkingService() {
+						return CountingLinkingService.class;
+					}
+
+					@Override
+					public Class<? extends IGlobalScopeProvider> bindIGlobalScopeProvider() {
+						return IndexGlobalScopeProvider.class;
+					}
+
+					@SuppressWarnings("unused")
+					public void configureBatchLinking(Binder binder) {
+						binder.bindConstant().annotatedWith(Names.named(LazyLinkingResource.BATCH_LINKING)).to(true);
+					}
+				});
+			}
+		});
+	}
+
+	@Test public void testScopeIsComputedOncePerBatch() throws Exception {
+		LazyLinkingResource resource = (LazyLinkingResource) getResource(
+				new StringInputStream("type A {} type B { A B A a; } type C { B b; C c; }"));
+		assertTrue(resource.isBatchLinking());
+		resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		Model m = (Model) resource.getContents().get(0);
+		Type a = m.getTypes().get(0);
+		Type b = m.getTypes().get(1);
+		Type c = m.getTypes().get(2);
+		assertResolved(b.getProperties().get(0), a, b, a);
+		assertResolved(c.getProperties().get(0), b);
+		assertResolved(c.getProperties().get(1), c);
+		CountingLinkingService linkingService = (CountingLinkingService) resource.getLinkingService();
+		assertEquals(3, linkingService.scopes);
+		assertEquals(4, linkingService.lookups);
+	}
+
+	@Test public void testUnresolvableReference() throws Exception {
+		LazyLinkingResource resource = (LazyLinkingResource) getResource(
+				new StringInputStream("type A { A X a; }"));
+		resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		Type a = ((Model) resource.getContents().get(0)).getTypes().get(0);
+		InternalEList<Type> types = (InternalEList<Type>) a.getProperties().get(0).getType();
+		assertSame(a, types.basicGet(0));
+		assertTrue(((InternalEObject) types.basicGet(1)).eIsProxy());
+		assertEquals(1, resource.getErrors().size());
+	}
+
+	@Test public void testRecursion() throws Exception {
+		LazyLinkingResource resource = (LazyLinkingResource) getResource(
+				new StringInputStream("type A extends B.a { B b; } type B extends A.b { A a; }"));
+		resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		Model m = (Model) resource.getContents().get(0);
+		Type a = m.getTypes().get(0);
+		Type b = m.getTypes().get(1);
+		assertSame(b.getProperties().get(0), a.getParentId());
+		assertSame(a.getProperties().get(0), b.getParentId());
+		assertTrue(resource.getErrors().toString(), resource.getErrors().isEmpty());
+	}
+
+	@Test public void testCustomizedSingleNodeLinking() throws Exception {
+		LazyLinkingResource resource = (LazyLinkingResource) getResource(
+				new StringInputStream("type A {} type B { A B A a; } type C { B b; C c; }"));
+		SingleNodeLinkingService linkingService = get(SingleNodeLinkingService.class);
+		resource.setLinkingService(linkingService);
+		assertTrue(resource.isBatchLinking());
+		resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		Model m = (Model) resource.getContents().get(0);
+		assertResolved(m.getTypes().get(1).getProperties().get(0), m.getTypes().get(0), m.getTypes().get(1), m.getTypes().get(0));
+		assertEquals(5, linkingService.linkedNodes);
+		assertEquals(0, linkingService.lookups);
+	}
+
+	@Test public void testIndexIsQueriedOncePerBatch() throws Exception {
+		LazyLinkingResource resource = (LazyLinkingResource) getResource(
+				new StringInputStream("type A { Global Other a; } type B { Other b; } type C { Global A c; }"));
+		resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		Model m = (Model) resource.getContents().get(0);
+		IndexGlobalScopeProvider globalScopeProvider = get(IndexGlobalScopeProvider.class);
+		assertResolved(m.getTypes().get(2).getProperties().get(0), globalScopeProvider.global, m.getTypes().get(0));
+		assertEquals(3, ((CountingLinkingService) resource.getLinkingService()).scopes);
+		assertEquals(1, globalScopeProvider.globalScopes);
+		assertEquals(1, globalScopeProvider.index.probes);
+	}
+
+	@Test public void testSingleNodeLinkingQueriesIndexPerNode() throws Exception {
+		LazyLinkingResource resource = (LazyLinkingResource) getResource(
+				new StringInputStream("type A { Global Other a; } type B { Other b; } type C { Global A c; }"));
+		resource.setLinkingService(get(SingleNodeLinkingService.class));
+		resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+		IndexGlobalScopeProvider globalScopeProvider = get(IndexGlobalScopeProvider.class);
+		assertEquals(5, globalScopeProvider.globalScopes);
+		assertEquals(4, globalScopeProvider.index.probes);
+	}
+
+	private void assertResolved(Property property, Type... expected) {
+		InternalEList<Type> types = (InternalEList<Type>) property.getType();
+		assertEquals(expected.length, types.size());
+		for (int i = 0; i < expected.length; i++) {
+			assertSame(expected[i], types.basicGet(i));
+		}
+	}
+
+}
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.impl.CompactCompositeNodeWithSemanticElement;
+import org.eclipse.xtext.nodemodel.impl.CompactNode;
+import org.eclipse.xtext.nodemodel.impl.CompactNodeModel;
+import org.eclipse.xtext.nodemodel.impl.RootNode;
+import org.eclipse.xtext.nodemodel.impl.SerializableNodeModel;
+import org.eclipse.xtext.nodemodel.serialization.DeserializationConversionContext;
+import org.eclipse.xtext.nodemodel.serialization.SerializationConversionContext;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.testlanguages.SimpleExpressionsTestLanguageRuntimeModule;
+import org.eclipse.xtext.testlanguages.SimpleExpressionsTestLanguageStandaloneSetup;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Binder;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+
+public class CompactNodeModelTest extends AbstractXtextTests {
+
+	private static final String MODEL = "a + b * (c - d) / e\n// comment\n f g * h";
+
+	private static final String MODEL_WITH_ERRORS = "a + * b\n(c - ";
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new SimpleExpressionsTestLanguageStandaloneSetup() {
+			@Override
+			public Injector createInjector() {
+				return Guice.createInjector(new SimpleExpressionsTestLanguageRuntimeModule() {
+					@SuppressWarnings("unused")
+					public void configureUseCompactNodeModel(Binder binder) {
+						binder.bind(Boolean.TYPE).annotatedWith(Names.named(XtextResource.USE_COMPACT_NODE_MODEL_BINDING))
+								.toInstance(Boolean.TRUE);
+					}
+				});
+			}
+		});
+	}
+
+	@Override
+	protected boolean shouldTestSerializer(XtextResource resource) {
+		return false;
+	}
+
+	@Override
+	protected void checkNodeModel(XtextResource resource) {
+		// the invariant checker requires the default node model
+	}
+
+	@Test public void testSameNodes() throws Exception {
+		assertSameNodes(MODEL);
+	}
+
+	@Test public void testSameNodesWithSyntaxErrors() throws Exception {
+		assertSameNodes(MODEL_WITH_ERRORS);
+	}
+
+	@Test public void testSemanticElements() throws Exception {
+		IParseResult parseResult = getParser().parse(new StringReader(MODEL));
+		Iterator<EObject> iterator = parseResult.getRootASTElement().eAllContents();
+		List<EObject> semanticElements = Lists.newArrayList(iterator);
+		semanticElements.add(parseResult.getRootASTElement());
+		List<String> expected = new ArrayList<String>();
+		for (EObject semanticElement : semanticElements) {
+			expected.add(NodeModelUtils.getNode(semanticElement).getTotalTextRegion() + " "
+					+ semanticElement.eAdapters().size());
+		}
+		IParseResult compact = CompactNodeModel.compact(parseResult);
+		List<String> actual = new ArrayList<String>();
+		for (EObject semanticElement : semanticElements) {
+			ICompositeNode node = NodeModelUtils.getNode(semanticElement);
+			assertTrue(node instanceof CompactCompositeNodeWithSemanticElement);
+			assertSame(node, NodeModelUtils.getNode(semanticElement));
+			assertSame(semanticElement, node.getSemanticElement());
+			assertSame(compact.getRootNode(), node.getRootNode());
+			actual.add(node.getTotalTextRegion() + " " + semanticElement.eAdapters().size());
+		}
+		assertEquals(expected, actual);
+	}
+
+	@Test public void testFindLeafNodeAtOffset() throws Exception {
+		ICompositeNode rootNode = getParser().parse(new StringReader(MODEL)).getRootNode();
+		List<String> expected = new ArrayList<String>();
+		for (int offset = 0; offset <= MODEL.length(); offset++) {
+			expected.add(describe(NodeModelUtils.findLeafNodeAtOffset(rootNode, offset)));
+		}
+		ICompositeNode compactRootNode = new CompactNodeModel(rootNode).getRootNode();
+		List<String> actual = new ArrayList<String>();
+		for (int offset = 0; offset <= MODEL.length(); offset++) {
+			actual.add(describe(NodeModelUtils.findLeafNodeAtOffset(compactRootNode, offset)));
+		}
+		assertEquals(expected, actual);
+	}
+
+	@Test public void testResourceUsesCompactNodeModel() throws Exception {
+		XtextResource resource = getResourceFromString(MODEL);
+		assertTrue(resource.getParseResult().getRootNode() instanceof CompactNode);
+		assertTrue(resource.getErrors().isEmpty());
+		assertSame(resource.getContents().get(0), resource.getParseResult().getRootASTElement());
+		int offset = MODEL.indexOf('c');
+		resource.update(offset, 1, "x * y");
+		// the partial parser needs a modifiable node model
+		ICompositeNode rootNode = resource.getParseResult().getRootNode();
+		assertTrue(rootNode instanceof RootNode);
+		assertEquals("a + b * (x * y - d) / e\n// comment\n f g * h", rootNode.getText());
+		assertSame(resource.getContents().get(0), resource.getParseResult().getRootASTElement());
+		assertEquals(1, resource.getContents().size());
+		resource.relink();
+		assertTrue(resource.getParseResult().getRootNode() instanceof RootNode);
+		resource.reparse(MODEL);
+		assertTrue(resource.getParseResult().getRootNode() instanceof CompactNode);
+	}
+
+	@Test public void testToRootNode() throws Exception {
+		IParseResult parseResult = getParser().parse(new StringReader(MODEL_WITH_ERRORS));
+		List<String> expected = describeAll(parseResult.getRootNode().getAsTreeIterable());
+		CompactNode compact = (CompactNode) CompactNodeModel.compact(parseResult).getRootNode();
+		RootNode copy = compact.getModel().toRootNode();
+		assertEquals(expected, describeAll(copy.getAsTreeIterable()));
+		// the semantic elements stay attached to the compact nodes
+		assertTrue(NodeModelUtils.getNode(parseResult.getRootASTElement()) instanceof CompactNode);
+	}
+
+	@Test public void testWriteNodeModel() throws Exception {
+		XtextResource resource = getResourceFromString(MODEL);
+		ICompositeNode rootNode = resource.getParseResult().getRootNode();
+		assertTrue(rootNode instanceof CompactNode);
+		List<String> expected = describeAll(rootNode.getAsTreeIterable());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream data = new DataOutputStream(out);
+		new SerializableNodeModel(resource).writeObjectData(data, new SerializationConversionContext(resource));
+		data.close();
+		SerializableNodeModel nodeModel = new SerializableNodeModel();
+		nodeModel.readObjectData(new DataInputStream(new ByteArrayInputStream(out.toByteArray())),
+				new DeserializationConversionContext(resource, MODEL));
+		assertEquals(expected, describeAll(nodeModel.root.getAsTreeIterable()));
+	}
+
+	@Test public void testResourceReportsSyntaxErrors() throws Exception {
+		XtextResource resource = getResourceFromStringAndExpect(MODEL_WITH_ERRORS, EXPECT_ERRORS);
+		assertTrue(resource.getParseResult().getRootNode() instanceof CompactNode);
+		assertEquals(Lists.newArrayList(getParser().parse(new StringReader(MODEL_WITH_ERRORS)).getSyntaxErrors()).size(),
+				resource.getErrors().size());
+	}
+
+	private void assertSameNodes(String model) {
+		IParseResult parseResult = getParser().parse(new StringReader(model));
+		assertTrue(parseResult.getRootNode() instanceof RootNode);
+		List<String> expected = describeAll(parseResult.getRootNode().getAsTreeIterable());
+		List<String> expectedErrors = describeAll(parseResult.getSyntaxErrors());
+		IParseResult compact = CompactNodeModel.compact(parseResult);
+		assertTrue(compact.getRootNode() instanceof CompactNode);
+		assertSame(parseResult.getRootASTElement(), compact.getRootASTElement());
+		assertEquals(parseResult.hasSyntaxErrors(), compact.hasSyntaxErrors());
+		assertEquals(expected, describeAll(compact.getRootNode().getAsTreeIterable()));
+		assertEquals(expectedErrors, describeAll(compact.getSyntaxErrors()));
+		assertSame(compact, CompactNodeModel.compact(compact));
+		assertConsistentNavigation(compact.getRootNode());
+	}
+
+	private void assertConsistentNavigation(ICompositeNode rootNode) {
+		List<INode> forward = Lists.newArrayList(rootNode.getAsTreeIterable());
+		List<INode> backward = Lists.newArrayList(rootNode.getAsTreeIterable().reverse());
+		assertEquals(Lists.reverse(forward), backward);
+		for (INode node : forward) {
+			if (node.hasNextSibling()) {
+				assertEquals(node, node.getNextSibling().getPreviousSibling());
+				assertEquals(node.getParent(), node.getNextSibling().getParent());
+			}
+			if (node instanceof ICompositeNode && ((ICompositeNode) node).hasChildren()) {
+				ICompositeNode composite = (ICompositeNode) node;
+				List<INode> children = Lists.newArrayList(composite.getChildren());
+				assertEquals(composite.getFirstChild(), children.get(0));
+				assertEquals(composite.getLastChild(), children.get(children.size() - 1));
+				assertEquals(Lists.reverse(children), Lists.newArrayList(composite.getChildren().reverse()));
+			}
+		}
+	}
+
+	private List<String> describeAll(Iterable<? extends INode> nodes) {
+		List<String> result = new ArrayList<String>();
+		for (INode node : nodes) {
+			result.add(describe(node));
+		}
+		return result;
+	}
+
+	private String describe(INode node) {
+		if (node == null) {
+			return "null";
+		}
+		StringBuilder result = new StringBuilder();
+		result.append(node instanceof ICompositeNode ? "composite" : "leaf");
+		if (node instanceof ILeafNode && ((ILeafNode) node).isHidden()) {
+			result.append(" hidden");
+		}
+		if (node instanceof ICompositeNode) {
+			result.append(" lookAhead=").append(((ICompositeNode) node).getLookAhead());
+			result.append(" children=").append(((ICompositeNode) node).getChildren().iterator().hasNext());
+		}
+		result.append(" total=").append(node.getTotalTextRegionWithLineInformation());
+		result.append(" region=").append(node.getTextRegionWithLineInformation());
+		result.append(" text='").append(node.getText()).append("'");
+		result.append(" grammarElement=").append(node.getGrammarElement());
+		result.append(" semanticElement=").append(node.getSemanticElement());
+		result.append(" direct=").append(node.hasDirectSemanticElement());
+		result.append(" siblings=").append(node.hasPreviousSibling()).append(node.hasNextSibling());
+		ICompositeNode parent = node.getParent();
+		result.append(" parent=").append(parent != null ? parent.getTotalTextRegion().toString() : "null");
+		result.append(" syntaxError=").append(node.getSyntaxErrorMessage());
+		result.append(" leafs=").append(Lists.newArrayList(node.getLeafNodes()).size());
+		result.append(" line=").append(NodeModelUtils.getLineAndColumn(node, node.getOffset()));
+		return result.toString();
+	}
+
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.parser;
+
+import org.eclipse.xtext.parser.impl.PartialParsingStatistics;
+import org.eclipse.xtext.parser.impl.PartialParsingStatistics.FullReparseReason;
+import org.eclipse.xtext.testlanguages.SimpleExpressionsTestLanguageStandaloneSetup;
+import org.eclipse.xtext.util.ReplaceRegion;
+import org.junit.Test;
+
+public class IncrementalReparseTest extends AbstractPartialParserTest {
+
+	private PartialParsingStatistics statistics;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(SimpleExpressionsTestLanguageStandaloneSetup.class);
+		statistics = new PartialParsingStatistics();
+		getPartialParser().setStatistics(statistics);
+		getPartialParser().setIncrementalReparse(true);
+	}
+
+	@Test
+	public void testSameResultAsFullParse() throws Exception {
+		assertSameResultAsFullParse("(a+b+c)*(c/d)", 2, 2, "+hugo+egon");
+		assertSameResultAsFullParse("(a+b+c)*(c/d)", 8, 5, "egon");
+		assertSameResultAsFullParse("(a+b+c)*(c/d)", 6, 3, "*");
+		assertSameResultAsFullParse("(a+b+c)*(c/d)", 3, 1, "x)+(b");
+		assertSameResultAsFullParse("(a+b+c)*(c/d)", 3, 0, "x");
+		assertSameResultAsFullParse("a//b\n+c", 1, 1, "");
+		assertSameResultAsFullParse("abc + def", 1, 0, "x");
+		assertEquals(7, statistics.getPartialReparseCount() + statistics.getFullReparseCount());
+	}
+
+	@Test
+	public void testNullEditIsCounted() throws Exception {
+		IParseResult parseResult = getParseResult("(a+b+c)*(c/d)");
+		assertSame(parseResult, reparse(parseResult, 3, 1, "b"));
+		assertEquals(1, statistics.getNullEditCount());
+		assertEquals(0, statistics.getFullReparseCount());
+	}
+
+	@Test
+	public void testFullReparseIsCounted() throws Exception {
+		IParseResult parseResult = getParseResult("(a+b+c)*(c/d)");
+		IParseResult reparsed = reparse(parseResult, 3, 1, "b+");
+		assertTrue(reparsed.hasSyntaxErrors());
+		assertEquals(0, statistics.getPartialReparseCount());
+		assertEquals(1, statistics.getFullReparseCount(FullReparseReason.SYNTAX_ERRORS));
+		assertTrue(statistics.getPartialParseAttemptCount() > 0);
+	}
+
+	@Test
+	public void testLexerStartOffset() throws Exception {
+		IParseResult parseResult = getParseResult("a1 / b2");
+		assertEquals(3, getPartialParser().getLexerStartOffset(parseResult.getRootNode(), new ReplaceRegion(5, 0, "x")));
+		assertEquals(0, getPartialParser().getLexerStartOffset(parseResult.getRootNode(), new ReplaceRegion(1, 1, "x")));
+		assertEquals(0, getPartialParser().getLexerStartOffset(parseResult.getRootNode(), new ReplaceRegion(0, 0, "x")));
+	}
+
+	protected void assertSameResultAsFullParse(String model, int offset, int length, String change) throws Exception {
+		IParseResult partialParseResult = reparse(getParseResult(model), offset, length, change);
+		String changedModel = model.substring(0, offset) + change + model.substring(offset + length);
+		IParseResult fullParseResult = getParseResult(changedModel);
+		assertFalse(changedModel, partialParseResult.hasSyntaxErrors());
+		assertEquals(changedModel, partialParseResult.getRootNode().getText());
+		assertSameStructure(fullParseResult.getRootNode(), partialParseResult.getRootNode());
+		comparator.assertSameStructure(fullParseResult.getRootASTElement(), partialParseResult.getRootASTElement());
+	}
+
+}
@@ -59,6 +59,24 @@ public class TokenRegionProviderTest extends AbstractXtextTests {
 		}
 	}
 	
+	@Test 
+	public void testLexerStartOffset() throws Exception {
+		String modelAsString = "a1 / /* comment */ b2";
+		List<CommonToken> tokens = getTokens(modelAsString);
+		for(int length=0; length < modelAsString.length(); ++length) {
+			for(int offset = 0; offset + length < modelAsString.length(); ++offset) {
+				ITextRegion region = new TextRegion(offset, length);
+				ITextRegion expected = tokenRegionProvider.getTokenRegion(modelAsString, region);
+				for(CommonToken token: tokens) {
+					if (token != Token.EOF_TOKEN && token.getStopIndex() < offset) {
+						ITextRegion tokenRegion = tokenRegionProvider.getTokenRegion(modelAsString, region, token.getStartIndex());
+						assertEquals(expected, tokenRegion);
+					}
+				}
+			}
+		}
+	}
+	
 	@Test 
 	public void testTokenMerge() throws Exception {
 		String model = "  ";
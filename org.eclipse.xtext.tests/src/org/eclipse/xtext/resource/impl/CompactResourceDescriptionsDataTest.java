@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+public class CompactResourceDescriptionsDataTest {
+
+	@Test
+	public void testLookupMatchesResourceDescriptionsData() {
+		List<IResourceDescription> descriptions = createDescriptions(50, 20);
+		ResourceDescriptionsData expected = new ResourceDescriptionsData(descriptions);
+		CompactResourceDescriptionsData actual = new CompactResourceDescriptionsData(descriptions);
+		assertEquals(Lists.newArrayList(expected.getAllURIs()), Lists.newArrayList(actual.getAllURIs()));
+		for (int i = 0; i < 20; i++) {
+			QualifiedName name = QualifiedName.create("pack", "Element" + i);
+			assertSameObjects(expected.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false),
+					actual.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false));
+			assertSameObjects(expected.getExportedObjects(EcorePackage.Literals.EOBJECT, name.toUpperCase(), true),
+					actual.getExportedObjects(EcorePackage.Literals.EOBJECT, name.toUpperCase(), true));
+			assertTrue(Iterables.isEmpty(
+					actual.getExportedObjects(EcorePackage.Literals.EOBJECT, name.toUpperCase(), false)));
+		}
+		assertSameObjects(expected.getExportedObjects(), actual.getExportedObjects());
+		assertSameObjects(expected.getExportedObjectsByType(EcorePackage.Literals.ECLASS),
+				actual.getExportedObjectsByType(EcorePackage.Literals.ECLASS));
+	}
+
+	@Test
+	public void testFilterByType() {
+		CompactResourceDescriptionsData data = new CompactResourceDescriptionsData(createDescriptions(2, 2));
+		QualifiedName name = QualifiedName.create("pack", "Element1");
+		assertEquals(2, Iterables.size(data.getExportedObjects(EcorePackage.Literals.ECLASSIFIER, name, false)));
+		assertEquals(0, Iterables.size(data.getExportedObjects(EcorePackage.Literals.EPACKAGE, name, false)));
+	}
+
+	@Test
+	public void testAddAndRemove() {
+		CompactResourceDescriptionsData data = new CompactResourceDescriptionsData(
+				Collections.<IResourceDescription>emptyList());
+		List<IResourceDescription> descriptions = createDescriptions(3, 5);
+		for (IResourceDescription description : descriptions) {
+			data.addDescription(description.getURI(), description);
+		}
+		QualifiedName name = QualifiedName.create("pack", "Element3");
+		assertEquals(3, Iterables.size(data.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+
+		data.removeDescription(descriptions.get(1).getURI());
+		assertEquals(2, Iterables.size(data.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+		assertNull(data.getResourceDescription(descriptions.get(1).getURI()));
+
+		data.removeDescription(descriptions.get(0).getURI());
+		IEObjectDescription remaining = Iterables.getOnlyElement(
+				data.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false));
+		assertEquals(descriptions.get(2).getURI(), remaining.getEObjectURI().trimFragment());
+
+		data.addDescription(descriptions.get(0).getURI(), descriptions.get(0));
+		assertEquals(2, Iterables.size(data.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+		assertEquals(Lists.newArrayList(descriptions.get(2).getURI(), descriptions.get(0).getURI()),
+				Lists.newArrayList(data.getAllURIs()));
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		List<IResourceDescription> descriptions = createDescriptions(2, 3);
+		CompactResourceDescriptionsData data = new CompactResourceDescriptionsData(descriptions);
+		ResourceDescriptionsData copy = data.copy();
+		assertTrue(copy instanceof CompactResourceDescriptionsData);
+		copy.removeDescription(descriptions.get(0).getURI());
+		QualifiedName name = QualifiedName.create("pack", "Element0");
+		assertEquals(2, Iterables.size(data.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+		assertEquals(1, Iterables.size(copy.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+	}
+
+	@Test
+	public void testUserData() {
+		SerializableEObjectDescription object = createObject(URI.createURI("file:/a.dsl"), "a", 0,
+				EcorePackage.Literals.ECLASS);
+		object.getUserData().put("key", "value");
+		SerializableResourceDescription description = createDescription(URI.createURI("file:/a.dsl"),
+				Collections.singletonList(object));
+		CompactResourceDescriptionsData data = new CompactResourceDescriptionsData(
+				Collections.<IResourceDescription>singletonList(description));
+		IEObjectDescription result = Iterables.getOnlyElement(data.getExportedObjects());
+		assertArrayEquals(new String[] { "key" }, result.getUserDataKeys());
+		assertEquals("value", result.getUserData("key"));
+		assertNull(result.getUserData("unknown"));
+		assertEquals(object.getEObjectURI(), result.getEObjectURI());
+		assertTrue(result.getEObjectOrProxy().eIsProxy());
+	}
+
+	private void assertSameObjects(Iterable<IEObjectDescription> expected, Iterable<IEObjectDescription> actual) {
+		assertEquals(toStrings(expected), toStrings(actual));
+	}
+
+	private List<String> toStrings(Iterable<IEObjectDescription> objects) {
+		List<String> result = new ArrayList<String>();
+		for (IEObjectDescription object : objects) {
+			result.add(object.getName() + " " + object.getEClass().getName() + " " + object.getEObjectURI());
+		}
+		return result;
+	}
+
+	private List<IResourceDescription> createDescriptions(int resourceCount, int objectCount) {
+		List<IResourceDescription> result = new ArrayList<IResourceDescription>();
+		for (int i = 0; i < resourceCount; i++) {
+			URI uri = URI.createURI("file:/resource" + i + ".dsl");
+			List<SerializableEObjectDescription> objects = new ArrayList<SerializableEObjectDescription>();
+			for (int j = 0; j < objectCount; j++) {
+				EClass eClass = j % 2 == 0 ? EcorePackage.Literals.ECLASS : EcorePackage.Literals.EDATA_TYPE;
+				objects.add(createObject(uri, "Element" + j, j, eClass));
+			}
+			result.add(createDescription(uri, objects));
+		}
+		return result;
+	}
+
+	private SerializableEObjectDescription createObject(URI resourceURI, String name, int index, EClass eClass) {
+		SerializableEObjectDescription result = new SerializableEObjectDescription();
+		result.setEObjectURI(resourceURI.appendFragment("//@elements." + index));
+		result.setEClass(eClass);
+		result.setQualifiedName(QualifiedName.create("pack", name));
+		result.setUserData(new HashMap<String, String>());
+		return result;
+	}
+
+	private SerializableResourceDescription createDescription(URI uri, List<SerializableEObjectDescription> objects) {
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		result.setDescriptions(objects);
+		return result;
+	}
+
+}
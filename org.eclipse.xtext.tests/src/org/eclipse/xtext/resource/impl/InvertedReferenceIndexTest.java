@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableReferenceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+public class InvertedReferenceIndexTest {
+
+	private final URI a = URI.createURI("file:/a.dsl");
+
+	private final URI b = URI.createURI("file:/b.dsl");
+
+	private final URI c = URI.createURI("file:/c.dsl");
+
+	@Test
+	public void testPutAndRemove() {
+		InvertedReferenceIndex index = new InvertedReferenceIndex();
+		index.put(a, createDescription(a, target(c, 0), target(c, 0), target(c, 1)));
+		index.put(b, createDescription(b, target(c, 1)));
+		assertEquals(Collections.singleton(a), index.getSourceResourceURIs(target(c, 0)));
+		assertEquals(Sets.newHashSet(a, b), index.getSourceResourceURIs(target(c, 1)));
+		assertEquals(Collections.emptySet(), index.getSourceResourceURIs(target(c, 2)));
+
+		index.put(a, createDescription(a, target(c, 2)));
+		assertEquals(Collections.emptySet(), index.getSourceResourceURIs(target(c, 0)));
+		assertEquals(Collections.singleton(b), index.getSourceResourceURIs(target(c, 1)));
+		assertEquals(Collections.singleton(a), index.getSourceResourceURIs(target(c, 2)));
+
+		index.remove(b);
+		assertEquals(Collections.singleton(a),
+				index.getSourceResourceURIs(Lists.newArrayList(target(c, 0), target(c, 1), target(c, 2))));
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		InvertedReferenceIndex index = new InvertedReferenceIndex();
+		index.put(a, createDescription(a, target(c, 0)));
+		index.put(b, createDescription(b, target(c, 0)));
+		InvertedReferenceIndex copy = index.copy();
+		copy.remove(a);
+		assertEquals(Sets.newHashSet(a, b), index.getSourceResourceURIs(target(c, 0)));
+		assertEquals(Collections.singleton(b), copy.getSourceResourceURIs(target(c, 0)));
+	}
+
+	@Test
+	public void testResourceDescriptionsData() {
+		assertIndexIsMaintained(new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+	}
+
+	@Test
+	public void testCompactResourceDescriptionsData() {
+		assertIndexIsMaintained(new CompactResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+	}
+
+	private void assertIndexIsMaintained(ResourceDescriptionsData data) {
+		data.addDescription(a, createDescription(a, target(c, 0)));
+		List<URI> targets = Collections.singletonList(target(c, 0));
+		assertEquals(Collections.singleton(a), data.getReferencingResourceURIs(targets));
+		data.addDescription(b, createDescription(b, target(c, 0)));
+		assertEquals(Sets.newHashSet(a, b), data.getReferencingResourceURIs(targets));
+		ResourceDescriptionsData copy = data.copy();
+		// the index is only copied once it changes
+		assertSame(data.getReferenceIndex(), copy.getReferenceIndex());
+		data.removeDescription(a);
+		assertEquals(Collections.singleton(b), data.getReferencingResourceURIs(targets));
+		copy.register(new DefaultResourceDescriptionDelta(null, createDescription(b)));
+		assertEquals(Collections.singleton(a), copy.getReferencingResourceURIs(targets));
+	}
+
+	private URI target(URI resourceURI, int index) {
+		return resourceURI.appendFragment("//@elements." + index);
+	}
+
+	private SerializableResourceDescription createDescription(URI uri, URI... targets) {
+		List<SerializableReferenceDescription> references = new ArrayList<SerializableReferenceDescription>();
+		for (int i = 0; i < targets.length; i++) {
+			SerializableReferenceDescription reference = new SerializableReferenceDescription();
+			reference.setSourceEObjectUri(uri.appendFragment("//@elements." + i));
+			reference.setTargetEObjectUri(targets[i]);
+			reference.setEReference(EcorePackage.Literals.ECLASS__ESUPER_TYPES);
+			reference.setIndexInList(-1);
+			references.add(reference);
+		}
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		result.setReferences(references);
+		return result;
+	}
+
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class SortedNameIndexTest {
+
+	private final URI a = URI.createURI("file:/a.dsl");
+
+	private final URI b = URI.createURI("file:/b.dsl");
+
+	@Test
+	public void testPutAndRemove() {
+		SortedNameIndex index = new SortedNameIndex();
+		index.put(a, createDescription(a, "foo.Bar", "foo.Baz", "fooBar"));
+		index.put(b, createDescription(b, "foo.bar", "other.Bar"));
+		assertEquals(names("foo.bar", "foo.baz", "foobar"), getNames(index, "FOO"));
+		assertEquals(names("foo.bar", "foo.baz"), getNames(index, "foo.ba"));
+		assertEquals(names("foo.bar"), getNames(index, "foo.bar"));
+		assertEquals(names(), getNames(index, "foo.bar.x"));
+		assertEquals(names("foo.bar", "foo.baz", "foobar", "other.bar"), getNames(index, ""));
+
+		index.remove(a);
+		assertEquals(names("foo.bar"), getNames(index, "foo"));
+		index.remove(b);
+		assertEquals(names(), getNames(index, ""));
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		SortedNameIndex index = new SortedNameIndex();
+		index.put(a, createDescription(a, "Bar"));
+		index.put(b, createDescription(b, "Bar"));
+		SortedNameIndex copy = index.copy();
+		copy.remove(a);
+		copy.put(b, createDescription(b, "Baz"));
+		assertEquals(names("bar"), getNames(index, "ba"));
+		assertEquals(names("baz"), getNames(copy, "ba"));
+	}
+
+	@Test
+	public void testResourceDescriptionsData() {
+		assertIndexIsMaintained(new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+	}
+
+	@Test
+	public void testCompactResourceDescriptionsData() {
+		assertIndexIsMaintained(new CompactResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+	}
+
+	private void assertIndexIsMaintained(ResourceDescriptionsData data) {
+		data.addDescription(a, createDescription(a, "foo.Bar", "Other"));
+		assertEquals(names("foo.Bar"), getExportedNames(data, "foo.b"));
+		data.addDescription(b, createDescription(b, "foo.BarBaz"));
+		assertEquals(names("foo.Bar", "foo.BarBaz"), getExportedNames(data, "FOO.bar"));
+		assertEquals(names("foo.Bar", "foo.BarBaz", "Other"), getExportedNames(data, ""));
+		ResourceDescriptionsData copy = data.copy();
+		data.removeDescription(a);
+		assertEquals(names("foo.BarBaz"), getExportedNames(data, "foo"));
+		copy.register(new DefaultResourceDescriptionDelta(null, createDescription(b)));
+		assertEquals(names("foo.Bar"), getExportedNames(copy, "foo"));
+	}
+
+	private List<QualifiedName> getNames(SortedNameIndex index, String prefix) {
+		return Lists.newArrayList(index.getNames(toQualifiedName(prefix)));
+	}
+
+	private List<QualifiedName> getExportedNames(ResourceDescriptionsData data, String prefix) {
+		List<QualifiedName> result = new ArrayList<QualifiedName>();
+		for (IEObjectDescription description : data.getExportedObjectsByPrefix(EcorePackage.Literals.EOBJECT,
+				toQualifiedName(prefix))) {
+			result.add(description.getName());
+		}
+		return result;
+	}
+
+	private List<QualifiedName> names(String... names) {
+		List<QualifiedName> result = new ArrayList<QualifiedName>();
+		for (String name : names) {
+			result.add(toQualifiedName(name));
+		}
+		return result;
+	}
+
+	private QualifiedName toQualifiedName(String name) {
+		return name.isEmpty() ? QualifiedName.EMPTY : QualifiedName.create(name.split("\\."));
+	}
+
+	private SerializableResourceDescription createDescription(URI uri, String... names) {
+		List<SerializableEObjectDescription> objects = new ArrayList<SerializableEObjectDescription>();
+		for (int i = 0; i < names.length; i++) {
+			SerializableEObjectDescription object = new SerializableEObjectDescription();
+			object.setEObjectURI(uri.appendFragment("//@elements." + i));
+			object.setQualifiedName(toQualifiedName(names[i]));
+			object.setEClass(EcorePackage.Literals.ECLASS);
+			objects.add(object);
+		}
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		result.setDescriptions(objects);
+		return result;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.Test;
+
+import com.google.common.collect.Sets;
+
+public class TrigramNameIndexTest {
+
+	private final URI a = URI.createURI("file:/a.dsl");
+
+	private final URI b = URI.createURI("file:/b.dsl");
+
+	@Test
+	public void testPutAndRemove() {
+		TrigramNameIndex index = new TrigramNameIndex();
+		index.put(a, createDescription(a, "foo.Bar", "foo.Baz"));
+		index.put(b, createDescription(b, "other.BarBaz"));
+		assertEquals(Sets.newHashSet(a, b), index.getResourceURIs("bar"));
+		assertEquals(Collections.singleton(b), index.getResourceURIs("rBa"));
+		assertEquals(Collections.singleton(a), index.getResourceURIs("FOO.BA"));
+		assertEquals(Collections.emptySet(), index.getResourceURIs("qux"));
+
+		index.put(a, createDescription(a, "foo.Qux"));
+		assertEquals(Collections.singleton(b), index.getResourceURIs("bar"));
+		assertEquals(Collections.singleton(a), index.getResourceURIs("qux"));
+
+		index.remove(b);
+		assertEquals(Collections.emptySet(), index.getResourceURIs("bar"));
+	}
+
+	@Test
+	public void testShortQuery() {
+		TrigramNameIndex index = new TrigramNameIndex();
+		index.put(a, createDescription(a, "foo.Bar"));
+		assertNull(index.getResourceURIs("ba"));
+	}
+
+	@Test
+	public void testCopyIsIndependent() {
+		TrigramNameIndex index = new TrigramNameIndex();
+		index.put(a, createDescription(a, "Bar"));
+		index.put(b, createDescription(b, "Bar"));
+		TrigramNameIndex copy = index.copy();
+		copy.remove(a);
+		copy.put(b, createDescription(b, "Baz"));
+		assertEquals(Sets.newHashSet(a, b), index.getResourceURIs("bar"));
+		assertEquals(Collections.emptySet(), copy.getResourceURIs("bar"));
+		assertEquals(Collections.singleton(b), copy.getResourceURIs("baz"));
+	}
+
+	@Test
+	public void testCompaction() {
+		TrigramNameIndex index = new TrigramNameIndex();
+		for (int i = 0; i < 1000; i++) {
+			index.put(a, createDescription(a, "Name" + i));
+		}
+		index.put(b, createDescription(b, "Name1"));
+		assertEquals(Collections.singleton(b), index.getResourceURIs("name1"));
+		assertEquals(Collections.singleton(a), index.getResourceURIs("name999"));
+		assertEquals(Collections.emptySet(), index.getResourceURIs("name998"));
+	}
+
+	@Test
+	public void testResourceDescriptionsData() {
+		assertIndexIsMaintained(new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+	}
+
+	@Test
+	public void testCompactResourceDescriptionsData() {
+		assertIndexIsMaintained(new CompactResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+	}
+
+	private void assertIndexIsMaintained(ResourceDescriptionsData data) {
+		data.addDescription(a, createDescription(a, "foo.Bar"));
+		assertEquals(Collections.singleton(a), data.getResourceURIsWithNameContaining("bar"));
+		data.addDescription(b, createDescription(b, "foo.BarBaz"));
+		assertEquals(Sets.newHashSet(a, b), data.getResourceURIsWithNameContaining("bar"));
+		assertNull(data.getResourceURIsWithNameContaining("ba"));
+		ResourceDescriptionsData copy = data.copy();
+		// the index is only copied once it changes
+		assertSame(data.getNameIndex(), copy.getNameIndex());
+		data.removeDescription(a);
+		assertEquals(Collections.singleton(b), data.getResourceURIsWithNameContaining("bar"));
+		copy.register(new DefaultResourceDescriptionDelta(null, createDescription(b)));
+		assertEquals(Collections.singleton(a), copy.getResourceURIsWithNameContaining("bar"));
+	}
+
+	private SerializableResourceDescription createDescription(URI uri, String... names) {
+		List<SerializableEObjectDescription> objects = new ArrayList<SerializableEObjectDescription>();
+		for (int i = 0; i < names.length; i++) {
+			SerializableEObjectDescription object = new SerializableEObjectDescription();
+			object.setEObjectURI(uri.appendFragment("//@elements." + i));
+			object.setQualifiedName(QualifiedName.create(names[i].split("\\.")));
+			objects.add(object);
+		}
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		result.setDescriptions(objects);
+		return result;
+	}
+
+}
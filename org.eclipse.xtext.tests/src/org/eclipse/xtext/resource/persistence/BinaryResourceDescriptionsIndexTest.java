@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+public class BinaryResourceDescriptionsIndexTest {
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("index", ".bin");
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		List<IResourceDescription> descriptions = createDescriptions(30, 10);
+		ResourceDescriptionsData expected = new ResourceDescriptionsData(descriptions);
+		Map<String, ResourceDescriptionsData> chunks = new LinkedHashMap<String, ResourceDescriptionsData>();
+		chunks.put("project", expected);
+		chunks.put("empty", new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+		BinaryResourceDescriptionsIndex.write(chunks, file);
+
+		Map<String, ResourceDescriptionsData> read = BinaryResourceDescriptionsIndex.read(file);
+		assertEquals(Lists.newArrayList("project", "empty"), Lists.newArrayList(read.keySet()));
+		assertTrue(read.get("empty").isEmpty());
+		MappedResourceDescriptionsData actual = (MappedResourceDescriptionsData) read.get("project");
+		assertEquals(0, actual.getDecodedDescriptionCount());
+
+		QualifiedName name = QualifiedName.create("pack", "Element3");
+		assertSameObjects(expected.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false),
+				actual.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false));
+		assertSameObjects(expected.getExportedObjects(EcorePackage.Literals.EOBJECT, name.toUpperCase(), true),
+				actual.getExportedObjects(EcorePackage.Literals.EOBJECT, name.toUpperCase(), true));
+		assertTrue(Iterables.isEmpty(actual.getExportedObjects(EcorePackage.Literals.EOBJECT, name.toUpperCase(), false)));
+		assertTrue(Iterables.isEmpty(actual.getExportedObjects(EcorePackage.Literals.EPACKAGE, name, false)));
+		assertSameObjects(expected.getExportedObjectsByType(EcorePackage.Literals.ECLASS),
+				actual.getExportedObjectsByType(EcorePackage.Literals.ECLASS));
+
+		assertEquals(Lists.newArrayList(expected.getAllURIs()), Lists.newArrayList(actual.getAllURIs()));
+		assertSameObjects(expected.getExportedObjects(), actual.getExportedObjects());
+	}
+
+	@Test
+	public void testLazyDecoding() throws IOException {
+		List<IResourceDescription> descriptions = createDescriptions(10, 2);
+		BinaryResourceDescriptionsIndex.write(Collections.singletonMap("chunk", new ResourceDescriptionsData(descriptions)), file);
+		MappedResourceDescriptionsData data = (MappedResourceDescriptionsData) BinaryResourceDescriptionsIndex.read(file).get("chunk");
+		URI uri = descriptions.get(4).getURI();
+		IResourceDescription description = data.getResourceDescription(uri);
+		assertEquals(uri, description.getURI());
+		assertEquals(1, data.getDecodedDescriptionCount());
+		assertSame(description, data.getResourceDescription(uri));
+		assertNull(data.getResourceDescription(URI.createURI("file:/unknown.dsl")));
+	}
+
+	@Test
+	public void testUserDataAndReferences() throws IOException {
+		URI uri = URI.createURI("file:/a.dsl");
+		SerializableEObjectDescription object = createObject(uri, "a", 0, EcorePackage.Literals.ECLASS);
+		object.getUserData().put("key", "value");
+		SerializableReferenceDescription reference = new SerializableReferenceDescription();
+		reference.setSourceEObjectUri(uri.appendFragment("//@elements.0"));
+		reference.setTargetEObjectUri(URI.createURI("file:/b.dsl#//@elements.1"));
+		reference.setContainerEObjectURI(uri.appendFragment("/"));
+		reference.setEReference(EcorePackage.Literals.ECLASS__ESUPER_TYPES);
+		reference.setIndexInList(2);
+		SerializableResourceDescription description = createDescription(uri, Collections.singletonList(object));
+		description.setReferences(Collections.singletonList(reference));
+		description.setImportedNames(Collections.singletonList(QualifiedName.create("pack", "b")));
+		ChunkedResourceDescriptions chunked = new ChunkedResourceDescriptions();
+		chunked.setContainer("chunk", new ResourceDescriptionsData(Collections.<IResourceDescription>singletonList(description)));
+		BinaryResourceDescriptionsIndex.write(chunked, file);
+
+		IResourceDescription result = new ChunkedResourceDescriptions(BinaryResourceDescriptionsIndex.read(file))
+				.getResourceDescription(uri);
+		IEObjectDescription resultObject = Iterables.getOnlyElement(result.getExportedObjects());
+		assertEquals("value", resultObject.getUserData("key"));
+		assertEquals(object.getEObjectURI(), resultObject.getEObjectURI());
+		assertSame(EcorePackage.Literals.ECLASS, resultObject.getEClass());
+		IReferenceDescription resultReference = Iterables.getOnlyElement(result.getReferenceDescriptions());
+		assertEquals(reference.getSourceEObjectUri(), resultReference.getSourceEObjectUri());
+		assertEquals(reference.getTargetEObjectUri(), resultReference.getTargetEObjectUri());
+		assertEquals(reference.getContainerEObjectURI(), resultReference.getContainerEObjectURI());
+		assertSame(EcorePackage.Literals.ECLASS__ESUPER_TYPES, resultReference.getEReference());
+		assertEquals(2, resultReference.getIndexInList());
+		assertEquals(Lists.newArrayList(QualifiedName.create("pack", "b")), Lists.newArrayList(result.getImportedNames()));
+	}
+
+	@Test
+	public void testAddAndRemove() throws IOException {
+		List<IResourceDescription> descriptions = createDescriptions(3, 5);
+		BinaryResourceDescriptionsIndex.write(Collections.singletonMap("chunk", new ResourceDescriptionsData(descriptions)), file);
+		ResourceDescriptionsData data = BinaryResourceDescriptionsIndex.read(file).get("chunk");
+		QualifiedName name = QualifiedName.create("pack", "Element3");
+		assertEquals(3, Iterables.size(data.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+
+		ResourceDescriptionsData copy = data.copy();
+		copy.removeDescription(descriptions.get(1).getURI());
+		assertEquals(2, Iterables.size(copy.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+		assertNull(copy.getResourceDescription(descriptions.get(1).getURI()));
+		assertEquals(3, Iterables.size(data.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+
+		IResourceDescription replacement = createDescriptions(1, 1).get(0);
+		copy.addDescription(descriptions.get(0).getURI(), replacement);
+		assertSame(replacement, copy.getResourceDescription(descriptions.get(0).getURI()));
+		assertEquals(1, Iterables.size(copy.getExportedObjects(EcorePackage.Literals.EOBJECT, name, false)));
+		assertEquals(Lists.newArrayList(descriptions.get(2).getURI(), descriptions.get(0).getURI()),
+				Lists.newArrayList(copy.getAllURIs()));
+		assertEquals(2, Iterables.size(copy.getAllResourceDescriptions()));
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsUnknownFormat() throws IOException {
+		Files.write(new byte[32], file);
+		BinaryResourceDescriptionsIndex.read(file);
+	}
+
+	private void assertSameObjects(Iterable<IEObjectDescription> expected, Iterable<IEObjectDescription> actual) {
+		List<String> expectedStrings = toStrings(expected);
+		List<String> actualStrings = toStrings(actual);
+		Collections.sort(expectedStrings);
+		Collections.sort(actualStrings);
+		assertEquals(expectedStrings, actualStrings);
+	}
+
+	private List<String> toStrings(Iterable<IEObjectDescription> objects) {
+		List<String> result = new ArrayList<String>();
+		for (IEObjectDescription object : objects) {
+			result.add(object.getName() + " " + object.getEClass().getName() + " " + object.getEObjectURI());
+		}
+		return result;
+	}
+
+	private List<IResourceDescription> createDescriptions(int resourceCount, int objectCount) {
+		List<IResourceDescription> result = new ArrayList<IResourceDescription>();
+		for (int i = 0; i < resourceCount; i++) {
+			URI uri = URI.createURI("file:/resource" + i + ".dsl");
+			List<SerializableEObjectDescription> objects = new ArrayList<SerializableEObjectDescription>();
+			for (int j = 0; j < objectCount; j++) {
+				EClass eClass = j % 2 == 0 ? EcorePackage.Literals.ECLASS : EcorePackage.Literals.EDATA_TYPE;
+				objects.add(createObject(uri, "Element" + j, j, eClass));
+			}
+			result.add(createDescription(uri, objects));
+		}
+		return result;
+	}
+
+	private SerializableEObjectDescription createObject(URI resourceURI, String name, int index, EClass eClass) {
+		SerializableEObjectDescription result = new SerializableEObjectDescription();
+		result.setEObjectURI(resourceURI.appendFragment("//@elements." + index));
+		result.setEClass(eClass);
+		result.setQualifiedName(QualifiedName.create("pack", name));
+		result.setUserData(new HashMap<String, String>());
+		return result;
+	}
+
+	private SerializableResourceDescription createDescription(URI uri, List<SerializableEObjectDescription> objects) {
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		result.setDescriptions(objects);
+		result.setReferences(Collections.<SerializableReferenceDescription>emptyList());
+		result.setImportedNames(Collections.<QualifiedName>emptyList());
+		return result;
+	}
+
+}
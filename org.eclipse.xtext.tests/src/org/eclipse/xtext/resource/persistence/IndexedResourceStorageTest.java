@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.linking.LangATestLanguageStandaloneSetup;
+import org.eclipse.xtext.linking.langATestLanguage.Main;
+import org.eclipse.xtext.linking.langATestLanguage.Type;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+public class IndexedResourceStorageTest extends AbstractXtextTests {
+
+	private static final String MODEL_B = "type B\n";
+
+	private static final String MODEL_A = "import 'hubba:/bubba2.langatestlanguage'\n\ntype A extends B\n";
+
+	private XtextResourceSet resourceSet;
+
+	private StorageAwareResource resourceA;
+
+	private StorageAwareResource resourceB;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new LangATestLanguageStandaloneSetup());
+		resourceSet = get(XtextResourceSet.class);
+		resourceA = (StorageAwareResource) resourceSet.createResource(URI.createURI("hubba:/bubba.langatestlanguage"));
+		resourceB = (StorageAwareResource) resourceSet.createResource(URI.createURI("hubba:/bubba2.langatestlanguage"));
+		resourceB.load(getAsStream(MODEL_B), null);
+		resourceA.load(getAsStream(MODEL_A), null);
+	}
+
+	@Test public void testWriteAndLoad() throws Exception {
+		ResourceStorageLoadable loadable = getFacade().createResourceStorageLoadable(
+				new ByteArrayInputStream(writeIndexed(resourceA)));
+		assertTrue(loadable instanceof IndexedResourceStorageLoadable);
+		StorageAwareResource resourceC = createResource("hubba:/bubba3.langatestlanguage");
+		resourceC.loadFromStorage(loadable);
+		assertLoaded(resourceC);
+	}
+
+	@Test public void testZipStorageIsStillDetected() throws Exception {
+		ResourceStorageFacade facade = getFacade();
+		facade.setIndexedStorage(false);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		facade.createResourceStorageWritable(out).writeResource(resourceA);
+		ResourceStorageLoadable loadable = facade.createResourceStorageLoadable(new ByteArrayInputStream(out.toByteArray()));
+		assertFalse(loadable instanceof IndexedResourceStorageLoadable);
+		StorageAwareResource resourceC = createResource("hubba:/bubba3.langatestlanguage");
+		resourceC.loadFromStorage(loadable);
+		assertLoaded(resourceC);
+	}
+
+	@Test public void testFacadeWritesIndexedStorage() throws Exception {
+		ResourceStorageFacade facade = getFacade();
+		facade.setIndexedStorage(true);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ResourceStorageWritable writable = facade.createResourceStorageWritable(out);
+			assertTrue(writable instanceof IndexedResourceStorageWritable);
+			writable.writeResource(resourceA);
+			assertTrue(IndexedResourceStorageLoadable.isIndexedStorage(new ByteArrayInputStream(out.toByteArray())));
+		} finally {
+			facade.setIndexedStorage(false);
+		}
+	}
+
+	@Test public void testLoadMappedFile() throws Exception {
+		File file = File.createTempFile("storage", ".bin");
+		try {
+			Files.write(file.toPath(), writeIndexed(resourceA));
+			assertTrue(IndexedResourceStorageLoadable.isIndexedStorage(file));
+			ResourceStorageLoadable loadable = getFacade().createMappedResourceStorageLoadable(
+					URI.createFileURI(file.getAbsolutePath()));
+			assertTrue(loadable instanceof IndexedResourceStorageLoadable);
+			StorageAwareResource resourceC = createResource("hubba:/bubba3.langatestlanguage");
+			resourceC.loadFromStorage(loadable);
+			// the lazily read entries don't refer to the unmapped file
+			Files.write(file.toPath(), new byte[0]);
+			assertLoaded(resourceC);
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test public void testZipFileIsNotMapped() throws Exception {
+		File file = File.createTempFile("storage", ".bin");
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new ResourceStorageWritable(out, false).writeResource(resourceA);
+			Files.write(file.toPath(), out.toByteArray());
+			assertFalse(IndexedResourceStorageLoadable.isIndexedStorage(file));
+			assertNull(getFacade().createMappedResourceStorageLoadable(URI.createFileURI(file.getAbsolutePath())));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test public void testResourceDescriptionIsReadLazily() throws Exception {
+		final int[] reads = new int[1];
+		IndexedResourceStorageLoadable loadable = new IndexedResourceStorageLoadable(
+				new ByteArrayInputStream(writeIndexed(resourceA)), false) {
+			@Override
+			protected void readResourceDescription(StorageAwareResource resource, InputStream inputStream)
+					throws IOException {
+				reads[0]++;
+				super.readResourceDescription(resource, inputStream);
+			}
+		};
+		StorageAwareResource resourceC = createResource("hubba:/bubba3.langatestlanguage");
+		resourceC.loadFromStorage(loadable);
+		assertEquals(1, resourceC.getContents().size());
+		assertEquals(0, reads[0]);
+		assertNotNull(resourceC.getResourceDescription());
+		assertSame(resourceC.getResourceDescription(), resourceC.getResourceDescription());
+		assertEquals(1, reads[0]);
+	}
+
+	@Test public void testNodeModelIsInstalledOnLoad() throws Exception {
+		File file = File.createTempFile("model", ".langatestlanguage");
+		try {
+			Files.write(file.toPath(), MODEL_A.getBytes(resourceA.getEncoding()));
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new IndexedResourceStorageWritable(out, true).writeResource(resourceA);
+			StorageAwareResource resourceC = createResource(URI.createFileURI(file.getAbsolutePath()).toString());
+			resourceC.loadFromStorage(new IndexedResourceStorageLoadable(new ByteArrayInputStream(out.toByteArray()), true));
+			// the node model was built against the text at load time
+			Files.write(file.toPath(), new byte[0]);
+			Type type = ((Main) resourceC.getContents().get(0)).getTypes().get(0);
+			ICompositeNode node = NodeModelUtils.getNode(type);
+			assertNotNull(node);
+			assertEquals("type A extends B", node.getText().trim());
+			assertEquals(1, NodeModelUtils.findNodesForFeature(type, type.eClass().getEStructuralFeature("extends")).size());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test public void testMissingEntry() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new IndexedResourceStorageWritable(out, false) {
+			@Override
+			protected void writeEntries(StorageAwareResource resource, Map<String, byte[]> entries)
+					throws IOException {
+				super.writeEntries(resource, entries);
+				entries.remove(RESOURCE_DESCRIPTION);
+			}
+		}.writeResource(resourceA);
+		StorageAwareResource resourceC = createResource("hubba:/bubba3.langatestlanguage");
+		try {
+			resourceC.loadFromStorage(new IndexedResourceStorageLoadable(new ByteArrayInputStream(out.toByteArray()), false));
+			fail("expected an IOException");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	private ResourceStorageFacade getFacade() {
+		return (ResourceStorageFacade) resourceA.getResourceStorageFacade();
+	}
+
+	private StorageAwareResource createResource(String uri) {
+		return (StorageAwareResource) resourceSet.createResource(URI.createURI(uri));
+	}
+
+	private byte[] writeIndexed(StorageAwareResource resource) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new IndexedResourceStorageWritable(out, false).writeResource(resource);
+		return out.toByteArray();
+	}
+
+	private void assertLoaded(StorageAwareResource resource) {
+		assertTrue(resource.isLoadedFromStorage());
+		Main main = (Main) resource.getContents().get(0);
+		assertEquals("A", main.getTypes().get(0).getName());
+		assertSame(((Main) resourceB.getContents().get(0)).getTypes().get(0), main.getTypes().get(0).getExtends());
+		IEObjectDescription exported = Iterables.getOnlyElement(resource.getResourceDescription().getExportedObjects());
+		assertEquals("A", exported.getName().toString());
+		assertEquals(1, Lists.newArrayList(resource.getResourceDescription().getReferenceDescriptions()).size());
+	}
+
+}
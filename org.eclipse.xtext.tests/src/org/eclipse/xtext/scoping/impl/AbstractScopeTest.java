@@ -8,12 +8,14 @@
 package org.eclipse.xtext.scoping.impl;
 
 import java.util.Collections;
+import java.util.Map;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EAnnotation;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.EObjectDescription;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
@@ -23,6 +25,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 
 /**
@@ -154,6 +157,34 @@ public abstract class AbstractScopeTest extends Assert {
 		assertEqualElements(ImmutableList.of(), scope.getElements(annotationB));
 	}
 	
+	@Test public void testByPrefix() {
+		IScope scope = createScope(IScope.NULLSCOPE, ImmutableList.of(descriptionA, descriptionA_aliased, descriptionB));
+		assertEquals(ImmutableSet.of(descriptionA, descriptionA_aliased), ImmutableSet.copyOf(scope.getElementsByPrefix(QualifiedName.create("A"))));
+		assertEquals(ImmutableSet.of(descriptionA_aliased), ImmutableSet.copyOf(scope.getElementsByPrefix(QualifiedName.create("alias"))));
+		assertEquals(ImmutableSet.of(descriptionB), ImmutableSet.copyOf(scope.getElementsByPrefix(QualifiedName.create("b"))));
+		assertEquals(ImmutableSet.of(), ImmutableSet.copyOf(scope.getElementsByPrefix(QualifiedName.create("c"))));
+		assertEquals(ImmutableSet.copyOf(scope.getAllElements()), ImmutableSet.copyOf(scope.getElementsByPrefix(QualifiedName.EMPTY)));
+	}
+	
+	@Test public void testByPrefixWithParent() {
+		IScope parent = createScope(IScope.NULLSCOPE, ImmutableList.of(descriptionB_as_A, descriptionB));
+		IScope scope = createScope(parent, ImmutableList.of(descriptionA));
+		assertEquals(ImmutableSet.of(descriptionA), ImmutableSet.copyOf(scope.getElementsByPrefix(QualifiedName.create("a"))));
+		assertEquals(ImmutableSet.of(descriptionB), ImmutableSet.copyOf(scope.getElementsByPrefix(QualifiedName.create("b"))));
+	}
+	
+	@Test public void testSingleElements() {
+		IScope parent = createScope(IScope.NULLSCOPE, ImmutableList.of(descriptionB_as_A, descriptionB));
+		IScope scope = createScope(parent, ImmutableList.of(descriptionA));
+		QualifiedName a = QualifiedName.create("a");
+		QualifiedName b = QualifiedName.create("b");
+		QualifiedName c = QualifiedName.create("c");
+		Map<QualifiedName, IEObjectDescription> elements = scope.getSingleElements(ImmutableList.of(a, b, c));
+		assertEquals(2, elements.size());
+		assertEquals(scope.getSingleElement(a), elements.get(a));
+		assertEquals(scope.getSingleElement(b), elements.get(b));
+	}
+	
 	protected void assertEqualElements(Iterable<?> expected, Iterable<?> actual) {
 		assertTrue(Iterables.elementsEqual(expected, actual));
 	}
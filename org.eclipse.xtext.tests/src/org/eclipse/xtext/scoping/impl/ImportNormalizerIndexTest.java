@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.scoping.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.xtext.naming.QualifiedName;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class ImportNormalizerIndexTest extends Assert {
+
+	private final List<QualifiedName> names = Lists.newArrayList(
+			QualifiedName.create("a"),
+			QualifiedName.create("B"),
+			QualifiedName.create("a", "b"),
+			QualifiedName.create("a", "B"),
+			QualifiedName.create("A", "b", "c"),
+			QualifiedName.create("a", "b", "c", "d"),
+			QualifiedName.create("x", "y"),
+			QualifiedName.create("c"),
+			QualifiedName.create("b", "c"));
+
+	@Test
+	public void testCaseSensitive() {
+		assertSameCandidates(createNormalizers(false));
+	}
+
+	@Test
+	public void testIgnoreCase() {
+		assertSameCandidates(createNormalizers(true));
+	}
+
+	@Test
+	public void testOrderIsKept() {
+		ImportNormalizer explicit = new ImportNormalizer(QualifiedName.create("a", "b"), false, false);
+		ImportNormalizer wildcard = new ImportNormalizer(QualifiedName.create("a"), true, false);
+		ImportNormalizerIndex index = new ImportNormalizerIndex(Lists.newArrayList(explicit, wildcard));
+		assertEquals(Lists.newArrayList(explicit, wildcard), index.getResolvingNormalizers(QualifiedName.create("b")));
+		assertEquals(Lists.newArrayList(explicit, wildcard),
+				index.getDeresolvingNormalizers(QualifiedName.create("a", "b")));
+	}
+
+	@Test
+	public void testSubclassesAreNotIndexed() {
+		ImportNormalizer custom = new ImportNormalizer(QualifiedName.create("x"), false, false) {
+			@Override
+			public QualifiedName resolve(QualifiedName relativeName) {
+				return relativeName;
+			}
+		};
+		ImportNormalizerIndex index = new ImportNormalizerIndex(Lists.newArrayList(custom));
+		assertEquals(Lists.newArrayList(custom), index.getResolvingNormalizers(QualifiedName.create("y")));
+		assertEquals(Lists.newArrayList(custom), index.getDeresolvingNormalizers(QualifiedName.create("y")));
+	}
+
+	private List<ImportNormalizer> createNormalizers(boolean ignoreCase) {
+		List<ImportNormalizer> result = new ArrayList<>();
+		for (QualifiedName name : names) {
+			result.add(new ImportNormalizer(name, true, ignoreCase));
+			result.add(new ImportNormalizer(name, false, ignoreCase));
+		}
+		return result;
+	}
+
+	private void assertSameCandidates(List<ImportNormalizer> normalizers) {
+		ImportNormalizerIndex index = new ImportNormalizerIndex(normalizers);
+		for (QualifiedName name : names) {
+			List<ImportNormalizer> resolving = new ArrayList<>(index.getResolvingNormalizers(name));
+			List<ImportNormalizer> deresolving = index.getDeresolvingNormalizers(name);
+			List<ImportNormalizer> expectedResolving = new ArrayList<>();
+			List<ImportNormalizer> expectedDeresolving = new ArrayList<>();
+			for (ImportNormalizer normalizer : normalizers) {
+				if (normalizer.resolve(name) != null) {
+					expectedResolving.add(normalizer);
+					assertTrue(name + " " + normalizer, resolving.contains(normalizer));
+				}
+				if (normalizer.deresolve(name) != null) {
+					expectedDeresolving.add(normalizer);
+				}
+			}
+			// the index may return additional candidates, but no candidate may be missing and the order must be kept
+			resolving.retainAll(expectedResolving);
+			assertEquals(name.toString(), expectedResolving, resolving);
+			assertEquals(name.toString(), expectedDeresolving, Lists.newArrayList(
+					deresolving.stream().filter(it -> it.deresolve(name) != null).iterator()));
+		}
+	}
+
+}
@@ -11,6 +11,7 @@ import static com.google.common.collect.Iterables.*;
 import static com.google.common.collect.Lists.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -407,4 +408,31 @@ public class ImportScopeTest extends Assert {
 		assertEquals("bar", barDescription.getName().toString());
 	}
 	
+	@Test public void testGetElementsByPrefix() throws Exception {
+		final IEObjectDescription desc1 = EObjectDescription.create(QualifiedName.create("com","foo","bar"), EcorePackage.Literals.EANNOTATION);
+		final IEObjectDescription desc2 = EObjectDescription.create(QualifiedName.create("com","foo","baz"), EcorePackage.Literals.EATTRIBUTE);
+		final IEObjectDescription desc3 = EObjectDescription.create(QualifiedName.create("de","foo"), EcorePackage.Literals.ECLASS);
+		final IEObjectDescription desc4 = EObjectDescription.create(QualifiedName.create("com","bar"), EcorePackage.Literals.EPACKAGE);
+		SimpleScope outer = new SimpleScope(newArrayList(desc1,desc2,desc3,desc4), false);
+		ImportNormalizer n1 = new ImportNormalizer(QualifiedName.create("com"), true, false);
+		ImportNormalizer n2 = new ImportNormalizer(QualifiedName.create("de","foo"), false, false);
+		ImportNormalizer n3 = new ImportNormalizer(QualifiedName.create("com","foo"), true, false);
+		TestableImportScope scope = new TestableImportScope(newArrayList(n1,n2,n3), outer, new ScopeBasedSelectable(outer), EcorePackage.Literals.EOBJECT, false);
+		for (String prefix : new String[] { "", "f", "FOO", "foo.b", "foo.bar", "ba", "bar", "com.foo", "de", "x" }) {
+			final QualifiedName qualifiedPrefix = prefix.isEmpty() ? QualifiedName.EMPTY : QualifiedName.create(prefix.split("\\."));
+			List<String> expected = new ArrayList<String>();
+			for (IEObjectDescription description : scope.getAllElements()) {
+				if (description.getName().matchesPrefixIgnoreCase(qualifiedPrefix))
+					expected.add(description.getName() + "->" + description.getEObjectOrProxy());
+			}
+			List<String> actual = new ArrayList<String>();
+			for (IEObjectDescription description : scope.getElementsByPrefix(qualifiedPrefix)) {
+				actual.add(description.getName() + "->" + description.getEObjectOrProxy());
+			}
+			Collections.sort(expected);
+			Collections.sort(actual);
+			assertEquals(prefix, expected, actual);
+		}
+	}
+	
 }
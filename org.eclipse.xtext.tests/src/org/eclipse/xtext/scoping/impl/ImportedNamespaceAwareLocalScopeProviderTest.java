@@ -17,6 +17,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
@@ -32,6 +33,7 @@ import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Manager;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.ISelectable;
 import org.eclipse.xtext.resource.ResourceSetReferencingResourceSetImpl;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescription;
@@ -516,6 +518,31 @@ public class ImportedNamespaceAwareLocalScopeProviderTest extends AbstractXtextT
 		assertNull(scope.getSingleElement(nameConverter.toQualifiedName("bar.Bar")));
 	}
 
+	@Test public void testCustomizedImportScopeIsUsed() throws Exception {
+		XtextResource resource = getResource(new StringInputStream("import foo.bar.* "), URI
+				.createURI("import.indextestlanguage"));
+		resource.getResourceSet().createResource(URI.createURI("foo.indextestlanguage")).load(
+				new StringInputStream("foo.bar { entity Person { } }"), null);
+		final List<List<ImportNormalizer>> created = Lists.newArrayList();
+		scopeProvider = new ImportedNamespaceAwareLocalScopeProvider(globalScopeProvider, nameProvider, nameConverter, new CaseInsensitivityHelper()) {
+			@Override
+			protected ImportScope createImportScope(IScope parent, List<ImportNormalizer> namespaceResolvers,
+					ISelectable importFrom, EClass type, boolean ignoreCase) {
+				created.add(namespaceResolvers);
+				return super.createImportScope(parent, namespaceResolvers, importFrom, type, ignoreCase);
+			}
+		};
+		IScope scope = scopeProvider.getScope(resource.getContents().get(0), IndexTestLanguagePackage.eINSTANCE
+				.getFile_Elements());
+		assertNotNull(scope.getSingleElement(nameConverter.toQualifiedName("Person")));
+		assertTrue(created.toString(), Iterables.any(created, new Predicate<List<ImportNormalizer>>() {
+			@Override
+			public boolean apply(List<ImportNormalizer> input) {
+				return input.contains(new ImportNormalizer(nameConverter.toQualifiedName("foo.bar"), true, false));
+			}
+		}));
+	}
+
 	protected Entity getEntityByName(final Resource res2, String name) {
 		Iterable<EObject> allContents = new Iterable<EObject>() {
 			@Override
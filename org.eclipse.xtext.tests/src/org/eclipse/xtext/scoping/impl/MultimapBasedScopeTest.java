@@ -7,8 +7,15 @@
  *******************************************************************************/
 package org.eclipse.xtext.scoping.impl;
 
+import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.LinkedHashMultimap;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
@@ -19,5 +26,16 @@ public class MultimapBasedScopeTest extends AbstractScopeTest {
 	protected IScope createScope(IScope parent, Iterable<IEObjectDescription> content) {
 		return MultimapBasedScope.createScope(parent, content, false);
 	}
+
+	@Test public void testByPrefixWithCustomizedAllElements() {
+		IScope scope = new MultimapBasedScope(IScope.NULLSCOPE, LinkedHashMultimap.<QualifiedName, IEObjectDescription>create(), false) {
+			@Override
+			public Iterable<IEObjectDescription> getAllElements() {
+				return ImmutableList.of(descriptionA, descriptionB);
+			}
+		};
+		assertEquals(ImmutableSet.of(descriptionA), ImmutableSet.copyOf(scope.getElementsByPrefix(QualifiedName.create("a"))));
+		assertTrue(Iterables.isEmpty(scope.getElementsByPrefix(QualifiedName.create("c"))));
+	}
 	
 }
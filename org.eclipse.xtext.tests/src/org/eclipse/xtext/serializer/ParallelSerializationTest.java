@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.formatting2.AbstractFormatter2;
+import org.eclipse.xtext.formatting2.IFormattableDocument;
+import org.eclipse.xtext.formatting2.IFormatter2;
+import org.eclipse.xtext.formatting2.regionaccess.ISemanticRegion;
+import org.eclipse.xtext.resource.SaveOptions;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.serializer.hiddentokensequencertest.DomainModel;
+import org.eclipse.xtext.serializer.hiddentokensequencertest.Entity;
+import org.eclipse.xtext.serializer.hiddentokensequencertest.Model;
+import org.eclipse.xtext.serializer.impl.Serializer;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+public class ParallelSerializationTest extends AbstractXtextTests {
+
+	public static class TestFormatter extends AbstractFormatter2 {
+		@Override
+		public void format(Object obj, IFormattableDocument document) {
+		}
+	}
+
+	/**
+	 * Puts each entity on a new line and indents the entities inside the domain model.
+	 */
+	public static class BlockFormatter extends AbstractFormatter2 {
+		@Override
+		public void format(Object obj, IFormattableDocument document) {
+			if (obj instanceof DomainModel) {
+				DomainModel model = (DomainModel) obj;
+				ISemanticRegion start = textRegionExtensions.regionFor(model).keyword("entities");
+				ISemanticRegion end = textRegionExtensions.regionFor(model).keyword("end");
+				document.interior(start, end, it -> it.indent());
+				for (Entity entity : model.getEntities()) {
+					document.prepend(entity, it -> it.newLine());
+					document.format(entity);
+				}
+				document.prepend(end, it -> it.newLine());
+			} else if (obj instanceof XtextResource) {
+				_format((XtextResource) obj, document);
+			} else if (obj instanceof EObject) {
+				_format((EObject) obj, document);
+			}
+		}
+	}
+
+	private Serializer serializer;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		withFormatter(TestFormatter.class);
+	}
+
+	private void withFormatter(final Class<? extends IFormatter2> formatter) throws Exception {
+		with(new HiddenTokenSequencerTestLanguageStandaloneSetup() {
+			@Override
+			public Injector createInjector() {
+				return Guice.createInjector(new HiddenTokenSequencerTestLanguageRuntimeModule() {
+					@SuppressWarnings("unused")
+					public Class<? extends IFormatter2> bindIFormatter2() {
+						return formatter;
+					}
+				});
+			}
+		});
+		serializer = get(Serializer.class);
+	}
+
+	@Test
+	public void testSameTextAsSequentialSerialization() throws Exception {
+		Model model = (Model) getModel(createModel(100));
+		DomainModel domainModel = model.getDomainModel();
+		String sequentialModel = serializer.serialize(model);
+		String sequentialDomainModel = serializer.serialize(domainModel);
+		serializer.setParallelSerialization(true);
+		assertEquals(sequentialModel, serializer.serialize(model));
+		assertEquals(sequentialDomainModel, serializer.serialize(domainModel));
+	}
+
+	@Test
+	public void testRenamedElement() throws Exception {
+		Model model = (Model) getModel(createModel(10));
+		DomainModel domainModel = model.getDomainModel();
+		domainModel.getEntities().get(2).setName("Renamed");
+		String sequential = serializer.serialize(domainModel);
+		serializer.setParallelSerialization(true);
+		assertEquals(sequential, serializer.serialize(domainModel));
+	}
+
+	@Test
+	public void testSameTextAsSequentialFormatting() throws Exception {
+		withFormatter(BlockFormatter.class);
+		SaveOptions options = SaveOptions.newBuilder().format().getOptions();
+		Model model = (Model) getModel("entities Foo0 \"Bar\" Foo1 \"Bar\" Foo2 \"Bar\" end");
+		String sequentialModel = serializer.serialize(model, options);
+		String sequentialDomainModel = serializer.serialize(model.getDomainModel(), options);
+		assertTrue(sequentialModel, sequentialModel.contains("\n\tFoo1"));
+		serializer.setParallelSerialization(true);
+		assertEquals(sequentialModel, serializer.serialize(model, options));
+		assertEquals(sequentialDomainModel, serializer.serialize(model.getDomainModel(), options));
+	}
+
+	@Test
+	public void testSameTextAsSequentialFormattingWithComments() throws Exception {
+		withFormatter(BlockFormatter.class);
+		SaveOptions options = SaveOptions.newBuilder().format().getOptions();
+		Model model = (Model) getModel(createModel(20));
+		String sequential = serializer.serialize(model, options);
+		serializer.setParallelSerialization(true);
+		assertEquals(sequential, serializer.serialize(model, options));
+	}
+
+	private String createModel(int entities) {
+		StringBuilder result = new StringBuilder("entities\n");
+		for (int i = 0; i < entities; i++) {
+			result.append("\t// comment before Foo").append(i).append("\n");
+			result.append("\tFoo").append(i).append(" /* comment */ \"Bar\"\n");
+		}
+		return result.append("end\n").toString();
+	}
+
+}
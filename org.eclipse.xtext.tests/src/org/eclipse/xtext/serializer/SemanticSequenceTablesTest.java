@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.AbstractElement;
+import org.eclipse.xtext.serializer.acceptor.SequenceFeeder;
+import org.eclipse.xtext.serializer.analysis.ISemanticSequencerNfaProvider.ISemState;
+import org.eclipse.xtext.serializer.diagnostic.ISerializationDiagnostic;
+import org.eclipse.xtext.serializer.sequencer.BacktrackingSemanticSequencer;
+import org.eclipse.xtext.serializer.sequencer.ISemanticSequencer;
+import org.eclipse.xtext.serializer.sequencer.ISemanticNodeProvider;
+import org.eclipse.xtext.serializer.sequencer.NodeModelSemanticSequencer;
+import org.eclipse.xtext.serializer.sequencer.SemanticSequenceTables;
+import org.eclipse.xtext.serializer.sequencer.SemanticSequenceTables.Signature;
+import org.eclipse.xtext.testing.serializer.DebugSequenceAcceptor;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Sequences the same models twice, so the second run replays the sequences that the first run found.
+ */
+public class SemanticSequenceTablesTest extends AbstractXtextTests {
+
+	public static class ReplayCountingSequencer extends BacktrackingSemanticSequencer {
+		private int replayed;
+
+		@Override
+		protected void replay(SerializableObject object, ISemState[] sequence, SequenceFeeder feeder) {
+			replayed++;
+			super.replay(object, sequence, feeder);
+		}
+
+		public Signature getSignature(SemanticSequenceTables.Table table, EObject object) {
+			return createSignature(table,
+					new SerializableObject(null, object, ISemanticNodeProvider.NULL_NODES_PROVIDER));
+		}
+	}
+
+	public static class TestTable extends SemanticSequenceTables.Table {
+		public TestTable(ISemState... states) {
+			super(Lists.newArrayList(states), 16);
+		}
+	}
+
+	public static class BooleanState implements ISemState {
+		private final EStructuralFeature feature;
+
+		public BooleanState(EStructuralFeature feature) {
+			this.feature = feature;
+		}
+
+		@Override
+		public BitSet getAllFollowerFeatures() {
+			return new BitSet();
+		}
+
+		@Override
+		public AbstractElement getAssignedGrammarElement() {
+			return null;
+		}
+
+		@Override
+		public EStructuralFeature getFeature() {
+			return feature;
+		}
+
+		@Override
+		public int getFeatureID() {
+			return feature.getEContainingClass().getFeatureID(feature);
+		}
+
+		@Override
+		public List<ISemState> getFollowers() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public int getOrderID() {
+			return 0;
+		}
+
+		@Override
+		public List<AbstractElement> getToBeValidatedAssignedElements() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean isBooleanAssignment() {
+			return true;
+		}
+	}
+
+	private static final String[] MODELS = { "#3 a kw1 b kw2 c d kw3 e f", "#3 a kw1 kw2 c kw3 e",
+			"#3 a kw1 kw2 c kw3", "#4 a kw1 b c kw2 d e kw3 h i", "#5 kw1 a kw2 kw3 b kw4 kw5 g", "#6 a, b, c, d, e",
+			"#7", "#11 kw1", "#11 kw2", "#11 foo", "#12 $1foo", "#12 $2foo", "#21 0 0 1", "#21 1", "#23 1 a",
+			"#23 a 1", "#23 kw1 a kw2 b", "#23 kw2 b kw1 a" };
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(SequencerTestLanguageStandaloneSetup.class);
+	}
+
+	@Test
+	public void testReplayedSequencesEqualBacktrackedSequences() throws Exception {
+		List<EObject> models = Lists.newArrayList();
+		for (String model : MODELS) {
+			models.add(getModel(model).eContents().get(0));
+		}
+		for (EObject model : models) {
+			ReplayCountingSequencer sequencer = get(ReplayCountingSequencer.class);
+			sequencer.setUseSequenceTables(true);
+			assertEquals(expected(model), sequence(sequencer, model));
+		}
+		for (EObject model : models) {
+			ReplayCountingSequencer sequencer = get(ReplayCountingSequencer.class);
+			sequencer.setUseSequenceTables(true);
+			assertEquals(expected(model), sequence(sequencer, model));
+			assertTrue(sequencer.replayed > 0);
+		}
+	}
+
+	@Test
+	public void testDisabledByDefault() throws Exception {
+		EObject model = getModel(MODELS[0]).eContents().get(0);
+		for (int i = 0; i < 2; i++) {
+			ReplayCountingSequencer sequencer = get(ReplayCountingSequencer.class);
+			assertEquals(expected(model), sequence(sequencer, model));
+			assertEquals(0, sequencer.replayed);
+		}
+	}
+
+	@Test
+	public void testBooleanListWithNonZeroFeatureID() throws Exception {
+		EcoreFactory factory = EcoreFactory.eINSTANCE;
+		EPackage pack = factory.createEPackage();
+		pack.setName("test");
+		pack.setNsURI("http://www.eclipse.org/xtext/test/SemanticSequenceTablesTest");
+		EClass clazz = factory.createEClass();
+		clazz.setName("Flags");
+		pack.getEClassifiers().add(clazz);
+		for (String name : new String[] { "first", "second" }) {
+			EAttribute attribute = factory.createEAttribute();
+			attribute.setName(name);
+			attribute.setEType(EcorePackage.Literals.ESTRING);
+			clazz.getEStructuralFeatures().add(attribute);
+		}
+		EAttribute flags = factory.createEAttribute();
+		flags.setName("flags");
+		flags.setEType(EcorePackage.Literals.EBOOLEAN);
+		flags.setUpperBound(EStructuralFeature.UNBOUNDED_MULTIPLICITY);
+		flags.setUnique(false);
+		clazz.getEStructuralFeatures().add(flags);
+		assertEquals(2, clazz.getFeatureID(flags));
+
+		ReplayCountingSequencer sequencer = get(ReplayCountingSequencer.class);
+		TestTable table = new TestTable(new BooleanState(flags));
+		EObject trueFalseFalse = createFlags(clazz, flags, true, false, false);
+		EObject falseTrueFalse = createFlags(clazz, flags, false, true, false);
+		EObject falseFalseTrue = createFlags(clazz, flags, false, false, true);
+		EObject single = createFlags(clazz, flags, true);
+		Signature signature1 = sequencer.getSignature(table, trueFalseFalse);
+		Signature signature2 = sequencer.getSignature(table, falseTrueFalse);
+		Signature signature3 = sequencer.getSignature(table, falseFalseTrue);
+		assertNotNull(signature1);
+		assertNotNull(sequencer.getSignature(table, single));
+		assertFalse(signature1.equals(signature2));
+		assertFalse(signature1.equals(signature3));
+		assertFalse(signature2.equals(signature3));
+		assertEquals(signature1, sequencer.getSignature(table, EcoreUtil.copy(trueFalseFalse)));
+	}
+
+	private EObject createFlags(EClass clazz, EAttribute flags, Boolean... values) {
+		EObject result = EcoreUtil.create(clazz);
+		@SuppressWarnings("unchecked")
+		List<Object> list = (List<Object>) result.eGet(flags);
+		Collections.addAll(list, (Object[]) values);
+		return result;
+	}
+
+	private String expected(EObject model) {
+		NodeModelSemanticSequencer sequencer = get(NodeModelSemanticSequencer.class);
+		return sequence(sequencer, model);
+	}
+
+	private String sequence(ISemanticSequencer sequencer, EObject model) {
+		DebugSequenceAcceptor acceptor = new DebugSequenceAcceptor();
+		sequencer.init(acceptor, ISerializationDiagnostic.STDERR_ACCEPTOR);
+		ISerializationContext context = get(NodeModelSemanticSequencer.class).findContexts(model, true, null)
+				.iterator().next();
+		sequencer.createSequence(context, model);
+		return acceptor.toString();
+	}
+
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer;
+
+import java.io.StringWriter;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.formatting2.AbstractFormatter2;
+import org.eclipse.xtext.formatting2.IFormattableDocument;
+import org.eclipse.xtext.formatting2.IFormatter2;
+import org.eclipse.xtext.resource.SaveOptions;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.serializer.hiddentokensequencertest.DomainModel;
+import org.eclipse.xtext.serializer.hiddentokensequencertest.Entity;
+import org.eclipse.xtext.serializer.hiddentokensequencertest.HiddentokensequencertestFactory;
+import org.eclipse.xtext.serializer.hiddentokensequencertest.Model;
+import org.eclipse.xtext.serializer.impl.Serializer;
+import org.eclipse.xtext.testlanguages.SimpleExpressionsTestLanguageRuntimeModule;
+import org.eclipse.xtext.testlanguages.SimpleExpressionsTestLanguageStandaloneSetup;
+import org.eclipse.xtext.testlanguages.simpleExpressions.Sequence;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * Serializes models with and without {@link SaveOptions#isStreaming() streaming}. Since the formatter does not change
+ * anything, both must produce the same text for parsed models.
+ */
+public class StreamingSerializationTest extends AbstractXtextTests {
+
+	public static class TestFormatter extends AbstractFormatter2 {
+		@Override
+		public void format(Object obj, IFormattableDocument document) {
+		}
+	}
+
+	public static class FlushCountingWriter extends StringWriter {
+		private int flushes;
+
+		@Override
+		public void flush() {
+			flushes++;
+			super.flush();
+		}
+	}
+
+	private static final SaveOptions STREAMING = SaveOptions.newBuilder().stream().getOptions();
+
+	private void withHiddenTokenSequencerTestLanguage() throws Exception {
+		with(new HiddenTokenSequencerTestLanguageStandaloneSetup() {
+			@Override
+			public Injector createInjector() {
+				return Guice.createInjector(new HiddenTokenSequencerTestLanguageRuntimeModule() {
+					@SuppressWarnings("unused")
+					public Class<? extends IFormatter2> bindIFormatter2() {
+						return TestFormatter.class;
+					}
+				});
+			}
+		});
+	}
+
+	private void withSimpleExpressionsTestLanguage() throws Exception {
+		with(new SimpleExpressionsTestLanguageStandaloneSetup() {
+			@Override
+			public Injector createInjector() {
+				return Guice.createInjector(new SimpleExpressionsTestLanguageRuntimeModule() {
+					@SuppressWarnings("unused")
+					public Class<? extends IFormatter2> bindIFormatter2() {
+						return TestFormatter.class;
+					}
+				});
+			}
+		});
+	}
+
+	@Test
+	public void testSaveOptions() throws Exception {
+		assertTrue(STREAMING.isStreaming());
+		assertFalse(SaveOptions.defaultOptions().isStreaming());
+		assertFalse(STREAMING.equals(SaveOptions.defaultOptions()));
+		assertEquals(STREAMING, SaveOptions.newBuilder().stream().getOptions());
+		assertTrue(SaveOptions.newBuilder().format().stream().getOptions().isFormatting());
+	}
+
+	@Test
+	public void testNestedRuleCalls() throws Exception {
+		withHiddenTokenSequencerTestLanguage();
+		Model model = (Model) getModel(createModel(20));
+		assertEquals(serialize(model), serializeStreaming(model));
+	}
+
+	@Test
+	public void testCommentsBetweenElements() throws Exception {
+		withHiddenTokenSequencerTestLanguage();
+		Model model = (Model) getModel(createModel(20));
+		DomainModel domainModel = model.getDomainModel();
+		assertEquals(serialize(domainModel), serializeStreaming(domainModel));
+		FlushCountingWriter writer = new FlushCountingWriter();
+		get(Serializer.class).serialize(domainModel, writer, STREAMING);
+		assertTrue(writer.flushes >= 20);
+	}
+
+	@Test
+	public void testAssignedActionsAtRootLevel() throws Exception {
+		withSimpleExpressionsTestLanguage();
+		String text = "a + b * (c - d) /* comment */ e // comment\n f * g";
+		EObject model = getModel(text);
+		assertTrue(model instanceof Sequence);
+		assertEquals(3, ((Sequence) model).getExpressions().size());
+		assertEquals(serialize(model), serializeStreaming(model));
+	}
+
+	@Test
+	public void testSeparatorsWithoutNodeModel() throws Exception {
+		withHiddenTokenSequencerTestLanguage();
+		XtextResource resource = getResourceFromString("entities end");
+		HiddentokensequencertestFactory factory = HiddentokensequencertestFactory.eINSTANCE;
+		Model model = factory.createModel();
+		DomainModel domainModel = factory.createDomainModel();
+		model.setDomainModel(domainModel);
+		for (String name : new String[] { "Foo", "Bar" }) {
+			Entity entity = factory.createEntity();
+			entity.setName(name);
+			entity.setDescription("desc");
+			domainModel.getEntities().add(entity);
+		}
+		resource.getContents().clear();
+		resource.getContents().add(model);
+		String separator = System.getProperty("line.separator");
+		assertEquals("entities" + separator + "Foo \"desc\"" + separator + "Bar \"desc\"" + separator + "end",
+				serializeStreaming(domainModel));
+		assertEquals("entities Foo \"desc\" Bar \"desc\" end", serialize(domainModel));
+	}
+
+	private String serialize(EObject obj) throws Exception {
+		StringWriter writer = new StringWriter();
+		get(Serializer.class).serialize(obj, writer, SaveOptions.defaultOptions());
+		return writer.toString();
+	}
+
+	private String serializeStreaming(EObject obj) throws Exception {
+		StringWriter writer = new StringWriter();
+		get(Serializer.class).serialize(obj, writer, STREAMING);
+		return writer.toString();
+	}
+
+	private String createModel(int entities) {
+		StringBuilder result = new StringBuilder("entities\n");
+		for (int i = 0; i < entities; i++) {
+			result.append("\t// comment before Foo").append(i).append("\n");
+			result.append("\tFoo").append(i).append(" /* comment */ \"Bar\"\n");
+		}
+		return result.append("end\n").toString();
+	}
+
+}
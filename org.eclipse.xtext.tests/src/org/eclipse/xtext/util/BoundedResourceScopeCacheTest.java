@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.xtext.util.BoundedResourceScopeCache.InvalidationGroup;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BoundedResourceScopeCacheTest extends Assert {
+
+	private BoundedResourceScopeCache cache;
+
+	private Resource resource;
+
+	private EClass eClass;
+
+	private final AtomicInteger computed = new AtomicInteger();
+
+	@Before
+	public void setUp() {
+		cache = new BoundedResourceScopeCache();
+		resource = new ResourceImpl();
+		eClass = EcoreFactory.eINSTANCE.createEClass();
+		resource.getContents().add(eClass);
+		ResourceScopeCacheMetrics.INSTANCE.reset();
+	}
+
+	@Test
+	public void testCachedValue() {
+		assertEquals("foo", get("key", BoundedResourceScopeCache.ANY_CHANGE, "foo"));
+		assertEquals("foo", get("key", BoundedResourceScopeCache.ANY_CHANGE, "bar"));
+		assertNull(get("null", BoundedResourceScopeCache.ANY_CHANGE, null));
+		assertNull(get("null", BoundedResourceScopeCache.ANY_CHANGE, "bar"));
+		assertEquals(2, computed.get());
+		assertEquals(2, ResourceScopeCacheMetrics.INSTANCE.getHitCount());
+		assertEquals(2, ResourceScopeCacheMetrics.INSTANCE.getMissCount());
+	}
+
+	@Test
+	public void testAnyChangeInvalidatesDefaultGroup() {
+		get("key", BoundedResourceScopeCache.ANY_CHANGE, "foo");
+		eClass.setAbstract(true);
+		assertEquals("bar", get("key", BoundedResourceScopeCache.ANY_CHANGE, "bar"));
+		assertEquals(1, ResourceScopeCacheMetrics.INSTANCE.getInvalidationCount());
+	}
+
+	@Test
+	public void testUnaffectedGroupIsKept() {
+		InvalidationGroup names = BoundedResourceScopeCache.forFeatures(EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+		get("names", names, "foo");
+		get("any", BoundedResourceScopeCache.ANY_CHANGE, "foo");
+		eClass.setAbstract(true);
+		assertEquals("foo", get("names", names, "bar"));
+		assertEquals("bar", get("any", BoundedResourceScopeCache.ANY_CHANGE, "bar"));
+		eClass.setName("Foo");
+		InvalidationGroup equalGroup = BoundedResourceScopeCache.forFeatures(EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+		assertEquals("baz", get("names", equalGroup, "baz"));
+		assertEquals(3, ResourceScopeCacheMetrics.INSTANCE.getInvalidationCount());
+	}
+
+	@Test
+	public void testGroupedKey() {
+		InvalidationGroup group = notification -> false;
+		BoundedResourceScopeCache.GroupedKey key = () -> group;
+		cache.get(key, resource, () -> "foo");
+		eClass.setName("Foo");
+		assertEquals("foo", cache.get(key, resource, () -> "bar"));
+		cache.invalidate(resource, group);
+		assertEquals("bar", cache.get(key, resource, () -> "bar"));
+	}
+
+	@Test
+	public void testExecWithoutCacheClear() {
+		get("key", BoundedResourceScopeCache.ANY_CHANGE, "foo");
+		cache.execWithoutCacheClear(resource, (Resource it) -> {
+			eClass.setName("Foo");
+			return null;
+		});
+		assertEquals("foo", get("key", BoundedResourceScopeCache.ANY_CHANGE, "bar"));
+	}
+
+	@Test
+	public void testMaximumWeight() {
+		cache.setMaximumWeight(10);
+		for (int i = 0; i < 100; i++) {
+			get(i, BoundedResourceScopeCache.ANY_CHANGE, "value" + i);
+		}
+		long size = cache.getOrCreate(resource).size();
+		assertTrue(String.valueOf(size), size <= 10);
+		assertEquals(100 - size, ResourceScopeCacheMetrics.INSTANCE.getEvictionCount());
+	}
+
+	private Object get(Object key, InvalidationGroup group, String value) {
+		return cache.get(key, group, resource, () -> {
+			computed.incrementAndGet();
+			return value;
+		});
+	}
+
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.validation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.DiagnosticChain;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EValidator;
+import org.eclipse.emf.ecore.util.EObjectValidator;
+import org.eclipse.xtext.linking.LangATestLanguageStandaloneSetup;
+import org.eclipse.xtext.linking.langATestLanguage.LangATestLanguagePackage;
+import org.eclipse.xtext.linking.langATestLanguage.Main;
+import org.eclipse.xtext.linking.langATestLanguage.Type;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.service.OperationCanceledError;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class ParallelValidationTest extends AbstractXtextTests {
+
+	public static class TestValidator extends AbstractDeclarativeValidator {
+
+		private final Set<Thread> threadsOfUnsafeChecks = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+
+		@Override
+		protected List<EPackage> getEPackages() {
+			return Collections.<EPackage>singletonList(LangATestLanguagePackage.eINSTANCE);
+		}
+
+		@Check(threadSafe = true)
+		public void checkFoo(Type type) {
+			if (type.getName().startsWith("Foo"))
+				error("Foo", type, LangATestLanguagePackage.Literals.TYPE__NAME);
+		}
+
+		@Check(threadSafe = true)
+		public void checkMain(Main main) {
+			if (main.getTypes().size() > 10)
+				info("Many types", main, LangATestLanguagePackage.Literals.MAIN__TYPES);
+		}
+
+		@Check
+		public void checkBar(Type type) {
+			threadsOfUnsafeChecks.add(Thread.currentThread());
+			if (type.getName().startsWith("Bar"))
+				warning("Bar", type, LangATestLanguagePackage.Literals.TYPE__NAME);
+		}
+	}
+
+	private TestValidator validator;
+
+	private ResourceValidatorImpl resourceValidator;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new LangATestLanguageStandaloneSetup());
+		validator = get(TestValidator.class);
+		resourceValidator = get(ResourceValidatorImpl.class);
+	}
+
+	@Test
+	public void testSameIssuesAsSequentialValidation() throws Exception {
+		XtextResource resource = getResourceFromString(createModel(200));
+		List<Issue> sequential = resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
+		resourceValidator.setParallelValidation(true);
+		List<Issue> parallel = resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
+		assertEquals(sequential.size(), parallel.size());
+		assertEquals(toStrings(sequential).size(), toStrings(parallel).size());
+		assertTrue(toStrings(parallel).containsAll(toStrings(sequential)));
+		assertEquals(201, sequential.size());
+	}
+
+	@Test
+	public void testStableOrder() throws Exception {
+		XtextResource resource = getResourceFromString(createModel(200));
+		resourceValidator.setParallelValidation(true);
+		List<String> first = toStrings(resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl));
+		for (int i = 0; i < 10; i++) {
+			assertEquals(first, toStrings(resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl)));
+		}
+	}
+
+	@Test
+	public void testUnsafeChecksRunOnCallingThread() throws Exception {
+		XtextResource resource = getResourceFromString(createModel(200));
+		resourceValidator.setParallelValidation(true);
+		resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
+		assertEquals(Collections.singleton(Thread.currentThread()), validator.threadsOfUnsafeChecks);
+	}
+
+	@Test
+	public void testOtherValidatorsRunOnce() throws Exception {
+		XtextResource resource = getResourceFromString(createModel(20));
+		EValidator.Registry registry = get(EValidator.Registry.class);
+		Object original = registry.get(LangATestLanguagePackage.eINSTANCE);
+		final AtomicInteger validated = new AtomicInteger();
+		registry.put(LangATestLanguagePackage.eINSTANCE, new EObjectValidator() {
+			@Override
+			public boolean validate(EClass eClass, EObject eObject, DiagnosticChain diagnostics,
+					Map<Object, Object> context) {
+				validated.incrementAndGet();
+				return true;
+			}
+		});
+		try {
+			resourceValidator.setParallelValidation(true);
+			resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
+			assertEquals(21, validated.get());
+		} finally {
+			registry.put(LangATestLanguagePackage.eINSTANCE, original);
+		}
+	}
+
+		@Test(expected = OperationCanceledError.class)
+	public void testCancellation() throws Exception {
+		XtextResource resource = getResourceFromString(createModel(200));
+		resourceValidator.setParallelValidation(true);
+		final int[] calls = new int[1];
+		resourceValidator.validate(resource, CheckMode.ALL, new CancelIndicator() {
+			@Override
+			public boolean isCanceled() {
+				return calls[0]++ > 50;
+			}
+		});
+	}
+
+	private String createModel(int types) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < types; i++) {
+			result.append("type ").append(i % 2 == 0 ? "Foo" : "Bar").append(i).append("\n");
+		}
+		return result.toString();
+	}
+
+	private List<String> toStrings(List<Issue> issues) {
+		List<String> result = Lists.newArrayList();
+		for (Issue issue : issues) {
+			result.add(issue.getSeverity() + ":" + issue.getMessage() + ":" + issue.getOffset());
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.validation;
+
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.build.BatchingIssueStream;
+import org.eclipse.xtext.build.BuildRequest.IStreamingValidationCallback;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.linking.LangATestLanguageStandaloneSetup;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.service.OperationCanceledError;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.IAcceptor;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+
+public class StreamingValidationTest extends AbstractXtextTests {
+
+	private static final String MODEL = "type Foo1 extends Missing\ntype Bar2\ntype Foo3\n";
+
+	private static class RecordingStream implements IResourceValidator.IssueStream {
+		private final List<String> events = Lists.newArrayList();
+
+		@Override
+		public void accept(Issue issue) {
+			events.add(issue.getSeverity() + ":" + issue.getMessage());
+		}
+
+		@Override
+		public void resourceDiagnosticsAccepted() {
+			events.add("resourceDiagnosticsAccepted");
+		}
+	}
+
+	private static class RecordingCallback implements IStreamingValidationCallback {
+		private final List<Integer> published = Lists.newArrayList();
+
+		private Iterable<Issue> result;
+
+		@Override
+		public void acceptIssues(URI validated, Iterable<Issue> issues) {
+			published.add(Iterables.size(issues));
+		}
+
+		@Override
+		public boolean afterValidate(URI validated, Iterable<Issue> issues) {
+			result = issues;
+			return true;
+		}
+	}
+
+	private ResourceValidatorImpl resourceValidator;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new LangATestLanguageStandaloneSetup());
+		get(ParallelValidationTest.TestValidator.class);
+		resourceValidator = get(ResourceValidatorImpl.class);
+	}
+
+	@Test
+	public void testResourceDiagnosticsFirst() throws Exception {
+		XtextResource resource = getResourceFromStringAndExpect(MODEL, UNKNOWN_EXPECTATION);
+		RecordingStream stream = new RecordingStream();
+		resourceValidator.streamIssues(resource, CheckMode.ALL, CancelIndicator.NullImpl, stream);
+		assertEquals(5, stream.events.size());
+		assertTrue(stream.events.get(0), stream.events.get(0).contains("Missing"));
+		assertEquals("resourceDiagnosticsAccepted", stream.events.get(1));
+		assertEquals(Lists.newArrayList("ERROR:Foo", "WARNING:Bar", "ERROR:Foo"), stream.events.subList(2, 5));
+	}
+
+	@Test
+	public void testSameIssuesAsValidate() throws Exception {
+		XtextResource resource = getResourceFromStringAndExpect(MODEL, UNKNOWN_EXPECTATION);
+		List<Issue> issues = resourceValidator.validate(resource, CheckMode.ALL, CancelIndicator.NullImpl);
+		BatchingIssueStream stream = new BatchingIssueStream(resource.getURI(), new RecordingCallback(), this, 0);
+		resourceValidator.streamIssues(resource, CheckMode.ALL, CancelIndicator.NullImpl, stream);
+		assertEquals(toStrings(issues), toStrings(stream.getIssues()));
+	}
+
+	@Test
+	public void testBatching() throws Exception {
+		XtextResource resource = getResourceFromStringAndExpect(MODEL, UNKNOWN_EXPECTATION);
+		RecordingCallback callback = new RecordingCallback();
+		BatchingIssueStream stream = new BatchingIssueStream(resource.getURI(), callback, this, Long.MAX_VALUE);
+		resourceValidator.streamIssues(resource, CheckMode.ALL, CancelIndicator.NullImpl, stream);
+		assertEquals(Lists.newArrayList(1), callback.published);
+		assertEquals(4, stream.getIssues().size());
+
+		callback = new RecordingCallback();
+		stream = new BatchingIssueStream(resource.getURI(), callback, this, 0);
+		resourceValidator.streamIssues(resource, CheckMode.ALL, CancelIndicator.NullImpl, stream);
+		assertEquals(Lists.newArrayList(1, 2, 3, 4), callback.published);
+	}
+
+	@Test
+	public void testCancellationStopsStream() throws Exception {
+		XtextResource resource = getResourceFromStringAndExpect(MODEL, UNKNOWN_EXPECTATION);
+		RecordingStream stream = new RecordingStream();
+		try {
+			resourceValidator.streamIssues(resource, CheckMode.ALL, new CancelIndicator() {
+				@Override
+				public boolean isCanceled() {
+					return true;
+				}
+			}, stream);
+			fail("expected OperationCanceledError");
+		} catch (OperationCanceledError e) {
+			assertFalse(stream.events.contains("resourceDiagnosticsAccepted"));
+		}
+	}
+
+	@Test
+	public void testCancellationDiscardsPublishedIssues() throws Exception {
+		XtextResource resource = getResourceFromStringAndExpect(MODEL, UNKNOWN_EXPECTATION);
+		RecordingCallback callback = new RecordingCallback();
+		BatchingIssueStream stream = new BatchingIssueStream(resource.getURI(), callback, this, 0);
+		resourceValidator.streamIssues(resource, CheckMode.ALL, CancelIndicator.NullImpl, stream);
+		stream.discard();
+		assertEquals(Lists.newArrayList(1, 2, 3, 4, 0), callback.published);
+		assertTrue(stream.getIssues().isEmpty());
+		stream.discard();
+		assertEquals(5, callback.published.size());
+	}
+
+	@Test
+	public void testNoStreamingIfValidateIsOverridden() throws Exception {
+		assertTrue(resourceValidator.isStreamingSupported());
+		ResourceValidatorImpl customized = new ResourceValidatorImpl() {
+			@Override
+			public List<Issue> validate(Resource resource, CheckMode mode, CancelIndicator mon) {
+				return super.validate(resource, mode, mon);
+			}
+		};
+		assertFalse(customized.isStreamingSupported());
+		customized = new ResourceValidatorImpl() {
+			@Override
+			protected IAcceptor<Issue> createAcceptor(List<Issue> result) {
+				return super.createAcceptor(result);
+			}
+		};
+		assertFalse(customized.isStreamingSupported());
+	}
+
+	private List<String> toStrings(List<Issue> issues) {
+		List<String> result = Lists.newArrayList();
+		for (Issue issue : issues) {
+			Severity severity = issue.getSeverity();
+			result.add(severity + ":" + issue.getMessage() + ":" + issue.getOffset());
+		}
+		return result;
+	}
+
+}
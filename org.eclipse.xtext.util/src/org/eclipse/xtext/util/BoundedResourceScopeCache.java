@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.util.concurrent.IUnitOfWork;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+/**
+ * A cache that stores its values in the scope of a resource like the {@link OnChangeEvictingCache}, but
+ * <ul>
+ * <li>evicts the least recently used values of a resource once their total weight exceeds the
+ * {@link #getMaximumWeight() maximum weight},</li>
+ * <li>discards only the values whose {@link InvalidationGroup invalidation group} is affected by a semantic change of
+ * the resource,</li>
+ * <li>may be read and written concurrently, e.g. by parallel validation, and</li>
+ * <li>reports its hits, misses, evictions and invalidations to the {@link ResourceScopeCacheMetrics}.</li>
+ * </ul>
+ * Values are put into the {@link #ANY_CHANGE} group unless their key is a {@link GroupedKey} or the value is
+ * {@link #get(Object, InvalidationGroup, Resource, Provider) requested} with an explicit group. Clients that inject
+ * the {@link OnChangeEvictingCache} directly are not affected by binding {@link IResourceScopeCache} to this class.
+ *
+ * @since 2.16
+ */
+@Singleton
+public class BoundedResourceScopeCache implements IResourceScopeCache {
+
+	private static final Logger log = Logger.getLogger(BoundedResourceScopeCache.class);
+
+	/**
+	 * The name of the binding of the maximum weight of the values that are cached per resource.
+	 */
+	public static final String MAXIMUM_WEIGHT = "org.eclipse.xtext.util.BoundedResourceScopeCache.maximumWeight";
+
+	public static final long DEFAULT_MAXIMUM_WEIGHT = 10000;
+
+	/**
+	 * Decides which changes of a resource invalidate a cached value. Implementations should implement
+	 * {@link Object#equals(Object) equals} and {@link Object#hashCode() hashCode} or be singletons, since each group
+	 * is asked only once per notification.
+	 */
+	public interface InvalidationGroup {
+
+		/**
+		 * @param notification
+		 *            a semantic change of an object in the resource
+		 */
+		boolean isAffectedBy(Notification notification);
+
+	}
+
+	/**
+	 * A cache key that defines the invalidation group of its value.
+	 */
+	public interface GroupedKey {
+
+		InvalidationGroup getInvalidationGroup();
+
+	}
+
+	/**
+	 * The group of values that are discarded on any semantic change, which is the behavior of the
+	 * {@link OnChangeEvictingCache}.
+	 */
+	public static final InvalidationGroup ANY_CHANGE = new InvalidationGroup() {
+		@Override
+		public boolean isAffectedBy(Notification notification) {
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return "ANY_CHANGE";
+		}
+	};
+
+	/**
+	 * Creates a group of values that depend on the given features only. Note that adding or removing an object is
+	 * reported as a change of its containment feature, not as a change of the features of the object.
+	 */
+	public static InvalidationGroup forFeatures(EStructuralFeature... features) {
+		return new FeatureGroup(ImmutableSet.copyOf(features));
+	}
+
+	private static final Object NULL = new Object();
+
+	private long maximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	/**
+	 * Sets the maximum weight of the values that are cached per resource. Affects the resources that do not have a
+	 * cache yet.
+	 */
+	@Inject(optional = true)
+	public void setMaximumWeight(@Named(MAXIMUM_WEIGHT) long maximumWeight) {
+		this.maximumWeight = maximumWeight;
+	}
+
+	@Override
+	public <T> T get(Object key, Resource resource, Provider<T> provider) {
+		return get(key, getInvalidationGroup(key), resource, provider);
+	}
+
+	/**
+	 * Try to obtain the value that is cached for the given key in the given resource. If no value is cached, the
+	 * provider is used to compute it and it is stored in the given invalidation group afterwards.
+	 */
+	public <T> T get(Object key, InvalidationGroup group, Resource resource, Provider<T> provider) {
+		if (resource == null) {
+			return provider.get();
+		}
+		CacheAdapter adapter = getOrCreate(resource);
+		Object element = adapter.internalGet(key);
+		if (element == null) {
+			ResourceScopeCacheMetrics.INSTANCE.recordMiss();
+			T value = provider.get();
+			adapter.set(key, value, group, weigh(key, value));
+			return value;
+		}
+		ResourceScopeCacheMetrics.INSTANCE.recordHit();
+		if (element == NULL) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		T result = (T) element;
+		return result;
+	}
+
+	/**
+	 * Returns the invalidation group of a value that is requested without an explicit group.
+	 */
+	protected InvalidationGroup getInvalidationGroup(Object key) {
+		if (key instanceof GroupedKey) {
+			return ((GroupedKey) key).getInvalidationGroup();
+		}
+		return ANY_CHANGE;
+	}
+
+	/**
+	 * Returns the weight of a value. The default weighs collections and maps by their size and other values by one.
+	 */
+	protected int weigh(Object key, Object value) {
+		if (value instanceof Collection<?>) {
+			return 1 + ((Collection<?>) value).size();
+		}
+		if (value instanceof Map<?, ?>) {
+			return 1 + ((Map<?, ?>) value).size();
+		}
+		return 1;
+	}
+
+	@Override
+	public void clear(Resource resource) {
+		getOrCreate(resource).clearValues();
+	}
+
+	/**
+	 * Discards the values of the given group.
+	 */
+	public void invalidate(Resource resource, InvalidationGroup group) {
+		getOrCreate(resource).invalidate(ImmutableSet.of(group));
+	}
+
+	/**
+	 * Returns the cache adapter that is associated with the resource. Will not return <code>null</code>.
+	 */
+	public CacheAdapter getOrCreate(Resource resource) {
+		CacheAdapter adapter = (CacheAdapter) EcoreUtil.getAdapter(resource.eAdapters(), CacheAdapter.class);
+		if (adapter == null) {
+			synchronized (this) {
+				adapter = (CacheAdapter) EcoreUtil.getAdapter(resource.eAdapters(), CacheAdapter.class);
+				if (adapter == null) {
+					adapter = new CacheAdapter(resource, maximumWeight);
+					resource.eAdapters().add(adapter);
+				}
+			}
+		}
+		return adapter;
+	}
+
+	/**
+	 * The transaction will be executed. While it is running, any semantic state change in the given resource will be
+	 * ignored and the cache will not be cleared.
+	 */
+	public <Result, Param extends Resource> Result execWithoutCacheClear(Param resource,
+			IUnitOfWork<Result, Param> transaction) throws WrappedException {
+		CacheAdapter cacheAdapter = getOrCreate(resource);
+		try {
+			cacheAdapter.ignoreNotifications();
+			return transaction.exec(resource);
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new WrappedException(e);
+		} finally {
+			cacheAdapter.listenToNotifications();
+		}
+	}
+
+	public static class CacheAdapter extends NonRecursiveEContentAdapter {
+
+		private final Resource resource;
+
+		private final Cache<Object, Entry> values;
+
+		/**
+		 * The groups of the cached values. May contain groups that do not have values anymore.
+		 */
+		private final Set<InvalidationGroup> groups = ConcurrentHashMap.newKeySet();
+
+		/**
+		 * Values are added under the read lock and invalidated under the write lock, so a value cannot be added to a
+		 * group while the group is being discarded.
+		 */
+		private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+		private final AtomicInteger ignoreNotificationCounter = new AtomicInteger(0);
+
+		protected CacheAdapter(Resource resource, long maximumWeight) {
+			this.resource = resource;
+			this.values = CacheBuilder.newBuilder().maximumWeight(maximumWeight)
+					.<Object, Entry> weigher((key, entry) -> entry.weight)
+					.<Object, Entry> removalListener(notification -> {
+						if (notification.getCause() == RemovalCause.SIZE) {
+							ResourceScopeCacheMetrics.INSTANCE.recordEvictions(1);
+						}
+					}).build();
+		}
+
+		public void set(Object key, Object value, InvalidationGroup group, int weight) {
+			lock.readLock().lock();
+			try {
+				groups.add(group);
+				values.put(key, new Entry(value != null ? value : NULL, group, weight));
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+
+		private Object internalGet(Object key) {
+			Entry entry = values.getIfPresent(key);
+			return entry != null ? entry.value : null;
+		}
+
+		public <T> T get(Object key) {
+			Object result = internalGet(key);
+			if (result == NULL) {
+				return null;
+			}
+			@SuppressWarnings("unchecked")
+			T value = (T) result;
+			return value;
+		}
+
+		public long size() {
+			return values.size();
+		}
+
+		public void listenToNotifications() {
+			if (ignoreNotificationCounter.decrementAndGet() < 0) {
+				throw new IllegalStateException("ignoreNotificationCounter may not be less than zero");
+			}
+		}
+
+		public void ignoreNotifications() {
+			ignoreNotificationCounter.incrementAndGet();
+		}
+
+		public boolean isIgnoreNotifications() {
+			return ignoreNotificationCounter.get() > 0;
+		}
+
+		@Override
+		public void notifyChanged(Notification notification) {
+			super.notifyChanged(notification);
+			if (ignoreNotificationCounter.get() == 0 && isSemanticStateChange(notification)) {
+				Set<InvalidationGroup> affected = ImmutableSet
+						.copyOf(groups.stream().filter(group -> group.isAffectedBy(notification)).iterator());
+				if (!affected.isEmpty()) {
+					invalidate(affected);
+				}
+			}
+		}
+
+		protected void invalidate(Set<InvalidationGroup> affected) {
+			lock.writeLock().lock();
+			try {
+				if (affected.containsAll(groups)) {
+					clearValues();
+					return;
+				}
+				int count = 0;
+				for (Iterator<Entry> iterator = values.asMap().values().iterator(); iterator.hasNext();) {
+					if (affected.contains(iterator.next().group)) {
+						iterator.remove();
+						count++;
+					}
+				}
+				groups.removeAll(affected);
+				ResourceScopeCacheMetrics.INSTANCE.recordInvalidations(count);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		public void clearValues() {
+			lock.writeLock().lock();
+			try {
+				long size = values.size();
+				if (size > 0) {
+					if (log.isDebugEnabled()) {
+						String lastSegment = resource != null && resource.getURI() != null
+								? resource.getURI().lastSegment() : "null";
+						log.debug(String.format("Clear %d cache entries for resource %s", size, lastSegment));
+					}
+					values.invalidateAll();
+					ResourceScopeCacheMetrics.INSTANCE.recordInvalidations((int) size);
+				}
+				groups.clear();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		private boolean isSemanticStateChange(Notification notification) {
+			return !notification.isTouch() && !(notification.getNewValue() instanceof Diagnostic)
+					&& !(notification.getOldValue() instanceof Diagnostic);
+		}
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == getClass();
+		}
+
+		@Override
+		protected boolean resolve() {
+			return false;
+		}
+
+		protected Resource getResource() {
+			return resource;
+		}
+	}
+
+	private static class Entry {
+
+		private final Object value;
+
+		private final InvalidationGroup group;
+
+		private final int weight;
+
+		private Entry(Object value, InvalidationGroup group, int weight) {
+			this.value = value;
+			this.group = group;
+			this.weight = weight;
+		}
+
+	}
+
+	private static class FeatureGroup implements InvalidationGroup {
+
+		private final Set<EStructuralFeature> features;
+
+		private FeatureGroup(Set<EStructuralFeature> features) {
+			this.features = features;
+		}
+
+		@Override
+		public boolean isAffectedBy(Notification notification) {
+			return features.contains(notification.getFeature());
+		}
+
+		@Override
+		public int hashCode() {
+			return features.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof FeatureGroup && features.equals(((FeatureGroup) obj).features);
+		}
+
+		@Override
+		public String toString() {
+			return "FeatureGroup " + features;
+		}
+	}
+
+}
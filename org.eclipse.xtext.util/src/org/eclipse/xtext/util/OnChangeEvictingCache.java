@@ -86,19 +86,21 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 	}
 	
 	/**
-	 * Announce a cache miss for the internal statistics of the adapter.
+	 * Announce a cache miss for the internal statistics of the adapter and the {@link ResourceScopeCacheMetrics}.
 	 * @since 2.1
 	 */
 	protected void cacheMiss(CacheAdapter adapter) {
 		adapter.cacheMiss();
+		ResourceScopeCacheMetrics.INSTANCE.recordMiss();
 	}
 	
 	/**
-	 * Announce a cache hit for the internal statistics of the adapter.
+	 * Announce a cache hit for the internal statistics of the adapter and the {@link ResourceScopeCacheMetrics}.
 	 * @since 2.1
 	 */
 	protected void cacheHit(CacheAdapter adapter) {
 		adapter.cacheHit();
+		ResourceScopeCacheMetrics.INSTANCE.recordHit();
 	}
 	
 	/**
@@ -284,6 +286,7 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 					log.debug(String.format("Clear %d cache entries for resource %s after %d hits and %d misses (quota: %d%%)", 
 							values.size(), lastSegment, hits, misses, hits + misses != 0 ? hits * 100 / (hits + misses) : 0));
 				}
+				ResourceScopeCacheMetrics.INSTANCE.recordInvalidations(values.size());
 				values.clear();
 				empty = true;
 				misses = 0;
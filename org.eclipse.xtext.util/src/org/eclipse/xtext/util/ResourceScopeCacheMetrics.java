@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide statistics of the {@link IResourceScopeCache resource scope caches}. The counters are updated by the
+ * {@link OnChangeEvictingCache} and the {@link BoundedResourceScopeCache} of all languages and may be read and
+ * {@link #reset() reset} at any time.
+ *
+ * @since 2.16
+ */
+public final class ResourceScopeCacheMetrics {
+
+	public static final ResourceScopeCacheMetrics INSTANCE = new ResourceScopeCacheMetrics();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final LongAdder invalidations = new LongAdder();
+
+	private ResourceScopeCacheMetrics() {
+	}
+
+	public void recordHit() {
+		hits.increment();
+	}
+
+	public void recordMiss() {
+		misses.increment();
+	}
+
+	/**
+	 * Records entries that have been removed to keep a cache within its bounds.
+	 */
+	public void recordEvictions(int count) {
+		evictions.add(count);
+	}
+
+	/**
+	 * Records entries that have been removed because the content of their resource has changed.
+	 */
+	public void recordInvalidations(int count) {
+		invalidations.add(count);
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	public long getInvalidationCount() {
+		return invalidations.sum();
+	}
+
+	/**
+	 * @return the ratio of hits to all requests, or <code>1.0</code> if there have been no requests
+	 */
+	public double getHitRate() {
+		long hitCount = getHitCount();
+		long requestCount = hitCount + getMissCount();
+		return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+	}
+
+	public void reset() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+		invalidations.reset();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("hits: %d, misses: %d (hit rate: %d%%), evictions: %d, invalidations: %d", getHitCount(),
+				getMissCount(), Math.round(getHitRate() * 100), getEvictionCount(), getInvalidationCount());
+	}
+
+}
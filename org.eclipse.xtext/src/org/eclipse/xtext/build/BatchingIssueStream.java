@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.build;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.build.BuildRequest.IStreamingValidationCallback;
+import org.eclipse.xtext.validation.IResourceValidator;
+import org.eclipse.xtext.validation.Issue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Collects the issues of a streaming validation and passes them to an {@link IStreamingValidationCallback} in batches.
+ * The issues of the resource's own diagnostics are passed immediately, the issues of the semantic validation at most
+ * once per interval.
+ *
+ * @since 2.16
+ */
+public class BatchingIssueStream implements IResourceValidator.IssueStream {
+
+	private final URI uri;
+
+	private final IStreamingValidationCallback callback;
+
+	private final Object lock;
+
+	private final long interval;
+
+	private final List<Issue> issues = Lists.newArrayList();
+
+	private long lastPublished;
+
+	private boolean dirty;
+
+	private boolean published;
+
+	/**
+	 * @param lock
+	 *            the monitor that is held while the callback is called
+	 * @param interval
+	 *            the minimum time in milliseconds between two calls to the callback
+	 */
+	public BatchingIssueStream(URI uri, IStreamingValidationCallback callback, Object lock, long interval) {
+		this.uri = uri;
+		this.callback = callback;
+		this.lock = lock;
+		this.interval = interval;
+		this.lastPublished = System.currentTimeMillis();
+	}
+
+	@Override
+	public void accept(Issue issue) {
+		issues.add(issue);
+		dirty = true;
+		if (System.currentTimeMillis() - lastPublished >= interval) {
+			publish();
+		}
+	}
+
+	@Override
+	public void resourceDiagnosticsAccepted() {
+		if (dirty) {
+			publish();
+		}
+	}
+
+	protected void publish() {
+		List<Issue> copy = ImmutableList.copyOf(issues);
+		synchronized (lock) {
+			callback.acceptIssues(uri, copy);
+		}
+		dirty = false;
+		published = true;
+		lastPublished = System.currentTimeMillis();
+	}
+
+	/**
+	 * Withdraws the issues that have been published so far, e.g. because the validation was cancelled and they are
+	 * incomplete.
+	 */
+	public void discard() {
+		issues.clear();
+		dirty = false;
+		if (published) {
+			synchronized (lock) {
+				callback.acceptIssues(uri, Collections.<Issue>emptyList());
+			}
+			published = false;
+		}
+	}
+
+	/**
+	 * @return all issues that have been accepted so far.
+	 */
+	public List<Issue> getIssues() {
+		return issues;
+	}
+
+}
@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.build
 
+import java.util.concurrent.ExecutorService
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.xtend.lib.annotations.Accessors
@@ -28,6 +29,19 @@ class BuildContext {
 	@Accessors val IResourceClusteringPolicy clusteringPolicy
 	@Accessors val CancelIndicator cancelIndicator
 	
+	/**
+	 * The executor used to process the resources of a cluster in parallel, or <code>null</code>.
+	 * @since 2.16
+	 */
+	@Accessors ExecutorService executor
+	
+	/**
+	 * The executor used to load and index the resources of a cluster in parallel, or <code>null</code> to use the
+	 * {@link #executor}.
+	 * @since 2.16
+	 */
+	@Accessors ExecutorService loadingExecutor
+	
 	ClusteringStorageAwareResourceLoader loader
 	
 	def <T> Iterable<T> executeClustered(Iterable<URI> uri, (Resource)=>T operation) {
@@ -36,6 +50,17 @@ class BuildContext {
 		return loader.executeClustered(uri.filter[canHandle], operation)
 	}
 	
+	/**
+	 * Like {@link #executeClustered(Iterable, Function1)}, but the operation only indexes the resources, so it may run on
+	 * the {@link #loadingExecutor}.
+	 * @since 2.16
+	 */
+	def <T> Iterable<T> executeClusteredIndexing(Iterable<URI> uri, (Resource)=>T operation) {
+		if(loader === null) 
+			loader = new ClusteringStorageAwareResourceLoader(this)
+		return loader.executeClustered(uri.filter[canHandle], true, operation)
+	}
+	
 	protected def boolean canHandle(URI uri) {
         val resourceServiceProvider = resourceServiceProviderProvider.apply(uri)
         if (resourceServiceProvider === null)
@@ -9,6 +9,7 @@ package org.eclipse.xtext.build
 
 import java.io.File
 import java.util.List
+import java.util.concurrent.ExecutorService
 import org.eclipse.emf.common.util.URI
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.resource.IResourceDescription
@@ -53,6 +54,34 @@ class BuildRequest {
 	XtextResourceSet resourceSet
 	CancelIndicator cancelIndicator = CancelIndicator.NullImpl
 	
+	/**
+	 * If set, the resources of a cluster are validated and generated in parallel on this executor. Their lazy cross
+	 * references are resolved on the calling thread beforehand, because resolving them may add resources to the shared
+	 * resource set. Parallel processing is only used if the {@link #resourceSet} is an
+	 * {@link org.eclipse.xtext.resource.ISynchronizable}. The validators and generators of the affected languages have
+	 * to be thread-safe.
+	 * 
+	 * @since 2.16
+	 */
+	ExecutorService parallelExecutor
+	
+	/**
+	 * If set, the resources of a cluster are loaded, i.e. read and parsed, and indexed in parallel on this executor.
+	 * Unlike the {@link #parallelExecutor}, it doesn't resolve, validate or generate the resources in parallel. Parallel
+	 * loading is only used if the {@link #resourceSet} is an {@link org.eclipse.xtext.resource.ISynchronizable}.
+	 * 
+	 * @since 2.16
+	 */
+	ExecutorService loadingExecutor
+	
+	/**
+	 * The minimum time in milliseconds between two calls to {@link IStreamingValidationCallback#acceptIssues(URI, Iterable)}
+	 * for the same resource.
+	 * 
+	 * @since 2.16
+	 */
+	long issueStreamingInterval = 250
+	
 	interface IPostValidationCallback {
 		
 		/**
@@ -61,6 +90,21 @@ class BuildRequest {
 		def boolean afterValidate(URI validated, Iterable<Issue> issues);
 	}
 	
+	/**
+	 * A validation callback that is informed about the issues of a resource while it is being validated. The syntax
+	 * and linking issues are passed as soon as they are known, the issues of the semantic validation follow in batches.
+	 * {@link #afterValidate(URI, Iterable)} is called with all issues once the validation is done.
+	 * 
+	 * @since 2.16
+	 */
+	interface IStreamingValidationCallback extends IPostValidationCallback {
+		
+		/**
+		 * @param issues all issues of the resource that have been found so far
+		 */
+		def void acceptIssues(URI validated, Iterable<Issue> issues);
+	}
+	
 	@Log private static class DefaultValidationCallback implements IPostValidationCallback {
 		
 		override afterValidate(URI validated, Iterable<Issue> issues) {
@@ -7,12 +7,21 @@
  *******************************************************************************/
 package org.eclipse.xtext.build
 
+import java.io.IOException
+import java.util.List
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
 import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.common.util.WrappedException
 import org.eclipse.emf.ecore.resource.Resource
+import org.eclipse.xtext.EcoreUtil2
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import org.eclipse.xtext.resource.IResourceServiceProviderExtension
+import org.eclipse.xtext.resource.ISynchronizable
 import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter
 import org.eclipse.xtext.resource.persistence.StorageAwareResource
+import org.eclipse.xtext.util.CancelIndicator
 
 /**
  * @author Jan Koehnlein - Initial contribution and API
@@ -23,6 +32,16 @@ class ClusteringStorageAwareResourceLoader {
 	val extension BuildContext context
 
 	def <T> Iterable<T> executeClustered(Iterable<URI> uris, (Resource)=>T operation) {
+		return executeClustered(uris, false, operation)
+	}
+
+	/**
+	 * @param indexing
+	 *            whether the operation only indexes the resources, so it may run on the
+	 *            {@link BuildContext#getLoadingExecutor() loading executor}.
+	 * @since 2.16
+	 */
+	def <T> Iterable<T> executeClustered(Iterable<URI> uris, boolean indexing, (Resource)=>T operation) {
 		var loadedURIsCount = 0
 		val sourceLevelURIs = <URI>newHashSet
 		val resources = newArrayList
@@ -31,7 +50,7 @@ class ClusteringStorageAwareResourceLoader {
 		while (iter.hasNext) {
 			val uri = iter.next
 			if (!clusteringPolicy.continueProcessing(resourceSet, uri, loadedURIsCount)) {
-				result += resources.map[operation.apply(it)]
+				result += resources.process(indexing, operation)
 				clearResourceSet
 				loadedURIsCount = 0
 			}
@@ -45,9 +64,124 @@ class ClusteringStorageAwareResourceLoader {
 				}
 				SourceLevelURIsAdapter.setSourceLevelUrisWithoutCopy(resourceSet, sourceLevelURIs)
 			}
-			resources += resourceSet.getResource(uri, true)
+			resources += uri.getOrCreateResource
+		}
+		result += resources.process(indexing, operation)
+		return result
+	}
+	
+	/**
+	 * Loads the resources of one cluster and applies the operation to them. The resources are loaded in parallel if
+	 * there is a {@link #getParallelLoadingExecutor() loading executor}. The operation is applied in parallel on the
+	 * loading executor if it only indexes the resources and on the {@link #getParallelProcessingExecutor() processing
+	 * executor} otherwise. The results are in the order of the given resources in either case.
+	 * 
+	 * @since 2.16
+	 */
+	protected def <T> List<T> process(List<Resource> resources, boolean indexing, (Resource)=>T operation) {
+		if (!isParallel) {
+			return resources.map[operation.apply(it)].toList
+		}
+		resources.load
+		val operationExecutor = if (indexing) parallelLoadingExecutor else parallelProcessingExecutor
+		if (operationExecutor === null || resources.size < 2) {
+			return resources.map[operation.apply(it)].toList
+		}
+		resources.prepareParallel(indexing)
+		return invokeAll(operationExecutor, resources.map[resource|[operation.apply(resource)] as Callable<T>])
+	}
+	
+	/**
+	 * Prepares the resources of one cluster on the calling thread before the operation is applied to them in parallel.
+	 * The contents are initialized, because derived state must not be installed concurrently. Unless the operation
+	 * only indexes the resources, the lazy cross references are resolved as well. Resolving them may load further
+	 * resources into the shared resource set, which must not happen on several threads at once.
+	 * 
+	 * @since 2.16
+	 */
+	protected def void prepareParallel(List<Resource> resources, boolean indexing) {
+		resources.forEach[contents]
+		if (!indexing) {
+			resources.forEach[EcoreUtil2.resolveLazyCrossReferences(it, CancelIndicator.NullImpl)]
+		}
+	}
+	
+	/**
+	 * Returns the resource for the given URI. If the cluster is processed in parallel, resources that are not loaded
+	 * yet are only created here, they are {@link #load(List) loaded} together with the other resources of the cluster.
+	 * 
+	 * @since 2.16
+	 */
+	protected def Resource getOrCreateResource(URI uri) {
+		if (isParallel) {
+			val resource = resourceSet.getResource(uri, false) ?: resourceSet.createResource(uri)
+			if (resource !== null)
+				return resource
+		}
+		return resourceSet.getResource(uri, true)
+	}
+	
+	/**
+	 * Loads the resources of one cluster that are not loaded yet in parallel. Reading and parsing the files is
+	 * independent per resource, the parsers create a new lexer and parser for each invocation.
+	 * 
+	 * @since 2.16
+	 */
+	protected def void load(List<Resource> resources) {
+		val loadOptions = resourceSet.loadOptions
+		invokeAll(parallelLoadingExecutor, resources.filter[!isLoaded].map [ resource |
+			[
+				try {
+					resource.load(loadOptions)
+				} catch (IOException e) {
+					throw new WrappedException(e)
+				}
+				return resource
+			] as Callable<Resource>
+		].toList)
+	}
+	
+	/**
+	 * Whether the resources are loaded in parallel.
+	 * 
+	 * @since 2.16
+	 */
+	protected def boolean isParallel() {
+		return parallelLoadingExecutor !== null
+	}
+	
+	/**
+	 * The executor that loads and indexes the resources in parallel, or <code>null</code>. Parallel loading requires an
+	 * {@link ISynchronizable} resource set.
+	 * 
+	 * @since 2.16
+	 */
+	protected def ExecutorService getParallelLoadingExecutor() {
+		if (resourceSet instanceof ISynchronizable<?>)
+			return context.loadingExecutor ?: context.executor
+		return null
+	}
+	
+	/**
+	 * The executor that resolves, validates and generates the resources in parallel, or <code>null</code>.
+	 * 
+	 * @since 2.16
+	 */
+	protected def ExecutorService getParallelProcessingExecutor() {
+		if (resourceSet instanceof ISynchronizable<?>)
+			return context.executor
+		return null
+	}
+	
+	private def <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) {
+		val result = newArrayList
+		try {
+			for (future : executor.invokeAll(tasks)) {
+				result += future.get
+			}
+		} catch (ExecutionException e) {
+			throw e.cause
 		}
-		result += resources.map[operation.apply(it)]
 		return result
 	}
 	
@@ -26,6 +26,7 @@ import org.eclipse.xtext.generator.trace.TraceRegionSerializer
 import org.eclipse.xtext.parser.IEncodingProvider
 import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceServiceProvider
+import org.eclipse.xtext.resource.ISynchronizable
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy
 import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy
 import org.eclipse.xtext.resource.persistence.SerializableResourceDescription
@@ -33,6 +34,7 @@ import org.eclipse.xtext.resource.persistence.StorageAwareResource
 import org.eclipse.xtext.service.OperationCanceledManager
 import org.eclipse.xtext.util.CancelIndicator
 import org.eclipse.xtext.validation.CheckMode
+import org.eclipse.xtext.validation.IResourceValidator
 import org.eclipse.xtext.workspace.IProjectConfigProvider
 import org.eclipse.xtext.generator.GeneratorContext
 import org.eclipse.xtext.resource.XtextResource
@@ -99,6 +101,7 @@ class IncrementalBuilder {
                 }
 		    }
 			
+			val parallel = context.executor !== null
 			val resolvedDeltas = newArrayList
 			// add deleted deltas
 			resolvedDeltas += result.resourceDeltas.filter[getNew === null]
@@ -114,7 +117,9 @@ class IncrementalBuilder {
 					val manager = serviceProvider.resourceDescriptionManager
 					val description = manager.getResourceDescription(resource);
                     val copiedDescription = SerializableResourceDescription.createCopy(description);
-                    result.newIndex.addDescription(resource.getURI, copiedDescription)
+                    if (!parallel) {
+                        result.newIndex.addDescription(resource.getURI, copiedDescription)
+                    }
                     request.cancelIndicator.checkCanceled
 					if (!request.indexOnly 
 						&& resource.validate 
@@ -126,6 +131,12 @@ class IncrementalBuilder {
 					val old = oldState.resourceDescriptions.getResourceDescription(resource.getURI)
 					return manager.createDelta(old, copiedDescription)
 				]
+			if (parallel) {
+				// the index is not modified concurrently, merge the descriptions in the order of the sequential build
+				for (delta : resolvedDeltas.filter[getNew !== null]) {
+					result.newIndex.addDescription(delta.uri, delta.getNew)
+				}
+			}
 			return new Result(request.state, resolvedDeltas)
 		}
 		
@@ -141,8 +152,28 @@ class IncrementalBuilder {
 			if (resourceValidator === null) {
 				return true
 			}
+			val callback = request.afterValidate
+			if (resourceValidator instanceof IResourceValidator.Streaming) {
+				if (callback instanceof BuildRequest.IStreamingValidationCallback && resourceValidator.isStreamingSupported) {
+					val stream = new BatchingIssueStream(resource.getURI, callback, request, request.issueStreamingInterval)
+					var completed = false
+					try {
+						resourceValidator.streamIssues(resource, CheckMode.ALL, request.cancelIndicator, stream)
+						completed = true
+					} finally {
+						if (!completed) {
+							stream.discard
+						}
+					}
+					synchronized (request) {
+						return callback.afterValidate(resource.getURI, stream.issues)
+					}
+				}
+			}
 			val validationResult = resourceValidator.validate(resource, CheckMode.ALL, null);
-			return request.afterValidate.afterValidate(resource.getURI, validationResult)
+			synchronized (request) {
+				return callback.afterValidate(resource.getURI, validationResult)
+			}
 		}
 	
 		protected def void generate(Resource resource, BuildRequest request, Source2GeneratedMapping newMappings) {
@@ -151,17 +182,23 @@ class IncrementalBuilder {
 			if (generator === null) {
 				return;
 			}
-			val previous = newMappings.deleteSource(resource.getURI)
+			val previous = synchronized (request) {
+				newMappings.deleteSource(resource.getURI)
+			}
 			val fileSystemAccess = createFileSystemAccess(serviceProvider, resource) => [
 				beforeWrite = [ uri, outputCfgName, contents |
-					newMappings.addSource2Generated(resource.getURI, uri, outputCfgName)
-					previous.remove(uri)
-					request.afterGenerateFile.apply(resource.getURI, uri)
+					synchronized (request) {
+						newMappings.addSource2Generated(resource.getURI, uri, outputCfgName)
+						previous.remove(uri)
+						request.afterGenerateFile.apply(resource.getURI, uri)
+					}
 					return contents
 				]
 				beforeDelete = [ uri |
-					newMappings.deleteGenerated(uri)
-					request.afterDeleteFile.apply(uri)
+					synchronized (request) {
+						newMappings.deleteGenerated(uri)
+						request.afterDeleteFile.apply(uri)
+					}
 					return true
 				]
 			]
@@ -179,7 +216,9 @@ class IncrementalBuilder {
 			// delete everything that was previously generated, but not this time
 			previous.forEach[
 				context.resourceSet.getURIConverter.delete(it, emptyMap)
-				request.getAfterDeleteFile.apply(it)
+				synchronized (request) {
+					request.getAfterDeleteFile.apply(it)
+				}
 			]
 		}
 		
@@ -234,6 +273,10 @@ class IncrementalBuilder {
 									, oldState
 									, clusteringPolicy,
 									request.cancelIndicator)
+		if (resourceSet instanceof ISynchronizable<?>) {
+			context.executor = request.parallelExecutor
+			context.loadingExecutor = request.loadingExecutor
+		}
 		val builder = provider.get
 		builder.setContext(context)
 		builder.setRequest(request)
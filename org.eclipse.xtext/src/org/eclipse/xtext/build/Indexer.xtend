@@ -98,7 +98,7 @@ class Indexer {
 		ResourceDescriptionsData oldIndex, extension BuildContext context) {
 		try {
 			compilerPhases.setIndexing(resourceSet, true)
-			return affectedUris.executeClustered [
+			return affectedUris.executeClusteredIndexing [
 				addToIndex(true, oldIndex, context)
 			].toList
 		} finally {
@@ -132,7 +132,13 @@ class Indexer {
 		}
 	}
 
-	@Log protected static class ResolvedResourceDescription extends AbstractResourceDescription {
+	/**
+	 * The exported objects of a resource during the indexing phase of a build. Its reference descriptions and imported
+	 * names are not known yet.
+	 * 
+	 * @since 2.16 public
+	 */
+	@Log static class ResolvedResourceDescription extends AbstractResourceDescription {
 
 		@Accessors(PUBLIC_GETTER)
 		URI URI
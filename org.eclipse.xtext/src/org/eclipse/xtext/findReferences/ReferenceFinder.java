@@ -9,6 +9,10 @@ package org.eclipse.xtext.findReferences;
 
 import static com.google.common.collect.Iterables.*;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -27,6 +31,8 @@ import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 
 import com.google.common.base.Predicate;
@@ -170,7 +176,7 @@ public class ReferenceFinder implements IReferenceFinder {
 	public void findAllReferences(TargetURIs targetURIs, IResourceAccess resourceAccess,
 			IResourceDescriptions indexData, Acceptor acceptor, IProgressMonitor monitor) {
 		if (!targetURIs.isEmpty()) {
-			Iterable<IResourceDescription> allResourceDescriptions = indexData.getAllResourceDescriptions();
+			Iterable<IResourceDescription> allResourceDescriptions = getCandidateResourceDescriptions(targetURIs, indexData);
 			SubMonitor subMonitor = SubMonitor.convert(monitor, size(allResourceDescriptions) / MONITOR_CHUNK_SIZE + 1);
 			IProgressMonitor useMe = subMonitor.newChild(1);
 			int i = 0;
@@ -187,6 +193,51 @@ public class ReferenceFinder implements IReferenceFinder {
 		}
 	}
 
+	/**
+	 * Returns the descriptions that {@link #findAllReferences(TargetURIs, IResourceAccess, IResourceDescriptions, Acceptor, IProgressMonitor)}
+	 * searches for references. If the index data is a {@link ResourceDescriptionsData} or a {@link ChunkedResourceDescriptions},
+	 * its inverted reference index is used to find the descriptions that reference a target and the descriptions of the
+	 * target resources, which may contain local references. Otherwise all descriptions are returned.
+	 * 
+	 * Language specific reference finders that match references by other criteria than the
+	 * {@link IReferenceDescription#getTargetEObjectUri() target URI} should override this method and return
+	 * {@link IResourceDescriptions#getAllResourceDescriptions() all descriptions}.
+	 * 
+	 * @since 2.16
+	 */
+	protected Iterable<IResourceDescription> getCandidateResourceDescriptions(TargetURIs targetURIs,
+			IResourceDescriptions indexData) {
+		if (indexData instanceof ResourceDescriptionsData) {
+			List<IResourceDescription> result = new ArrayList<IResourceDescription>();
+			addCandidateResourceDescriptions(targetURIs, (ResourceDescriptionsData) indexData, result);
+			return result;
+		}
+		if (indexData instanceof ChunkedResourceDescriptions) {
+			ChunkedResourceDescriptions chunked = (ChunkedResourceDescriptions) indexData;
+			List<IResourceDescription> result = new ArrayList<IResourceDescription>();
+			for (String chunkName : chunked.getChunkNames()) {
+				ResourceDescriptionsData container = chunked.getContainer(chunkName);
+				if (container != null) {
+					addCandidateResourceDescriptions(targetURIs, container, result);
+				}
+			}
+			return result;
+		}
+		return indexData.getAllResourceDescriptions();
+	}
+
+	private void addCandidateResourceDescriptions(TargetURIs targetURIs, ResourceDescriptionsData data,
+			Collection<IResourceDescription> result) {
+		Set<URI> candidates = new LinkedHashSet<URI>(targetURIs.getTargetResourceURIs());
+		candidates.addAll(data.getReferencingResourceURIs(targetURIs));
+		for (URI candidate : candidates) {
+			IResourceDescription description = data.getResourceDescription(candidate);
+			if (description != null) {
+				result.add(description);
+			}
+		}
+	}
+
 	protected void findLocalReferencesFromElement(
 			Predicate<URI> targetURIs, 
 			EObject sourceCandidate,
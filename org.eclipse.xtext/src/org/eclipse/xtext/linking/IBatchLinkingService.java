@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.linking;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.xtext.linking.impl.IllegalNodeException;
+import org.eclipse.xtext.nodemodel.INode;
+
+/**
+ * A linking service that can link several nodes of the same reference at once. It is used by the
+ * {@link org.eclipse.xtext.linking.lazy.LazyLinkingResource LazyLinkingResource} if
+ * {@link org.eclipse.xtext.linking.lazy.LazyLinkingResource#BATCH_LINKING batch linking} is enabled. The result for
+ * each node must be the same as the result of {@link #getLinkedObjects(EObject, EReference, INode)} for the node and
+ * its context.
+ *
+ * @since 2.16
+ */
+public interface IBatchLinkingService extends ILinkingService {
+
+	/**
+	 * Returns the object that determines the scope of the given reference of the given object. The scope is computed
+	 * once for all objects with the same scope context.
+	 */
+	EObject getScopeContext(EObject context, EReference reference);
+
+	/**
+	 * Returns the {@link EObject}s referenced by the link text of each of the given nodes, in the order of the nodes.
+	 *
+	 * @param contexts
+	 *            the context of each node, in the order of the nodes
+	 */
+	List<List<EObject>> getLinkedObjects(List<EObject> contexts, EReference reference, List<INode> nodes)
+			throws IllegalNodeException;
+
+}
@@ -7,13 +7,19 @@
  *******************************************************************************/
 package org.eclipse.xtext.linking.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.xtext.linking.IBatchLinkingService;
 import org.eclipse.xtext.linking.LinkingScopeProviderBinding;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
 import org.eclipse.xtext.naming.QualifiedName;
@@ -21,8 +27,10 @@ import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.scoping.IScopeProvider;
+import org.eclipse.xtext.scoping.impl.AbstractScope;
 import org.eclipse.xtext.scoping.impl.IDelegatingScopeProvider;
 
+import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
@@ -33,7 +41,7 @@ import com.google.inject.Provider;
  * @author Sven Efftinge
  * @author Moritz Eysholdt
  */
-public class DefaultLinkingService extends AbstractLinkingService {
+public class DefaultLinkingService extends AbstractLinkingService implements IBatchLinkingService {
 
 	private static final Logger logger = Logger.getLogger(DefaultLinkingService.class);
 	
@@ -49,6 +57,8 @@ public class DefaultLinkingService extends AbstractLinkingService {
 	
 	@Inject
 	private IQualifiedNameConverter qualifiedNameConverter;
+	
+	private Boolean singleNodeLinkingCustomized;
 
 	protected IScope getScope(EObject context, EReference reference) {
 		if (getScopeProvider() == null)
@@ -122,6 +132,114 @@ public class DefaultLinkingService extends AbstractLinkingService {
 		return Collections.singletonList(result);
 	}
 	
+	/**
+	 * Returns the given context, i.e. the scope is computed once per object. The global scope is shared by the scopes
+	 * of all contexts of a batch nevertheless, see {@link #getLinkedObjects(List, EReference, List)}. Subclasses may
+	 * return a container if the local part of the scope does not depend on the object itself.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	public EObject getScopeContext(EObject context, EReference reference) {
+		return context;
+	}
+
+	/**
+	 * Computes the scope once per {@link #getScopeContext(EObject, EReference) scope context} and looks up all
+	 * distinct names of the nodes that share a scope at once. The scopes of all contexts share the
+	 * {@link IDelegatingScopeProvider#setSharedGlobalScopes(IScopeProvider, Map) global scope}, which is queried once
+	 * for the names that are not found locally, see {@link #getSingleElements(Map)}. If a subclass customizes
+	 * {@link #getLinkedObjects(EObject, EReference, INode)} but not this method, the nodes are linked one by one.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	public List<List<EObject>> getLinkedObjects(List<EObject> contexts, EReference ref, List<INode> nodes)
+			throws IllegalNodeException {
+		final List<List<EObject>> result = new ArrayList<List<EObject>>(nodes.size());
+		if (isSingleNodeLinkingCustomized()) {
+			for (int i = 0; i < nodes.size(); i++) {
+				result.add(getLinkedObjects(contexts.get(i), ref, nodes.get(i)));
+			}
+			return result;
+		}
+		final List<QualifiedName> linkNames = new ArrayList<QualifiedName>(nodes.size());
+		final List<IScope> scopes = new ArrayList<IScope>(nodes.size());
+		final Map<EObject, IScope> scopesByContext = Maps.newHashMap();
+		final Map<IScope, Set<QualifiedName>> namesByScope = Maps.newIdentityHashMap();
+		IDelegatingScopeProvider.setSharedGlobalScopes(getScopeProvider(), Maps.<Object, IScope> newHashMap());
+		try {
+			for (int i = 0; i < nodes.size(); i++) {
+				QualifiedName linkName = null;
+				IScope scope = null;
+				if (ref.getEReferenceType() != null) {
+					final String crossRefString = getCrossRefNodeAsString(nodes.get(i));
+					if (crossRefString != null && !crossRefString.equals("")) {
+						linkName = qualifiedNameConverter.toQualifiedName(crossRefString);
+						final EObject scopeContext = getScopeContext(contexts.get(i), ref);
+						scope = scopesByContext.get(scopeContext);
+						if (scope == null) {
+							scope = getScope(scopeContext, ref);
+							if (scope == null) {
+								throw new AssertionError(
+										"Scope provider " + scopeProvider.getClass().getName() + " must not return null for context "
+												+ scopeContext + ", reference " + ref + "! Consider to return IScope.NULLSCOPE instead.");
+							}
+							scopesByContext.put(scopeContext, scope);
+						}
+						Set<QualifiedName> names = namesByScope.get(scope);
+						if (names == null) {
+							names = new LinkedHashSet<QualifiedName>();
+							namesByScope.put(scope, names);
+						}
+						names.add(linkName);
+					}
+				}
+				linkNames.add(linkName);
+				scopes.add(scope);
+			}
+		} finally {
+			IDelegatingScopeProvider.setSharedGlobalScopes(getScopeProvider(), null);
+		}
+		final Map<IScope, Map<QualifiedName, IEObjectDescription>> descriptionsByScope = getSingleElements(namesByScope);
+		for (int i = 0; i < nodes.size(); i++) {
+			final IScope scope = scopes.get(i);
+			final IEObjectDescription eObjectDescription = scope != null ? descriptionsByScope.get(scope).get(linkNames.get(i)) : null;
+			if (eObjectDescription == null) {
+				result.add(Collections.<EObject>emptyList());
+			} else {
+				result.add(Collections.singletonList(eObjectDescription.getEObjectOrProxy()));
+			}
+		}
+		return result;
+	}
+
+	private boolean isSingleNodeLinkingCustomized() {
+		if (singleNodeLinkingCustomized == null) {
+			try {
+				Class<?> single = getClass().getMethod("getLinkedObjects", EObject.class, EReference.class, INode.class).getDeclaringClass();
+				Class<?> batch = getClass().getMethod("getLinkedObjects", List.class, EReference.class, List.class).getDeclaringClass();
+				singleNodeLinkingCustomized = !single.isAssignableFrom(batch);
+			} catch (NoSuchMethodException e) {
+				singleNodeLinkingCustomized = true;
+			} catch (SecurityException e) {
+				singleNodeLinkingCustomized = true;
+			}
+		}
+		return singleNodeLinkingCustomized;
+	}
+
+	/**
+	 * Returns the single elements of each of the given scopes for its names. Names without an element are not
+	 * contained in the result. The names that the scopes do not find locally are passed to their shared parents at
+	 * once, see {@link AbstractScope#getSingleElementsOfScopes(Map)}.
+	 * 
+	 * @since 2.16
+	 */
+	protected Map<IScope, Map<QualifiedName, IEObjectDescription>> getSingleElements(Map<IScope, ? extends Collection<QualifiedName>> namesByScope) {
+		return AbstractScope.getSingleElementsOfScopes(namesByScope);
+	}
+
 	public String getCrossRefNodeAsString(INode node) throws IllegalNodeException {
 		return linkingHelper.getCrossRefNodeAsString(node, true);
 	}
@@ -7,8 +7,10 @@
  *******************************************************************************/
 package org.eclipse.xtext.linking.impl;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
@@ -69,6 +71,17 @@ public class ImportedNamesAdapter extends AdapterImpl implements IScopeWrapper {
 			return delegate.getSingleElement(name);
 		}
 		
+		/**
+		 * @since 2.16
+		 */
+		@Override
+		public Map<QualifiedName, IEObjectDescription> getSingleElements(Collection<QualifiedName> names) {
+			for (QualifiedName name : names) {
+				importedNames.add(name.toLowerCase());
+			}
+			return delegate.getSingleElements(names);
+		}
+		
 		@Override
 		public Iterable<IEObjectDescription> getElements(final QualifiedName name) {
 			return new Iterable<IEObjectDescription>() {
@@ -100,6 +113,15 @@ public class ImportedNamesAdapter extends AdapterImpl implements IScopeWrapper {
 			return delegate.getAllElements();
 		}
 		
+		/**
+		 * @since 2.16
+		 */
+		@Override
+		public Iterable<IEObjectDescription> getElementsByPrefix(QualifiedName prefix) {
+			handleNoNameQuery();
+			return delegate.getElementsByPrefix(prefix);
+		}
+		
 		protected void handleNoNameQuery() {
 			if (log.isInfoEnabled())
 				log.info("getElements should be called with a QualifiedName during linking.");
@@ -35,6 +35,7 @@ import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.diagnostics.DiagnosticMessage;
 import org.eclipse.xtext.diagnostics.ExceptionDiagnostic;
+import org.eclipse.xtext.linking.IBatchLinkingService;
 import org.eclipse.xtext.linking.ILinkingDiagnosticMessageProvider;
 import org.eclipse.xtext.linking.ILinkingDiagnosticMessageProvider.ILinkingDiagnosticContext;
 import org.eclipse.xtext.linking.ILinkingService;
@@ -44,9 +45,11 @@ import org.eclipse.xtext.linking.impl.XtextLinkingDiagnostic;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Pair;
 import org.eclipse.xtext.util.Triple;
 import org.eclipse.xtext.util.Tuples;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
@@ -86,6 +89,13 @@ public class LazyLinkingResource extends XtextResource {
 	 */
 	public static final String CYCLIC_LINKING_DECTECTION_COUNTER_LIMIT = "CYCLIC_LINKING_DECTECTION_COUNTER_LIMIT";
 
+	/**
+	 * Enables the batch mode of {@link #resolveLazyCrossReferences(CancelIndicator)} if the linking service is an
+	 * {@link IBatchLinkingService}.
+	 * @since 2.16
+	 */
+	public static final String BATCH_LINKING = "BATCH_LINKING";
+
 	@Inject
 	private ILinkingService linkingService;
 
@@ -109,6 +119,18 @@ public class LazyLinkingResource extends XtextResource {
 
 	private int cyclicLinkingDetectionCounter = 0;
 
+	/**
+	 * @since 2.16
+	 */
+	@Named(BATCH_LINKING)
+	@Inject(optional=true)
+	protected boolean batchLinking = false;
+
+	/**
+	 * The objects that have been linked in batch mode but are not yet assigned to their proxies.
+	 */
+	private Map<Triple<EObject, EReference, INode>, List<EObject>> prefetchedLinks = null;
+
 	@Override
 	protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
 		super.doLoad(inputStream, options);
@@ -132,10 +154,160 @@ public class LazyLinkingResource extends XtextResource {
 	 * resolves any lazy cross references in this resource, adding Issues for unresolvable elements to this resource.
 	 * This resource might still contain resolvable proxies after this method has been called.
 	 * 
+	 * <p>In {@link #isBatchLinking() batch mode} the lazy proxies are collected first and linked in one batch per
+	 * reference. The {@link IBatchLinkingService} shares the scopes and name lookups within a batch.</p>
+	 * 
 	 * @param mon a {@link CancelIndicator} can be used to stop the resolution.
 	 */
 	public void resolveLazyCrossReferences(final CancelIndicator mon) {
 		final CancelIndicator monitor = mon == null ? CancelIndicator.NullImpl : mon;
+		if (isBatchLinking() && prefetchedLinks == null) {
+			prefetchedLinks = Maps.newHashMap();
+			try {
+				List<Pair<InternalEObject, EStructuralFeature>> crossRefs = prefetchLinkedObjects(monitor);
+				for (Pair<InternalEObject, EStructuralFeature> crossRef : crossRefs) {
+					operationCanceledManager.checkCanceled(monitor);
+					resolveLazyCrossReference(crossRef.getFirst(), crossRef.getSecond());
+				}
+			} finally {
+				prefetchedLinks = null;
+			}
+		} else {
+			doResolveLazyCrossReferences(monitor);
+		}
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	public boolean isBatchLinking() {
+		return batchLinking && getLinkingService() instanceof IBatchLinkingService;
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	public void setBatchLinking(boolean batchLinking) {
+		this.batchLinking = batchLinking;
+	}
+
+	/**
+	 * The lazy proxies of one reference that are linked together.
+	 */
+	private static class Batch {
+		private final List<Triple<EObject, EReference, INode>> triples = newArrayList();
+		private final List<EObject> contexts = newArrayList();
+		private final List<INode> nodes = newArrayList();
+
+		private void add(Triple<EObject, EReference, INode> triple) {
+			triples.add(triple);
+			contexts.add(triple.getFirst());
+			nodes.add(triple.getThird());
+		}
+	}
+
+	/**
+	 * Links the lazy proxies of this resource in batches and returns the cross references of all objects of this
+	 * resource, which are visited once. The linked objects are assigned by {@link #getEObject(String, Triple)} when
+	 * the returned cross references are {@link #resolveLazyCrossReference(InternalEObject, EStructuralFeature)
+	 * resolved}, so that unresolvable proxies and the diagnostics are handled the same way as in the non-batch mode.
+	 * Proxies of a batch that fails are linked one by one instead, which reports the problem.
+	 * 
+	 * @since 2.16
+	 */
+	protected List<Pair<InternalEObject, EStructuralFeature>> prefetchLinkedObjects(CancelIndicator monitor) {
+		IBatchLinkingService batchLinkingService = (IBatchLinkingService) getLinkingService();
+		Set<String> unresolveableProxies = getUnresolvableURIFragments();
+		List<Pair<InternalEObject, EStructuralFeature>> crossRefs = newArrayList();
+		Map<EReference, Batch> batches = Maps.newLinkedHashMap();
+		TreeIterator<Object> iterator = EcoreUtil.getAllContents(this, true);
+		while (iterator.hasNext()) {
+			operationCanceledManager.checkCanceled(monitor);
+			InternalEObject source = (InternalEObject) iterator.next();
+			EStructuralFeature[] eStructuralFeatures = ((EClassImpl.FeatureSubsetSupplier) source.eClass()
+					.getEAllStructuralFeatures()).crossReferences();
+			if (eStructuralFeatures != null) {
+				for (EStructuralFeature crossRef : eStructuralFeatures) {
+					crossRefs.add(Tuples.create(source, crossRef));
+					if (isPotentialLazyCrossReference(crossRef)) {
+						for (EObject proxy : getLazyProxies(source, crossRef)) {
+							String fragment = ((InternalEObject) proxy).eProxyURI().fragment();
+							if (!unresolveableProxies.contains(fragment)) {
+								Triple<EObject, EReference, INode> triple;
+								try {
+									triple = getEncoder().decode(this, fragment);
+								} catch (RuntimeException e) {
+									operationCanceledManager.propagateIfCancelException(e);
+									continue;
+								}
+								Batch batch = batches.get(triple.getSecond());
+								if (batch == null) {
+									batch = new Batch();
+									batches.put(triple.getSecond(), batch);
+								}
+								batch.add(triple);
+							}
+						}
+					}
+				}
+			}
+		}
+		for (Map.Entry<EReference, Batch> entry : batches.entrySet()) {
+			operationCanceledManager.checkCanceled(monitor);
+			Batch batch = entry.getValue();
+			List<List<EObject>> linkedObjects;
+			try {
+				linkedObjects = batchLinkingService.getLinkedObjects(batch.contexts, entry.getKey(), batch.nodes);
+			} catch (IllegalNodeException e) {
+				continue;
+			} catch (CyclicLinkingException e) {
+				continue;
+			} catch (RuntimeException e) {
+				operationCanceledManager.propagateIfCancelException(e);
+				continue;
+			}
+			for (int i = 0; i < batch.triples.size(); i++) {
+				prefetchedLinks.put(batch.triples.get(i), linkedObjects.get(i));
+			}
+		}
+		return crossRefs;
+	}
+
+	/**
+	 * Returns the lazy proxies of this resource that are the values of the given cross reference.
+	 */
+	private List<EObject> getLazyProxies(InternalEObject source, EStructuralFeature crossRef) {
+		List<EObject> result = Collections.emptyList();
+		if (crossRef.isMany()) {
+			@SuppressWarnings("unchecked")
+			InternalEList<EObject> list = (InternalEList<EObject>) source.eGet(crossRef);
+			for (int i = 0; i < list.size(); i++) {
+				EObject proxy = list.basicGet(i);
+				if (isLazyProxy(proxy)) {
+					if (result.isEmpty()) {
+						result = newArrayList();
+					}
+					result.add(proxy);
+				}
+			}
+		} else {
+			EObject proxy = (EObject) source.eGet(crossRef, false);
+			if (isLazyProxy(proxy)) {
+				result = Collections.singletonList(proxy);
+			}
+		}
+		return result;
+	}
+
+	private boolean isLazyProxy(EObject proxy) {
+		if (proxy != null && proxy.eIsProxy()) {
+			URI proxyURI = ((InternalEObject) proxy).eProxyURI();
+			return getURI().equals(proxyURI.trimFragment()) && getEncoder().isCrossLinkFragment(this, proxyURI.fragment());
+		}
+		return false;
+	}
+
+	private void doResolveLazyCrossReferences(CancelIndicator monitor) {
 		TreeIterator<Object> iterator = EcoreUtil.getAllContents(this, true);
 		while (iterator.hasNext()) {
 			operationCanceledManager.checkCanceled(monitor);
@@ -262,10 +434,7 @@ public class LazyLinkingResource extends XtextResource {
 				return null;
 			EReference reference = triple.getSecond();
 			try {
-				List<EObject> linkedObjects = getLinkingService().getLinkedObjects(
-						triple.getFirst(), 
-						reference,
-						triple.getThird());
+				List<EObject> linkedObjects = getLinkedObjects(triple);
 	
 				if (linkedObjects.isEmpty()) {
 					if (isUnresolveableProxyCacheable(triple))
@@ -312,6 +481,17 @@ public class LazyLinkingResource extends XtextResource {
 		}
 	}
 
+	private List<EObject> getLinkedObjects(Triple<EObject, EReference, INode> triple) throws IllegalNodeException {
+		Map<Triple<EObject, EReference, INode>, List<EObject>> prefetched = prefetchedLinks;
+		if (prefetched != null) {
+			List<EObject> result = prefetched.remove(triple);
+			if (result != null) {
+				return result;
+			}
+		}
+		return getLinkingService().getLinkedObjects(triple.getFirst(), triple.getSecond(), triple.getThird());
+	}
+
 	/**
 	 * @since 2.1
 	 */
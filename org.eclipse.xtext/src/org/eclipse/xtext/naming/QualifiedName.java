@@ -508,6 +508,32 @@ public class QualifiedName implements Comparable<QualifiedName> {
 		}
 	}
 
+	/**
+	 * Returns whether this name starts with the given prefix, ignoring case. In contrast to
+	 * {@link #startsWithIgnoreCase(QualifiedName)}, the last segment of the prefix may be incomplete, i.e. it only has
+	 * to be a prefix of the corresponding segment of this name. E.g. <code>foo.bar.Baz</code> matches the prefixes
+	 * <code>foo.B</code> and <code>foo.bar.</code> but not <code>foo.c</code>. Every name matches the empty prefix.
+	 * 
+	 * @since 2.16
+	 */
+	public boolean matchesPrefixIgnoreCase(QualifiedName prefix) {
+		Preconditions.checkArgument(prefix != null, "prefix must not be null");
+		
+		int segmentCount = prefix.getSegmentCount();
+		if (segmentCount == 0) {
+			return true;
+		}
+		if (segmentCount > getSegmentCount()) {
+			return false;
+		}
+		for (int i = 0; i < segmentCount - 1; ++i) {
+			if (!getSegment(i).equalsIgnoreCase(prefix.getSegment(i)))
+				return false;
+		}
+		String lastSegment = prefix.getSegment(segmentCount - 1);
+		return getSegment(segmentCount - 1).regionMatches(true, 0, lastSegment, 0, lastSegment.length());
+	}
+
 	/**
 	 * Returns a canonical String representation of this using '.' as namespace delimiter. For language specific
 	 * conversion taking the concrete syntax into account see {@link IQualifiedNameConverter#toString(QualifiedName)}.
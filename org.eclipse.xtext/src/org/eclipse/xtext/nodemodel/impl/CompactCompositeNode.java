@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import org.eclipse.xtext.nodemodel.BidiIterable;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.EmptyBidiIterable;
+import org.eclipse.xtext.nodemodel.util.NodeIterable;
+import org.eclipse.xtext.nodemodel.util.SingletonBidiIterable;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A view on a composite node of a {@link CompactNodeModel}.
+ *
+ * @since 2.16
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@Beta
+public class CompactCompositeNode extends CompactNode implements ICompositeNode {
+
+	protected CompactCompositeNode(CompactNodeModel model, int index) {
+		super(model, index);
+	}
+
+	@Override
+	public BidiIterable<INode> getChildren() {
+		if (hasChildren()) {
+			INode firstChild = getFirstChild();
+			if (firstChild.hasSiblings()) {
+				return new NodeIterable(firstChild);
+			} else {
+				return SingletonBidiIterable.<INode>create(firstChild);
+			}
+		}
+		return EmptyBidiIterable.instance();
+	}
+
+	@Override
+	public boolean hasChildren() {
+		return getModel().getFirstChild(getIndex()) >= 0;
+	}
+
+	@Override
+	public INode getFirstChild() {
+		return getModel().getNode(getModel().getFirstChild(getIndex()));
+	}
+
+	@Override
+	public INode getLastChild() {
+		return getModel().getNode(getModel().getLastChild(getIndex()));
+	}
+
+	@Override
+	public int getLookAhead() {
+		return getModel().getLookAhead(getIndex());
+	}
+
+	@Override
+	public String getText() {
+		if (getIndex() == 0) {
+			return getModel().getText();
+		}
+		return super.getText();
+	}
+
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.INode;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A view on a composite node of a {@link CompactNodeModel} that is associated with a semantic element. There is
+ * exactly one instance per node, since it is attached to the semantic element as an adapter.
+ *
+ * @since 2.16
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@Beta
+public class CompactCompositeNodeWithSemanticElement extends CompactCompositeNode implements Adapter {
+
+	protected CompactCompositeNodeWithSemanticElement(CompactNodeModel model, int index) {
+		super(model, index);
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		// ignore
+	}
+
+	@Override
+	public Notifier getTarget() {
+		return getModel().basicGetSemanticElement(getIndex());
+	}
+
+	@Override
+	public void setTarget(Notifier newTarget) {
+		if (newTarget == null || newTarget instanceof EObject)
+			getModel().basicSetSemanticElement(getIndex(), (EObject) newTarget);
+		else
+			throw new IllegalArgumentException("Notifier must be an Eobject");
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type instanceof Class<?> && INode.class.isAssignableFrom((Class<?>) type);
+	}
+
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import java.util.Iterator;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.BidiTreeIterable;
+import org.eclipse.xtext.nodemodel.BidiTreeIterator;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
+import org.eclipse.xtext.nodemodel.util.NodeTreeIterator;
+import org.eclipse.xtext.nodemodel.util.ReversedBidiTreeIterable;
+import org.eclipse.xtext.util.ITextRegion;
+import org.eclipse.xtext.util.ITextRegionWithLineInformation;
+import org.eclipse.xtext.util.TextRegion;
+import org.eclipse.xtext.util.TextRegionWithLineInformation;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * A view on a node of a {@link CompactNodeModel}.
+ *
+ * @since 2.16
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+@Beta
+public abstract class CompactNode implements INode, BidiTreeIterable<INode> {
+
+	private final CompactNodeModel model;
+
+	private final int index;
+
+	protected CompactNode(CompactNodeModel model, int index) {
+		this.model = model;
+		this.index = index;
+	}
+
+	public CompactNodeModel getModel() {
+		return model;
+	}
+
+	protected int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the leaf node in the subtree of this node that covers the given offset.
+	 *
+	 * @see org.eclipse.xtext.nodemodel.util.NodeModelUtils#findLeafNodeAtOffset(INode, int)
+	 */
+	public ILeafNode findLeafNodeAtOffset(int leafNodeOffset) {
+		return model.findLeafNodeAtOffset(index, leafNodeOffset);
+	}
+
+	@Override
+	public ICompositeNode getParent() {
+		return (ICompositeNode) model.getNode(model.getParent(index));
+	}
+
+	@Override
+	public boolean hasSiblings() {
+		return hasPreviousSibling() || hasNextSibling();
+	}
+
+	@Override
+	public boolean hasPreviousSibling() {
+		int parent = model.getParent(index);
+		return parent >= 0 && parent != index - 1;
+	}
+
+	@Override
+	public boolean hasNextSibling() {
+		return model.getNextSibling(index) >= 0;
+	}
+
+	@Override
+	public INode getPreviousSibling() {
+		return model.getNode(model.getPreviousSibling(index));
+	}
+
+	@Override
+	public INode getNextSibling() {
+		return model.getNode(model.getNextSibling(index));
+	}
+
+	@Override
+	public ICompositeNode getRootNode() {
+		return model.getRootNode();
+	}
+
+	@Override
+	public Iterable<ILeafNode> getLeafNodes() {
+		return new Iterable<ILeafNode>() {
+			@Override
+			public Iterator<ILeafNode> iterator() {
+				return new AbstractIterator<ILeafNode>() {
+					private int next = index;
+
+					@Override
+					protected ILeafNode computeNext() {
+						int end = model.getSubtreeEnd(index);
+						while (next < end) {
+							int candidate = next++;
+							if (!model.isComposite(candidate)) {
+								return (ILeafNode) model.getNode(candidate);
+							}
+						}
+						return endOfData();
+					}
+				};
+			}
+		};
+	}
+
+	@Override
+	public int getTotalOffset() {
+		return model.getTotalOffset(index);
+	}
+
+	@Override
+	public int getOffset() {
+		return model.getOffset(index);
+	}
+
+	@Override
+	public int getTotalLength() {
+		return model.getTotalLength(index);
+	}
+
+	@Override
+	public int getLength() {
+		return getEndOffset() - getOffset();
+	}
+
+	@Override
+	public int getTotalEndOffset() {
+		return getTotalOffset() + getTotalLength();
+	}
+
+	@Override
+	public int getEndOffset() {
+		return model.getEndOffset(index);
+	}
+
+	@Override
+	public int getTotalStartLine() {
+		return model.getLine(getTotalOffset());
+	}
+
+	@Override
+	public int getStartLine() {
+		return model.getLine(getOffset());
+	}
+
+	@Override
+	public int getTotalEndLine() {
+		return model.getLine(getTotalEndOffset());
+	}
+
+	@Override
+	public int getEndLine() {
+		return model.getLine(getEndOffset());
+	}
+
+	@Override
+	public String getText() {
+		int offset = getTotalOffset();
+		return model.getText().substring(offset, offset + getTotalLength());
+	}
+
+	@Override
+	public EObject getGrammarElement() {
+		return model.getGrammarElement(index);
+	}
+
+	@Override
+	public EObject getSemanticElement() {
+		return model.getSemanticElement(index);
+	}
+
+	@Override
+	public boolean hasDirectSemanticElement() {
+		return model.isSemanticElement(index);
+	}
+
+	@Override
+	public SyntaxErrorMessage getSyntaxErrorMessage() {
+		return model.getSyntaxErrorMessage(index);
+	}
+
+	@Override
+	public BidiTreeIterable<INode> getAsTreeIterable() {
+		return this;
+	}
+
+	@Override
+	public BidiTreeIterator<INode> iterator() {
+		return new NodeTreeIterator(this);
+	}
+
+	@Override
+	public BidiTreeIterable<INode> reverse() {
+		return new ReversedBidiTreeIterable<INode>(this);
+	}
+
+	@Override
+	public ITextRegion getTextRegion() {
+		int offset = getOffset();
+		return new TextRegion(offset, getEndOffset() - offset);
+	}
+
+	@Override
+	public ITextRegion getTotalTextRegion() {
+		return new TextRegion(getTotalOffset(), getTotalLength());
+	}
+
+	@Override
+	public ITextRegionWithLineInformation getTextRegionWithLineInformation() {
+		int offset = getOffset();
+		return getTextRegionWithLineInformation(offset, getEndOffset() - offset);
+	}
+
+	@Override
+	public ITextRegionWithLineInformation getTotalTextRegionWithLineInformation() {
+		return getTextRegionWithLineInformation(getTotalOffset(), getTotalLength());
+	}
+
+	protected ITextRegionWithLineInformation getTextRegionWithLineInformation(int offset, int length) {
+		return new TextRegionWithLineInformation(offset, length, model.getLine(offset), model.getLine(offset + length));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		if (!(obj instanceof CompactNode))
+			return false;
+		CompactNode casted = (CompactNode) obj;
+		return model == casted.model && index == casted.index;
+	}
+
+	@Override
+	public int hashCode() {
+		return model.hashCode() ^ index;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [" + index + "] " + getGrammarElement();
+	}
+
+}
@@ -0,0 +1,522 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.nodemodel.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
+import org.eclipse.xtext.parser.IParseResult;
+import org.eclipse.xtext.parser.ParseResult;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * A read-only node model that stores the nodes of a parse tree in parallel primitive arrays instead of one object per
+ * node. The nodes are numbered in pre-order, so the subtree of a node is the range from its index to its
+ * {@link #getSubtreeEnd(int) subtree end}. The {@link INode} instances are views that are created on access and
+ * compare equal if they denote the same index. Only the composite nodes that are associated with a semantic element
+ * are kept, since they are attached to the semantic element as an {@link Adapter}.
+ *
+ * <p>
+ * A compact node model is created from an existing node model, e.g. after a resource was parsed. It cannot be modified
+ * by the {@link NodeModelBuilder}, so a resource that is updated incrementally keeps a modifiable node model. It is
+ * written to a resource storage as a {@link #toRootNode() modifiable copy}.
+ * </p>
+ *
+ * @see org.eclipse.xtext.resource.XtextResource#USE_COMPACT_NODE_MODEL_BINDING
+ * @since 2.16
+ */
+@Beta
+public class CompactNodeModel {
+
+	static final byte COMPOSITE = 1;
+
+	static final byte HIDDEN = 2;
+
+	static final byte SYNTAX_ERROR = 4;
+
+	static final byte SEMANTIC_ELEMENT = 8;
+
+	/**
+	 * Returns a parse result with a compact copy of the node model of the given parse result. The semantic elements
+	 * are associated with the nodes of the compact node model.
+	 */
+	public static IParseResult compact(IParseResult parseResult) {
+		ICompositeNode rootNode = parseResult.getRootNode();
+		if (rootNode == null || rootNode instanceof CompactNode) {
+			return parseResult;
+		}
+		CompactNodeModel nodeModel = new CompactNodeModel(rootNode);
+		return new ParseResult(parseResult.getRootASTElement(), nodeModel.getRootNode(), parseResult.hasSyntaxErrors());
+	}
+
+	private final String text;
+
+	private final int[] lineBreaks;
+
+	private final int[] parents;
+
+	private final int[] subtreeEnds;
+
+	private final int[] totalOffsets;
+
+	private final int[] totalLengths;
+
+	private final int[] grammarElementIds;
+
+	private final EObject[] grammarElements;
+
+	private final int[] lookAheads;
+
+	private final byte[] flags;
+
+	private final int[] syntaxErrorIndices;
+
+	private final SyntaxErrorMessage[] syntaxErrors;
+
+	private final int[] semanticElementIndices;
+
+	private final EObject[] semanticElements;
+
+	private final CompactCompositeNodeWithSemanticElement[] semanticNodes;
+
+	private final CompactCompositeNode rootNode;
+
+	/**
+	 * Copies the given node model. The semantic elements are detached from the nodes of the given model and attached
+	 * to the nodes of this model.
+	 */
+	public CompactNodeModel(ICompositeNode rootNode) {
+		List<INode> nodes = new ArrayList<INode>();
+		for (INode node : rootNode.getAsTreeIterable()) {
+			nodes.add(node);
+		}
+		int size = nodes.size();
+		text = rootNode.getText();
+		lineBreaks = InternalNodeModelUtils.computeLineBreaks(text);
+		parents = new int[size];
+		subtreeEnds = new int[size];
+		totalOffsets = new int[size];
+		totalLengths = new int[size];
+		grammarElementIds = new int[size];
+		lookAheads = new int[size];
+		flags = new byte[size];
+		Map<EObject, Integer> grammarElementToId = new HashMap<EObject, Integer>();
+		List<Integer> errorIndices = new ArrayList<Integer>();
+		List<SyntaxErrorMessage> errors = new ArrayList<SyntaxErrorMessage>();
+		List<Integer> semanticIndices = new ArrayList<Integer>();
+		List<EObject> semantics = new ArrayList<EObject>();
+		for (int i = 0; i < size; i++) {
+			INode node = nodes.get(i);
+			int parent = -1;
+			if (i > 0) {
+				ICompositeNode parentNode = node.getParent();
+				parent = i - 1;
+				while (!parentNode.equals(nodes.get(parent))) {
+					subtreeEnds[parent] = i;
+					parent = parents[parent];
+				}
+			}
+			parents[i] = parent;
+			totalOffsets[i] = node.getTotalOffset();
+			totalLengths[i] = node.getTotalLength();
+			EObject grammarElement = node.getGrammarElement();
+			if (grammarElement == null) {
+				grammarElementIds[i] = -1;
+			} else {
+				Integer id = grammarElementToId.get(grammarElement);
+				if (id == null) {
+					id = grammarElementToId.size();
+					grammarElementToId.put(grammarElement, id);
+				}
+				grammarElementIds[i] = id;
+			}
+			byte nodeFlags = 0;
+			if (node instanceof ICompositeNode) {
+				nodeFlags |= COMPOSITE;
+				lookAheads[i] = ((ICompositeNode) node).getLookAhead();
+			} else if (node instanceof ILeafNode && ((ILeafNode) node).isHidden()) {
+				nodeFlags |= HIDDEN;
+			}
+			SyntaxErrorMessage syntaxError = node.getSyntaxErrorMessage();
+			if (syntaxError != null) {
+				nodeFlags |= SYNTAX_ERROR;
+				errorIndices.add(i);
+				errors.add(syntaxError);
+			}
+			if (node.hasDirectSemanticElement()) {
+				nodeFlags |= SEMANTIC_ELEMENT;
+				semanticIndices.add(i);
+				semantics.add(node.getSemanticElement());
+			}
+			flags[i] = nodeFlags;
+		}
+		for (int i = size - 1; i >= 0; i = parents[i]) {
+			subtreeEnds[i] = size;
+		}
+		grammarElements = new EObject[grammarElementToId.size()];
+		for (Map.Entry<EObject, Integer> entry : grammarElementToId.entrySet()) {
+			grammarElements[entry.getValue()] = entry.getKey();
+		}
+		syntaxErrorIndices = toArray(errorIndices);
+		syntaxErrors = errors.toArray(new SyntaxErrorMessage[errors.size()]);
+		semanticElementIndices = toArray(semanticIndices);
+		semanticElements = semantics.toArray(new EObject[semantics.size()]);
+		semanticNodes = new CompactCompositeNodeWithSemanticElement[semanticElements.length];
+		for (EObject semanticElement : semanticElements) {
+			removeNodeAdapters(semanticElement);
+		}
+		for (int i = 0; i < semanticNodes.length; i++) {
+			semanticNodes[i] = new CompactCompositeNodeWithSemanticElement(this, semanticElementIndices[i]);
+			semanticElements[i].eAdapters().add(semanticNodes[i]);
+		}
+		this.rootNode = size > 0 && isSemanticElement(0) ? semanticNodes[0] : new CompactCompositeNode(this, 0);
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		int[] result = new int[list.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = list.get(i);
+		}
+		return result;
+	}
+
+	private static void removeNodeAdapters(EObject semanticElement) {
+		Iterator<Adapter> adapters = semanticElement.eAdapters().iterator();
+		while (adapters.hasNext()) {
+			if (adapters.next() instanceof INode) {
+				adapters.remove();
+			}
+		}
+	}
+
+	public ICompositeNode getRootNode() {
+		return rootNode;
+	}
+
+	/**
+	 * Returns a modifiable copy of this node model, e.g. to write it to a resource storage. The nodes of the copy know
+	 * their semantic elements, but they are not attached to them.
+	 */
+	public RootNode toRootNode() {
+		int size = parents.length;
+		RootNode result = new RootNode();
+		result.basicSetCompleteContent(text);
+		result.basicSetGrammarElement(getGrammarElement(0));
+		result.basicSetLookAhead(lookAheads[0]);
+		result.basicSetSemanticElement(basicGetSemanticElement(0));
+		result.basicSetSyntaxErrorMessage(getSyntaxErrorMessage(0));
+		NodeModelBuilder builder = new NodeModelBuilder();
+		CompositeNode[] composites = new CompositeNode[size];
+		composites[0] = result;
+		for (int i = 1; i < size; i++) {
+			AbstractNode node;
+			if (isComposite(i)) {
+				composites[i] = copyCompositeNode(i);
+				node = composites[i];
+			} else {
+				node = copyLeafNode(i);
+			}
+			builder.addChild(composites[parents[i]], node);
+		}
+		return result;
+	}
+
+	private CompositeNode copyCompositeNode(int index) {
+		EObject semanticElement = basicGetSemanticElement(index);
+		SyntaxErrorMessage syntaxError = getSyntaxErrorMessage(index);
+		CompositeNode result;
+		if (semanticElement != null && syntaxError != null) {
+			CompositeNodeWithSemanticElementAndSyntaxError node = new CompositeNodeWithSemanticElementAndSyntaxError();
+			node.basicSetSemanticElement(semanticElement);
+			node.basicSetSyntaxErrorMessage(syntaxError);
+			result = node;
+		} else if (semanticElement != null) {
+			CompositeNodeWithSemanticElement node = new CompositeNodeWithSemanticElement();
+			node.basicSetSemanticElement(semanticElement);
+			result = node;
+		} else if (syntaxError != null) {
+			CompositeNodeWithSyntaxError node = new CompositeNodeWithSyntaxError();
+			node.basicSetSyntaxErrorMessage(syntaxError);
+			result = node;
+		} else {
+			result = new CompositeNode();
+		}
+		result.basicSetGrammarElement(getGrammarElement(index));
+		result.basicSetLookAhead(lookAheads[index]);
+		return result;
+	}
+
+	private LeafNode copyLeafNode(int index) {
+		SyntaxErrorMessage syntaxError = getSyntaxErrorMessage(index);
+		LeafNode result;
+		if (isHidden(index)) {
+			if (syntaxError != null) {
+				HiddenLeafNodeWithSyntaxError node = new HiddenLeafNodeWithSyntaxError();
+				node.basicSetSyntaxErrorMessage(syntaxError);
+				result = node;
+			} else {
+				result = new HiddenLeafNode();
+			}
+		} else if (syntaxError != null) {
+			LeafNodeWithSyntaxError node = new LeafNodeWithSyntaxError();
+			node.basicSetSyntaxErrorMessage(syntaxError);
+			result = node;
+		} else {
+			result = new LeafNode();
+		}
+		result.basicSetGrammarElement(getGrammarElement(index));
+		result.basicSetTotalOffset(totalOffsets[index]);
+		result.basicSetTotalLength(totalLengths[index]);
+		return result;
+	}
+
+	/**
+	 * Assigns an id to each grammar element of this node model.
+	 *
+	 * @see RootNode#fillGrammarElementToIdMap(Map, List)
+	 */
+	public void fillGrammarElementToIdMap(Map<EObject, Integer> grammarElementToIdMap,
+			List<String> grammarIdToURIMap) {
+		for (EObject grammarElement : grammarElements) {
+			if (!grammarElementToIdMap.containsKey(grammarElement)) {
+				URI uri = EcoreUtil.getURI(grammarElement);
+				if (uri == null) {
+					throw new IllegalStateException("The grammar element " + grammarElement.eClass().getName()
+							+ " does not have a URI.");
+				}
+				grammarElementToIdMap.put(grammarElement, grammarIdToURIMap.size());
+				grammarIdToURIMap.add(uri.toString());
+			}
+		}
+	}
+
+	public int getNodeCount() {
+		return parents.length;
+	}
+
+	/**
+	 * Returns the view of the node with the given index or <code>null</code> if the index is negative.
+	 */
+	public INode getNode(int index) {
+		if (index < 0) {
+			return null;
+		}
+		if (index == 0) {
+			return rootNode;
+		}
+		if (isSemanticElement(index)) {
+			return semanticNodes[Arrays.binarySearch(semanticElementIndices, index)];
+		}
+		if (isComposite(index)) {
+			return new CompactCompositeNode(this, index);
+		}
+		return new CompactLeafNode(this, index);
+	}
+
+	String getText() {
+		return text;
+	}
+
+	int getLine(int offset) {
+		return InternalNodeModelUtils.getLineAndColumn(text, lineBreaks, offset).getLine();
+	}
+
+	int[] basicGetLineBreakOffsets() {
+		return lineBreaks;
+	}
+
+	int getParent(int index) {
+		return parents[index];
+	}
+
+	int getSubtreeEnd(int index) {
+		return subtreeEnds[index];
+	}
+
+	int getFirstChild(int index) {
+		if (subtreeEnds[index] > index + 1) {
+			return index + 1;
+		}
+		return -1;
+	}
+
+	int getLastChild(int index) {
+		int end = subtreeEnds[index];
+		if (end == index + 1) {
+			return -1;
+		}
+		int result = end - 1;
+		while (parents[result] != index) {
+			result = parents[result];
+		}
+		return result;
+	}
+
+	int getNextSibling(int index) {
+		int parent = parents[index];
+		if (parent < 0) {
+			return -1;
+		}
+		int next = subtreeEnds[index];
+		if (next < subtreeEnds[parent]) {
+			return next;
+		}
+		return -1;
+	}
+
+	int getPreviousSibling(int index) {
+		int parent = parents[index];
+		if (parent < 0 || parent == index - 1) {
+			return -1;
+		}
+		int result = index - 1;
+		while (parents[result] != parent) {
+			result = parents[result];
+		}
+		return result;
+	}
+
+	int getTotalOffset(int index) {
+		return totalOffsets[index];
+	}
+
+	int getTotalLength(int index) {
+		return totalLengths[index];
+	}
+
+	/**
+	 * The offset of the first non-hidden leaf in the subtree of the given node.
+	 */
+	int getOffset(int index) {
+		int end = subtreeEnds[index];
+		int firstLeaf = -1;
+		for (int i = index; i < end; i++) {
+			if (!isComposite(i)) {
+				if (!isHidden(i)) {
+					return totalOffsets[i];
+				}
+				if (firstLeaf == -1) {
+					firstLeaf = i;
+				}
+			}
+		}
+		if (firstLeaf != -1) {
+			return totalOffsets[firstLeaf];
+		}
+		return totalOffsets[index];
+	}
+
+	/**
+	 * The end offset of the last non-hidden leaf in the subtree of the given node.
+	 */
+	int getEndOffset(int index) {
+		for (int i = subtreeEnds[index] - 1; i >= index; i--) {
+			if (!isComposite(i) && !isHidden(i)) {
+				return totalOffsets[i] + totalLengths[i];
+			}
+		}
+		return totalOffsets[index] + totalLengths[index];
+	}
+
+	EObject getGrammarElement(int index) {
+		int id = grammarElementIds[index];
+		if (id < 0) {
+			return null;
+		}
+		return grammarElements[id];
+	}
+
+	int getLookAhead(int index) {
+		return lookAheads[index];
+	}
+
+	boolean isComposite(int index) {
+		return (flags[index] & COMPOSITE) != 0;
+	}
+
+	boolean isHidden(int index) {
+		return (flags[index] & HIDDEN) != 0;
+	}
+
+	boolean isSemanticElement(int index) {
+		return (flags[index] & SEMANTIC_ELEMENT) != 0;
+	}
+
+	SyntaxErrorMessage getSyntaxErrorMessage(int index) {
+		if ((flags[index] & SYNTAX_ERROR) == 0) {
+			return null;
+		}
+		return syntaxErrors[Arrays.binarySearch(syntaxErrorIndices, index)];
+	}
+
+	/**
+	 * Returns the semantic element of the given node or of its nearest container that has one.
+	 */
+	EObject getSemanticElement(int index) {
+		for (int i = index; i >= 0; i = parents[i]) {
+			if (isSemanticElement(i)) {
+				return semanticElements[Arrays.binarySearch(semanticElementIndices, i)];
+			}
+		}
+		return null;
+	}
+
+	EObject basicGetSemanticElement(int index) {
+		if (!isSemanticElement(index)) {
+			return null;
+		}
+		return semanticElements[Arrays.binarySearch(semanticElementIndices, index)];
+	}
+
+	void basicSetSemanticElement(int index, EObject semanticElement) {
+		semanticElements[Arrays.binarySearch(semanticElementIndices, index)] = semanticElement;
+	}
+
+	/**
+	 * @see org.eclipse.xtext.nodemodel.util.NodeModelUtils#findLeafNodeAtOffset(INode, int)
+	 */
+	ILeafNode findLeafNodeAtOffset(int index, int leafNodeOffset) {
+		int candidate = index;
+		while (intersects(candidate, leafNodeOffset)) {
+			if (!isComposite(candidate)) {
+				return (ILeafNode) getNode(candidate);
+			}
+			int child = getFirstChild(candidate);
+			while (child != -1 && !intersects(child, leafNodeOffset)) {
+				if (totalOffsets[child] > leafNodeOffset) {
+					return null;
+				}
+				child = getNextSibling(child);
+			}
+			if (child == -1) {
+				return null;
+			}
+			candidate = child;
+		}
+		return null;
+	}
+
+	private boolean intersects(int index, int offset) {
+		int totalOffset = totalOffsets[index];
+		return totalOffset <= offset && totalOffset + totalLengths[index] > offset;
+	}
+
+}
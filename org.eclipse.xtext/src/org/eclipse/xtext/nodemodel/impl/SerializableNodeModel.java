@@ -33,7 +33,11 @@ public class SerializableNodeModel {
 		IParseResult parseResult = resource.getParseResult();
 		if (parseResult != null) {
 			ICompositeNode rootNode = parseResult.getRootNode();
-			root = (RootNode) rootNode;
+			if (rootNode instanceof CompactNode) {
+				root = ((CompactNode) rootNode).getModel().toRootNode();
+			} else {
+				root = (RootNode) rootNode;
+			}
 		}
 		formatVersion = 1;
 		date = new Date();
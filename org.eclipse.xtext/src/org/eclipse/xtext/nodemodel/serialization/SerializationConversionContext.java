@@ -12,6 +12,8 @@ import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.impl.CompactNode;
 import org.eclipse.xtext.nodemodel.impl.RootNode;
 import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.XtextResource;
@@ -59,8 +61,12 @@ public class SerializationConversionContext {
 	protected void fillGrammarElementToIdMap(XtextResource r) {
 		IParseResult parseResult = r.getParseResult();
 		if (parseResult != null) {
-			RootNode it = (RootNode) parseResult.getRootNode();
-			it.fillGrammarElementToIdMap(grammarElementToIdMap, grammarIdToURIMap);
+			ICompositeNode rootNode = parseResult.getRootNode();
+			if (rootNode instanceof CompactNode) {
+				((CompactNode) rootNode).getModel().fillGrammarElementToIdMap(grammarElementToIdMap, grammarIdToURIMap);
+			} else {
+				((RootNode) rootNode).fillGrammarElementToIdMap(grammarElementToIdMap, grammarIdToURIMap);
+			}
 		}
 	}
 
@@ -29,6 +29,7 @@ import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
 import org.eclipse.xtext.nodemodel.impl.AbstractNode;
+import org.eclipse.xtext.nodemodel.impl.CompactNode;
 import org.eclipse.xtext.nodemodel.impl.InternalNodeModelUtils;
 import org.eclipse.xtext.nodemodel.impl.RootNode;
 import org.eclipse.xtext.resource.EObjectAtOffsetHelper;
@@ -66,6 +67,9 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	 */
 	/* @Nullable */
 	public static ILeafNode findLeafNodeAtOffset(/* @NonNull */ INode node, int leafNodeOffset) {
+		if (node instanceof CompactNode) {
+			return ((CompactNode) node).findLeafNodeAtOffset(leafNodeOffset);
+		}
 		INode localNode = node;
 		while(!(localNode instanceof AbstractNode)) {
 			localNode = localNode.getParent();
@@ -124,7 +128,7 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	 */
 	public static LineAndColumn getLineAndColumn(INode anyNode, int documentOffset) {
 		// special treatment for inconsistent nodes such as SyntheticLinkingLeafNode
-		if (anyNode.getParent() == null && !(anyNode instanceof RootNode)) {
+		if (anyNode.getParent() == null && !(anyNode instanceof RootNode) && !(anyNode instanceof CompactNode)) {
 			return LineAndColumn.from(1,1);
 		}
 		return InternalNodeModelUtils.getLineAndColumn(anyNode, documentOffset);
@@ -58,6 +58,14 @@ public class ParseResult implements IParseResult {
 			@Override
 			@SuppressWarnings("unchecked")
 			public Iterator<INode> iterator() {
+				if (!(rootNode instanceof CompositeNode)) {
+					return Iterators.filter(rootNode.getAsTreeIterable().iterator(), new Predicate<INode>() {
+						@Override
+						public boolean apply(INode input) {
+							return input.getSyntaxErrorMessage() != null;
+						}
+					});
+				}
 				Iterator<? extends INode> result = Iterators.filter(((CompositeNode) rootNode).basicIterator(),
 						new Predicate<AbstractNode>() {
 					@Override
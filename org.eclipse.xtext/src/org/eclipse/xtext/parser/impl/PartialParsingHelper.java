@@ -38,6 +38,7 @@ import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.impl.AbstractNode;
 import org.eclipse.xtext.nodemodel.impl.CompositeNode;
 import org.eclipse.xtext.nodemodel.impl.NodeModelBuilder;
+import org.eclipse.xtext.nodemodel.impl.RootNode;
 import org.eclipse.xtext.nodemodel.impl.SyntheticCompositeNode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.parser.IParseResult;
@@ -46,10 +47,12 @@ import org.eclipse.xtext.parser.ParseException;
 import org.eclipse.xtext.parser.ParseResult;
 import org.eclipse.xtext.parser.antlr.IPartialParsingHelper;
 import org.eclipse.xtext.parser.antlr.IReferableElementsUnloader;
+import org.eclipse.xtext.parser.impl.PartialParsingStatistics.FullReparseReason;
 import org.eclipse.xtext.util.ReplaceRegion;
 import org.eclipse.xtext.util.XtextSwitch;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * @author Jan Khnlein - Initial contribution and API
@@ -59,6 +62,13 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 
 	private static final Logger log = Logger.getLogger(PartialParsingHelper.class);
 
+	/**
+	 * The name of the binding that enables the {@link #isIncrementalReparse() incremental reparse}.
+	 * 
+	 * @since 2.16
+	 */
+	public static final String INCREMENTAL_REPARSE = "org.eclipse.xtext.parser.impl.PartialParsingHelper.incrementalReparse";
+
 	@Inject
 	private IReferableElementsUnloader unloader;
 	
@@ -67,9 +77,21 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 	
 	@Inject(optional=true)
 	private TokenRegionProvider tokenRegionProvider;
+	
+	@Inject
+	private PartialParsingStatistics statistics = new PartialParsingStatistics();
+	
+	/**
+	 * Whether only the tokens around the change are relexed and the enclosing nodes are tried one after the other
+	 * before falling back to a full reparse.
+	 * 
+	 * @since 2.16
+	 */
+	@Inject(optional=true)
+	@Named(INCREMENTAL_REPARSE)
+	private boolean incrementalReparse = false;
 
 	@Override
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public IParseResult reparse(IParser parser, IParseResult previousParseResult, ReplaceRegion changedRegion) {
 		if (parser == null)
 			throw new NullPointerException("parser may not be null");
@@ -77,44 +99,80 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 			throw new NullPointerException("previousParseResult and previousParseResult.rootNode may not be null");
 		}
 		ICompositeNode oldRootNode = previousParseResult.getRootNode();
+		if (!(oldRootNode instanceof RootNode)) {
+			// e.g. a compact node model that cannot be modified
+			return fullyReparse(parser, previousParseResult, changedRegion, FullReparseReason.UNMODIFIABLE_NODE_MODEL, 0);
+		}
 		if (changedRegion.getEndOffset() > oldRootNode.getTotalLength()) {
 			log.error("Invalid " + changedRegion + " originalLength=" + oldRootNode.getTotalLength());
-			return fullyReparse(parser, previousParseResult, changedRegion);
+			return fullyReparse(parser, previousParseResult, changedRegion, FullReparseReason.INVALID_REGION, 0);
 		}
 		if (changedRegion.getOffset() >= oldRootNode.getTotalLength() && changedRegion.getText().trim().length() == 0) {
-			return fullyReparse(parser, previousParseResult, changedRegion);
+			return fullyReparse(parser, previousParseResult, changedRegion, FullReparseReason.TRAILING_WHITESPACE, 0);
 		}
 		ReplaceRegion replaceRegion;
 		if (tokenRegionProvider != null) {
-			replaceRegion = tokenRegionProvider.getTokenReplaceRegion(insertChangeIntoReplaceRegion(oldRootNode, changedRegion), changedRegion);
+			String changedText = insertChangeIntoReplaceRegion(oldRootNode, changedRegion);
+			if (incrementalReparse) {
+				replaceRegion = tokenRegionProvider.getTokenReplaceRegion(changedText, changedRegion, getLexerStartOffset(oldRootNode, changedRegion));
+			} else {
+				replaceRegion = tokenRegionProvider.getTokenReplaceRegion(changedText, changedRegion);
+			}
 		} else {
 			replaceRegion = changedRegion;
 		}
 		if (isNullEdit(oldRootNode, replaceRegion)) {
+			statistics.nullEdit();
 			return previousParseResult;
 		}
 		PartialParsingPointers parsingPointers = calculatePartialParsingPointers(previousParseResult, replaceRegion.getOffset(), replaceRegion.getLength());
 		List<ICompositeNode> validReplaceRootNodes = parsingPointers.getValidReplaceRootNodes();
 		ICompositeNode oldCompositeNode = null;
 		String reparseRegion = "";
-		for (int i = validReplaceRootNodes.size() - 1; i >= 0; --i) {
-			oldCompositeNode = validReplaceRootNodes.get(i);
-			if (!(oldCompositeNode instanceof SyntheticCompositeNode) && !isRangePartOfExceedingLookAhead((CompositeNode) oldCompositeNode, replaceRegion)) {
-				boolean replaceAtEnd = oldCompositeNode.getTotalEndOffset() == replaceRegion.getEndOffset();
-				reparseRegion = insertChangeIntoReplaceRegion(oldCompositeNode, replaceRegion);
-				if (!"".equals(reparseRegion)) {
-					if (!replaceAtEnd || !Character.isWhitespace(reparseRegion.charAt(reparseRegion.length() - 1))) {
-						if (log.isDebugEnabled()) {
-							log.debug("replace region: [" + oldCompositeNode.getTotalOffset() + " / length: " + oldCompositeNode.getTotalLength() + " of [" + oldRootNode.getTotalOffset() + " / lenght: " + oldRootNode.getTotalLength()+ "]");
+		FullReparseReason reason = FullReparseReason.NO_REPLACE_ROOT_NODE;
+		int attempts = 0;
+		int candidateIndex = validReplaceRootNodes.size();
+		do {
+			reparseRegion = "";
+			for (--candidateIndex; candidateIndex >= 0; --candidateIndex) {
+				oldCompositeNode = validReplaceRootNodes.get(candidateIndex);
+				if (!(oldCompositeNode instanceof SyntheticCompositeNode) && !isRangePartOfExceedingLookAhead((CompositeNode) oldCompositeNode, replaceRegion)) {
+					boolean replaceAtEnd = oldCompositeNode.getTotalEndOffset() == replaceRegion.getEndOffset();
+					reparseRegion = insertChangeIntoReplaceRegion(oldCompositeNode, replaceRegion);
+					if (!"".equals(reparseRegion)) {
+						if (!replaceAtEnd || !Character.isWhitespace(reparseRegion.charAt(reparseRegion.length() - 1))) {
+							if (log.isDebugEnabled()) {
+								log.debug("replace region: [" + oldCompositeNode.getTotalOffset() + " / length: " + oldCompositeNode.getTotalLength() + " of [" + oldRootNode.getTotalOffset() + " / lenght: " + oldRootNode.getTotalLength()+ "]");
+							}
+							break;	
 						}
-						break;	
 					}
 				}
 			}
-		}
-		if (oldCompositeNode == null || reparseRegion.equals("") || oldCompositeNode == oldRootNode) {
-			return fullyReparse(parser, previousParseResult, replaceRegion);
-		}
+			if (oldCompositeNode == null || reparseRegion.equals("") || oldCompositeNode == oldRootNode) {
+				break;
+			}
+			attempts++;
+			IParseResult newParseResult = parseReplaceRegion(parser, parsingPointers, oldCompositeNode, reparseRegion);
+			if (newParseResult == null) {
+				reason = FullReparseReason.SYNTAX_ERRORS;
+			} else if (!mergeIntoPreviousParseResult(previousParseResult, newParseResult, parsingPointers, oldCompositeNode, replaceRegion)) {
+				reason = FullReparseReason.NO_SEMANTIC_ELEMENT;
+			} else {
+				statistics.partialReparse(attempts);
+				return newParseResult;
+			}
+			// with the incremental reparse, an enclosing node may still be parsed without errors
+		} while (incrementalReparse && candidateIndex > 0);
+		return fullyReparse(parser, previousParseResult, replaceRegion, reason, attempts);
+	}
+
+	/**
+	 * Parses the changed text of the given node.
+	 * 
+	 * @return the new parse result or <code>null</code> if the text could not be parsed without errors.
+	 */
+	private IParseResult parseReplaceRegion(IParser parser, PartialParsingPointers parsingPointers, ICompositeNode oldCompositeNode, String reparseRegion) {
 		EObject entryRuleOrRuleCall = parsingPointers.findEntryRuleOrRuleCall(oldCompositeNode);
 		IParseResult newParseResult = null;
 		try {
@@ -126,13 +184,21 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 		}
 		if (newParseResult == null || newParseResult.hasSyntaxErrors()) {
 			// TODO: Should we reparse if the complete input was parsed?
-			// on error fully reparse
-			return fullyReparse(parser, previousParseResult, replaceRegion);
-		}
-		if (oldRootNode.equals(oldCompositeNode)) {
-			unloadSemanticObject(previousParseResult.getRootASTElement());
-			return newParseResult;
+			return null;
 		}
+		return newParseResult;
+	}
+
+	/**
+	 * Replaces the given node and its semantic element in the previous parse result with the new parse result. Nothing
+	 * is changed if the semantic element that belongs to the node cannot be determined.
+	 * 
+	 * @return whether the previous parse result has been merged into the new one.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private boolean mergeIntoPreviousParseResult(IParseResult previousParseResult, IParseResult newParseResult, PartialParsingPointers parsingPointers,
+			ICompositeNode oldCompositeNode, ReplaceRegion replaceRegion) {
+		ICompositeNode oldRootNode = previousParseResult.getRootNode();
 		EObject oldSemanticParentElement = oldCompositeNode.getParent().getSemanticElement();
 		EObject oldSemanticElement = null;
 		if (oldCompositeNode.hasDirectSemanticElement()) {
@@ -148,7 +214,7 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 					oldSemanticElement = enclosingNode.getSemanticElement();
 			}
 			if (oldSemanticElement == null)
-				return fullyReparse(parser, previousParseResult, replaceRegion);
+				return false;
 		}
 		if (oldSemanticElement == oldSemanticParentElement) {
 			throw new IllegalStateException("oldParent == oldElement");
@@ -156,7 +222,7 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 		if (oldSemanticParentElement != null) {
 			EStructuralFeature feature = oldSemanticElement.eContainingFeature();
 			if (feature == null)
-				return fullyReparse(parser, previousParseResult, replaceRegion);
+				return false;
 			oldSemanticParentElement = oldSemanticElement.eContainer();
 			if (feature.isMany()) {
 				List featureValueList = (List) oldSemanticParentElement.eGet(feature);
@@ -176,14 +242,31 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 		} else {
 			unloadSemanticObject(oldSemanticElement);
 		}
-		if (oldCompositeNode != oldRootNode) {
-			nodeModelBuilder.replaceAndTransferLookAhead(oldCompositeNode, newParseResult.getRootNode());
-			((ParseResult) newParseResult).setRootNode(oldRootNode);
-			StringBuilder builder = new StringBuilder(oldRootNode.getText());
-			replaceRegion.applyTo(builder);
-			nodeModelBuilder.setCompleteContent(oldRootNode, builder.toString());
-		} 
-		return newParseResult;
+		nodeModelBuilder.replaceAndTransferLookAhead(oldCompositeNode, newParseResult.getRootNode());
+		((ParseResult) newParseResult).setRootNode(oldRootNode);
+		StringBuilder builder = new StringBuilder(oldRootNode.getText());
+		replaceRegion.applyTo(builder);
+		nodeModelBuilder.setCompleteContent(oldRootNode, builder.toString());
+		return true;
+	}
+
+	/**
+	 * Returns the offset where relexing the changed text may start. That is the start of the token before the one that
+	 * touches the changed region, since the lexer may have looked ahead into the changed text when it matched the
+	 * token that touches it.
+	 * 
+	 * @since 2.16
+	 */
+	protected int getLexerStartOffset(ICompositeNode rootNode, ReplaceRegion changedRegion) {
+		int result = changedRegion.getOffset();
+		for (int i = 0; i < 2 && result > 0; i++) {
+			ILeafNode leaf = NodeModelUtils.findLeafNodeAtOffset(rootNode, result - 1);
+			if (leaf == null) {
+				return 0;
+			}
+			result = leaf.getTotalOffset();
+		}
+		return result;
 	}
 	
 	private boolean isRangePartOfExceedingLookAhead(CompositeNode node, ReplaceRegion replaceRegion) {
@@ -218,6 +301,11 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 		return false;
 	}
 
+	private IParseResult fullyReparse(IParser parser, IParseResult previousParseResult, ReplaceRegion replaceRegion, FullReparseReason reason, int attempts) {
+		statistics.fullReparse(reason, attempts);
+		return fullyReparse(parser, previousParseResult, replaceRegion);
+	}
+
 	protected IParseResult fullyReparse(IParser parser, IParseResult previousParseResult, ReplaceRegion replaceRegion) {
 		unloadSemanticObject(previousParseResult.getRootASTElement());
 		ICompositeNode node = previousParseResult.getRootNode();
@@ -614,5 +702,33 @@ public class PartialParsingHelper implements IPartialParsingHelper {
 	public void setTokenRegionProvider(TokenRegionProvider tokenRegionProvider) {
 		this.tokenRegionProvider = tokenRegionProvider;
 	}
+	
+	/**
+	 * @since 2.16
+	 */
+	public PartialParsingStatistics getStatistics() {
+		return statistics;
+	}
+	
+	/**
+	 * @since 2.16
+	 */
+	public void setStatistics(PartialParsingStatistics statistics) {
+		this.statistics = statistics;
+	}
+	
+	/**
+	 * @since 2.16
+	 */
+	public boolean isIncrementalReparse() {
+		return incrementalReparse;
+	}
+	
+	/**
+	 * @since 2.16
+	 */
+	public void setIncrementalReparse(boolean incrementalReparse) {
+		this.incrementalReparse = incrementalReparse;
+	}
 
 }
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.parser.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.inject.Singleton;
+
+/**
+ * Counts how the {@link PartialParsingHelper} handled the reparse requests of a language, in particular how often it
+ * had to fall back to a full reparse and why.
+ *
+ * @since 2.16
+ */
+@Singleton
+public class PartialParsingStatistics {
+
+	public enum FullReparseReason {
+		/**
+		 * The node model of the previous parse result cannot be modified, e.g. because it is a compact node model.
+		 */
+		UNMODIFIABLE_NODE_MODEL,
+		/**
+		 * The changed region does not fit into the previous text.
+		 */
+		INVALID_REGION,
+		/**
+		 * Only whitespace was appended to the end of the document.
+		 */
+		TRAILING_WHITESPACE,
+		/**
+		 * No node but the root node can be replaced.
+		 */
+		NO_REPLACE_ROOT_NODE,
+		/**
+		 * The changed text of the replaceable nodes has syntax errors.
+		 */
+		SYNTAX_ERRORS,
+		/**
+		 * The semantic element of the replaceable nodes could not be determined.
+		 */
+		NO_SEMANTIC_ELEMENT
+	}
+
+	private final AtomicLong partialReparseCount = new AtomicLong();
+
+	private final AtomicLong nullEditCount = new AtomicLong();
+
+	private final AtomicLong partialParseAttemptCount = new AtomicLong();
+
+	private final AtomicLongArray fullReparseCounts = new AtomicLongArray(FullReparseReason.values().length);
+
+	public void partialReparse(int attempts) {
+		partialReparseCount.incrementAndGet();
+		partialParseAttemptCount.addAndGet(attempts);
+	}
+
+	public void nullEdit() {
+		nullEditCount.incrementAndGet();
+	}
+
+	public void fullReparse(FullReparseReason reason, int attempts) {
+		fullReparseCounts.incrementAndGet(reason.ordinal());
+		partialParseAttemptCount.addAndGet(attempts);
+	}
+
+	/**
+	 * @return the number of reparses that only parsed a part of the document.
+	 */
+	public long getPartialReparseCount() {
+		return partialReparseCount.get();
+	}
+
+	/**
+	 * @return the number of reparses that did not change the document.
+	 */
+	public long getNullEditCount() {
+		return nullEditCount.get();
+	}
+
+	/**
+	 * @return the number of parser runs on parts of the document, including the ones that were discarded.
+	 */
+	public long getPartialParseAttemptCount() {
+		return partialParseAttemptCount.get();
+	}
+
+	/**
+	 * @return the number of reparses that fell back to parsing the whole document for the given reason.
+	 */
+	public long getFullReparseCount(FullReparseReason reason) {
+		return fullReparseCounts.get(reason.ordinal());
+	}
+
+	/**
+	 * @return the number of reparses that fell back to parsing the whole document.
+	 */
+	public long getFullReparseCount() {
+		long result = 0;
+		for (int i = 0; i < fullReparseCounts.length(); i++) {
+			result += fullReparseCounts.get(i);
+		}
+		return result;
+	}
+
+	public void reset() {
+		partialReparseCount.set(0);
+		nullEditCount.set(0);
+		partialParseAttemptCount.set(0);
+		for (int i = 0; i < fullReparseCounts.length(); i++) {
+			fullReparseCounts.set(i, 0);
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder();
+		result.append("partial: ").append(getPartialReparseCount());
+		result.append(", null edits: ").append(getNullEditCount());
+		result.append(", attempts: ").append(getPartialParseAttemptCount());
+		result.append(", full: ").append(getFullReparseCount());
+		for (FullReparseReason reason : FullReparseReason.values()) {
+			long count = getFullReparseCount(reason);
+			if (count != 0) {
+				result.append(", ").append(reason).append(": ").append(count);
+			}
+		}
+		return result.toString();
+	}
+
+}
@@ -33,10 +33,21 @@ public class TokenRegionProvider {
 	private Provider<Lexer> lexerProvider;
 
 	public ITextRegion getTokenRegion(String text, ITextRegion region) {
+		return getTokenRegion(text, region, 0);
+	}
+
+	/**
+	 * Like {@link #getTokenRegion(String, ITextRegion)} but starts lexing at the given offset which has to be the start
+	 * of a token that is not affected by the region, e.g. the start of an unchanged token that precedes it. Only the
+	 * tokens between that offset and the end of the region are relexed.
+	 * 
+	 * @since 2.16
+	 */
+	public ITextRegion getTokenRegion(String text, ITextRegion region, int lexerStartOffset) {
 		Lexer lexer = lexerProvider.get();
-		lexer.setCharStream(new ANTLRStringStream(text));
-		int currentStart = 0;
-		int currentEnd = 0;
+		lexer.setCharStream(new OffsetStringStream(text, lexerStartOffset));
+		int currentStart = lexerStartOffset;
+		int currentEnd = lexerStartOffset;
 		CommonToken nextToken = (CommonToken) lexer.nextToken();
 		int regionStart = region.getOffset();
 		int regionEnd = regionStart + region.getLength();
@@ -57,9 +68,17 @@ public class TokenRegionProvider {
 	}
 
 	public ReplaceRegion getTokenReplaceRegion(String changedText, ReplaceRegion replaceRegion) {
+		return getTokenReplaceRegion(changedText, replaceRegion, 0);
+	}
+
+	/**
+	 * @see #getTokenRegion(String, ITextRegion, int)
+	 * @since 2.16
+	 */
+	public ReplaceRegion getTokenReplaceRegion(String changedText, ReplaceRegion replaceRegion, int lexerStartOffset) {
 		int lengthDelta = replaceRegion.getText().length() - replaceRegion.getLength();
 		ITextRegion tokenRegion = getTokenRegion(changedText, new TextRegion(replaceRegion.getOffset(), replaceRegion
-				.getText().length()));
+				.getText().length()), lexerStartOffset);
 		if (tokenRegion.getOffset() == replaceRegion.getOffset()
 				&& tokenRegion.getLength() == replaceRegion.getText().length())
 			return replaceRegion;
@@ -68,4 +87,16 @@ public class TokenRegionProvider {
 					changedText.substring(tokenRegion.getOffset(), tokenRegion.getOffset() + tokenRegion.getLength()));
 	}
 
+	/**
+	 * A string stream whose read position starts at the given offset. The line information is not meaningful.
+	 */
+	private static class OffsetStringStream extends ANTLRStringStream {
+
+		private OffsetStringStream(String input, int offset) {
+			super(input);
+			this.p = offset;
+		}
+
+	}
+
 }
@@ -7,10 +7,16 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.naming.QualifiedName;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+
 /**
  * An {@link ISelectable} is something that can be queried for exported object.
  * Thereby it serves as a common abstract super concept for {@link IContainer} and 
@@ -50,4 +56,34 @@ public interface ISelectable {
 	 */
 	Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object);
 	
+	/**
+	 * Implementations that index the names of their elements should override this method, the default filters
+	 * {@link #getExportedObjectsByType(EClass) all elements of the type}.
+	 * 
+	 * @return all elements which match the given type and whose name
+	 *         {@link QualifiedName#matchesPrefixIgnoreCase(QualifiedName) matches the given prefix}, in no particular
+	 *         order. May not be <code>null</code>.
+	 * @since 2.16
+	 */
+	default Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, QualifiedName prefix) {
+		return Iterables.filter(getExportedObjectsByType(type), input -> input.getName().matchesPrefixIgnoreCase(prefix));
+	}
+	
+	/**
+	 * Looks up several names at once, e.g. to link all cross references of a resource that share a scope with a
+	 * single query. Implementations that wrap or filter another selectable should pass the names to it at once, the
+	 * default {@link #getExportedObjects(EClass, QualifiedName, boolean) looks up} the names one by one.
+	 * 
+	 * @return the elements which match the given type and name for each of the given names. Names without elements
+	 *         may be missing. May not be <code>null</code>.
+	 * @since 2.16
+	 */
+	default Map<QualifiedName, Iterable<IEObjectDescription>> getExportedObjectsByNames(EClass type, Collection<QualifiedName> names, boolean ignoreCase) {
+		Map<QualifiedName, Iterable<IEObjectDescription>> result = Maps.newHashMapWithExpectedSize(names.size());
+		for (QualifiedName name : names) {
+			result.put(name, getExportedObjects(type, name, ignoreCase));
+		}
+		return result;
+	}
+	
 }
@@ -30,10 +30,20 @@ public class SaveOptions {
 	
 	@Deprecated // see https://github.com/eclipse/xtext-core/issues/48
 	private final boolean validating;
+	
+	private final boolean streaming;
 
 	protected SaveOptions(boolean formatting, boolean validating) {
+		this(formatting, validating, false);
+	}
+	
+	/**
+	 * @since 2.16
+	 */
+	protected SaveOptions(boolean formatting, boolean validating, boolean streaming) {
 		this.formatting = formatting;
 		this.validating = validating;
+		this.streaming = streaming;
 	}
 	
 	/**
@@ -83,9 +93,19 @@ public class SaveOptions {
 		return validating;
 	}
 	
+	/**
+	 * If <code>true</code>, the serializer writes each top-level element as soon as it has been sequenced and
+	 * formatted, instead of building the complete document first.
+	 * 
+	 * @since 2.16
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+	
 	@Override
 	public String toString() {
-		return "SaveOptions [formatting=" + formatting + ", validating=" + validating + "]";
+		return "SaveOptions [formatting=" + formatting + ", validating=" + validating + ", streaming=" + streaming + "]";
 	}
 
 	@Override
@@ -94,6 +114,7 @@ public class SaveOptions {
 		int result = 1;
 		result = prime * result + (formatting ? 1231 : 1237);
 		result = prime * result + (validating ? 1231 : 1237);
+		result = prime * result + (streaming ? 1231 : 1237);
 		return result;
 	}
 
@@ -110,6 +131,8 @@ public class SaveOptions {
 			return false;
 		if (validating != other.validating)
 			return false;
+		if (streaming != other.streaming)
+			return false;
 		return true;
 	}
 
@@ -133,6 +156,7 @@ public class SaveOptions {
 	public static class Builder {
 		private boolean formatting;
 		private boolean validating;
+		private boolean streaming;
 
 		protected Builder() {
 			this.formatting = false;
@@ -150,8 +174,16 @@ public class SaveOptions {
 			return this;
 		}
 		
+		/**
+		 * @since 2.16
+		 */
+		public Builder stream() {
+			this.streaming = true;
+			return this;
+		}
+		
 		public SaveOptions getOptions() {
-			return new SaveOptions(formatting, validating);
+			return new SaveOptions(formatting, validating, streaming);
 		}
 	}
 	
@@ -32,6 +32,7 @@ import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.linking.ILinker;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.SyntaxErrorMessage;
+import org.eclipse.xtext.nodemodel.impl.CompactNodeModel;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.parser.IParseResult;
@@ -78,7 +79,24 @@ public class XtextResource extends ResourceImpl {
 
 	public static final String OPTION_ENCODING = XtextResource.class.getName() + ".DEFAULT_ENCODING";
 
+	/**
+	 * Name of the boolean binding that replaces the node model of a parsed resource by a {@link CompactNodeModel}.
+	 * 
+	 * @since 2.16
+	 */
+	public static final String USE_COMPACT_NODE_MODEL_BINDING = XtextResource.class.getName() + ".useCompactNodeModel";
+
 	private boolean validationDisabled;
+
+	@Inject(optional = true)
+	@Named(USE_COMPACT_NODE_MODEL_BINDING)
+	private boolean useCompactNodeModel = false;
+
+	/**
+	 * Set once this resource was {@link #update(int, int, String) updated}. The node model is not compacted anymore,
+	 * so it can be reparsed partially, until the resource is reparsed completely or unloaded.
+	 */
+	private boolean isIncrementallyUpdated = false;
 	
 	/**
 	 * @since 2.1
@@ -234,6 +252,7 @@ public class XtextResource extends ResourceImpl {
 	protected void doUnload() {
 		super.doUnload();
 		parseResult = null;
+		isIncrementallyUpdated = false;
 	}
 	
 	/**
@@ -257,6 +276,7 @@ public class XtextResource extends ResourceImpl {
 		}
 		try {
 			isUpdating = true;
+			isIncrementallyUpdated = true;
 			IParseResult oldParseResult = parseResult;
 			ReplaceRegion replaceRegion = new ReplaceRegion(new TextRegion(offset, replacedTextLength), newText);
 			IParseResult newParseResult;
@@ -291,7 +311,8 @@ public class XtextResource extends ResourceImpl {
 	}
 	
 	protected void updateInternalState(IParseResult newParseResult) {
-		this.parseResult = newParseResult;
+		this.parseResult = useCompactNodeModel && !isIncrementallyUpdated ? compactNodeModel(newParseResult)
+				: newParseResult;
 		EObject newRootASTElement = parseResult.getRootASTElement();
 		if (newRootASTElement != null && !containsRootElement(newRootASTElement))
 			getContents().add(0, newRootASTElement);
@@ -301,6 +322,17 @@ public class XtextResource extends ResourceImpl {
 		doLinking();
 	}
 
+	/**
+	 * Returns a parse result with a {@link CompactNodeModel compact copy} of the node model. Only called if the
+	 * {@link #USE_COMPACT_NODE_MODEL_BINDING} is enabled and the resource was not updated incrementally, since the
+	 * partial parser needs a modifiable node model.
+	 * 
+	 * @since 2.16
+	 */
+	protected IParseResult compactNodeModel(IParseResult newParseResult) {
+		return CompactNodeModel.compact(newParseResult);
+	}
+
 	/*
 	 * Extracted to allow this to be overriden from the DerivedStateAwareResource
 	 */
@@ -330,6 +362,7 @@ public class XtextResource extends ResourceImpl {
 		getContents().clear();
 		clearErrorsAndWarnings();
 		this.parseResult = null;
+		isIncrementallyUpdated = false;
 	}
 
 	protected void doLinking() {
@@ -75,6 +75,16 @@ public class DescriptionAddingContainer extends AbstractContainer {
 		return Iterables.concat(added, delegated);
 	}
 
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, QualifiedName prefix) {
+		Iterable<IEObjectDescription> added = description.getExportedObjectsByPrefix(type, prefix);
+		Iterable<IEObjectDescription> delegated = delegate.getExportedObjectsByPrefix(type, prefix);
+		return Iterables.concat(added, delegated);
+	}
+
 	@Override
 	public IResourceDescription getResourceDescription(URI uri) {
 		if (description.getURI().equals(uri))
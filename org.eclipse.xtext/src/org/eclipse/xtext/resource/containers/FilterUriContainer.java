@@ -7,6 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource.containers;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.xtext.naming.QualifiedName;
@@ -17,6 +20,7 @@ import org.eclipse.xtext.resource.impl.AbstractContainer;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 
 /**
  * A container that virtually removes a {@link IResourceDescription resource description}
@@ -81,6 +85,26 @@ public class FilterUriContainer extends AbstractContainer {
 		});
 	}
 
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Map<QualifiedName, Iterable<IEObjectDescription>> getExportedObjectsByNames(EClass type, Collection<QualifiedName> names, boolean ignoreCase) {
+		Map<QualifiedName, Iterable<IEObjectDescription>> unfiltered = delegate.getExportedObjectsByNames(type, names, ignoreCase);
+		Map<QualifiedName, Iterable<IEObjectDescription>> result = Maps.newHashMapWithExpectedSize(unfiltered.size());
+		Predicate<IEObjectDescription> filter = new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				URI resourceURI = input.getEObjectURI().trimFragment();
+				return !resourceURI.equals(filterMe);
+			}
+		};
+		for (Map.Entry<QualifiedName, Iterable<IEObjectDescription>> entry : unfiltered.entrySet()) {
+			result.put(entry.getKey(), Iterables.filter(entry.getValue(), filter));
+		}
+		return result;
+	}
+
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjectsByType(EClass type) {
 		Iterable<IEObjectDescription> unfiltered = delegate.getExportedObjectsByType(type);
@@ -93,6 +117,21 @@ public class FilterUriContainer extends AbstractContainer {
 		});
 	}
 
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, QualifiedName prefix) {
+		Iterable<IEObjectDescription> unfiltered = delegate.getExportedObjectsByPrefix(type, prefix);
+		return Iterables.filter(unfiltered, new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				URI resourceURI = input.getEObjectURI().trimFragment();
+				return !resourceURI.equals(filterMe);
+			}
+		});
+	}
+
 	@Override
 	public IResourceDescription getResourceDescription(URI uri) {
 		if (uri.equals(filterMe))
@@ -127,6 +127,16 @@ public class StateBasedContainer extends ResourceDescriptionsBasedContainer {
 		return super.getExportedObjects(type, qualifiedName, ignoreCase);
 	}
 	
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Map<QualifiedName, Iterable<IEObjectDescription>> getExportedObjectsByNames(EClass type, Collection<QualifiedName> names, boolean ignoreCase) {
+		if (isEmpty())
+			return emptyMap();
+		return super.getExportedObjectsByNames(type, names, ignoreCase);
+	}
+	
 	/**
 	 * @since 2.4
 	 */
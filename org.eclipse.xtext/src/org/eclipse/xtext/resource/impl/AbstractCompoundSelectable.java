@@ -78,5 +78,19 @@ public abstract class AbstractCompoundSelectable implements ISelectable {
 		}));
 	}
 
-	
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(final EClass type, final QualifiedName prefix) {
+		return Iterables.concat(Iterables.transform(getSelectables(), new Function<ISelectable, Iterable<IEObjectDescription>>() {
+			@Override
+			public Iterable<IEObjectDescription> apply(ISelectable from) {
+				if (from != null)
+					return from.getExportedObjectsByPrefix(type, prefix);
+				return Collections.emptyList();
+			}
+		}));
+	}
+
 }
@@ -14,8 +14,10 @@ import java.io.ObjectInput
 import java.io.ObjectOutput
 import java.io.Serializable
 import java.util.ArrayList
+import java.util.Collections
 import java.util.HashMap
 import java.util.Map
+import java.util.Set
 import java.util.concurrent.ConcurrentHashMap
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.ResourceSet
@@ -115,6 +117,13 @@ import org.eclipse.xtext.util.internal.EmfAdaptable
 		return chunk2resourceDescriptions.get(containerHandle)
 	}
 	
+	/**
+	 * @since 2.16
+	 */
+	def Set<String> getChunkNames() {
+		return Collections.unmodifiableSet(chunk2resourceDescriptions.keySet)
+	}
+	
 	override readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
 		val numChunks = in.readInt
 		for(i: 0..<numChunks) {
@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.build.Indexer;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.AbstractEObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.Strings;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A memory efficient {@link IResourceDescription} that stores its exported objects in flat arrays instead of
+ * individual {@link IEObjectDescription} instances. The {@link IEObjectDescription descriptions} that are returned by
+ * the query methods are lightweight views that are created on demand.
+ *
+ * The qualified names are passed through an interner, such that descriptions that are held by the same
+ * {@link CompactResourceDescriptionsData index} share their name instances.
+ *
+ * @since 2.16
+ */
+@Beta
+public class CompactResourceDescription extends AbstractResourceDescription {
+
+	/**
+	 * Creates a compact copy of the given description. The qualified names of the exported objects are passed through
+	 * the given interner. Only the exported objects of an {@link Indexer.ResolvedResourceDescription} are copied, since
+	 * its references and imported names are not known yet.
+	 */
+	public static CompactResourceDescription create(IResourceDescription description,
+			Function<QualifiedName, QualifiedName> nameInterner) {
+		if (description instanceof CompactResourceDescription) {
+			return (CompactResourceDescription) description;
+		}
+		return new CompactResourceDescription(description, nameInterner);
+	}
+
+	private final URI uri;
+
+	private final QualifiedName[] names;
+
+	private final EClass[] eClasses;
+
+	private final String[] fragments;
+
+	/**
+	 * Alternating keys and values of the user data per exported object, or <code>null</code> if an object does not
+	 * have user data.
+	 */
+	private final String[][] userData;
+
+	private final List<IReferenceDescription> references;
+
+	private final List<QualifiedName> importedNames;
+
+	/**
+	 * Indexes of the exported objects, sorted by the hash code of their lower case name. Computed lazily.
+	 */
+	private volatile int[] sortedByHash;
+
+	protected CompactResourceDescription(IResourceDescription description,
+			Function<QualifiedName, QualifiedName> nameInterner) {
+		this.uri = description.getURI();
+		List<IEObjectDescription> exported = ImmutableList.copyOf(description.getExportedObjects());
+		int size = exported.size();
+		names = new QualifiedName[size];
+		eClasses = new EClass[size];
+		fragments = new String[size];
+		userData = new String[size][];
+		for (int i = 0; i < size; i++) {
+			IEObjectDescription object = exported.get(i);
+			names[i] = nameInterner.apply(object.getName());
+			eClasses[i] = object.getEClass();
+			fragments[i] = object.getEObjectURI().fragment();
+			String[] keys = object.getUserDataKeys();
+			if (keys != null && keys.length != 0) {
+				String[] data = new String[keys.length * 2];
+				for (int j = 0; j < keys.length; j++) {
+					data[j * 2] = keys[j];
+					data[j * 2 + 1] = object.getUserData(keys[j]);
+				}
+				userData[i] = data;
+			}
+		}
+		if (description instanceof Indexer.ResolvedResourceDescription) {
+			// only the exported objects are known while a build indexes the affected resources
+			references = ImmutableList.of();
+			importedNames = ImmutableList.of();
+		} else {
+			references = ImmutableList.copyOf(description.getReferenceDescriptions());
+			importedNames = ImmutableList.copyOf(description.getImportedNames());
+		}
+	}
+
+	@Override
+	public URI getURI() {
+		return uri;
+	}
+
+	@Override
+	public Iterable<QualifiedName> getImportedNames() {
+		return importedNames;
+	}
+
+	@Override
+	public Iterable<IReferenceDescription> getReferenceDescriptions() {
+		return references;
+	}
+
+	/**
+	 * @return the number of exported objects.
+	 */
+	public int getExportedObjectCount() {
+		return names.length;
+	}
+
+	/**
+	 * @return the name of the exported object at the given index.
+	 */
+	public QualifiedName getName(int index) {
+		return names[index];
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return names.length == 0;
+	}
+
+	@Override
+	protected List<IEObjectDescription> computeExportedObjects() {
+		return new AbstractList<IEObjectDescription>() {
+			@Override
+			public IEObjectDescription get(int index) {
+				return new ExportedObject(index);
+			}
+
+			@Override
+			public int size() {
+				return names.length;
+			}
+		};
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects() {
+		return computeExportedObjects();
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByType(EClass type) {
+		List<IEObjectDescription> result = null;
+		for (int i = 0; i < names.length; i++) {
+			if (EcoreUtil2.isAssignableFrom(type, eClasses[i])) {
+				if (result == null) {
+					result = new ArrayList<IEObjectDescription>();
+				}
+				result.add(new ExportedObject(i));
+			}
+		}
+		return result == null ? Collections.<IEObjectDescription>emptyList() : result;
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
+		URI objectURI = EcoreUtil2.getPlatformResourceOrNormalizedURI(object);
+		if (!uri.equals(objectURI.trimFragment())) {
+			return Collections.emptyList();
+		}
+		String fragment = objectURI.fragment();
+		List<IEObjectDescription> result = null;
+		for (int i = 0; i < names.length; i++) {
+			if (fragments[i].equals(fragment)) {
+				if (result == null) {
+					result = new ArrayList<IEObjectDescription>(2);
+				}
+				result.add(new ExportedObject(i));
+			}
+		}
+		return result == null ? Collections.<IEObjectDescription>emptyList() : result;
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
+		if (names.length == 0) {
+			return Collections.emptyList();
+		}
+		int[] sorted = getSortedByHash();
+		int hash = name.toLowerCase().hashCode();
+		int index = binarySearch(sorted, hash);
+		if (index < 0) {
+			return Collections.emptyList();
+		}
+		while (index > 0 && lowerCaseHash(sorted[index - 1]) == hash) {
+			index--;
+		}
+		List<IEObjectDescription> result = null;
+		for (; index < sorted.length && lowerCaseHash(sorted[index]) == hash; index++) {
+			int candidate = sorted[index];
+			QualifiedName candidateName = names[candidate];
+			boolean matches = ignoreCase ? candidateName.equalsIgnoreCase(name) : candidateName.equals(name);
+			if (matches && EcoreUtil2.isAssignableFrom(type, eClasses[candidate])) {
+				if (result == null) {
+					result = new ArrayList<IEObjectDescription>(2);
+				}
+				result.add(new ExportedObject(candidate));
+			}
+		}
+		return result == null ? Collections.<IEObjectDescription>emptyList() : result;
+	}
+
+	private int lowerCaseHash(int index) {
+		return names[index].toLowerCase().hashCode();
+	}
+
+	private int binarySearch(int[] sorted, int hash) {
+		int low = 0;
+		int high = sorted.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midHash = lowerCaseHash(sorted[mid]);
+			if (midHash < hash) {
+				low = mid + 1;
+			} else if (midHash > hash) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private int[] getSortedByHash() {
+		int[] result = sortedByHash;
+		if (result == null) {
+			int size = names.length;
+			long[] hashAndIndex = new long[size];
+			for (int i = 0; i < size; i++) {
+				hashAndIndex[i] = ((long) lowerCaseHash(i) << 32) | i;
+			}
+			Arrays.sort(hashAndIndex);
+			result = new int[size];
+			for (int i = 0; i < size; i++) {
+				result[i] = (int) hashAndIndex[i];
+			}
+			sortedByHash = result;
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[" + uri + ", " + names.length + " exported objects]";
+	}
+
+	/**
+	 * A view on one of the exported objects of the {@link CompactResourceDescription}.
+	 */
+	protected class ExportedObject extends AbstractEObjectDescription {
+
+		private final int index;
+
+		private EObject proxy;
+
+		protected ExportedObject(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public QualifiedName getName() {
+			return names[index];
+		}
+
+		@Override
+		public QualifiedName getQualifiedName() {
+			return names[index];
+		}
+
+		@Override
+		public EObject getEObjectOrProxy() {
+			if (proxy == null) {
+				proxy = EcoreUtil.create(eClasses[index]);
+				((InternalEObject) proxy).eSetProxyURI(getEObjectURI());
+			}
+			return proxy;
+		}
+
+		@Override
+		public URI getEObjectURI() {
+			return uri.appendFragment(fragments[index]);
+		}
+
+		@Override
+		public EClass getEClass() {
+			return eClasses[index];
+		}
+
+		@Override
+		public String getUserData(String key) {
+			String[] data = userData[index];
+			if (data != null) {
+				for (int i = 0; i < data.length; i += 2) {
+					if (data[i].equals(key)) {
+						return data[i + 1];
+					}
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public String[] getUserDataKeys() {
+			String[] data = userData[index];
+			if (data == null) {
+				return Strings.EMPTY_ARRAY;
+			}
+			String[] keys = new String[data.length / 2];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = data[i * 2];
+			}
+			return keys;
+		}
+	}
+
+}
@@ -0,0 +1,464 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterables;
+
+/**
+ * A {@link ResourceDescriptionsData} with a compact, primitive keyed index. All resource descriptions are converted to
+ * {@link CompactResourceDescription compact descriptions}. The lower case names of the exported objects are interned
+ * in a {@link NameTable} and the index maps the name ids to the ids of the exporting descriptions. Most names are
+ * exported by a single resource, so the index holds a single description id per name and uses an
+ * {@link IntArrayMap open addressing map} for the others.
+ *
+ * Names are never removed from the name table of an instance, {@link #copy()} discards unused names.
+ *
+ * Like its super type, this class is not thread-safe.
+ *
+ * @since 2.16
+ */
+@Beta
+public class CompactResourceDescriptionsData extends ResourceDescriptionsData {
+
+	private static final int NONE = -1;
+
+	private static final int MULTIPLE = -2;
+
+	/** The interned lower case names, which are the keys of the index. */
+	private final NameTable keys;
+
+	/** Interns the exported names themselves, such that all descriptions share their name instances. */
+	private final NameTable exportedNames;
+
+	/** The description id per key id, or {@link #NONE} or {@link #MULTIPLE}. */
+	private int[] singleDescription;
+
+	/** The description ids for keys that are exported by more than one description. */
+	private final IntArrayMap multipleDescriptions;
+
+	private CompactResourceDescription[] descriptions;
+
+	private int[] freeDescriptionIds;
+
+	private int freeDescriptionIdCount;
+
+	private int descriptionCount;
+
+	private final Map<URI, Integer> uriToDescriptionId;
+
+	private final Function<QualifiedName, QualifiedName> nameInterner = new Function<QualifiedName, QualifiedName>() {
+		@Override
+		public QualifiedName apply(QualifiedName input) {
+			return exportedNames.get(exportedNames.intern(input));
+		}
+	};
+
+	public CompactResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
+		super(Collections.<URI, IResourceDescription>emptyMap(), Collections.<QualifiedName, Object>emptyMap());
+		int expectedSize = 500; // magic number in case it's not a Collection
+		if (descriptions instanceof Collection) {
+			expectedSize = ((Collection<?>) descriptions).size();
+		}
+		keys = new NameTable(expectedSize * 2);
+		exportedNames = new NameTable(expectedSize * 2);
+		singleDescription = new int[Math.max(16, expectedSize * 2)];
+		Arrays.fill(singleDescription, NONE);
+		multipleDescriptions = new IntArrayMap(16);
+		this.descriptions = new CompactResourceDescription[Math.max(16, expectedSize)];
+		freeDescriptionIds = new int[16];
+		uriToDescriptionId = new LinkedHashMap<URI, Integer>(expectedSize);
+		for (IResourceDescription description : descriptions) {
+			addDescription(description.getURI(), description);
+		}
+	}
+
+	@Override
+	public ResourceDescriptionsData copy() {
+		List<IResourceDescription> all = new ArrayList<IResourceDescription>(uriToDescriptionId.size());
+		Iterables.addAll(all, getAllResourceDescriptions());
+		CompactResourceDescriptionsData result = new CompactResourceDescriptionsData(all);
+		shareDerivedIndexes(result);
+		return result;
+	}
+
+	@Override
+	public Iterable<IResourceDescription> getAllResourceDescriptions() {
+		return Iterables.transform(uriToDescriptionId.values(), new Function<Integer, IResourceDescription>() {
+			@Override
+			public IResourceDescription apply(Integer id) {
+				return descriptions[id];
+			}
+		});
+	}
+
+	@Override
+	public IResourceDescription getResourceDescription(URI uri) {
+		Integer id = uriToDescriptionId.get(uri);
+		if (id == null) {
+			return null;
+		}
+		return descriptions[id];
+	}
+
+	@Override
+	public Set<URI> getAllURIs() {
+		return uriToDescriptionId.keySet();
+	}
+
+	@Override
+	protected Iterable<IResourceDescription> getSelectables() {
+		return getAllResourceDescriptions();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return uriToDescriptionId.isEmpty();
+	}
+
+	@Override
+	public void addDescription(URI uri, IResourceDescription newDescription) {
+		removeDescription(uri);
+		if (newDescription != null) {
+			CompactResourceDescription compact = CompactResourceDescription.create(newDescription, nameInterner);
+			int id = allocateDescriptionId();
+			descriptions[id] = compact;
+			uriToDescriptionId.put(uri, id);
+			int previousKey = NONE;
+			for (int i = 0, size = compact.getExportedObjectCount(); i < size; i++) {
+				int key = keys.intern(compact.getName(i).toLowerCase());
+				// consecutive objects often share a name, e.g. overloaded operations
+				if (key != previousKey) {
+					addToIndex(key, id);
+					previousKey = key;
+				}
+			}
+			updateDerivedIndexes(uri, newDescription);
+		}
+	}
+
+	@Override
+	public void removeDescription(URI uri) {
+		Integer id = uriToDescriptionId.remove(uri);
+		if (id != null) {
+			CompactResourceDescription oldDescription = descriptions[id];
+			for (int i = 0, size = oldDescription.getExportedObjectCount(); i < size; i++) {
+				int key = keys.find(oldDescription.getName(i).toLowerCase());
+				if (key != NONE) {
+					removeFromIndex(key, id);
+				}
+			}
+			descriptions[id] = null;
+			releaseDescriptionId(id);
+			updateDerivedIndexes(uri, null);
+		}
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects(final EClass type, final QualifiedName qualifiedName,
+			final boolean ignoreCase) {
+		int key = keys.find(qualifiedName.toLowerCase());
+		if (key == NONE || key >= singleDescription.length) {
+			return Collections.emptyList();
+		}
+		int single = singleDescription[key];
+		if (single >= 0) {
+			return descriptions[single].getExportedObjects(type, qualifiedName, ignoreCase);
+		} else if (single == MULTIPLE) {
+			int[] ids = multipleDescriptions.get(key);
+			List<Iterable<IEObjectDescription>> result = new ArrayList<Iterable<IEObjectDescription>>(ids[0]);
+			for (int i = 1; i <= ids[0]; i++) {
+				result.add(descriptions[ids[i]].getExportedObjects(type, qualifiedName, ignoreCase));
+			}
+			return Iterables.concat(result);
+		}
+		return Collections.emptyList();
+	}
+
+	private void addToIndex(int key, int descriptionId) {
+		if (key >= singleDescription.length) {
+			int oldLength = singleDescription.length;
+			singleDescription = Arrays.copyOf(singleDescription, Math.max(key + 1, oldLength * 2));
+			Arrays.fill(singleDescription, oldLength, singleDescription.length, NONE);
+		}
+		int existing = singleDescription[key];
+		if (existing == NONE) {
+			singleDescription[key] = descriptionId;
+		} else if (existing == MULTIPLE) {
+			int[] ids = multipleDescriptions.get(key);
+			if (!contains(ids, descriptionId)) {
+				if (ids[0] + 1 == ids.length) {
+					ids = Arrays.copyOf(ids, ids.length * 2);
+				}
+				ids[++ids[0]] = descriptionId;
+				multipleDescriptions.put(key, ids);
+			}
+		} else if (existing != descriptionId) {
+			// the first element of the array holds the number of used slots
+			multipleDescriptions.put(key, new int[] { 2, existing, descriptionId, 0 });
+			singleDescription[key] = MULTIPLE;
+		}
+	}
+
+	private void removeFromIndex(int key, int descriptionId) {
+		if (key >= singleDescription.length) {
+			return;
+		}
+		int existing = singleDescription[key];
+		if (existing == descriptionId) {
+			singleDescription[key] = NONE;
+		} else if (existing == MULTIPLE) {
+			int[] ids = multipleDescriptions.get(key);
+			int count = ids[0];
+			for (int i = 1; i <= count; i++) {
+				if (ids[i] == descriptionId) {
+					System.arraycopy(ids, i + 1, ids, i, count - i);
+					count--;
+					ids[0] = count;
+					break;
+				}
+			}
+			if (count == 1) {
+				multipleDescriptions.remove(key);
+				singleDescription[key] = ids[1];
+			}
+		}
+	}
+
+	private static boolean contains(int[] ids, int id) {
+		for (int i = 1; i <= ids[0]; i++) {
+			if (ids[i] == id) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int allocateDescriptionId() {
+		if (freeDescriptionIdCount > 0) {
+			return freeDescriptionIds[--freeDescriptionIdCount];
+		}
+		if (descriptionCount == descriptions.length) {
+			descriptions = Arrays.copyOf(descriptions, descriptions.length * 2);
+		}
+		return descriptionCount++;
+	}
+
+	private void releaseDescriptionId(int id) {
+		if (freeDescriptionIdCount == freeDescriptionIds.length) {
+			freeDescriptionIds = Arrays.copyOf(freeDescriptionIds, freeDescriptionIds.length * 2);
+		}
+		freeDescriptionIds[freeDescriptionIdCount++] = id;
+	}
+
+	/**
+	 * Interns {@link QualifiedName qualified names} and assigns them dense integer ids. The names are stored in an
+	 * array and found through an open addressing hash table with linear probing.
+	 */
+	protected static class NameTable {
+
+		private QualifiedName[] names;
+
+		/** Holds <code>id + 1</code> of the name in a slot, or <code>0</code> for an empty slot. */
+		private int[] slots;
+
+		private int size;
+
+		protected NameTable(int expectedSize) {
+			names = new QualifiedName[Math.max(16, expectedSize)];
+			slots = new int[tableSizeFor(Math.max(16, expectedSize))];
+		}
+
+		/**
+		 * @return the id of the given name, the name is added if it wasn't known before.
+		 */
+		public int intern(QualifiedName name) {
+			int mask = slots.length - 1;
+			int slot = mix(name.hashCode()) & mask;
+			while (slots[slot] != 0) {
+				int id = slots[slot] - 1;
+				if (names[id].equals(name)) {
+					return id;
+				}
+				slot = (slot + 1) & mask;
+			}
+			int id = size++;
+			if (id == names.length) {
+				names = Arrays.copyOf(names, names.length * 2);
+			}
+			names[id] = name;
+			slots[slot] = id + 1;
+			if (size * 2 > slots.length) {
+				rehash();
+			}
+			return id;
+		}
+
+		/**
+		 * @return the id of the given name or <code>-1</code> if it is not known.
+		 */
+		public int find(QualifiedName name) {
+			int mask = slots.length - 1;
+			int slot = mix(name.hashCode()) & mask;
+			while (slots[slot] != 0) {
+				int id = slots[slot] - 1;
+				if (names[id].equals(name)) {
+					return id;
+				}
+				slot = (slot + 1) & mask;
+			}
+			return NONE;
+		}
+
+		public QualifiedName get(int id) {
+			return names[id];
+		}
+
+		public int size() {
+			return size;
+		}
+
+		private void rehash() {
+			int[] newSlots = new int[slots.length * 2];
+			int mask = newSlots.length - 1;
+			for (int id = 0; id < size; id++) {
+				int slot = mix(names[id].hashCode()) & mask;
+				while (newSlots[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				newSlots[slot] = id + 1;
+			}
+			slots = newSlots;
+		}
+	}
+
+	/**
+	 * An open addressing hash map from non-negative <code>int</code> keys to <code>int[]</code> values.
+	 */
+	protected static class IntArrayMap {
+
+		private static final int FREE = -1;
+
+		private int[] keys;
+
+		private int[][] values;
+
+		private int size;
+
+		protected IntArrayMap(int expectedSize) {
+			int capacity = tableSizeFor(Math.max(16, expectedSize * 2));
+			keys = new int[capacity];
+			Arrays.fill(keys, FREE);
+			values = new int[capacity][];
+		}
+
+		public int[] get(int key) {
+			int mask = keys.length - 1;
+			int slot = mix(key) & mask;
+			while (keys[slot] != FREE) {
+				if (keys[slot] == key) {
+					return values[slot];
+				}
+				slot = (slot + 1) & mask;
+			}
+			return null;
+		}
+
+		public void put(int key, int[] value) {
+			int mask = keys.length - 1;
+			int slot = mix(key) & mask;
+			while (keys[slot] != FREE) {
+				if (keys[slot] == key) {
+					values[slot] = value;
+					return;
+				}
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			values[slot] = value;
+			if (++size * 2 > keys.length) {
+				rehash(keys.length * 2);
+			}
+		}
+
+		public void remove(int key) {
+			int mask = keys.length - 1;
+			int slot = mix(key) & mask;
+			while (keys[slot] != FREE) {
+				if (keys[slot] == key) {
+					// backward shift deletion keeps the probe sequences intact
+					int gap = slot;
+					int next = (gap + 1) & mask;
+					while (keys[next] != FREE) {
+						int home = mix(keys[next]) & mask;
+						if (((next - home) & mask) >= ((next - gap) & mask)) {
+							keys[gap] = keys[next];
+							values[gap] = values[next];
+							gap = next;
+						}
+						next = (next + 1) & mask;
+					}
+					keys[gap] = FREE;
+					values[gap] = null;
+					size--;
+					return;
+				}
+				slot = (slot + 1) & mask;
+			}
+		}
+
+		public int size() {
+			return size;
+		}
+
+		private void rehash(int capacity) {
+			int[] oldKeys = keys;
+			int[][] oldValues = values;
+			keys = new int[capacity];
+			Arrays.fill(keys, FREE);
+			values = new int[capacity][];
+			int mask = capacity - 1;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != FREE) {
+					int slot = mix(oldKeys[i]) & mask;
+					while (keys[slot] != FREE) {
+						slot = (slot + 1) & mask;
+					}
+					keys[slot] = oldKeys[i];
+					values[slot] = oldValues[i];
+				}
+			}
+		}
+	}
+
+	private static int tableSizeFor(int capacity) {
+		return Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+	}
+
+	private static int mix(int hash) {
+		int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
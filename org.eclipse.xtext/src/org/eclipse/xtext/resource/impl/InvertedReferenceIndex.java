@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Maps the URIs of referenced objects to the URIs of the resources whose {@link IResourceDescription descriptions}
+ * contain a {@link IReferenceDescription reference} to them. The index is maintained per resource by
+ * {@link #put(URI, IResourceDescription)} and {@link #remove(URI)}.
+ *
+ * Like the {@link ResourceDescriptionsData}, this class is not thread-safe.
+ *
+ * @since 2.16
+ */
+public class InvertedReferenceIndex {
+
+	/**
+	 * The values are either a single source resource {@link URI} or a {@link Set Set&lt;URI&gt;} of at least two of
+	 * them, like the lookup map of the {@link ResourceDescriptionsData}.
+	 */
+	private final Map<URI, Object> sourcesByTarget;
+
+	/**
+	 * The distinct target object URIs that have been registered for a source resource.
+	 */
+	private final Map<URI, URI[]> targetsBySource;
+
+	public InvertedReferenceIndex() {
+		this(new HashMap<URI, Object>(), new HashMap<URI, URI[]>());
+	}
+
+	public InvertedReferenceIndex(Iterable<IResourceDescription> descriptions) {
+		this();
+		for (IResourceDescription description : descriptions) {
+			put(description.getURI(), description);
+		}
+	}
+
+	protected InvertedReferenceIndex(Map<URI, Object> sourcesByTarget, Map<URI, URI[]> targetsBySource) {
+		this.sourcesByTarget = sourcesByTarget;
+		this.targetsBySource = targetsBySource;
+	}
+
+	public InvertedReferenceIndex copy() {
+		Map<URI, Object> copiedSources = new HashMap<URI, Object>(sourcesByTarget);
+		for (Map.Entry<URI, Object> entry : copiedSources.entrySet()) {
+			if (entry.getValue() instanceof Set<?>) {
+				@SuppressWarnings("unchecked")
+				Set<URI> sources = (Set<URI>) entry.getValue();
+				entry.setValue(new LinkedHashSet<URI>(sources));
+			}
+		}
+		return new InvertedReferenceIndex(copiedSources, new HashMap<URI, URI[]>(targetsBySource));
+	}
+
+	/**
+	 * Registers the references of the given description for the given resource URI, replacing the previously
+	 * registered references of that resource.
+	 */
+	public void put(URI sourceURI, IResourceDescription description) {
+		remove(sourceURI);
+		if (description == null) {
+			return;
+		}
+		Set<URI> targets = new LinkedHashSet<URI>();
+		for (IReferenceDescription reference : description.getReferenceDescriptions()) {
+			URI target = reference.getTargetEObjectUri();
+			if (target != null) {
+				targets.add(target);
+			}
+		}
+		if (targets.isEmpty()) {
+			return;
+		}
+		for (URI target : targets) {
+			addSource(target, sourceURI);
+		}
+		targetsBySource.put(sourceURI, targets.toArray(new URI[targets.size()]));
+	}
+
+	/**
+	 * Removes the references of the given resource from the index.
+	 */
+	public void remove(URI sourceURI) {
+		URI[] targets = targetsBySource.remove(sourceURI);
+		if (targets != null) {
+			for (URI target : targets) {
+				removeSource(target, sourceURI);
+			}
+		}
+	}
+
+	/**
+	 * Returns the URIs of the resources that reference the given object.
+	 */
+	public Set<URI> getSourceResourceURIs(URI targetObjectURI) {
+		Object sources = sourcesByTarget.get(targetObjectURI);
+		if (sources instanceof URI) {
+			return Collections.singleton((URI) sources);
+		}
+		if (sources instanceof Set<?>) {
+			@SuppressWarnings("unchecked")
+			Set<URI> result = (Set<URI>) sources;
+			return Collections.unmodifiableSet(result);
+		}
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Returns the URIs of the resources that reference any of the given objects.
+	 */
+	public Set<URI> getSourceResourceURIs(Iterable<URI> targetObjectURIs) {
+		Set<URI> result = new LinkedHashSet<URI>();
+		for (URI target : targetObjectURIs) {
+			result.addAll(getSourceResourceURIs(target));
+		}
+		return result;
+	}
+
+	private void addSource(URI target, URI source) {
+		Object existing = sourcesByTarget.put(target, source);
+		if (existing != null && !existing.equals(source)) {
+			Set<URI> sources;
+			if (existing instanceof URI) {
+				sources = Sets.newLinkedHashSetWithExpectedSize(2);
+				sources.add((URI) existing);
+			} else {
+				@SuppressWarnings("unchecked")
+				Set<URI> casted = (Set<URI>) existing;
+				sources = casted;
+			}
+			sources.add(source);
+			sourcesByTarget.put(target, sources);
+		}
+	}
+
+	private void removeSource(URI target, URI source) {
+		Object existing = sourcesByTarget.get(target);
+		if (source.equals(existing)) {
+			sourcesByTarget.remove(target);
+		} else if (existing instanceof Set<?>) {
+			Set<?> sources = (Set<?>) existing;
+			if (sources.remove(source)) {
+				if (sources.size() == 1) {
+					sourcesByTarget.put(target, sources.iterator().next());
+				} else if (sources.isEmpty()) {
+					sourcesByTarget.remove(target);
+				}
+			}
+		}
+	}
+
+}
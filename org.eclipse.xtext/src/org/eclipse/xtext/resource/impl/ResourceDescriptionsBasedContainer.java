@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource.impl;
 
+import java.util.Collection;
 import java.util.Map;
 
 import org.eclipse.emf.common.util.URI;
@@ -66,12 +67,37 @@ public class ResourceDescriptionsBasedContainer extends AbstractContainer implem
 		return filterByURI(unfiltered);
 	}
 	
+	/**
+	 * Passes the names to the {@link #getDescriptions() backing descriptions} at once and
+	 * {@link #filterByURI(Iterable) filters} the elements of each name.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	public Map<QualifiedName, Iterable<IEObjectDescription>> getExportedObjectsByNames(EClass type, Collection<QualifiedName> names, boolean ignoreCase) {
+		Map<QualifiedName, Iterable<IEObjectDescription>> unfiltered = getDescriptions().getExportedObjectsByNames(type, names, ignoreCase);
+		Map<QualifiedName, Iterable<IEObjectDescription>> result = Maps.newHashMapWithExpectedSize(unfiltered.size());
+		for (Map.Entry<QualifiedName, Iterable<IEObjectDescription>> entry : unfiltered.entrySet()) {
+			result.put(entry.getKey(), filterByURI(entry.getValue()));
+		}
+		return result;
+	}
+	
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjectsByType(EClass type) {
 		Iterable<IEObjectDescription> unfiltered = getDescriptions().getExportedObjectsByType(type);
 		return filterByURI(unfiltered);
 	}
 
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, QualifiedName prefix) {
+		Iterable<IEObjectDescription> unfiltered = getDescriptions().getExportedObjectsByPrefix(type, prefix);
+		return filterByURI(unfiltered);
+	}
+
 	protected Iterable<IEObjectDescription> filterByURI(Iterable<IEObjectDescription> unfiltered) {
 		return unfiltered;
 	}
@@ -9,6 +9,7 @@ package org.eclipse.xtext.resource.impl;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -90,6 +91,28 @@ import com.google.common.collect.Sets;
 	 */
 	private final Map<QualifiedName, Object> lookupMap;
 
+	/**
+	 * The inverted index of the references. It is created on demand and maintained incrementally afterwards.
+	 */
+	private volatile InvertedReferenceIndex referenceIndex;
+
+	/**
+	 * The trigram index of the exported names. It is created on demand and maintained incrementally afterwards.
+	 */
+	private volatile TrigramNameIndex nameIndex;
+
+	/**
+	 * The sorted exported names. It is created on demand and maintained incrementally afterwards.
+	 */
+	private volatile SortedNameIndex sortedNameIndex;
+
+	/**
+	 * The URIs of the resources that have changed since the derived indexes have been shared with a copy, or
+	 * <code>null</code> if they are not shared. Shared indexes are not modified, they are copied and updated by the
+	 * first lookup after a change.
+	 */
+	private volatile Set<URI> changedSinceShared;
+
 	public ResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
 		int expectedSize = 500; // magic number in case it's not a Collection
 		if (descriptions instanceof Collection) {
@@ -111,10 +134,74 @@ import com.google.common.collect.Sets;
 		this.lookupMap = lookupMap;
 	}
 	
+	/**
+	 * Returns a copy of this instance. The derived indexes are shared with the copy and only copied by the first
+	 * lookup after this instance or the copy has changed.
+	 */
 	public ResourceDescriptionsData copy() {
-		return new ResourceDescriptionsData(
+		ResourceDescriptionsData result = new ResourceDescriptionsData(
 				Maps.newLinkedHashMap(resourceDescriptionMap),
 				copyLookupMap());
+		shareDerivedIndexes(result);
+		return result;
+	}
+
+	/**
+	 * Shares the derived indexes with the given copy, which has to contain the same resource descriptions as this
+	 * instance.
+	 * 
+	 * @since 2.16
+	 */
+	protected void shareDerivedIndexes(ResourceDescriptionsData copy) {
+		copySharedIndexes();
+		InvertedReferenceIndex index = referenceIndex;
+		TrigramNameIndex names = nameIndex;
+		SortedNameIndex sortedNames = sortedNameIndex;
+		if (index == null && names == null && sortedNames == null) {
+			return;
+		}
+		copy.referenceIndex = index;
+		copy.nameIndex = names;
+		copy.sortedNameIndex = sortedNames;
+		copy.changedSinceShared = new HashSet<URI>();
+		if (changedSinceShared == null) {
+			changedSinceShared = new HashSet<URI>();
+		}
+	}
+
+	/**
+	 * Replaces the shared derived indexes with updated copies if a resource has changed since they have been shared.
+	 */
+	private void copySharedIndexes() {
+		Set<URI> changed = changedSinceShared;
+		if (changed == null || changed.isEmpty()) {
+			return;
+		}
+		InvertedReferenceIndex index = referenceIndex;
+		if (index != null) {
+			index = index.copy();
+			for (URI uri : changed) {
+				index.put(uri, getResourceDescription(uri));
+			}
+			referenceIndex = index;
+		}
+		TrigramNameIndex names = nameIndex;
+		if (names != null) {
+			names = names.copy();
+			for (URI uri : changed) {
+				names.put(uri, getResourceDescription(uri));
+			}
+			nameIndex = names;
+		}
+		SortedNameIndex sortedNames = sortedNameIndex;
+		if (sortedNames != null) {
+			sortedNames = sortedNames.copy();
+			for (URI uri : changed) {
+				sortedNames.put(uri, getResourceDescription(uri));
+			}
+			sortedNameIndex = sortedNames;
+		}
+		changedSinceShared = null;
 	}
 	
 	protected Map<QualifiedName, Object> copyLookupMap() {
@@ -145,6 +232,7 @@ import com.google.common.collect.Sets;
 	public void removeDescription(URI uri) {
 		IResourceDescription oldDescription = resourceDescriptionMap.remove(uri);
 		if (oldDescription != null) {
+			updateDerivedIndexes(uri, null);
 			for(IEObjectDescription object: oldDescription.getExportedObjects()) {
 				QualifiedName objectName = object.getName().toLowerCase();
 				Object existing = lookupMap.get(objectName);
@@ -185,6 +273,35 @@ import com.google.common.collect.Sets;
 		return Collections.emptyList();
 	}
 	
+	/**
+	 * Looks up the names that match the prefix in a sorted index of the names, which is built on the first call and
+	 * updated incrementally afterwards.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(final EClass type, QualifiedName prefix) {
+		return Iterables.concat(Iterables.transform(getSortedNameIndex().getNames(prefix), new Function<QualifiedName, Iterable<IEObjectDescription>>() {
+			@Override
+			public Iterable<IEObjectDescription> apply(QualifiedName lowerCaseName) {
+				return getExportedObjects(type, lowerCaseName, true);
+			}
+		}));
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected SortedNameIndex getSortedNameIndex() {
+		copySharedIndexes();
+		SortedNameIndex result = sortedNameIndex;
+		if (result == null) {
+			result = new SortedNameIndex(getAllResourceDescriptions());
+			sortedNameIndex = result;
+		}
+		return result;
+	}
+	
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
 		URI resourceURI = EcoreUtil2.getPlatformResourceOrNormalizedURI(object).trimFragment();
@@ -208,6 +325,88 @@ import com.google.common.collect.Sets;
 		if (newDescription != null) {
 			resourceDescriptionMap.put(uri, newDescription);
 			registerDescription(newDescription, lookupMap);
+			updateDerivedIndexes(uri, newDescription);
+		}
+	}
+
+	/**
+	 * Returns the URIs of the resources whose descriptions contain a reference to one of the given objects. The first
+	 * call builds an inverted index of all references, later changes of this instance update it incrementally.
+	 * 
+	 * @since 2.16
+	 */
+	public Set<URI> getReferencingResourceURIs(Iterable<URI> targetObjectURIs) {
+		return getReferenceIndex().getSourceResourceURIs(targetObjectURIs);
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected InvertedReferenceIndex getReferenceIndex() {
+		copySharedIndexes();
+		InvertedReferenceIndex result = referenceIndex;
+		if (result == null) {
+			result = new InvertedReferenceIndex(getAllResourceDescriptions());
+			referenceIndex = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the URIs of the resources that may export an object whose qualified name contains the given string,
+	 * ignoring case. The result contains all such resources, but may contain others as well. Returns
+	 * <code>null</code> if the string is too short to be looked up in the trigram index of the names, which is built on
+	 * the first call and updated incrementally afterwards.
+	 * 
+	 * @since 2.16
+	 */
+	public Set<URI> getResourceURIsWithNameContaining(String substring) {
+		if (substring.length() < TrigramNameIndex.MIN_QUERY_LENGTH) {
+			return null;
+		}
+		return getNameIndex().getResourceURIs(substring);
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected TrigramNameIndex getNameIndex() {
+		copySharedIndexes();
+		TrigramNameIndex result = nameIndex;
+		if (result == null) {
+			result = new TrigramNameIndex(getAllResourceDescriptions());
+			nameIndex = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Updates the inverted index of the references, the trigram index of the names and the sorted names, if they have
+	 * been built already. Subclasses that do not call {@link #addDescription(URI, IResourceDescription)} and
+	 * {@link #removeDescription(URI)} of this class have to call this method when the description of a resource
+	 * changes. Indexes that are shared with a copy are updated by the next lookup instead.
+	 * 
+	 * @param newDescription
+	 *            the new description or <code>null</code> if the resource was removed
+	 * @since 2.16
+	 */
+	protected void updateDerivedIndexes(URI uri, IResourceDescription newDescription) {
+		Set<URI> changed = changedSinceShared;
+		if (changed != null) {
+			changed.add(uri);
+			return;
+		}
+		InvertedReferenceIndex index = referenceIndex;
+		if (index != null) {
+			index.put(uri, newDescription);
+		}
+		TrigramNameIndex names = nameIndex;
+		if (names != null) {
+			names.put(uri, newDescription);
+		}
+		SortedNameIndex sortedNames = sortedNameIndex;
+		if (sortedNames != null) {
+			sortedNames.put(uri, newDescription);
 		}
 	}
 
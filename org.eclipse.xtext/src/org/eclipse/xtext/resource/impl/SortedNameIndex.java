@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+import com.google.common.collect.AbstractIterator;
+
+/**
+ * Keeps the lower case names of the exported objects of a set of resources sorted, so the names that
+ * {@link QualifiedName#matchesPrefixIgnoreCase(QualifiedName) match a prefix} can be enumerated without looking at
+ * the others.
+ *
+ * Like the {@link ResourceDescriptionsData}, this class is not thread-safe.
+ *
+ * @since 2.16
+ */
+public class SortedNameIndex {
+
+	/**
+	 * The number of resources that export an object with a name, by the lower case name.
+	 */
+	private final TreeMap<QualifiedName, Integer> resourceCounts;
+
+	/**
+	 * The distinct lower case names of the exported objects by resource.
+	 */
+	private final Map<URI, QualifiedName[]> namesByURI;
+
+	public SortedNameIndex() {
+		this(new TreeMap<QualifiedName, Integer>(), new HashMap<URI, QualifiedName[]>());
+	}
+
+	public SortedNameIndex(Iterable<IResourceDescription> descriptions) {
+		this();
+		for (IResourceDescription description : descriptions) {
+			put(description.getURI(), description);
+		}
+	}
+
+	protected SortedNameIndex(TreeMap<QualifiedName, Integer> resourceCounts, Map<URI, QualifiedName[]> namesByURI) {
+		this.resourceCounts = resourceCounts;
+		this.namesByURI = namesByURI;
+	}
+
+	public SortedNameIndex copy() {
+		return new SortedNameIndex(new TreeMap<QualifiedName, Integer>(resourceCounts),
+				new HashMap<URI, QualifiedName[]>(namesByURI));
+	}
+
+	/**
+	 * Registers the exported names of the given description for the given resource URI, replacing the previously
+	 * registered names of that resource.
+	 */
+	public void put(URI uri, IResourceDescription description) {
+		remove(uri);
+		if (description == null) {
+			return;
+		}
+		Set<QualifiedName> names = new LinkedHashSet<QualifiedName>();
+		for (IEObjectDescription object : description.getExportedObjects()) {
+			names.add(object.getName().toLowerCase());
+		}
+		if (names.isEmpty()) {
+			return;
+		}
+		for (QualifiedName name : names) {
+			Integer count = resourceCounts.get(name);
+			resourceCounts.put(name, count == null ? 1 : count + 1);
+		}
+		namesByURI.put(uri, names.toArray(new QualifiedName[names.size()]));
+	}
+
+	/**
+	 * Removes the names of the given resource from the index.
+	 */
+	public void remove(URI uri) {
+		QualifiedName[] names = namesByURI.remove(uri);
+		if (names != null) {
+			for (QualifiedName name : names) {
+				Integer count = resourceCounts.get(name);
+				if (count == null || count <= 1) {
+					resourceCounts.remove(name);
+				} else {
+					resourceCounts.put(name, count - 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the distinct lower case names that match the given prefix, in ascending order. The names are computed
+	 * lazily, so the result must not be used after this index has been modified.
+	 */
+	public Iterable<QualifiedName> getNames(QualifiedName prefix) {
+		final QualifiedName lowerCase = prefix.toLowerCase();
+		final Iterable<QualifiedName> candidates = resourceCounts.tailMap(lowerCase, true).keySet();
+		return new Iterable<QualifiedName>() {
+			@Override
+			public Iterator<QualifiedName> iterator() {
+				final Iterator<QualifiedName> delegate = candidates.iterator();
+				return new AbstractIterator<QualifiedName>() {
+					@Override
+					protected QualifiedName computeNext() {
+						// the matching names follow the prefix without gaps
+						if (delegate.hasNext()) {
+							QualifiedName name = delegate.next();
+							if (name.matchesPrefixIgnoreCase(lowerCase)) {
+								return name;
+							}
+						}
+						return endOfData();
+					}
+				};
+			}
+		};
+	}
+
+}
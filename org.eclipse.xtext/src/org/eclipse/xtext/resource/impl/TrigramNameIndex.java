@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+
+/**
+ * Indexes the resources by the trigrams of the lower case {@link IEObjectDescription#getQualifiedName() qualified
+ * names} of their exported objects. It answers which resources may export an object whose qualified name contains a
+ * given string. The answer may contain resources that do not export such an object, but it contains all resources
+ * that do.
+ *
+ * <p>
+ * Resources are identified by ascending numbers. A removed resource is only marked as such and the posting lists are
+ * compacted once the removed resources outnumber the live ones.
+ * </p>
+ *
+ * Like the {@link ResourceDescriptionsData}, this class is not thread-safe.
+ *
+ * @since 2.16
+ */
+public class TrigramNameIndex {
+
+	/**
+	 * The minimum length of a string that can be looked up.
+	 */
+	public static final int MIN_QUERY_LENGTH = 3;
+
+	private static final int MIN_REMOVED_FOR_COMPACTION = 256;
+
+	/**
+	 * The ascending ids of the resources that contain a trigram, including removed ones.
+	 */
+	private Map<Integer, Postings> postings;
+
+	private Map<URI, Integer> idsByURI;
+
+	/**
+	 * The URIs by id, <code>null</code> for removed resources.
+	 */
+	private List<URI> urisById;
+
+	/**
+	 * The sorted distinct trigrams by id, <code>null</code> for removed resources.
+	 */
+	private List<int[]> trigramsById;
+
+	private int removedCount;
+
+	public TrigramNameIndex() {
+		this(new HashMap<Integer, Postings>(), new HashMap<URI, Integer>(), new ArrayList<URI>(),
+				new ArrayList<int[]>(), 0);
+	}
+
+	public TrigramNameIndex(Iterable<IResourceDescription> descriptions) {
+		this();
+		for (IResourceDescription description : descriptions) {
+			put(description.getURI(), description);
+		}
+	}
+
+	protected TrigramNameIndex(Map<Integer, Postings> postings, Map<URI, Integer> idsByURI, List<URI> urisById,
+			List<int[]> trigramsById, int removedCount) {
+		this.postings = postings;
+		this.idsByURI = idsByURI;
+		this.urisById = urisById;
+		this.trigramsById = trigramsById;
+		this.removedCount = removedCount;
+	}
+
+	public TrigramNameIndex copy() {
+		Map<Integer, Postings> copiedPostings = new HashMap<Integer, Postings>(postings.size());
+		for (Map.Entry<Integer, Postings> entry : postings.entrySet()) {
+			copiedPostings.put(entry.getKey(), entry.getValue().copy());
+		}
+		return new TrigramNameIndex(copiedPostings, new HashMap<URI, Integer>(idsByURI),
+				new ArrayList<URI>(urisById), new ArrayList<int[]>(trigramsById), removedCount);
+	}
+
+	/**
+	 * Registers the exported names of the given description for the given resource URI, replacing the previously
+	 * registered names of that resource.
+	 */
+	public void put(URI uri, IResourceDescription description) {
+		remove(uri);
+		if (description == null) {
+			return;
+		}
+		int[] trigrams = getTrigrams(description);
+		if (trigrams.length == 0) {
+			return;
+		}
+		int id = urisById.size();
+		urisById.add(uri);
+		trigramsById.add(trigrams);
+		idsByURI.put(uri, id);
+		addPostings(id, trigrams);
+	}
+
+	/**
+	 * Removes the names of the given resource from the index.
+	 */
+	public void remove(URI uri) {
+		Integer id = idsByURI.remove(uri);
+		if (id != null) {
+			urisById.set(id, null);
+			trigramsById.set(id, null);
+			removedCount++;
+			if (removedCount >= MIN_REMOVED_FOR_COMPACTION && removedCount > idsByURI.size()) {
+				compact();
+			}
+		}
+	}
+
+	/**
+	 * Returns the URIs of the resources that may export an object whose lower case qualified name contains the given
+	 * string, or <code>null</code> if the string is shorter than {@link #MIN_QUERY_LENGTH}.
+	 */
+	public Set<URI> getResourceURIs(String substring) {
+		String lowerCase = substring.toLowerCase();
+		if (lowerCase.length() < MIN_QUERY_LENGTH) {
+			return null;
+		}
+		int[] queryTrigrams = getTrigrams(Collections.singleton(lowerCase));
+		Postings rarest = null;
+		for (int trigram : queryTrigrams) {
+			Postings candidates = postings.get(trigram);
+			if (candidates == null) {
+				return Collections.emptySet();
+			}
+			if (rarest == null || candidates.size < rarest.size) {
+				rarest = candidates;
+			}
+		}
+		Set<URI> result = new LinkedHashSet<URI>();
+		for (int i = 0; i < rarest.size; i++) {
+			int id = rarest.ids[i];
+			int[] trigrams = trigramsById.get(id);
+			if (trigrams != null && containsAll(trigrams, queryTrigrams)) {
+				result.add(urisById.get(id));
+			}
+		}
+		return result;
+	}
+
+	private static boolean containsAll(int[] sortedTrigrams, int[] queryTrigrams) {
+		for (int trigram : queryTrigrams) {
+			if (Arrays.binarySearch(sortedTrigrams, trigram) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void addPostings(int id, int[] trigrams) {
+		for (int trigram : trigrams) {
+			Postings ids = postings.get(trigram);
+			if (ids == null) {
+				ids = new Postings();
+				postings.put(trigram, ids);
+			}
+			ids.add(id);
+		}
+	}
+
+	/**
+	 * Renumbers the live resources and rebuilds the posting lists without the removed resources.
+	 */
+	protected void compact() {
+		List<URI> oldURIs = urisById;
+		List<int[]> oldTrigrams = trigramsById;
+		postings = new HashMap<Integer, Postings>();
+		idsByURI = new HashMap<URI, Integer>(oldURIs.size() - removedCount);
+		urisById = new ArrayList<URI>(oldURIs.size() - removedCount);
+		trigramsById = new ArrayList<int[]>(oldURIs.size() - removedCount);
+		removedCount = 0;
+		for (int i = 0; i < oldURIs.size(); i++) {
+			URI uri = oldURIs.get(i);
+			if (uri != null) {
+				int id = urisById.size();
+				urisById.add(uri);
+				trigramsById.add(oldTrigrams.get(i));
+				idsByURI.put(uri, id);
+				addPostings(id, oldTrigrams.get(i));
+			}
+		}
+	}
+
+	private static int[] getTrigrams(IResourceDescription description) {
+		List<String> names = new ArrayList<String>();
+		for (IEObjectDescription object : description.getExportedObjects()) {
+			QualifiedName name = object.getQualifiedName();
+			if (name != null) {
+				names.add(name.toLowerCase().toString());
+			}
+		}
+		return getTrigrams(names);
+	}
+
+	private static int[] getTrigrams(Iterable<String> lowerCaseNames) {
+		int[] result = new int[16];
+		int size = 0;
+		for (String name : lowerCaseNames) {
+			for (int i = 0; i + MIN_QUERY_LENGTH <= name.length(); i++) {
+				if (size == result.length) {
+					result = Arrays.copyOf(result, size * 2);
+				}
+				result[size++] = trigram(name, i);
+			}
+		}
+		Arrays.sort(result, 0, size);
+		int distinct = 0;
+		for (int i = 0; i < size; i++) {
+			if (distinct == 0 || result[distinct - 1] != result[i]) {
+				result[distinct++] = result[i];
+			}
+		}
+		return Arrays.copyOf(result, distinct);
+	}
+
+	/**
+	 * Encodes the three characters at the given offset. Characters beyond the first 1024 code points may collide,
+	 * which only adds candidates.
+	 */
+	private static int trigram(String name, int offset) {
+		return (name.charAt(offset) & 0x3FF) << 20 | (name.charAt(offset + 1) & 0x3FF) << 10
+				| (name.charAt(offset + 2) & 0x3FF);
+	}
+
+	protected static class Postings {
+
+		private int[] ids = new int[2];
+
+		private int size;
+
+		private void add(int id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+			}
+			ids[size++] = id;
+		}
+
+		private Postings copy() {
+			Postings result = new Postings();
+			result.ids = Arrays.copyOf(ids, Math.max(size, 2));
+			result.size = size;
+			return result;
+		}
+	}
+
+}
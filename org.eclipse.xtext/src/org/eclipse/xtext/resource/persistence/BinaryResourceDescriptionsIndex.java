@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.Lists;
+import com.google.common.io.CountingOutputStream;
+
+/**
+ * Reads and writes the contents of a {@link ChunkedResourceDescriptions} in a versioned binary format that can be
+ * memory-mapped. In contrast to the {@link java.io.Externalizable} serialization of
+ * {@link ChunkedResourceDescriptions}, {@link #read(File) reading} an index does not deserialize the resource
+ * descriptions. It only maps the file, and the descriptions are decoded when they are queried by their URI, an exported
+ * name or the type of an exported object.
+ *
+ * <p>
+ * The file starts with a {@link #MAGIC magic number} and the {@link #VERSION format version}. It is followed by the
+ * sections of the chunks. Each section consists of the description records and a table of contents that has
+ * <ul>
+ * <li>the URIs of the {@link EClass EClasses} of all exported objects,</li>
+ * <li>the offsets of the description records,</li>
+ * <li>an open addressing hash table from the resource URI to the description,</li>
+ * <li>the sorted pairs of the hash of the lower case exported names and the description, and</li>
+ * <li>the sorted pairs of the EClass and the description.</li>
+ * </ul>
+ * The chunk directory and its offset are at the end of the file.
+ * </p>
+ *
+ * @since 2.16
+ */
+@Beta
+public class BinaryResourceDescriptionsIndex {
+
+	public static final int MAGIC = 0x58494458; // XIDX
+
+	public static final int VERSION = 1;
+
+	/**
+	 * Writes the given chunks into the file.
+	 */
+	public static void write(ChunkedResourceDescriptions descriptions, File file) throws IOException {
+		Map<String, ResourceDescriptionsData> chunks = new LinkedHashMap<String, ResourceDescriptionsData>();
+		for (String chunkName : descriptions.getChunkNames()) {
+			ResourceDescriptionsData chunk = descriptions.getContainer(chunkName);
+			if (chunk != null) {
+				chunks.put(chunkName, chunk);
+			}
+		}
+		write(chunks, file);
+	}
+
+	/**
+	 * Writes the given chunks into the file.
+	 */
+	public static void write(Map<String, ? extends ResourceDescriptionsData> chunks, File file) throws IOException {
+		CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		try (DataOutputStream out = new DataOutputStream(counter)) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			Map<String, Long> chunkOffsets = new LinkedHashMap<String, Long>();
+			for (Map.Entry<String, ? extends ResourceDescriptionsData> chunk : chunks.entrySet()) {
+				out.flush();
+				chunkOffsets.put(chunk.getKey(), writeChunk(chunk.getValue(), out, counter));
+			}
+			out.flush();
+			long directoryOffset = counter.getCount();
+			out.writeInt(chunkOffsets.size());
+			for (Map.Entry<String, Long> entry : chunkOffsets.entrySet()) {
+				writeString(out, entry.getKey());
+				out.writeLong(entry.getValue());
+			}
+			out.writeLong(directoryOffset);
+		}
+	}
+
+	/**
+	 * Maps the given file and returns lazily decoding {@link ResourceDescriptionsData} per chunk. The result can be
+	 * passed to {@link ChunkedResourceDescriptions#ChunkedResourceDescriptions(Map)}.
+	 */
+	public static Map<String, ResourceDescriptionsData> read(File file) throws IOException {
+		ByteBuffer buffer;
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			FileChannel channel = randomAccessFile.getChannel();
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Index files larger than 2GB are not supported: " + file);
+			}
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			buffer = mapped;
+		}
+		return read(buffer);
+	}
+
+	/**
+	 * Returns lazily decoding {@link ResourceDescriptionsData} per chunk for the given buffer.
+	 */
+	public static Map<String, ResourceDescriptionsData> read(ByteBuffer buffer) throws IOException {
+		ByteBuffer in = buffer.duplicate();
+		if (in.limit() < 16 || in.getInt(0) != MAGIC) {
+			throw new IOException("Not a resource descriptions index");
+		}
+		int version = in.getInt(4);
+		if (version != VERSION) {
+			throw new IOException("Unsupported index version " + version + ", expected " + VERSION);
+		}
+		in.position((int) in.getLong(in.limit() - 8));
+		int chunkCount = in.getInt();
+		Map<String, ResourceDescriptionsData> result = new LinkedHashMap<String, ResourceDescriptionsData>(chunkCount);
+		for (int i = 0; i < chunkCount; i++) {
+			String chunkName = readString(in);
+			int offset = (int) in.getLong();
+			result.put(chunkName, new MappedResourceDescriptionsData(buffer, offset));
+		}
+		return result;
+	}
+
+	private static long writeChunk(ResourceDescriptionsData data, DataOutputStream out, CountingOutputStream counter)
+			throws IOException {
+		List<IResourceDescription> descriptions = Lists.newArrayList(data.getAllResourceDescriptions());
+		int size = descriptions.size();
+		Map<EClass, Integer> eClasses = new LinkedHashMap<EClass, Integer>();
+		long[] recordOffsets = new long[size];
+		List<Long> nameEntries = new ArrayList<Long>();
+		List<Long> typeEntries = new ArrayList<Long>();
+		for (int i = 0; i < size; i++) {
+			IResourceDescription description = descriptions.get(i);
+			out.flush();
+			recordOffsets[i] = counter.getCount();
+			writeString(out, description.getURI().toString());
+			List<IEObjectDescription> exported = Lists.newArrayList(description.getExportedObjects());
+			out.writeInt(exported.size());
+			for (IEObjectDescription object : exported) {
+				writeQualifiedName(out, object.getName());
+				Integer eClassIndex = eClasses.get(object.getEClass());
+				if (eClassIndex == null) {
+					eClassIndex = eClasses.size();
+					eClasses.put(object.getEClass(), eClassIndex);
+				}
+				out.writeInt(eClassIndex);
+				writeString(out, object.getEObjectURI().fragment());
+				String[] keys = object.getUserDataKeys();
+				out.writeInt(keys.length);
+				for (String key : keys) {
+					writeString(out, key);
+					writeString(out, object.getUserData(key));
+				}
+				nameEntries.add(entry(object.getName().toLowerCase().hashCode(), i));
+				typeEntries.add(entry(eClassIndex, i));
+			}
+			List<IReferenceDescription> references = Lists.newArrayList(description.getReferenceDescriptions());
+			out.writeInt(references.size());
+			for (IReferenceDescription reference : references) {
+				writeURI(out, reference.getSourceEObjectUri());
+				writeURI(out, reference.getTargetEObjectUri());
+				writeURI(out, reference.getContainerEObjectURI());
+				writeURI(out, reference.getEReference() != null ? EcoreUtil.getURI(reference.getEReference()) : null);
+				out.writeInt(reference.getIndexInList());
+			}
+			List<QualifiedName> importedNames = Lists.newArrayList(description.getImportedNames());
+			out.writeInt(importedNames.size());
+			for (QualifiedName importedName : importedNames) {
+				writeQualifiedName(out, importedName);
+			}
+		}
+		out.flush();
+		long tableOffset = counter.getCount();
+		out.writeInt(size);
+		out.writeInt(eClasses.size());
+		for (EClass eClass : eClasses.keySet()) {
+			writeString(out, EcoreUtil.getURI(eClass).toString());
+		}
+		for (long recordOffset : recordOffsets) {
+			out.writeLong(recordOffset);
+		}
+		int[] uriSlots = new int[MappedResourceDescriptionsData.tableSizeFor(size)];
+		int mask = uriSlots.length - 1;
+		for (int i = 0; i < size; i++) {
+			int slot = MappedResourceDescriptionsData.mix(descriptions.get(i).getURI().toString().hashCode()) & mask;
+			while (uriSlots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			uriSlots[slot] = i + 1;
+		}
+		out.writeInt(uriSlots.length);
+		for (int slot : uriSlots) {
+			out.writeInt(slot);
+		}
+		writeSortedEntries(out, nameEntries);
+		writeSortedEntries(out, typeEntries);
+		return tableOffset;
+	}
+
+	private static long entry(int key, int descriptionIndex) {
+		return ((long) key << 32) | descriptionIndex;
+	}
+
+	private static void writeSortedEntries(DataOutputStream out, List<Long> entries) throws IOException {
+		long[] sorted = new long[entries.size()];
+		for (int i = 0; i < sorted.length; i++) {
+			sorted[i] = entries.get(i);
+		}
+		Arrays.sort(sorted);
+		int unique = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (unique == 0 || sorted[unique - 1] != sorted[i]) {
+				sorted[unique++] = sorted[i];
+			}
+		}
+		out.writeInt(unique);
+		for (int i = 0; i < unique; i++) {
+			out.writeLong(sorted[i]);
+		}
+	}
+
+	private static void writeQualifiedName(DataOutputStream out, QualifiedName name) throws IOException {
+		out.writeInt(name.getSegmentCount());
+		for (String segment : name.getSegments()) {
+			writeString(out, segment);
+		}
+	}
+
+	private static void writeURI(DataOutputStream out, URI uri) throws IOException {
+		writeString(out, uri != null ? uri.toString() : null);
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+		} else {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	static String readString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private BinaryResourceDescriptionsIndex() {
+	}
+}
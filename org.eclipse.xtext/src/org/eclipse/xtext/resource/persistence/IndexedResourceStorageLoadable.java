@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.WrappedException;
+
+import com.google.common.annotations.Beta;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Loads a resource from a storage that was written by an {@link IndexedResourceStorageWritable}. The entries are
+ * read in place from a (possibly memory-mapped) buffer. The contents and the node model are read eagerly, so the node
+ * model is installed as soon as the resource is loaded and it is built against the source text of that time. The
+ * resource description is read when it is first accessed, so it is skipped completely if the index already knows it.
+ *
+ * <p>
+ * A mapped buffer is only used while the contents are read. The lazily read entries are copied to the heap and the
+ * file is unmapped before {@link #loadIntoResource(StorageAwareResource)} returns, since on some platforms a file
+ * cannot be replaced while it is mapped, e.g. when the storage is written again.
+ * </p>
+ *
+ * @since 2.16
+ */
+@Beta
+public class IndexedResourceStorageLoadable extends ResourceStorageLoadable {
+
+	private static final Logger LOG = Logger.getLogger(IndexedResourceStorageLoadable.class);
+
+	/**
+	 * Returns whether the given stream starts with an indexed storage. The stream has to support
+	 * {@link InputStream#markSupported() marks}.
+	 */
+	public static boolean isIndexedStorage(InputStream in) throws IOException {
+		in.mark(4);
+		try {
+			byte[] header = new byte[4];
+			return ByteStreams.read(in, header, 0, 4) == 4
+					&& ByteBuffer.wrap(header).getInt() == IndexedResourceStorageWritable.MAGIC;
+		} finally {
+			in.reset();
+		}
+	}
+
+	/**
+	 * Returns whether the given file starts with an indexed storage.
+	 */
+	public static boolean isIndexedStorage(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+			return file.length() >= 4 && in.readInt() == IndexedResourceStorageWritable.MAGIC;
+		}
+	}
+
+	/**
+	 * Maps the given file read-only.
+	 */
+	public static ByteBuffer map(File file) throws IOException {
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+			FileChannel channel = randomAccessFile.getChannel();
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Storage files larger than 2GB are not supported: " + file);
+			}
+			// the mapping stays valid after the channel is closed
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	private final InputStream in;
+
+	private final boolean storeNodeModel;
+
+	private ByteBuffer buffer;
+
+	public IndexedResourceStorageLoadable(ByteBuffer buffer, boolean storeNodeModel) {
+		super(null, storeNodeModel);
+		this.in = null;
+		this.buffer = buffer;
+		this.storeNodeModel = storeNodeModel;
+	}
+
+	/**
+	 * The given stream is read completely when the resource is loaded.
+	 */
+	public IndexedResourceStorageLoadable(InputStream in, boolean storeNodeModel) {
+		super(in, storeNodeModel);
+		this.in = in;
+		this.storeNodeModel = storeNodeModel;
+	}
+
+	@Override
+	protected void loadIntoResource(StorageAwareResource resource) throws IOException {
+		if (!resource.isLoadedFromStorage()) {
+			throw new IllegalStateException("Please use StorageAwareResource#load(ResourceStorageLoadable).");
+		}
+		if (buffer == null) {
+			try {
+				buffer = ByteBuffer.wrap(ByteStreams.toByteArray(in));
+			} finally {
+				in.close();
+			}
+		}
+		if (buffer instanceof MappedByteBuffer) {
+			try {
+				loadEntries(resource, copyLazyEntries(readEntries(buffer)));
+			} finally {
+				unmap(buffer);
+				buffer = null;
+			}
+		} else {
+			loadEntries(resource, readEntries(buffer));
+		}
+	}
+
+	/**
+	 * Copies all entries but the contents and the node model, which are read eagerly, so they don't refer to the
+	 * mapped buffer.
+	 */
+	protected Map<String, ByteBuffer> copyLazyEntries(Map<String, ByteBuffer> entries) {
+		Map<String, ByteBuffer> result = new LinkedHashMap<String, ByteBuffer>(entries.size());
+		for (Map.Entry<String, ByteBuffer> entry : entries.entrySet()) {
+			if (IndexedResourceStorageWritable.EMF_CONTENTS.equals(entry.getKey())
+					|| IndexedResourceStorageWritable.NODE_MODEL.equals(entry.getKey())) {
+				result.put(entry.getKey(), entry.getValue());
+			} else {
+				ByteBuffer copy = ByteBuffer.allocate(entry.getValue().remaining());
+				copy.put(entry.getValue().duplicate());
+				copy.flip();
+				result.put(entry.getKey(), copy);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Releases the mapping of the given buffer immediately instead of waiting for the garbage collector. The buffer
+	 * must not be accessed afterwards. If the JVM does not allow that, the mapping is released when the buffer is
+	 * collected.
+	 */
+	protected static void unmap(ByteBuffer buffer) {
+		if (!buffer.isDirect()) {
+			return;
+		}
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner = null;
+			try {
+				// Java 9 and later
+				invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			} catch (NoSuchMethodException e) {
+				// Java 8
+			}
+			if (invokeCleaner != null) {
+				Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+				theUnsafe.setAccessible(true);
+				invokeCleaner.invoke(theUnsafe.get(null), buffer);
+			} else {
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				if (cleaner != null) {
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+				}
+			}
+		} catch (Exception e) {
+			LOG.debug("Cannot unmap storage buffer", e);
+		}
+	}
+
+	/**
+	 * Load entries from the storage. Overriding methods should first delegate to super before adding their own
+	 * entries. The contents and the node model entry must not be read after this method returns.
+	 */
+	protected void loadEntries(StorageAwareResource resource, Map<String, ByteBuffer> entries) throws IOException {
+		readContents(resource, getEntry(entries, IndexedResourceStorageWritable.EMF_CONTENTS));
+
+		final InputStream description = getEntry(entries, IndexedResourceStorageWritable.RESOURCE_DESCRIPTION);
+		resource.setResourceDescriptionLoader(() -> {
+			try {
+				readResourceDescription(resource, description);
+			} catch (IOException e) {
+				throw new WrappedException(e);
+			}
+		});
+
+		if (storeNodeModel) {
+			readNodeModel(resource, getEntry(entries, IndexedResourceStorageWritable.NODE_MODEL));
+		}
+	}
+
+	protected InputStream getEntry(Map<String, ByteBuffer> entries, String name) throws IOException {
+		ByteBuffer entry = entries.get(name);
+		if (entry == null) {
+			throw new IOException("Missing storage entry " + name);
+		}
+		return new ByteBufferInputStream(entry);
+	}
+
+	/**
+	 * Returns the entries of the given storage by their name. The buffers share the content of the given buffer.
+	 */
+	protected Map<String, ByteBuffer> readEntries(ByteBuffer storage) throws IOException {
+		ByteBuffer header = storage.duplicate();
+		if (header.remaining() < 12 || header.getInt() != IndexedResourceStorageWritable.MAGIC) {
+			throw new IOException("Not an indexed resource storage");
+		}
+		int version = header.getInt();
+		if (version != IndexedResourceStorageWritable.VERSION) {
+			throw new IOException("Unsupported storage version " + version + ", expected "
+					+ IndexedResourceStorageWritable.VERSION);
+		}
+		int entryCount = header.getInt();
+		Map<String, ByteBuffer> result = new LinkedHashMap<String, ByteBuffer>(entryCount);
+		for (int i = 0; i < entryCount; i++) {
+			byte[] name = new byte[header.getShort()];
+			header.get(name);
+			int offset = header.getInt();
+			int length = header.getInt();
+			ByteBuffer entry = storage.duplicate();
+			entry.position(storage.position() + offset);
+			entry.limit(storage.position() + offset + length);
+			result.put(new String(name, StandardCharsets.UTF_8), entry.slice());
+		}
+		return result;
+	}
+
+	/**
+	 * Reads a buffer without copying it.
+	 */
+	protected static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		public ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer.duplicate();
+		}
+
+		@Override
+		public int read() {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			return buffer.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public long skip(long n) {
+			int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+
+	}
+
+}
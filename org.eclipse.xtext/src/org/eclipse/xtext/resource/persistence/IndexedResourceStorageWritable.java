@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Writes the storage of a resource in an uncompressed layout that starts with a table of the entries, so that an
+ * {@link IndexedResourceStorageLoadable} can map the storage and read each entry in place.
+ *
+ * <p>
+ * The storage starts with the {@link #MAGIC magic number}, the {@link #VERSION format version} and the number of
+ * entries. It is followed by the name, the offset and the length of each entry and by the contents of the entries.
+ * </p>
+ *
+ * @see ResourceStorageFacade#setIndexedStorage(boolean)
+ * @since 2.16
+ */
+@Beta
+public class IndexedResourceStorageWritable extends ResourceStorageWritable {
+
+	public static final int MAGIC = 0x58525349; // XRSI
+
+	public static final int VERSION = 1;
+
+	public static final String EMF_CONTENTS = "emf-contents";
+
+	public static final String RESOURCE_DESCRIPTION = "resource-description";
+
+	public static final String NODE_MODEL = "node-model";
+
+	private final OutputStream out;
+
+	private final boolean storeNodeModel;
+
+	public IndexedResourceStorageWritable(OutputStream out, boolean storeNodeModel) {
+		super(out, storeNodeModel);
+		this.out = out;
+		this.storeNodeModel = storeNodeModel;
+	}
+
+	@Override
+	public void writeResource(StorageAwareResource resource) throws IOException {
+		if (resource.isLoadedFromStorage()) {
+			throw new IllegalStateException("cannot write resources loaded from storage. URI was " + resource.getURI());
+		}
+		Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+		writeEntries(resource, entries);
+		try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+			data.writeInt(MAGIC);
+			data.writeInt(VERSION);
+			data.writeInt(entries.size());
+			int offset = 12;
+			for (String name : entries.keySet()) {
+				offset += 2 + name.getBytes(StandardCharsets.UTF_8).length + 8;
+			}
+			for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+				data.writeShort(name.length);
+				data.write(name);
+				data.writeInt(offset);
+				data.writeInt(entry.getValue().length);
+				offset += entry.getValue().length;
+			}
+			for (byte[] content : entries.values()) {
+				data.write(content);
+			}
+		}
+	}
+
+	/**
+	 * Write entries into the storage. Overriding methods should first delegate to super before adding their own
+	 * entries.
+	 */
+	protected void writeEntries(StorageAwareResource resource, Map<String, byte[]> entries) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		writeContents(resource, buffer);
+		entries.put(EMF_CONTENTS, buffer.toByteArray());
+
+		buffer.reset();
+		writeResourceDescription(resource, buffer);
+		entries.put(RESOURCE_DESCRIPTION, buffer.toByteArray());
+
+		if (storeNodeModel) {
+			buffer.reset();
+			writeNodeModel(resource, buffer);
+			entries.put(NODE_MODEL, buffer.toByteArray());
+		}
+	}
+
+}
@@ -0,0 +1,442 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+
+/**
+ * A {@link ResourceDescriptionsData} that reads one chunk of a memory-mapped {@link BinaryResourceDescriptionsIndex}.
+ * Resource descriptions are decoded on first access and cached. Added and removed descriptions are kept in an in-memory
+ * overlay, the mapped file is never modified.
+ *
+ * Like its super type, this class is not thread-safe with respect to modifications, but concurrent queries are
+ * supported.
+ *
+ * @since 2.16
+ */
+@Beta
+public class MappedResourceDescriptionsData extends ResourceDescriptionsData {
+
+	private final ByteBuffer buffer;
+
+	private final int descriptionCount;
+
+	private final String[] eClassURIs;
+
+	private final int recordOffsetsPosition;
+
+	private final int uriTableSize;
+
+	private final int uriTablePosition;
+
+	private final int nameEntryCount;
+
+	private final int nameEntriesPosition;
+
+	private final int typeEntryCount;
+
+	private final int typeEntriesPosition;
+
+	/** Decoded descriptions, shared between copies. */
+	private final ConcurrentMap<Integer, IResourceDescription> decoded;
+
+	private final Map<Integer, EClass> resolvedEClasses;
+
+	/** Added descriptions, which take precedence over the mapped ones. */
+	private final ResourceDescriptionsData overlay;
+
+	/** URIs of mapped descriptions that were removed or replaced by the overlay. */
+	private final Set<URI> shadowed;
+
+	private Set<URI> allURIs;
+
+	protected MappedResourceDescriptionsData(ByteBuffer buffer, int tableOffset) {
+		super(Collections.<URI, IResourceDescription>emptyMap(), Collections.<QualifiedName, Object>emptyMap());
+		this.buffer = buffer;
+		ByteBuffer in = buffer.duplicate();
+		in.position(tableOffset);
+		descriptionCount = in.getInt();
+		eClassURIs = new String[in.getInt()];
+		for (int i = 0; i < eClassURIs.length; i++) {
+			eClassURIs[i] = BinaryResourceDescriptionsIndex.readString(in);
+		}
+		recordOffsetsPosition = in.position();
+		in.position(recordOffsetsPosition + descriptionCount * 8);
+		uriTableSize = in.getInt();
+		uriTablePosition = in.position();
+		in.position(uriTablePosition + uriTableSize * 4);
+		nameEntryCount = in.getInt();
+		nameEntriesPosition = in.position();
+		in.position(nameEntriesPosition + nameEntryCount * 8);
+		typeEntryCount = in.getInt();
+		typeEntriesPosition = in.position();
+		decoded = new ConcurrentHashMap<Integer, IResourceDescription>();
+		resolvedEClasses = new ConcurrentHashMap<Integer, EClass>();
+		overlay = new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList());
+		shadowed = new HashSet<URI>();
+	}
+
+	protected MappedResourceDescriptionsData(MappedResourceDescriptionsData original) {
+		super(Collections.<URI, IResourceDescription>emptyMap(), Collections.<QualifiedName, Object>emptyMap());
+		buffer = original.buffer;
+		descriptionCount = original.descriptionCount;
+		eClassURIs = original.eClassURIs;
+		recordOffsetsPosition = original.recordOffsetsPosition;
+		uriTableSize = original.uriTableSize;
+		uriTablePosition = original.uriTablePosition;
+		nameEntryCount = original.nameEntryCount;
+		nameEntriesPosition = original.nameEntriesPosition;
+		typeEntryCount = original.typeEntryCount;
+		typeEntriesPosition = original.typeEntriesPosition;
+		decoded = original.decoded;
+		resolvedEClasses = original.resolvedEClasses;
+		overlay = original.overlay.copy();
+		shadowed = new HashSet<URI>(original.shadowed);
+	}
+
+	@Override
+	public ResourceDescriptionsData copy() {
+		MappedResourceDescriptionsData result = new MappedResourceDescriptionsData(this);
+		shareDerivedIndexes(result);
+		return result;
+	}
+
+	@Override
+	public IResourceDescription getResourceDescription(URI uri) {
+		IResourceDescription result = overlay.getResourceDescription(uri);
+		if (result != null || shadowed.contains(uri)) {
+			return result;
+		}
+		int index = findDescription(uri);
+		if (index < 0) {
+			return null;
+		}
+		return getMappedDescription(index);
+	}
+
+	@Override
+	public Iterable<IResourceDescription> getAllResourceDescriptions() {
+		Iterable<IResourceDescription> mapped = Iterables.transform(
+				ContiguousSet.create(Range.closedOpen(0, descriptionCount), DiscreteDomain.integers()),
+				new Function<Integer, IResourceDescription>() {
+					@Override
+					public IResourceDescription apply(Integer index) {
+						return getMappedDescription(index);
+					}
+				});
+		return Iterables.concat(filterShadowed(mapped), overlay.getAllResourceDescriptions());
+	}
+
+	@Override
+	public Set<URI> getAllURIs() {
+		if (allURIs == null) {
+			Set<URI> result = new LinkedHashSet<URI>(descriptionCount);
+			for (int i = 0; i < descriptionCount; i++) {
+				result.add(readURI(i));
+			}
+			allURIs = result;
+		}
+		if (shadowed.isEmpty() && overlay.getAllURIs().isEmpty()) {
+			return Collections.unmodifiableSet(allURIs);
+		}
+		Set<URI> result = new LinkedHashSet<URI>(allURIs);
+		result.removeAll(shadowed);
+		result.addAll(overlay.getAllURIs());
+		return result;
+	}
+
+	@Override
+	protected Iterable<IResourceDescription> getSelectables() {
+		return getAllResourceDescriptions();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return (descriptionCount == 0 || descriptionCount == shadowed.size()) && overlay.isEmpty();
+	}
+
+	@Override
+	public void addDescription(URI uri, IResourceDescription newDescription) {
+		removeDescription(uri);
+		if (newDescription != null) {
+			overlay.addDescription(uri, newDescription);
+			updateDerivedIndexes(uri, newDescription);
+		}
+	}
+
+	@Override
+	public void removeDescription(URI uri) {
+		overlay.removeDescription(uri);
+		if (!shadowed.contains(uri) && findDescription(uri) >= 0) {
+			shadowed.add(uri);
+		}
+		updateDerivedIndexes(uri, null);
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects(final EClass type, final QualifiedName qualifiedName,
+			final boolean ignoreCase) {
+		int hash = qualifiedName.toLowerCase().hashCode();
+		List<Iterable<IEObjectDescription>> result = new ArrayList<Iterable<IEObjectDescription>>();
+		for (int index : findEntries(nameEntriesPosition, nameEntryCount, hash)) {
+			IResourceDescription description = getMappedDescription(index);
+			if (!shadowed.contains(description.getURI())) {
+				result.add(description.getExportedObjects(type, qualifiedName, ignoreCase));
+			}
+		}
+		result.add(overlay.getExportedObjects(type, qualifiedName, ignoreCase));
+		return Iterables.concat(result);
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByType(EClass type) {
+		Set<Integer> indexes = new TreeSet<Integer>();
+		for (int i = 0; i < eClassURIs.length; i++) {
+			EClass eClass = getEClass(i);
+			if (eClass != null && EcoreUtil2.isAssignableFrom(type, eClass)) {
+				indexes.addAll(findEntries(typeEntriesPosition, typeEntryCount, i));
+			}
+		}
+		List<Iterable<IEObjectDescription>> result = new ArrayList<Iterable<IEObjectDescription>>();
+		for (int index : indexes) {
+			IResourceDescription description = getMappedDescription(index);
+			if (!shadowed.contains(description.getURI())) {
+				result.add(description.getExportedObjectsByType(type));
+			}
+		}
+		result.add(overlay.getExportedObjectsByType(type));
+		return Iterables.concat(result);
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
+		URI resourceURI = EcoreUtil2.getPlatformResourceOrNormalizedURI(object).trimFragment();
+		IResourceDescription description = getResourceDescription(resourceURI);
+		if (description == null)
+			return Collections.emptyList();
+		return description.getExportedObjectsByObject(object);
+	}
+
+	/**
+	 * @return the number of descriptions that have been decoded from the mapped index so far.
+	 */
+	public int getDecodedDescriptionCount() {
+		return decoded.size();
+	}
+
+	private Iterable<IResourceDescription> filterShadowed(Iterable<IResourceDescription> descriptions) {
+		if (shadowed.isEmpty()) {
+			return descriptions;
+		}
+		return Iterables.filter(descriptions, new Predicate<IResourceDescription>() {
+			@Override
+			public boolean apply(IResourceDescription input) {
+				return !shadowed.contains(input.getURI());
+			}
+		});
+	}
+
+	private int findDescription(URI uri) {
+		if (uriTableSize == 0) {
+			return -1;
+		}
+		String uriString = uri.toString();
+		int mask = uriTableSize - 1;
+		int slot = mix(uriString.hashCode()) & mask;
+		int value;
+		while ((value = buffer.getInt(uriTablePosition + slot * 4)) != 0) {
+			int index = value - 1;
+			if (uriString.equals(readURIString(index))) {
+				return index;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the description indexes of the sorted entries with the given key.
+	 */
+	private List<Integer> findEntries(int position, int count, int key) {
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midKey = (int) (buffer.getLong(position + mid * 8) >> 32);
+			if (midKey < key) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		List<Integer> result = null;
+		for (int i = low; i < count; i++) {
+			long entry = buffer.getLong(position + i * 8);
+			if ((int) (entry >> 32) != key) {
+				break;
+			}
+			if (result == null) {
+				result = new ArrayList<Integer>(2);
+			}
+			result.add((int) entry);
+		}
+		return result == null ? Collections.<Integer>emptyList() : result;
+	}
+
+	private int recordOffset(int index) {
+		return (int) buffer.getLong(recordOffsetsPosition + index * 8);
+	}
+
+	private String readURIString(int index) {
+		ByteBuffer in = buffer.duplicate();
+		in.position(recordOffset(index));
+		return BinaryResourceDescriptionsIndex.readString(in);
+	}
+
+	private URI readURI(int index) {
+		IResourceDescription description = decoded.get(index);
+		if (description != null) {
+			return description.getURI();
+		}
+		return URI.createURI(readURIString(index));
+	}
+
+	private EClass getEClass(int index) {
+		EClass result = resolvedEClasses.get(index);
+		if (result == null) {
+			result = (EClass) resolveEcoreElement(eClassURIs[index]);
+			if (result != null) {
+				resolvedEClasses.put(index, result);
+			}
+		}
+		return result;
+	}
+
+	protected IResourceDescription getMappedDescription(int index) {
+		IResourceDescription result = decoded.get(index);
+		if (result == null) {
+			result = decode(index);
+			IResourceDescription existing = decoded.putIfAbsent(index, result);
+			if (existing != null) {
+				result = existing;
+			}
+		}
+		return result;
+	}
+
+	protected IResourceDescription decode(int index) {
+		ByteBuffer in = buffer.duplicate();
+		in.position(recordOffset(index));
+		URI uri = URI.createURI(BinaryResourceDescriptionsIndex.readString(in));
+		int exportedCount = in.getInt();
+		List<SerializableEObjectDescription> exported = new ArrayList<SerializableEObjectDescription>(exportedCount);
+		for (int i = 0; i < exportedCount; i++) {
+			SerializableEObjectDescription object = new SerializableEObjectDescription();
+			object.setQualifiedName(readQualifiedName(in));
+			object.setEClass(getEClass(in.getInt()));
+			object.setEObjectURI(uri.appendFragment(BinaryResourceDescriptionsIndex.readString(in)));
+			int userDataCount = in.getInt();
+			HashMap<String, String> userData = Maps.newHashMapWithExpectedSize(userDataCount);
+			for (int j = 0; j < userDataCount; j++) {
+				userData.put(BinaryResourceDescriptionsIndex.readString(in), BinaryResourceDescriptionsIndex.readString(in));
+			}
+			object.setUserData(userData);
+			exported.add(object);
+		}
+		int referenceCount = in.getInt();
+		List<SerializableReferenceDescription> references = new ArrayList<SerializableReferenceDescription>(referenceCount);
+		for (int i = 0; i < referenceCount; i++) {
+			SerializableReferenceDescription reference = new SerializableReferenceDescription();
+			reference.setSourceEObjectUri(readNullableURI(in));
+			reference.setTargetEObjectUri(readNullableURI(in));
+			reference.setContainerEObjectURI(readNullableURI(in));
+			String eReference = BinaryResourceDescriptionsIndex.readString(in);
+			if (eReference != null) {
+				reference.setEReference((EReference) resolveEcoreElement(eReference));
+			}
+			reference.setIndexInList(in.getInt());
+			references.add(reference);
+		}
+		int importedNameCount = in.getInt();
+		List<QualifiedName> importedNames = new ArrayList<QualifiedName>(importedNameCount);
+		for (int i = 0; i < importedNameCount; i++) {
+			importedNames.add(readQualifiedName(in));
+		}
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		result.setDescriptions(exported);
+		result.setReferences(references);
+		result.setImportedNames(importedNames);
+		return result;
+	}
+
+	private static QualifiedName readQualifiedName(ByteBuffer in) {
+		int segmentCount = in.getInt();
+		String[] segments = new String[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = BinaryResourceDescriptionsIndex.readString(in);
+		}
+		return QualifiedName.create(segments);
+	}
+
+	private static URI readNullableURI(ByteBuffer in) {
+		String uri = BinaryResourceDescriptionsIndex.readString(in);
+		return uri != null ? URI.createURI(uri) : null;
+	}
+
+	private static EObject resolveEcoreElement(String uriString) {
+		URI uri = URI.createURI(uriString);
+		EPackage ePackage = EPackage.Registry.INSTANCE.getEPackage(uri.trimFragment().toString());
+		if (ePackage == null) {
+			return null;
+		}
+		Resource resource = ePackage.eResource();
+		return resource != null ? resource.getEObject(uri.fragment()) : null;
+	}
+
+	static int tableSizeFor(int size) {
+		return Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1;
+	}
+
+	static int mix(int hash) {
+		int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -9,8 +9,10 @@ package org.eclipse.xtext.resource.persistence
 
 import com.google.inject.Inject
 import com.google.inject.Provider
+import java.io.BufferedInputStream
 import java.io.ByteArrayInputStream
 import java.io.ByteArrayOutputStream
+import java.io.File
 import java.io.InputStream
 import java.io.OutputStream
 import org.eclipse.emf.common.util.URI
@@ -34,6 +36,14 @@ class ResourceStorageFacade implements IResourceStorageFacade {
 	
 	@Accessors boolean storeNodeModel = false
 	
+	/**
+	 * Whether resources are stored in the uncompressed {@link IndexedResourceStorageWritable indexed format}. Stored
+	 * resources are always read in the format they have been written in.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors boolean indexedStorage = false
+	
 	/**
 	 * @return whether the given resource should be loaded from stored resource state
 	 */
@@ -62,8 +72,18 @@ class ResourceStorageFacade implements IResourceStorageFacade {
 			if (inputStream !== null)
 				return inputStream
 		}
-		val inputStream = if (resource.resourceSet.URIConverter.exists(resource.URI.getBinaryStorageURI, emptyMap)) {
-				resource.resourceSet.URIConverter.createInputStream(resource.URI.getBinaryStorageURI)
+		val binaryStorageURI = resource.URI.getBinaryStorageURI
+		val binaryStorageExists = resource.resourceSet.URIConverter.exists(binaryStorageURI, emptyMap)
+		val storageURI = if (binaryStorageExists) {
+				binaryStorageURI
+			} else {
+				getFileSystemAccess(resource).getURI(computeOutputPath(resource))
+			}
+		val mapped = createMappedResourceStorageLoadable(storageURI)
+		if (mapped !== null)
+			return mapped
+		val inputStream = if (binaryStorageExists) {
+				resource.resourceSet.URIConverter.createInputStream(binaryStorageURI)
 			} else {
 				val fsa = getFileSystemAccess(resource);
 				val outputRelativePath = computeOutputPath(resource)
@@ -72,6 +92,22 @@ class ResourceStorageFacade implements IResourceStorageFacade {
 		return createResourceStorageLoadable(inputStream)
 	}
 	
+	/**
+	 * Maps the given storage into memory if it is a local file in the {@link IndexedResourceStorageWritable indexed
+	 * format}.
+	 * 
+	 * @return the loadable for the mapped storage or <code>null</code> if the storage cannot be mapped
+	 * @since 2.16
+	 */
+	protected def ResourceStorageLoadable createMappedResourceStorageLoadable(URI storageURI) {
+		if (storageURI === null || !storageURI.isFile)
+			return null
+		val file = new File(storageURI.toFileString)
+		if (!file.isFile || !IndexedResourceStorageLoadable.isIndexedStorage(file))
+			return null
+		return new IndexedResourceStorageLoadable(IndexedResourceStorageLoadable.map(file), isStoreNodeModel)
+	}
+	
 	override void saveResource(StorageAwareResource resource, IFileSystemAccessExtension3 fsa) {
 		val path = computeOutputPath(resource)
 		val bout = new MyByteArrayOutputStream()
@@ -87,10 +123,15 @@ class ResourceStorageFacade implements IResourceStorageFacade {
 	}
 	
 	override ResourceStorageLoadable createResourceStorageLoadable(InputStream in) {
-		return new ResourceStorageLoadable(in, isStoreNodeModel)
+		val buffered = if (in.markSupported) in else new BufferedInputStream(in)
+		if (IndexedResourceStorageLoadable.isIndexedStorage(buffered))
+			return new IndexedResourceStorageLoadable(buffered, isStoreNodeModel)
+		return new ResourceStorageLoadable(buffered, isStoreNodeModel)
 	}
 	
 	override ResourceStorageWritable createResourceStorageWritable(OutputStream out) {
+		if (isIndexedStorage)
+			return new IndexedResourceStorageWritable(out, isStoreNodeModel)
 		return new ResourceStorageWritable(out, isStoreNodeModel)
 	}
 	
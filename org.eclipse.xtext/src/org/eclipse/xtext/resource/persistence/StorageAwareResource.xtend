@@ -31,7 +31,14 @@ class StorageAwareResource extends LazyLinkingResource {
 	
 	@Accessors boolean isLoadedFromStorage = false;
 	
-	@Accessors IResourceDescription resourceDescription = null;
+	IResourceDescription resourceDescription = null;
+	
+	/**
+	 * Reads the resource description of a resource that was loaded from storage when it is first accessed.
+	 * 
+	 * @since 2.16
+	 */
+	@Accessors(PUBLIC_SETTER) volatile ()=>void resourceDescriptionLoader
 	
 	override load(Map<?, ?> options) throws IOException {
 		if (!isLoaded && !isLoading && resourceStorageFacade !== null && resourceStorageFacade.shouldLoadFromStorage(this)) {
@@ -69,13 +76,39 @@ class StorageAwareResource extends LazyLinkingResource {
 		}
 	}
 	
+	/**
+	 * Only the first access to a lazily read resource description synchronizes on this resource.
+	 */
+	def IResourceDescription getResourceDescription() {
+		if (resourceDescriptionLoader !== null) {
+			synchronized (this) {
+				val loader = resourceDescriptionLoader
+				if (loader !== null) {
+					try {
+						loader.apply
+					} finally {
+						resourceDescriptionLoader = null
+					}
+				}
+			}
+		}
+		return resourceDescription
+	}
+	
+	def void setResourceDescription(IResourceDescription resourceDescription) {
+		this.resourceDescription = resourceDescription
+		this.resourceDescriptionLoader = null
+	}
+	
 	override protected doUnload() {
 		super.doUnload
 		isLoadedFromStorage = false;
+		resourceDescriptionLoader = null
 	}
 	
 	override protected clearInternalState() {
 		isLoadedFromStorage = false;
+		resourceDescriptionLoader = null
 		super.clearInternalState();
 	}
 	
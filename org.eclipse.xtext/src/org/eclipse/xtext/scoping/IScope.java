@@ -7,12 +7,17 @@
  *******************************************************************************/
 package org.eclipse.xtext.scoping;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+
 /**
  * <p>A scope defines which elements {@link IEObjectDescription} can be seen in a certain area within a model/program.</p>
  * <p>In other words: A scope is a kind of container structure that provides access to all objects that can be reached
@@ -95,6 +100,40 @@ public interface IScope {
 	 */
 	Iterable<IEObjectDescription> getAllElements();
 
+	/**
+	 * Find all descriptions whose name {@link QualifiedName#matchesPrefixIgnoreCase(QualifiedName) matches the given
+	 * prefix}, e.g. to propose the elements that start with the text typed so far. The result is the subset of
+	 * {@link #getAllElements()} with matching names, in no particular order. Scopes that can look up their elements by
+	 * name prefix efficiently should override the default, which filters all elements.
+	 * 
+	 * @param prefix the prefix of the names of the to-be-found elements. May not be <code>null</code>.
+	 * @return all elements whose name matches the prefix. Never <code>null</code>.
+	 * @throws UnsupportedOperationException if the scope cannot be enumerated.
+	 * @since 2.16
+	 */
+	default Iterable<IEObjectDescription> getElementsByPrefix(QualifiedName prefix) {
+		return Iterables.filter(getAllElements(), input -> input.getName().matchesPrefixIgnoreCase(prefix));
+	}
+
+	/**
+	 * Returns the {@link #getSingleElement(QualifiedName) single element} for each of the given names, e.g. to link
+	 * several cross references with the same scope at once. Names without an element are not contained in the result.
+	 * Scopes that can look up several names at once should override the default, which looks them up one by one.
+	 * 
+	 * @param names the names of the to-be-found elements. May not be <code>null</code>.
+	 * @return the first element found for each name. Never <code>null</code>.
+	 * @since 2.16
+	 */
+	default Map<QualifiedName, IEObjectDescription> getSingleElements(Collection<QualifiedName> names) {
+		Map<QualifiedName, IEObjectDescription> result = Maps.newHashMapWithExpectedSize(names.size());
+		for (QualifiedName name : names) {
+			IEObjectDescription element = getSingleElement(name);
+			if (element != null)
+				result.put(name, element);
+		}
+		return result;
+	}
+
 	/**
 	 * a NO-OP implementation.
 	 */
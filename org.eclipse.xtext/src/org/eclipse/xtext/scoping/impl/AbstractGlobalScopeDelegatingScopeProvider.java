@@ -7,12 +7,15 @@
  *******************************************************************************/
 package org.eclipse.xtext.scoping.impl;
 
+import java.util.Map;
+
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.ICaseInsensitivityHelper;
 import org.eclipse.xtext.scoping.IGlobalScopeProvider;
 import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.util.Tuples;
 
 import com.google.common.base.Predicate;
 import com.google.inject.Inject;
@@ -43,14 +46,38 @@ public abstract class AbstractGlobalScopeDelegatingScopeProvider extends Abstrac
 	}
 	
 	protected IScope getGlobalScope(final Resource context, final EReference reference, final Predicate<IEObjectDescription> filter) {
+		if (sharedGlobalScopes != null && filter == null) {
+			Object key = Tuples.create(context, reference, scopeWrapper);
+			IScope result = sharedGlobalScopes.get(key);
+			if (result == null) {
+				result = wrap(globalScopeProvider.getScope(context, reference, filter));
+				sharedGlobalScopes.put(key, result);
+			}
+			return result;
+		}
 		return wrap(globalScopeProvider.getScope(context, reference, filter));
 	}
 	
 	private IScopeWrapper scopeWrapper;
 	
+	private Map<Object, IScope> sharedGlobalScopes;
+	
 	public void setWrapper(IScopeWrapper wrapper) {
 		this.scopeWrapper = wrapper;
 	}
+	
+	/**
+	 * Shares the global scope of a resource and reference between all scopes that are computed until the map is
+	 * reset, e.g. while the cross references of a resource are linked in a batch. The shared scopes are put into the
+	 * given map. Since the global scopes are not recomputed, the map should not outlive changes of the index.
+	 * 
+	 * @param sharedGlobalScopes the map of shared global scopes. May be <code>null</code> to compute the global scope
+	 *            for each scope again.
+	 * @since 2.16
+	 */
+	public void setSharedGlobalScopes(Map<Object, IScope> sharedGlobalScopes) {
+		this.sharedGlobalScopes = sharedGlobalScopes;
+	}
 
 	protected IScope wrap(IScope scope) {
 		return scopeWrapper!=null ? scopeWrapper.wrap(scope) : scope;
@@ -9,9 +9,15 @@ package org.eclipse.xtext.scoping.impl;
 
 import static com.google.common.collect.Iterables.*;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
@@ -23,6 +29,9 @@ import org.eclipse.xtext.scoping.IScope;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
 import com.google.inject.Provider;
 
 /**
@@ -39,6 +48,16 @@ import com.google.inject.Provider;
  */
 public abstract class AbstractScope implements IScope {
 
+	private static final Map<Class<?>, Boolean> prefixQuerySupported = new MapMaker().weakKeys().makeMap();
+
+	private static final Map<Class<?>, Boolean> multiNameQuerySupported = new MapMaker().weakKeys().makeMap();
+
+	private static final Map<Class<?>, Boolean> localMultiNameQuerySupported = new MapMaker().weakKeys().makeMap();
+
+	private static final Map<Class<?>, Boolean> localNameQuerySupported = new MapMaker().weakKeys().makeMap();
+
+	private static final Map<Class<?>, Boolean> sharedParentQuerySupported = new MapMaker().weakKeys().makeMap();
+
 	/**
 	 * Lazy iterable with a reasonable {@link #toString()} implementation that supports
 	 * shadowing of parents elements by means of filtering. 
@@ -115,6 +134,25 @@ public abstract class AbstractScope implements IScope {
 			return iterator.next();
 		return null;
 	}
+	
+	/**
+	 * Returns the {@link #getSingleLocalElementByName(QualifiedName) single local element} for each of the given
+	 * names. Names without a local element are not contained in the result. The default looks up the names one by
+	 * one, scopes that can query their local elements for several names at once should override it.
+	 * 
+	 * @see #isLocalMultiNameQuerySupported()
+	 * @since 2.16
+	 */
+	protected Map<QualifiedName, IEObjectDescription> getSingleLocalElementsByName(Collection<QualifiedName> names) {
+		Map<QualifiedName, IEObjectDescription> result = Maps.newHashMapWithExpectedSize(names.size());
+		for (QualifiedName name : names) {
+			IEObjectDescription element = getSingleLocalElementByName(name);
+			if (element != null) {
+				result.put(name, element);
+			}
+		}
+		return result;
+	}
 
 	@Override
 	public Iterable<IEObjectDescription> getAllElements() {
@@ -146,6 +184,223 @@ public abstract class AbstractScope implements IScope {
 		return result;
 	}
 	
+	/**
+	 * Returns the local elements that match the prefix followed by the parent's elements that match the prefix and are
+	 * not shadowed. If a subclass customizes {@link #getAllElements()} but not this method, the prefix is not queried
+	 * and {@link #getAllElements() all elements} are filtered instead.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getElementsByPrefix(final QualifiedName prefix) {
+		if (!isPrefixQuerySupported()) {
+			return Iterables.filter(getAllElements(), new Predicate<IEObjectDescription>() {
+				@Override
+				public boolean apply(IEObjectDescription input) {
+					return input.getName().matchesPrefixIgnoreCase(prefix);
+				}
+			});
+		}
+		Iterable<IEObjectDescription> localElements = getLocalElementsByPrefix(prefix);
+		Iterable<IEObjectDescription> parentElements = getParentElements(new Provider<Iterable<IEObjectDescription>>() {
+			@Override
+			public Iterable<IEObjectDescription> get() {
+				return getParent().getElementsByPrefix(prefix);
+			}
+		});
+		Iterable<IEObjectDescription> result = Iterables.concat(localElements, parentElements);
+		return result;
+	}
+	
+	/**
+	 * Returns <code>true</code> if {@link #getElementsByPrefix(QualifiedName)} may query the local elements and the
+	 * parent by prefix, i.e. if it is declared by the same class as {@link #getAllElements()} or by a subclass of it.
+	 * 
+	 * @since 2.16
+	 */
+	protected boolean isPrefixQuerySupported() {
+		return isDeclaredWith(prefixQuerySupported, "getElementsByPrefix", QualifiedName.class, "getAllElements");
+	}
+	
+	/**
+	 * Returns <code>true</code> if {@link #getSingleElements(Collection)} may look up the names in the local elements
+	 * and pass the remaining names to the parent at once, i.e. if it is declared by the same class as
+	 * {@link #getSingleElement(QualifiedName)} or by a subclass of it.
+	 * 
+	 * @since 2.16
+	 */
+	protected boolean isMultiNameQuerySupported() {
+		return isDeclaredWith(multiNameQuerySupported, "getSingleElements", Collection.class, "getSingleElement", QualifiedName.class);
+	}
+	
+	/**
+	 * Returns <code>true</code> if {@link #getSingleLocalElementsByName(Collection)} may query the local elements for
+	 * several names at once, i.e. if it is declared by the same class as
+	 * {@link #getSingleLocalElementByName(QualifiedName)} and {@link #getLocalElementsByName(QualifiedName)} or by a
+	 * subclass of them. Overrides of {@link #getSingleLocalElementsByName(Collection)} that bypass
+	 * {@link #getSingleLocalElementByName(QualifiedName)} should fall back to the super implementation otherwise.
+	 * 
+	 * @since 2.16
+	 */
+	protected boolean isLocalMultiNameQuerySupported() {
+		return isDeclaredWith(localMultiNameQuerySupported, "getSingleLocalElementsByName", Collection.class, "getSingleLocalElementByName", QualifiedName.class)
+				&& isDeclaredWith(localNameQuerySupported, "getSingleLocalElementsByName", Collection.class, "getLocalElementsByName", QualifiedName.class);
+	}
+	
+	private boolean isSharedParentQuerySupported() {
+		Class<?> type = getClass();
+		Boolean result = sharedParentQuerySupported.get(type);
+		if (result == null) {
+			result = getDeclaringClass(type, "getSingleElements", Collection.class) == AbstractScope.class;
+			sharedParentQuerySupported.put(type, result);
+		}
+		return result && isMultiNameQuerySupported();
+	}
+	
+	private boolean isDeclaredWith(Map<Class<?>, Boolean> cache, String query, Class<?> queryParameter, String customizable, Class<?>... customizableParameters) {
+		Class<?> type = getClass();
+		Boolean result = cache.get(type);
+		if (result == null) {
+			Class<?> customized = getDeclaringClass(type, customizable, customizableParameters);
+			Class<?> queried = getDeclaringClass(type, query, queryParameter);
+			result = customized != null && queried != null && customized.isAssignableFrom(queried);
+			cache.put(type, result);
+		}
+		return result;
+	}
+	
+	private static Class<?> getDeclaringClass(Class<?> type, String name, Class<?>... parameters) {
+		for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+			try {
+				return current.getDeclaredMethod(name, parameters).getDeclaringClass();
+			} catch (NoSuchMethodException e) {
+				// continue with the super class
+			} catch (SecurityException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Looks up the given names in the local elements and passes the names that are not found to the parent at once.
+	 * If a subclass customizes {@link #getSingleElement(QualifiedName)} but not this method, the names are looked up
+	 * one by one instead.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	public Map<QualifiedName, IEObjectDescription> getSingleElements(Collection<QualifiedName> names) {
+		if (!isMultiNameQuerySupported()) {
+			return IScope.super.getSingleElements(names);
+		}
+		Map<QualifiedName, IEObjectDescription> result = Maps.newHashMapWithExpectedSize(names.size());
+		result.putAll(getSingleLocalElementsByName(names));
+		List<QualifiedName> remaining = Lists.newArrayList();
+		for (QualifiedName name : names) {
+			if (!result.containsKey(name)) {
+				remaining.add(name);
+			}
+		}
+		if (!remaining.isEmpty()) {
+			result.putAll(getParent().getSingleElements(remaining));
+		}
+		return result;
+	}
+	
+	/**
+	 * Looks up the names of several scopes at once, e.g. the names of all cross references of a resource that are
+	 * linked with the same reference. Each scope looks up its names in its local elements and passes the names that
+	 * are not found to its parent, like {@link #getSingleElements(Collection)} does. Unlike that, a parent that is
+	 * shared by several of the given scopes, e.g. the global scope, is queried once for the remaining names of all of
+	 * them. Scopes that are no {@link AbstractScope} or that customize {@link #getSingleElement(QualifiedName)} or
+	 * {@link #getSingleElements(Collection)} are queried with {@link IScope#getSingleElements(Collection)}.
+	 * 
+	 * @param namesByScope the names to look up in each scope. May not be <code>null</code>.
+	 * @return the single elements of each of the given scopes by name. Names without an element are not contained.
+	 *         Never <code>null</code>.
+	 * @since 2.16
+	 */
+	public static Map<IScope, Map<QualifiedName, IEObjectDescription>> getSingleElementsOfScopes(
+			Map<IScope, ? extends Collection<QualifiedName>> namesByScope) {
+		// a scope is queried once all of its child scopes have passed their remaining names to it
+		Map<IScope, Set<QualifiedName>> queriedNames = Maps.newIdentityHashMap();
+		Map<IScope, Integer> pendingChildren = Maps.newIdentityHashMap();
+		Deque<IScope> toVisit = new ArrayDeque<IScope>(namesByScope.keySet());
+		while (!toVisit.isEmpty()) {
+			IScope scope = toVisit.removeFirst();
+			if (!queriedNames.containsKey(scope)) {
+				queriedNames.put(scope, new LinkedHashSet<QualifiedName>());
+				if (isSharingParentQuery(scope)) {
+					IScope parent = ((AbstractScope) scope).getParent();
+					Integer children = pendingChildren.get(parent);
+					pendingChildren.put(parent, children == null ? 1 : children + 1);
+					toVisit.add(parent);
+				}
+			}
+		}
+		for (Map.Entry<IScope, ? extends Collection<QualifiedName>> entry : namesByScope.entrySet()) {
+			queriedNames.get(entry.getKey()).addAll(entry.getValue());
+		}
+		Map<IScope, Map<QualifiedName, IEObjectDescription>> found = Maps.newIdentityHashMap();
+		Deque<IScope> ready = new ArrayDeque<IScope>();
+		for (IScope scope : queriedNames.keySet()) {
+			if (!pendingChildren.containsKey(scope)) {
+				ready.add(scope);
+			}
+		}
+		while (!ready.isEmpty()) {
+			IScope scope = ready.removeFirst();
+			Set<QualifiedName> names = queriedNames.get(scope);
+			if (isSharingParentQuery(scope)) {
+				AbstractScope abstractScope = (AbstractScope) scope;
+				Map<QualifiedName, IEObjectDescription> local = names.isEmpty()
+						? Collections.<QualifiedName, IEObjectDescription> emptyMap()
+						: abstractScope.getSingleLocalElementsByName(names);
+				found.put(scope, local);
+				IScope parent = abstractScope.getParent();
+				Set<QualifiedName> parentNames = queriedNames.get(parent);
+				for (QualifiedName name : names) {
+					if (!local.containsKey(name)) {
+						parentNames.add(name);
+					}
+				}
+				int children = pendingChildren.get(parent) - 1;
+				if (children == 0) {
+					pendingChildren.remove(parent);
+					ready.add(parent);
+				} else {
+					pendingChildren.put(parent, children);
+				}
+			} else {
+				found.put(scope, names.isEmpty()
+						? Collections.<QualifiedName, IEObjectDescription> emptyMap()
+						: scope.getSingleElements(names));
+			}
+		}
+		Map<IScope, Map<QualifiedName, IEObjectDescription>> result = Maps.newIdentityHashMap();
+		for (Map.Entry<IScope, ? extends Collection<QualifiedName>> entry : namesByScope.entrySet()) {
+			Map<QualifiedName, IEObjectDescription> elements = Maps.newHashMapWithExpectedSize(entry.getValue().size());
+			for (QualifiedName name : entry.getValue()) {
+				IScope scope = entry.getKey();
+				IEObjectDescription element = found.get(scope).get(name);
+				while (element == null && isSharingParentQuery(scope)) {
+					scope = ((AbstractScope) scope).getParent();
+					element = found.get(scope).get(name);
+				}
+				if (element != null) {
+					elements.put(name, element);
+				}
+			}
+			result.put(entry.getKey(), elements);
+		}
+		return result;
+	}
+	
+	private static boolean isSharingParentQuery(IScope scope) {
+		return scope instanceof AbstractScope && ((AbstractScope) scope).isSharedParentQuerySupported();
+	}
+	
 	@Override
 	public IEObjectDescription getSingleElement(EObject object) {
 		Iterable<IEObjectDescription> elements = getElements(object);
@@ -188,6 +443,23 @@ public abstract class AbstractScope implements IScope {
 		return result;
 	}
 	
+	/**
+	 * Returns the local elements whose name {@link QualifiedName#matchesPrefixIgnoreCase(QualifiedName) matches the
+	 * prefix}. The default filters {@link #getAllLocalElements() all local elements}.
+	 * 
+	 * @since 2.16
+	 */
+	protected Iterable<IEObjectDescription> getLocalElementsByPrefix(final QualifiedName prefix) {
+		Iterable<IEObjectDescription> localElements = getAllLocalElements();
+		Iterable<IEObjectDescription> result = Iterables.filter(localElements, new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				return input.getName().matchesPrefixIgnoreCase(prefix);
+			}
+		});
+		return result;
+	}
+	
 	protected Iterable<IEObjectDescription> getLocalElementsByEObject(final EObject object, final URI uri) {
 		Iterable<IEObjectDescription> localElements = getAllLocalElements();
 		Iterable<IEObjectDescription> result = Iterables.filter(localElements, new Predicate<IEObjectDescription>() {
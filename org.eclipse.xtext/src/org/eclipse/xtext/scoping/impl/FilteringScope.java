@@ -38,6 +38,14 @@ public class FilteringScope implements IScope {
 		return Iterables.filter(delegate.getAllElements(), filter);
 	}
 	
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getElementsByPrefix(QualifiedName prefix) {
+		return Iterables.filter(delegate.getElementsByPrefix(prefix), filter);
+	}
+	
 	@Override
 	public Iterable<IEObjectDescription> getElements(EObject object) {
 		return Iterables.filter(delegate.getElements(object), filter);
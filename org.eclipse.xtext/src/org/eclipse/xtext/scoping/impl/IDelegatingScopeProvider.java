@@ -7,6 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.scoping.impl;
 
+import java.util.Map;
+
+import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.scoping.IScopeProvider;
 
 /**
@@ -59,4 +62,34 @@ public interface IDelegatingScopeProvider extends IScopeProvider {
 		}
 	}
 	
+	/**
+	 * Set the map of shared global scopes on this delegating scope provider.
+	 * 
+	 * The map may be <code>null</code>
+	 * 
+	 * @see AbstractGlobalScopeDelegatingScopeProvider#setSharedGlobalScopes(Map)
+	 * @since 2.16
+	 */
+	default void setSharedGlobalScopes(Map<Object, IScope> sharedGlobalScopes) {
+		setSharedGlobalScopes(getDelegate(), sharedGlobalScopes);
+	}
+	
+	/**
+	 * Set the given map of shared global scopes on the given {@link IScopeProvider} if the scope provider is either a
+	 * delegating scope provider or an {@link AbstractGlobalScopeDelegatingScopeProvider}.
+	 * 
+	 * The map may be <code>null</code>
+	 * 
+	 * @since 2.16
+	 */
+	static void setSharedGlobalScopes(IScopeProvider scopeProvider, Map<Object, IScope> sharedGlobalScopes) {
+		if (scopeProvider instanceof AbstractGlobalScopeDelegatingScopeProvider) {
+			AbstractGlobalScopeDelegatingScopeProvider provider = (AbstractGlobalScopeDelegatingScopeProvider) scopeProvider;
+			provider.setSharedGlobalScopes(sharedGlobalScopes);
+		} else if (scopeProvider instanceof IDelegatingScopeProvider) {
+			IDelegatingScopeProvider delegatingScopeProvider = (IDelegatingScopeProvider) scopeProvider;
+			delegatingScopeProvider.setSharedGlobalScopes(sharedGlobalScopes);
+		}
+	}
+	
 }
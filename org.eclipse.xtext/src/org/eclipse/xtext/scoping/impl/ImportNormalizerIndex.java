@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.scoping.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.xtext.naming.QualifiedName;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Indexes a list of {@link ImportNormalizer import normalizers} by name, so that an {@link ImportScope} only has to
+ * ask the normalizers that can {@link ImportNormalizer#resolve(QualifiedName) resolve} or
+ * {@link ImportNormalizer#deresolve(QualifiedName) deresolve} a given name, instead of all of them. The candidates
+ * are always returned in the order of the indexed list. An index does not depend on the imported elements and may be
+ * shared by all import scopes of the same context.
+ * 
+ * <p>
+ * Only instances of {@link ImportNormalizer} itself are indexed, instances of subclasses are candidates for any name.
+ * </p>
+ *
+ * @since 2.16
+ */
+public class ImportNormalizerIndex {
+
+	private final List<ImportNormalizer> normalizers;
+
+	/**
+	 * The positions of the normalizers without wildcard by the lower case last segment of their namespace.
+	 */
+	private final Map<String, int[]> nonWildcardsBySimpleName = new HashMap<>();
+
+	/**
+	 * The positions of the normalizers without wildcard by their lower case namespace.
+	 */
+	private final Map<QualifiedName, int[]> nonWildcardsByName = new HashMap<>();
+
+	/**
+	 * The positions of the wildcard normalizers by their lower case namespace.
+	 */
+	private final Map<QualifiedName, int[]> wildcardsByPrefix = new HashMap<>();
+
+	/**
+	 * The positions of the normalizers that may resolve any name, i.e. the wildcard normalizers and the normalizers
+	 * that are not indexed.
+	 */
+	private final int[] resolvingAnyName;
+
+	/**
+	 * The positions of the normalizers that are not indexed.
+	 */
+	private final int[] unindexed;
+
+	private final int maxPrefixLength;
+
+	/**
+	 * @param normalizers
+	 *            the normalizers without duplicates
+	 */
+	public ImportNormalizerIndex(List<ImportNormalizer> normalizers) {
+		this.normalizers = ImmutableList.copyOf(normalizers);
+		List<Integer> resolvingAnyName = new ArrayList<>();
+		List<Integer> unindexed = new ArrayList<>();
+		int maxPrefixLength = 0;
+		for (int i = 0; i < normalizers.size(); i++) {
+			ImportNormalizer normalizer = normalizers.get(i);
+			QualifiedName namespace = normalizer.getImportedNamespacePrefix().toLowerCase();
+			if (normalizer.getClass() != ImportNormalizer.class) {
+				resolvingAnyName.add(i);
+				unindexed.add(i);
+			} else if (normalizer.hasWildCard()) {
+				resolvingAnyName.add(i);
+				add(wildcardsByPrefix, namespace, i);
+				maxPrefixLength = Math.max(maxPrefixLength, namespace.getSegmentCount());
+			} else {
+				add(nonWildcardsBySimpleName, namespace.getLastSegment(), i);
+				add(nonWildcardsByName, namespace, i);
+			}
+		}
+		this.resolvingAnyName = resolvingAnyName.stream().mapToInt(Integer::intValue).toArray();
+		this.unindexed = unindexed.stream().mapToInt(Integer::intValue).toArray();
+		this.maxPrefixLength = maxPrefixLength;
+	}
+
+	private static <K> void add(Map<K, int[]> map, K key, int position) {
+		int[] positions = map.get(key);
+		if (positions == null) {
+			map.put(key, new int[] { position });
+		} else {
+			int[] newPositions = Arrays.copyOf(positions, positions.length + 1);
+			newPositions[positions.length] = position;
+			map.put(key, newPositions);
+		}
+	}
+
+	public List<ImportNormalizer> getNormalizers() {
+		return normalizers;
+	}
+
+	public boolean isEmpty() {
+		return normalizers.isEmpty();
+	}
+
+	/**
+	 * @return the normalizers that may {@link ImportNormalizer#resolve(QualifiedName) resolve} the given relative
+	 *         name
+	 */
+	public List<ImportNormalizer> getResolvingNormalizers(QualifiedName relativeName) {
+		if (relativeName.isEmpty()) {
+			return Collections.emptyList();
+		}
+		if (relativeName.getSegmentCount() > 1) {
+			return toList(resolvingAnyName, null);
+		}
+		return toList(resolvingAnyName, nonWildcardsBySimpleName.get(relativeName.getFirstSegment().toLowerCase()));
+	}
+
+	/**
+	 * @return the normalizers that may {@link ImportNormalizer#deresolve(QualifiedName) deresolve} the given fully
+	 *         qualified name
+	 */
+	public List<ImportNormalizer> getDeresolvingNormalizers(QualifiedName fullyQualifiedName) {
+		QualifiedName lowerCase = fullyQualifiedName.toLowerCase();
+		BitSet positions = null;
+		if (unindexed.length != 0) {
+			positions = add(positions, unindexed);
+		}
+		int[] nonWildcards = nonWildcardsByName.get(lowerCase);
+		if (nonWildcards != null) {
+			positions = add(positions, nonWildcards);
+		}
+		int maxLength = Math.min(maxPrefixLength, lowerCase.getSegmentCount() - 1);
+		for (int length = 1; length <= maxLength; length++) {
+			int[] prefixed = wildcardsByPrefix.get(lowerCase.skipLast(lowerCase.getSegmentCount() - length));
+			if (prefixed != null) {
+				positions = add(positions, prefixed);
+			}
+		}
+		if (positions == null) {
+			return Collections.emptyList();
+		}
+		List<ImportNormalizer> result = new ArrayList<>(positions.cardinality());
+		for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+			result.add(normalizers.get(i));
+		}
+		return result;
+	}
+
+	private static BitSet add(BitSet positions, int[] toAdd) {
+		BitSet result = positions != null ? positions : new BitSet();
+		for (int position : toAdd) {
+			result.set(position);
+		}
+		return result;
+	}
+
+	private List<ImportNormalizer> toList(int[] first, int[] second) {
+		if (second == null) {
+			if (first.length == normalizers.size()) {
+				return normalizers;
+			}
+			List<ImportNormalizer> result = new ArrayList<>(first.length);
+			for (int position : first) {
+				result.add(normalizers.get(position));
+			}
+			return result;
+		}
+		// merge the sorted positions
+		List<ImportNormalizer> result = new ArrayList<>(first.length + second.length);
+		int i = 0;
+		int j = 0;
+		while (i < first.length || j < second.length) {
+			if (j == second.length || i < first.length && first[i] < second[j]) {
+				result.add(normalizers.get(first[i++]));
+			} else {
+				result.add(normalizers.get(second[j++]));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + normalizers;
+	}
+
+}
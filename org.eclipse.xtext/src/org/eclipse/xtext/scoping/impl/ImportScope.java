@@ -25,6 +25,8 @@ import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.ISelectable;
 import org.eclipse.xtext.resource.impl.AliasedEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.Tuples;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.HashMultimap;
@@ -39,6 +41,8 @@ public class ImportScope extends AbstractScope {
 
 	private final List<ImportNormalizer> normalizers;
 
+	private final ImportNormalizerIndex normalizerIndex;
+
 	private final ISelectable importFrom;
 
 	private final EClass type;
@@ -47,7 +51,23 @@ public class ImportScope extends AbstractScope {
 			boolean ignoreCase) {
 		super(parent, ignoreCase);
 		this.type = type;
-		this.normalizers = removeDuplicates(namespaceResolvers);
+		this.normalizerIndex = new ImportNormalizerIndex(removeDuplicates(namespaceResolvers));
+		this.normalizers = normalizerIndex.getNormalizers();
+		this.importFrom = importFrom;
+	}
+
+	/**
+	 * Creates an import scope with normalizers that have been indexed already, e.g. because the index is shared by
+	 * the import scopes of a context.
+	 * 
+	 * @since 2.16
+	 */
+	public ImportScope(ImportNormalizerIndex normalizerIndex, IScope parent, ISelectable importFrom, EClass type,
+			boolean ignoreCase) {
+		super(parent, ignoreCase);
+		this.type = type;
+		this.normalizerIndex = normalizerIndex;
+		this.normalizers = normalizerIndex.getNormalizers();
 		this.importFrom = importFrom;
 	}
 
@@ -69,6 +89,23 @@ public class ImportScope extends AbstractScope {
 	public Iterable<IEObjectDescription> getAllElements() {
 		final Iterable<IEObjectDescription> globalElements = getParent().getAllElements();
 		Iterable<IEObjectDescription> aliased = getAllLocalElements();
+		return concatNotShadowed(aliased, globalElements);
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getElementsByPrefix(QualifiedName prefix) {
+		if (!isPrefixQuerySupported())
+			return super.getElementsByPrefix(prefix);
+		final Iterable<IEObjectDescription> globalElements = getParent().getElementsByPrefix(prefix);
+		Iterable<IEObjectDescription> aliased = getLocalElementsByPrefix(prefix);
+		return concatNotShadowed(aliased, globalElements);
+	}
+
+	private Iterable<IEObjectDescription> concatNotShadowed(Iterable<IEObjectDescription> aliased,
+			Iterable<IEObjectDescription> globalElements) {
 		final Set<QualifiedName> elements = newHashSet();
 		for (IEObjectDescription from : aliased) {
 			QualifiedName qn = getIgnoreCaseAwareQualifiedName(from);
@@ -92,6 +129,47 @@ public class ImportScope extends AbstractScope {
 		return getAliasedElements(exportedObjects);
 	}
 
+	/**
+	 * Queries the imported elements whose name starts with the prefix resolved by each normalizer, so the imported
+	 * selectable is not enumerated unless it does not support {@link ISelectable#getExportedObjectsByPrefix(EClass,
+	 * QualifiedName) queries by prefix} or there are custom normalizers.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	protected Iterable<IEObjectDescription> getLocalElementsByPrefix(final QualifiedName prefix) {
+		if (prefix.isEmpty())
+			return getAllLocalElements();
+		ISelectable importFrom = getImportFrom();
+		Set<Pair<QualifiedName, URI>> seen = newHashSet();
+		List<IEObjectDescription> candidates = newArrayList();
+		for (ImportNormalizer normalizer : normalizers) {
+			if (normalizer.getClass() != ImportNormalizer.class)
+				return super.getLocalElementsByPrefix(prefix);
+			QualifiedName namespace = normalizer.getImportedNamespacePrefix();
+			Iterable<IEObjectDescription> imported;
+			if (normalizer.hasWildCard()) {
+				imported = importFrom.getExportedObjectsByPrefix(type, namespace.append(prefix));
+			} else if (!namespace.isEmpty()
+					&& QualifiedName.create(namespace.getLastSegment()).matchesPrefixIgnoreCase(prefix)) {
+				imported = importFrom.getExportedObjects(type, namespace, true);
+			} else {
+				continue;
+			}
+			for (IEObjectDescription description : imported) {
+				if (seen.add(Tuples.create(description.getName(), description.getEObjectURI())))
+					candidates.add(description);
+			}
+		}
+		// the candidates may also be deresolved to names that do not match the prefix
+		return filter(getAliasedElements(candidates), new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				return input.getName().matchesPrefixIgnoreCase(prefix);
+			}
+		});
+	}
+
 	@Override
 	protected Iterable<IEObjectDescription> getLocalElementsByEObject(final EObject object, final URI uri) {
 		Iterable<IEObjectDescription> candidates = getImportFrom().getExportedObjectsByObject(object);
@@ -118,7 +196,7 @@ public class ImportScope extends AbstractScope {
 
 		for (IEObjectDescription imported : candidates) {
 			QualifiedName fullyQualifiedName = imported.getName();
-			for (ImportNormalizer normalizer : normalizers) {
+			for (ImportNormalizer normalizer : normalizerIndex.getDeresolvingNormalizers(fullyQualifiedName)) {
 				QualifiedName alias = normalizer.deresolve(fullyQualifiedName);
 				if (alias != null) {
 					QualifiedName key = alias;
@@ -148,7 +226,7 @@ public class ImportScope extends AbstractScope {
 		List<IEObjectDescription> result = newArrayList();
 		QualifiedName resolvedQualifiedName = null;
 		ISelectable importFrom = getImportFrom();
-		for (ImportNormalizer normalizer : normalizers) {
+		for (ImportNormalizer normalizer : normalizerIndex.getResolvingNormalizers(name)) {
 			final QualifiedName resolvedName = normalizer.resolve(name);
 			if (resolvedName != null) {
 				Iterable<IEObjectDescription> resolvedElements = importFrom.getExportedObjects(type, resolvedName,
@@ -11,6 +11,7 @@ package org.eclipse.xtext.scoping.impl;
 import static java.util.Collections.*;
 
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import org.eclipse.emf.common.notify.Notifier;
@@ -63,6 +64,8 @@ public class ImportedNamespaceAwareLocalScopeProvider extends AbstractGlobalScop
 	@Inject
 	private IQualifiedNameConverter qualifiedNameConverter;
 	
+	private Boolean listBasedImportScopeCustomized;
+	
 	@Inject
 	public ImportedNamespaceAwareLocalScopeProvider() {
 	}
@@ -134,6 +137,26 @@ public class ImportedNamespaceAwareLocalScopeProvider extends AbstractGlobalScop
 		});
 	}
 
+	/**
+	 * Returns the {@link #getImportedNamespaceResolvers(EObject, boolean) imported namespace resolvers} of the
+	 * context, indexed by name. The index is cached and shared by the import scopes of the context.
+	 * 
+	 * @since 2.16
+	 */
+	protected ImportNormalizerIndex getImportedNamespaceIndex(final EObject context, final boolean ignoreCase) {
+		return cache.get(Tuples.create(context, ignoreCase, "importIndex"), context.eResource(), new Provider<ImportNormalizerIndex>() {
+			@Override
+			public ImportNormalizerIndex get() {
+				List<ImportNormalizer> normalizers = getImportedNamespaceResolvers(context, ignoreCase);
+				return new ImportNormalizerIndex(removeDuplicates(normalizers));
+			}
+		});
+	}
+
+	private List<ImportNormalizer> removeDuplicates(List<ImportNormalizer> normalizers) {
+		return Lists.newArrayList(new LinkedHashSet<ImportNormalizer>(normalizers));
+	}
+
 	protected List<ImportNormalizer> internalGetImportedNamespaceResolvers(final EObject context, boolean ignoreCase) {
 		List<ImportNormalizer> importedNamespaceResolvers = Lists.newArrayList();
 		EList<EObject> eContents = context.eContents();
@@ -196,7 +219,7 @@ public class ImportedNamespaceAwareLocalScopeProvider extends AbstractGlobalScop
 		ISelectable allDescriptions = getAllDescriptions(context.eResource());
 		QualifiedName name = getQualifiedNameOfLocalElement(context);
 		boolean ignoreCase = isIgnoreCase(reference);
-		final List<ImportNormalizer> namespaceResolvers = getImportedNamespaceResolvers(context, ignoreCase);
+		final ImportNormalizerIndex namespaceResolvers = getImportedNamespaceIndex(context, ignoreCase);
 		if (!namespaceResolvers.isEmpty()) {
 			if (isRelativeImport() && name!=null && !name.isEmpty()) {
 				ImportNormalizer localNormalizer = doCreateImportNormalizer(name, true, ignoreCase); 
@@ -215,6 +238,35 @@ public class ImportedNamespaceAwareLocalScopeProvider extends AbstractGlobalScop
 		return new ImportScope(namespaceResolvers, parent, importFrom, type, ignoreCase);
 	}
 
+	/**
+	 * Creates an import scope that shares the given index. If a subclass customizes
+	 * {@link #createImportScope(IScope, List, ISelectable, EClass, boolean)}, the indexed normalizers are passed to
+	 * that method instead.
+	 * 
+	 * @since 2.16
+	 */
+	protected ImportScope createImportScope(IScope parent, ImportNormalizerIndex namespaceResolvers, ISelectable importFrom, EClass type, boolean ignoreCase) {
+		if (isListBasedImportScopeCustomized())
+			return createImportScope(parent, namespaceResolvers.getNormalizers(), importFrom, type, ignoreCase);
+		return new ImportScope(namespaceResolvers, parent, importFrom, type, ignoreCase);
+	}
+
+	private boolean isListBasedImportScopeCustomized() {
+		if (listBasedImportScopeCustomized == null) {
+			boolean customized = false;
+			for (Class<?> type = getClass(); type != ImportedNamespaceAwareLocalScopeProvider.class && !customized; type = type.getSuperclass()) {
+				try {
+					type.getDeclaredMethod("createImportScope", IScope.class, List.class, ISelectable.class, EClass.class, boolean.class);
+					customized = true;
+				} catch (NoSuchMethodException e) {
+					// not declared by this class
+				}
+			}
+			listBasedImportScopeCustomized = customized;
+		}
+		return listBasedImportScopeCustomized;
+	}
+
 	protected QualifiedName getQualifiedNameOfLocalElement(final EObject context) {
 		return qualifiedNameProvider.getFullyQualifiedName(context);
 	}
@@ -7,14 +7,18 @@
  *******************************************************************************/
 package org.eclipse.xtext.scoping.impl;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.scoping.IScope;
 
 import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 
 /**
@@ -47,8 +51,20 @@ public class MultimapBasedScope extends AbstractScope {
 		return new MultimapBasedScope(parent, map, ignoreCase);
 	}
 	
+	private static final Comparator<QualifiedName> IGNORE_CASE = new Comparator<QualifiedName>() {
+		@Override
+		public int compare(QualifiedName o1, QualifiedName o2) {
+			return o1.compareToIgnoreCase(o2);
+		}
+	};
+
 	private Multimap<QualifiedName, IEObjectDescription> elements;
 
+	/**
+	 * The keys of the elements, sorted ignoring case. It is created on the first query by prefix.
+	 */
+	private QualifiedName[] sortedKeys;
+
 	protected MultimapBasedScope(IScope parent, Multimap<QualifiedName, IEObjectDescription> elements, boolean ignoreCase) {
 		super(parent, ignoreCase);
 		this.elements = elements;
@@ -72,6 +88,53 @@ public class MultimapBasedScope extends AbstractScope {
 		return Collections.emptyList();
 	}
 	
+	/**
+	 * Looks up the elements in the sorted keys, so the cost depends on the number of matches rather than the size of
+	 * the scope.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	protected Iterable<IEObjectDescription> getLocalElementsByPrefix(QualifiedName prefix) {
+		QualifiedName[] keys = getSortedKeys();
+		List<IEObjectDescription> result = null;
+		for (int i = lowerBound(keys, prefix); i < keys.length && keys[i].matchesPrefixIgnoreCase(prefix); i++) {
+			if (result == null)
+				result = Lists.newArrayList();
+			result.addAll(elements.get(keys[i]));
+		}
+		if (result == null)
+			return Collections.emptyList();
+		return result;
+	}
+
+	private QualifiedName[] getSortedKeys() {
+		QualifiedName[] result = sortedKeys;
+		if (result == null) {
+			result = elements.keySet().toArray(new QualifiedName[elements.keySet().size()]);
+			Arrays.sort(result, IGNORE_CASE);
+			sortedKeys = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the first key that is not smaller than the prefix, ignoring case. The keys that match the
+	 * prefix follow it without gaps.
+	 */
+	private static int lowerBound(QualifiedName[] keys, QualifiedName prefix) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid].compareToIgnoreCase(prefix) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+
 	@Override
 	protected boolean isShadowed(IEObjectDescription fromParent) {
 		QualifiedName name = fromParent.getName();
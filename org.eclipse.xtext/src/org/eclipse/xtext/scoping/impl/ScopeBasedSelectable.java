@@ -45,6 +45,14 @@ public class ScopeBasedSelectable implements ISelectable {
 		return scope.getAllElements();
 	}
 	
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, QualifiedName prefix) {
+		return scope.getElementsByPrefix(prefix);
+	}
+
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
 		return scope.getElements(object);
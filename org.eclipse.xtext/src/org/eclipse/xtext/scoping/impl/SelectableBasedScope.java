@@ -7,6 +7,10 @@
  *******************************************************************************/
 package org.eclipse.xtext.scoping.impl;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
@@ -15,6 +19,7 @@ import org.eclipse.xtext.scoping.IScope;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
@@ -48,12 +53,42 @@ public class SelectableBasedScope extends AbstractScope {
 		return filterLocalElements(unfiltered);
 	}
 	
+	/**
+	 * Queries the {@link #getSelectable() selectable} for all names at once.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	protected Map<QualifiedName, IEObjectDescription> getSingleLocalElementsByName(Collection<QualifiedName> names) {
+		if (!isLocalMultiNameQuerySupported()) {
+			return super.getSingleLocalElementsByName(names);
+		}
+		Map<QualifiedName, Iterable<IEObjectDescription>> unfiltered = selectable.getExportedObjectsByNames(type, names, isIgnoreCase());
+		Map<QualifiedName, IEObjectDescription> result = Maps.newHashMapWithExpectedSize(unfiltered.size());
+		for (Map.Entry<QualifiedName, Iterable<IEObjectDescription>> entry : unfiltered.entrySet()) {
+			Iterator<IEObjectDescription> iterator = filterLocalElements(entry.getValue()).iterator();
+			if (iterator.hasNext()) {
+				result.put(entry.getKey(), iterator.next());
+			}
+		}
+		return result;
+	}
+	
 	@Override
 	protected Iterable<IEObjectDescription> getAllLocalElements() {
 		Iterable<IEObjectDescription> unfiltered = selectable.getExportedObjectsByType(type);
 		return filterLocalElements(unfiltered);
 	}
 	
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	protected Iterable<IEObjectDescription> getLocalElementsByPrefix(QualifiedName prefix) {
+		Iterable<IEObjectDescription> unfiltered = selectable.getExportedObjectsByPrefix(type, prefix);
+		return filterLocalElements(unfiltered);
+	}
+	
 	protected ISelectable getSelectable() {
 		return selectable;
 	}
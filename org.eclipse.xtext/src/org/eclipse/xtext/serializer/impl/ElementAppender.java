@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer.impl;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Concatenates the tokens of a root object and the separately serialized texts of its elements. Where neither the
+ * hidden tokens nor the texts contain whitespace, a space is appended between two tokens and the element separator is
+ * appended before and after an element. If the {@link Appendable} is {@link Flushable}, it is flushed after each
+ * element.
+ *
+ * @since 2.16
+ */
+public class ElementAppender {
+
+	private final Appendable out;
+
+	private final String elementSeparator;
+
+	private boolean written;
+
+	private boolean lastWasWhitespace;
+
+	private boolean lastWasElement;
+
+	/**
+	 * @param elementSeparator
+	 *            the text that separates elements from the tokens around them, usually a line separator.
+	 */
+	public ElementAppender(Appendable out, String elementSeparator) {
+		this.out = out;
+		this.elementSeparator = elementSeparator;
+	}
+
+	public void appendSemantic(String token) throws IOException {
+		if (token == null || token.length() == 0)
+			return;
+		if (written && !lastWasWhitespace && !Character.isWhitespace(token.charAt(0)))
+			out.append(lastWasElement ? elementSeparator : " ");
+		out.append(token);
+		written = true;
+		lastWasWhitespace = Character.isWhitespace(token.charAt(token.length() - 1));
+		lastWasElement = false;
+	}
+
+	public void appendHidden(String token) throws IOException {
+		if (token == null || token.length() == 0)
+			return;
+		out.append(token);
+		written = true;
+		lastWasWhitespace = true;
+		lastWasElement = false;
+	}
+
+	public void appendElement(CharSequence text) throws IOException {
+		if (text == null || text.length() == 0)
+			return;
+		if (written && !lastWasWhitespace && !Character.isWhitespace(text.charAt(0)))
+			out.append(elementSeparator);
+		out.append(text);
+		written = true;
+		lastWasWhitespace = Character.isWhitespace(text.charAt(text.length() - 1));
+		lastWasElement = true;
+		if (out instanceof Flushable)
+			((Flushable) out).flush();
+	}
+
+}
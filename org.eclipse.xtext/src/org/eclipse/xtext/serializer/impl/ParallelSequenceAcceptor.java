@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer.impl;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.Action;
+import org.eclipse.xtext.RuleCall;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.serializer.ISerializationContext;
+import org.eclipse.xtext.serializer.analysis.SerializationContext;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+
+/**
+ * Records the tokens of a root object and does not enter its elements. Instead, each element that is assigned to the
+ * root object is {@link #fork(ISerializationContext, EObject) forked}, so it can be sequenced independently, e.g. on
+ * another thread. After {@link #await()}, a {@link #replay(org.eclipse.xtext.serializer.acceptor.ISequenceAcceptor)
+ * replay} passes the tokens of the root object and of its elements in their original order, as if they had been
+ * sequenced at once.
+ *
+ * @since 2.16
+ */
+public abstract class ParallelSequenceAcceptor extends SequenceRecorder {
+
+	private final ISerializationContext context;
+
+	private final List<Future<SequenceRecorder>> elements = Lists.newArrayList();
+
+	/**
+	 * @param context
+	 *            the context of the root object.
+	 */
+	public ParallelSequenceAcceptor(ISerializationContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Starts the sequencing of the given element.
+	 *
+	 * @return the future token sequence of the element.
+	 */
+	protected abstract Future<SequenceRecorder> fork(ISerializationContext context, EObject element);
+
+	/**
+	 * Waits until all elements have been sequenced.
+	 */
+	public void await() throws InterruptedException, ExecutionException {
+		for (Future<SequenceRecorder> element : elements)
+			element.get();
+	}
+
+	/**
+	 * Cancels the sequencing of the elements that have not been completed yet.
+	 */
+	public void cancel() {
+		for (Future<SequenceRecorder> element : elements)
+			element.cancel(false);
+	}
+
+	@Override
+	public boolean enterAssignedAction(Action action, EObject semanticChild, ICompositeNode node) {
+		Future<SequenceRecorder> element = forkElement(SerializationContext.forChild(context, action, semanticChild),
+				semanticChild);
+		record(target -> {
+			if (!target.enterAssignedAction(action, semanticChild, node))
+				return;
+			Futures.getUnchecked(element).replay(target);
+			target.leaveAssignedAction(action, semanticChild);
+		});
+		return false;
+	}
+
+	@Override
+	public boolean enterAssignedParserRuleCall(RuleCall rc, EObject semanticChild, ICompositeNode node) {
+		Future<SequenceRecorder> element = forkElement(SerializationContext.forChild(context, rc, semanticChild),
+				semanticChild);
+		record(target -> {
+			if (!target.enterAssignedParserRuleCall(rc, semanticChild, node))
+				return;
+			Futures.getUnchecked(element).replay(target);
+			target.leaveAssignedParserRuleCall(rc, semanticChild);
+		});
+		return false;
+	}
+
+	private Future<SequenceRecorder> forkElement(ISerializationContext elementContext, EObject element) {
+		Future<SequenceRecorder> result = fork(elementContext, element);
+		elements.add(result);
+		return result;
+	}
+
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.AbstractRule;
+import org.eclipse.xtext.Action;
+import org.eclipse.xtext.Keyword;
+import org.eclipse.xtext.RuleCall;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.serializer.acceptor.ISequenceAcceptor;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Records a token sequence, so it can be {@link #replay(ISequenceAcceptor) replayed} into another acceptor later, e.g.
+ * after it has been recorded on another thread. Every child is entered and recorded, too. If the target of a replay
+ * does not enter a child, the tokens of that child are skipped. {@link #finish()} is not recorded.
+ *
+ * @since 2.16
+ */
+public class SequenceRecorder implements ISequenceAcceptor {
+
+	private static class Call {
+		private final Predicate<ISequenceAcceptor> call;
+		private final int depth;
+
+		private Call(Predicate<ISequenceAcceptor> call, int depth) {
+			this.call = call;
+			this.depth = depth;
+		}
+	}
+
+	private final List<Call> calls = Lists.newArrayList();
+
+	/**
+	 * Passes the recorded calls to the given acceptor in their original order.
+	 */
+	public void replay(ISequenceAcceptor target) {
+		int skipped = 0;
+		for (Call call : calls) {
+			if (skipped > 0)
+				skipped += call.depth;
+			else if (!call.call.test(target))
+				skipped = 1;
+		}
+	}
+
+	protected void record(Consumer<ISequenceAcceptor> call) {
+		calls.add(new Call(target -> {
+			call.accept(target);
+			return true;
+		}, 0));
+	}
+
+	/**
+	 * Records a call that enters a child. The calls up to the matching {@link #recordLeave(Consumer) leave} are skipped
+	 * during a replay if the given call returns <code>false</code>.
+	 */
+	protected void recordEnter(Predicate<ISequenceAcceptor> call) {
+		calls.add(new Call(call, 1));
+	}
+
+	protected void recordLeave(Consumer<ISequenceAcceptor> call) {
+		calls.add(new Call(target -> {
+			call.accept(target);
+			return true;
+		}, -1));
+	}
+
+	@Override
+	public void acceptAssignedCrossRefDatatype(RuleCall rc, String token, EObject value, int index,
+			ICompositeNode node) {
+		record(target -> target.acceptAssignedCrossRefDatatype(rc, token, value, index, node));
+	}
+
+	@Override
+	public void acceptAssignedCrossRefEnum(RuleCall enumRC, String token, EObject value, int index,
+			ICompositeNode node) {
+		record(target -> target.acceptAssignedCrossRefEnum(enumRC, token, value, index, node));
+	}
+
+	@Override
+	public void acceptAssignedCrossRefKeyword(Keyword kw, String token, EObject value, int index, ILeafNode node) {
+		record(target -> target.acceptAssignedCrossRefKeyword(kw, token, value, index, node));
+	}
+
+	@Override
+	public void acceptAssignedCrossRefTerminal(RuleCall rc, String token, EObject value, int index, ILeafNode node) {
+		record(target -> target.acceptAssignedCrossRefTerminal(rc, token, value, index, node));
+	}
+
+	@Override
+	public void acceptAssignedDatatype(RuleCall datatypeRC, String token, Object value, int index,
+			ICompositeNode node) {
+		record(target -> target.acceptAssignedDatatype(datatypeRC, token, value, index, node));
+	}
+
+	@Override
+	public void acceptAssignedEnum(RuleCall enumRC, String token, Object value, int index, ICompositeNode node) {
+		record(target -> target.acceptAssignedEnum(enumRC, token, value, index, node));
+	}
+
+	@Override
+	public void acceptAssignedKeyword(Keyword keyword, String token, Object value, int index, ILeafNode node) {
+		record(target -> target.acceptAssignedKeyword(keyword, token, value, index, node));
+	}
+
+	@Override
+	public void acceptAssignedTerminal(RuleCall terminalRC, String token, Object value, int index, ILeafNode node) {
+		record(target -> target.acceptAssignedTerminal(terminalRC, token, value, index, node));
+	}
+
+	@Override
+	public void acceptComment(AbstractRule rule, String token, ILeafNode node) {
+		record(target -> target.acceptComment(rule, token, node));
+	}
+
+	@Override
+	public void acceptWhitespace(AbstractRule rule, String token, ILeafNode node) {
+		record(target -> target.acceptWhitespace(rule, token, node));
+	}
+
+	@Override
+	public void acceptUnassignedAction(Action action) {
+		record(target -> target.acceptUnassignedAction(action));
+	}
+
+	@Override
+	public void acceptUnassignedDatatype(RuleCall datatypeRC, String token, ICompositeNode node) {
+		record(target -> target.acceptUnassignedDatatype(datatypeRC, token, node));
+	}
+
+	@Override
+	public void acceptUnassignedEnum(RuleCall enumRC, String token, ICompositeNode node) {
+		record(target -> target.acceptUnassignedEnum(enumRC, token, node));
+	}
+
+	@Override
+	public void acceptUnassignedKeyword(Keyword keyword, String token, ILeafNode node) {
+		record(target -> target.acceptUnassignedKeyword(keyword, token, node));
+	}
+
+	@Override
+	public void acceptUnassignedTerminal(RuleCall terminalRC, String token, ILeafNode node) {
+		record(target -> target.acceptUnassignedTerminal(terminalRC, token, node));
+	}
+
+	@Override
+	public boolean enterAssignedAction(Action action, EObject semanticChild, ICompositeNode node) {
+		recordEnter(target -> target.enterAssignedAction(action, semanticChild, node));
+		return true;
+	}
+
+	@Override
+	public boolean enterAssignedParserRuleCall(RuleCall rc, EObject semanticChild, ICompositeNode node) {
+		recordEnter(target -> target.enterAssignedParserRuleCall(rc, semanticChild, node));
+		return true;
+	}
+
+	@Override
+	@Deprecated
+	public void enterUnassignedParserRuleCall(RuleCall rc) {
+		record(target -> target.enterUnassignedParserRuleCall(rc));
+	}
+
+	@Override
+	public void finish() {
+	}
+
+	@Override
+	public void leaveAssignedAction(Action action, EObject semanticChild) {
+		recordLeave(target -> target.leaveAssignedAction(action, semanticChild));
+	}
+
+	@Override
+	public void leaveAssignedParserRuleCall(RuleCall rc, EObject semanticChild) {
+		recordLeave(target -> target.leaveAssignedParserRuleCall(rc, semanticChild));
+	}
+
+	@Override
+	@Deprecated
+	public void leaveUnssignedParserRuleCall(RuleCall rc) {
+		record(target -> target.leaveUnssignedParserRuleCall(rc));
+	}
+
+}
@@ -8,14 +8,20 @@
 package org.eclipse.xtext.serializer.impl;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.Writer;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.IGrammarAccess;
 import org.eclipse.xtext.formatting.IFormatter;
 import org.eclipse.xtext.formatting.IFormatterExtension;
+import org.eclipse.xtext.formatting.IWhitespaceInformationProvider;
 import org.eclipse.xtext.formatting2.FormatterRequest;
 import org.eclipse.xtext.formatting2.IFormatter2;
 import org.eclipse.xtext.formatting2.regionaccess.ITextRegionAccess;
@@ -40,10 +46,13 @@ import org.eclipse.xtext.serializer.sequencer.ISemanticSequencer;
 import org.eclipse.xtext.serializer.sequencer.ISyntacticSequencer;
 import org.eclipse.xtext.util.EmfFormatter;
 import org.eclipse.xtext.util.ReplaceRegion;
+import org.eclipse.xtext.util.RuntimeIOException;
 import org.eclipse.xtext.validation.IConcreteSyntaxValidator;
 
+import com.google.common.base.Throwables;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -52,6 +61,14 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class Serializer implements ISerializer {
 
+	/**
+	 * The name of the binding that enables the parallel serialization of the elements that are contained in the
+	 * serialized object.
+	 * 
+	 * @since 2.16
+	 */
+	public static final String PARALLEL_SERIALIZATION = "org.eclipse.xtext.serializer.impl.Serializer.parallelSerialization";
+
 	@Override
 	public String serialize(EObject obj) {
 		checkNotNull(obj, "obj must not be null.");
@@ -88,6 +105,21 @@ public class Serializer implements ISerializer {
 	@Inject
 	protected IConcreteSyntaxValidator validator;
 
+	@Inject
+	private IWhitespaceInformationProvider whitespaceInformationProvider;
+
+	/**
+	 * Whether the elements of the serialized object are sequenced in parallel. The formatter still runs once for the
+	 * whole object on the calling thread, so the result is the same as the sequential serialization. Since the elements
+	 * are sequenced on different threads, the model must not be modified concurrently and its cross references should
+	 * be resolved.
+	 * 
+	 * @since 2.16
+	 */
+	@Inject(optional = true)
+	@Named(PARALLEL_SERIALIZATION)
+	private boolean parallelSerialization = false;
+
 	/**
 	 * @deprecated use {@link #serialize(ISerializationContext, EObject, ISequenceAcceptor, ISerializationDiagnostic.Acceptor)}
 	 */
@@ -143,7 +175,87 @@ public class Serializer implements ISerializer {
 	}
 
 	protected void serialize(EObject obj, Appendable appendable, SaveOptions options) throws IOException {
+		if (parallelSerialization) {
+			serializeParallel(obj, appendable, options);
+			return;
+		}
 		ITextRegionAccess regionAccess = serializeToRegions(obj);
+		format(regionAccess, options, appendable);
+	}
+
+	/**
+	 * Sequences the tokens of the given object on the calling thread and each of its contents as an independent task
+	 * on the {@link #getForkJoinPool() fork-join pool}, with its own sequencers. The recorded token sequences are
+	 * merged in order into a single {@link ITextRegionAccess}, which is formatted once on the calling thread. Thus the
+	 * formatter sees the same regions as for a sequential serialization.
+	 * 
+	 * @see #PARALLEL_SERIALIZATION
+	 * @since 2.16
+	 */
+	protected void serializeParallel(EObject obj, Appendable appendable, SaveOptions options) throws IOException {
+		ISerializationContext context = getIContext(obj);
+		final ISerializationDiagnostic.Acceptor errors = ISerializationDiagnostic.EXCEPTION_THROWING_ACCEPTOR;
+		final ForkJoinPool pool = getForkJoinPool();
+		ParallelSequenceAcceptor acceptor = new ParallelSequenceAcceptor(context) {
+			@Override
+			protected Future<SequenceRecorder> fork(final ISerializationContext elementContext, final EObject element) {
+				return pool.submit(new Callable<SequenceRecorder>() {
+					@Override
+					public SequenceRecorder call() throws Exception {
+						SequenceRecorder result = new SequenceRecorder();
+						serialize(elementContext, element, result, errors);
+						return result;
+					}
+				});
+			}
+		};
+		try {
+			serialize(context, obj, acceptor, errors);
+			acceptor.await();
+			TextRegionAccessBuilder builder = textRegionBuilderProvider.get();
+			acceptor.replay(builder.forSequence(context, obj));
+			format(builder.create(), options, appendable);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			Throwables.throwIfInstanceOf(cause, IOException.class);
+			Throwables.throwIfUnchecked(cause);
+			throw new RuntimeException(cause);
+		} finally {
+			acceptor.cancel();
+		}
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	public void setParallelSerialization(boolean parallelSerialization) {
+		this.parallelSerialization = parallelSerialization;
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected ForkJoinPool getForkJoinPool() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected String getLineSeparator(EObject obj) {
+		return whitespaceInformationProvider
+				.getLineSeparatorInformation(obj.eResource() == null ? null : obj.eResource().getURI())
+				.getLineSeparator();
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected void format(ITextRegionAccess regionAccess, SaveOptions options, Appendable appendable)
+			throws IOException {
 		FormatterRequest request = formatterRequestProvider.get();
 		request.setFormatUndefinedHiddenRegionsOnly(!options.isFormatting());
 		request.setTextRegionAccess(regionAccess);
@@ -152,6 +264,32 @@ public class Serializer implements ISerializer {
 		regionAccess.getRewriter().renderToAppendable(replacements, appendable);
 	}
 
+	/**
+	 * Serializes the given object without building the text regions of the whole model. The tokens of the object
+	 * itself are written directly, and each of its contents is formatted and written as soon as it has been
+	 * serialized.
+	 * 
+	 * @see SaveOptions#isStreaming()
+	 * @since 2.16
+	 */
+	protected void serializeStreaming(EObject obj, Writer writer, final SaveOptions options) throws IOException {
+		ISerializationContext context = getIContext(obj);
+		ISerializationDiagnostic.Acceptor errors = ISerializationDiagnostic.EXCEPTION_THROWING_ACCEPTOR;
+		ISequenceAcceptor acceptor = new StreamingSequenceAcceptor(context, writer, getLineSeparator(obj)) {
+			@Override
+			protected void appendElement(ITextRegionAccess element, Appendable out) throws IOException {
+				format(element, options, out);
+			}
+		};
+		try {
+			serialize(context, obj, acceptor, errors);
+		} catch (RuntimeIOException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw e;
+		}
+	}
+
 	/**
 	 * @deprecated use {@link #getIContext(EObject)}
 	 */
@@ -195,7 +333,10 @@ public class Serializer implements ISerializer {
 		checkNotNull(writer, "writer must not be null.");
 		checkNotNull(options, "options must not be null.");
 		if (formatter2Provider != null) {
-			serialize(obj, (Appendable) writer, options);
+			if (options.isStreaming())
+				serializeStreaming(obj, writer, options);
+			else
+				serialize(obj, (Appendable) writer, options);
 			writer.flush();
 		} else {
 			serialize(obj, new WriterTokenStream(writer), options);
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer.impl;
+
+import java.io.IOException;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.AbstractRule;
+import org.eclipse.xtext.Action;
+import org.eclipse.xtext.Keyword;
+import org.eclipse.xtext.RuleCall;
+import org.eclipse.xtext.formatting2.regionaccess.ITextRegionAccess;
+import org.eclipse.xtext.formatting2.regionaccess.internal.TextRegionAccessBuildingSequencer;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
+import org.eclipse.xtext.serializer.ISerializationContext;
+import org.eclipse.xtext.serializer.acceptor.ISequenceAcceptor;
+import org.eclipse.xtext.serializer.analysis.SerializationContext;
+import org.eclipse.xtext.util.RuntimeIOException;
+
+/**
+ * Writes the tokens of the root object directly to an {@link Appendable} and collects the tokens of each element that
+ * is assigned to the root object, by a rule call or an action, in a separate {@link ITextRegionAccess}. Each of these
+ * is passed to {@link #appendElement(ITextRegionAccess, Appendable)} as soon as the element has been sequenced and
+ * can be discarded afterwards, so the memory consumption does not grow with the number of elements. The tokens and
+ * elements are concatenated by an {@link ElementAppender}.
+ *
+ * @since 2.16
+ */
+public abstract class StreamingSequenceAcceptor implements ISequenceAcceptor {
+
+	private final ISerializationContext context;
+
+	private final ElementAppender appender;
+
+	private TextRegionAccessBuildingSequencer element;
+
+	private int depth;
+
+	/**
+	 * @param context
+	 *            the context of the root object.
+	 * @param elementSeparator
+	 *            the text that separates elements from the tokens around them, usually a line separator.
+	 */
+	public StreamingSequenceAcceptor(ISerializationContext context, Appendable out, String elementSeparator) {
+		this.context = context;
+		this.appender = new ElementAppender(out, elementSeparator);
+	}
+
+	/**
+	 * Formats the given element and appends it.
+	 */
+	protected abstract void appendElement(ITextRegionAccess element, Appendable out) throws IOException;
+
+	@Override
+	public void acceptAssignedCrossRefDatatype(RuleCall rc, String token, EObject value, int index,
+			ICompositeNode node) {
+		if (element != null)
+			element.acceptAssignedCrossRefDatatype(rc, token, value, index, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptAssignedCrossRefEnum(RuleCall enumRC, String token, EObject value, int index,
+			ICompositeNode node) {
+		if (element != null)
+			element.acceptAssignedCrossRefEnum(enumRC, token, value, index, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptAssignedCrossRefKeyword(Keyword kw, String token, EObject value, int index, ILeafNode node) {
+		if (element != null)
+			element.acceptAssignedCrossRefKeyword(kw, token, value, index, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptAssignedCrossRefTerminal(RuleCall rc, String token, EObject value, int index, ILeafNode node) {
+		if (element != null)
+			element.acceptAssignedCrossRefTerminal(rc, token, value, index, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptAssignedDatatype(RuleCall datatypeRC, String token, Object value, int index,
+			ICompositeNode node) {
+		if (element != null)
+			element.acceptAssignedDatatype(datatypeRC, token, value, index, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptAssignedEnum(RuleCall enumRC, String token, Object value, int index, ICompositeNode node) {
+		if (element != null)
+			element.acceptAssignedEnum(enumRC, token, value, index, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptAssignedKeyword(Keyword keyword, String token, Object value, int index, ILeafNode node) {
+		if (element != null)
+			element.acceptAssignedKeyword(keyword, token, value, index, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptAssignedTerminal(RuleCall terminalRC, String token, Object value, int index, ILeafNode node) {
+		if (element != null)
+			element.acceptAssignedTerminal(terminalRC, token, value, index, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptComment(AbstractRule rule, String token, ILeafNode node) {
+		if (element != null)
+			element.acceptComment(rule, token, node);
+		else
+			writeHidden(token);
+	}
+
+	@Override
+	public void acceptWhitespace(AbstractRule rule, String token, ILeafNode node) {
+		if (element != null)
+			element.acceptWhitespace(rule, token, node);
+		else
+			writeHidden(token);
+	}
+
+	@Override
+	public void acceptUnassignedAction(Action action) {
+		if (element != null)
+			element.acceptUnassignedAction(action);
+	}
+
+	@Override
+	public void acceptUnassignedDatatype(RuleCall datatypeRC, String token, ICompositeNode node) {
+		if (element != null)
+			element.acceptUnassignedDatatype(datatypeRC, token, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptUnassignedEnum(RuleCall enumRC, String token, ICompositeNode node) {
+		if (element != null)
+			element.acceptUnassignedEnum(enumRC, token, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptUnassignedKeyword(Keyword keyword, String token, ILeafNode node) {
+		if (element != null)
+			element.acceptUnassignedKeyword(keyword, token, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public void acceptUnassignedTerminal(RuleCall terminalRC, String token, ILeafNode node) {
+		if (element != null)
+			element.acceptUnassignedTerminal(terminalRC, token, node);
+		else
+			writeSemantic(token);
+	}
+
+	@Override
+	public boolean enterAssignedAction(Action action, EObject semanticChild, ICompositeNode node) {
+		if (element != null) {
+			depth++;
+			return element.enterAssignedAction(action, semanticChild, node);
+		}
+		startElement(SerializationContext.forChild(context, action, semanticChild), semanticChild);
+		return true;
+	}
+
+	@Override
+	public boolean enterAssignedParserRuleCall(RuleCall rc, EObject semanticChild, ICompositeNode node) {
+		if (element != null) {
+			depth++;
+			return element.enterAssignedParserRuleCall(rc, semanticChild, node);
+		}
+		startElement(SerializationContext.forChild(context, rc, semanticChild), semanticChild);
+		return true;
+	}
+
+	@Override
+	@Deprecated
+	public void enterUnassignedParserRuleCall(RuleCall rc) {
+		if (element != null)
+			element.enterUnassignedParserRuleCall(rc);
+	}
+
+	@Override
+	public void finish() {
+		if (element != null)
+			element.finish();
+	}
+
+	@Override
+	public void leaveAssignedAction(Action action, EObject semanticChild) {
+		if (element == null)
+			return;
+		if (depth > 0) {
+			depth--;
+			element.leaveAssignedAction(action, semanticChild);
+			return;
+		}
+		endElement();
+	}
+
+	@Override
+	public void leaveAssignedParserRuleCall(RuleCall rc, EObject semanticChild) {
+		if (element == null)
+			return;
+		if (depth > 0) {
+			depth--;
+			element.leaveAssignedParserRuleCall(rc, semanticChild);
+			return;
+		}
+		endElement();
+	}
+
+	protected void startElement(ISerializationContext elementContext, EObject semanticChild) {
+		element = new TextRegionAccessBuildingSequencer().withRoot(elementContext, semanticChild);
+		depth = 0;
+	}
+
+	protected void endElement() {
+		ITextRegionAccess regionAccess = element.getRegionAccess();
+		element = null;
+		try {
+			StringBuilder text = new StringBuilder();
+			appendElement(regionAccess, text);
+			appender.appendElement(text);
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+	}
+
+	@Override
+	@Deprecated
+	public void leaveUnssignedParserRuleCall(RuleCall rc) {
+		if (element != null)
+			element.leaveUnssignedParserRuleCall(rc);
+	}
+
+	protected void writeSemantic(String token) {
+		try {
+			appender.appendSemantic(token);
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+	}
+
+	protected void writeHidden(String token) {
+		try {
+			appender.appendHidden(token);
+		} catch (IOException e) {
+			throw new RuntimeIOException(e);
+		}
+	}
+
+}
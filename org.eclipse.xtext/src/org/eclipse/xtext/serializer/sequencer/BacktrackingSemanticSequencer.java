@@ -35,6 +35,7 @@ import org.eclipse.xtext.serializer.analysis.SerializationContext;
 import org.eclipse.xtext.serializer.analysis.SerializationContextMap;
 import org.eclipse.xtext.serializer.sequencer.ISemanticNodeProvider.INodesForEObjectProvider;
 import org.eclipse.xtext.serializer.sequencer.ISemanticNodeProvider.ISemanticNode;
+import org.eclipse.xtext.serializer.sequencer.SemanticSequenceTables.Signature;
 import org.eclipse.xtext.util.EmfFormatter;
 import org.eclipse.xtext.util.Pair;
 import org.eclipse.xtext.util.Tuples;
@@ -47,12 +48,20 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * @author Moritz Eysholdt - Initial contribution and API
  */
 public class BacktrackingSemanticSequencer extends AbstractSemanticSequencer {
 
+	/**
+	 * The name of the binding that enables the replay of the sequences in the {@link SemanticSequenceTables}.
+	 * 
+	 * @since 2.16
+	 */
+	public static final String SEQUENCE_TABLES = "org.eclipse.xtext.serializer.sequencer.BacktrackingSemanticSequencer.sequenceTables";
+
 	public static class FollowerSorter implements Comparator<ISemState> {
 
 		protected EObject nodeModelEle;
@@ -224,6 +233,16 @@ public class BacktrackingSemanticSequencer extends AbstractSemanticSequencer {
 			return "Values: " + Joiner.on(", ").join(items);
 		}
 
+		/**
+		 * @return whether the value at the given index is {@link Boolean#TRUE} and valid.
+		 * @since 2.16
+		 */
+		public boolean isTrue(ISemState state, int index) {
+			if (index >= getValueCount(state.getFeatureID()))
+				return false;
+			return Boolean.TRUE.equals(getValue(state, index));
+		}
+
 		public boolean isList(int featureID) {
 			return values[featureID] instanceof List<?>;
 		}
@@ -294,8 +313,11 @@ public class BacktrackingSemanticSequencer extends AbstractSemanticSequencer {
 		}
 
 		public boolean canEnter(ISemState state) {
-			if (state.isBooleanAssignment() && !Boolean.TRUE.equals(obj.getValue(state, state.getFeatureID())))
-				return false;
+			if (state.isBooleanAssignment()) {
+				int featureID = state.getFeatureID();
+				if (!obj.isTrue(state, obj.isList(featureID) ? nextIndex[featureID] : 0))
+					return false;
+			}
 			for (int i = 0; i < nextIndex.length; i++)
 				if (i != state.getFeatureID()) {
 					int count = nextIndex[i];
@@ -437,6 +459,18 @@ public class BacktrackingSemanticSequencer extends AbstractSemanticSequencer {
 	@Inject
 	protected TransientValueUtil transientValueUtil;
 
+	@Inject
+	private SemanticSequenceTables sequenceTables;
+
+	/**
+	 * Whether known sequences are replayed. Disabled by default.
+	 * 
+	 * @since 2.16
+	 */
+	@Inject(optional = true)
+	@Named(SEQUENCE_TABLES)
+	private boolean useSequenceTables = false;
+
 	protected void accept(TraceItem ti, SequenceFeeder feeder) {
 		AbstractElement ele = ti.getState().getAssignedGrammarElement();
 		if (ti.getState().getFeature().isMany()) {
@@ -478,6 +512,16 @@ public class BacktrackingSemanticSequencer extends AbstractSemanticSequencer {
 			throw new IllegalStateException("Invalid context: " + context);
 		Nfa<ISemState> nfa = constraint.getNfa();
 		final SerializableObject object = new SerializableObject(context, obj, nodes);
+		SemanticSequenceTables.Table table = getSequenceTable(constraint);
+		Signature signature = table == null ? null : createSignature(table, object);
+		ISemState[] sequence = signature == null ? null : table.getSequence(signature);
+		if (sequence != null) {
+			SequenceFeeder feeder = feederProvider.create(context, obj, nodes, masterSequencer, sequenceAcceptor,
+					errorAcceptor);
+			replay(object, sequence, feeder);
+			feeder.finish();
+			return;
+		}
 		TraceItem co = new TraceItem(object);
 		List<TraceItem> trace = new NfaUtil().backtrack(nfa, co, new NfaUtil.BacktrackHandler<ISemState, TraceItem>() {
 			@Override
@@ -506,12 +550,125 @@ public class BacktrackingSemanticSequencer extends AbstractSemanticSequencer {
 		SequenceFeeder feeder = feederProvider.create(context, obj, nodes, masterSequencer, sequenceAcceptor,
 				errorAcceptor);
 		if (trace != null) {
+			List<ISemState> assigned = Lists.newArrayListWithCapacity(trace.size());
 			for (TraceItem ti : trace)
-				if (ti.getState() != null && ti.getState().getFeature() != null)
+				if (ti.getState() != null && ti.getState().getFeature() != null) {
 					accept(ti, feeder);
+					assigned.add(ti.getState());
+				}
+			if (signature != null)
+				table.putSequence(signature, assigned.toArray(new ISemState[assigned.size()]));
 		} else if (errorAcceptor != null)
 			errorAcceptor.accept(diagnosticProvider.createBacktrackingFailedDiagnostic(object, context, constraint));
 		feeder.finish();
 	}
 
+	/**
+	 * Subclasses that {@link #createFollowerSorter(SerializableObject, AbstractElement) sort the followers} by other
+	 * properties than the ones in the {@link #createSignature(SemanticSequenceTables.Table, SerializableObject)
+	 * signature} should return <code>null</code>.
+	 * 
+	 * @return the table of known sequences for the given constraint or <code>null</code> if every object should be
+	 *         sequenced by backtracking.
+	 * @see #SEQUENCE_TABLES
+	 * @since 2.16
+	 */
+	protected SemanticSequenceTables.Table getSequenceTable(IConstraint constraint) {
+		if (!useSequenceTables || sequenceTables == null)
+			return null;
+		return sequenceTables.getTable(constraint);
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	public void setUseSequenceTables(boolean useSequenceTables) {
+		this.useSequenceTables = useSequenceTables;
+	}
+
+	/**
+	 * Computes the properties of the object that the backtracking depends on, so objects with equal signatures are
+	 * sequenced identically.
+	 * 
+	 * @return the signature or <code>null</code> if the object's sequence should not be looked up or remembered.
+	 * @since 2.16
+	 */
+	protected Signature createSignature(SemanticSequenceTables.Table table, SerializableObject object) {
+		EObject eObject = object.getEObject();
+		int featureCount = eObject.eClass().getFeatureCount();
+		int valueCount = 0;
+		for (int i = 0; i < featureCount; i++)
+			valueCount += object.getValueCount(i);
+		ISemState[] booleanStates = table.getBooleanStates();
+		ISemState[] validatedStates = table.getValidatedStates();
+		int size = 2 * featureCount;
+		for (ISemState state : booleanStates)
+			size += Math.max(1, object.getValueCount(state.getFeatureID()));
+		for (ISemState state : validatedStates)
+			size += object.getValueCount(state.getFeatureID());
+		int[] values = new int[size];
+		int next = 0;
+		for (int i = 0; i < featureCount; i++) {
+			values[next++] = object.getValueCount(i);
+			values[next++] = object.isOptional(i) ? 1 : 0;
+		}
+		for (ISemState state : booleanStates) {
+			int count = object.getValueCount(state.getFeatureID());
+			if (count == 0)
+				values[next++] = 0;
+			for (int i = 0; i < count; i++)
+				values[next++] = object.isTrue(state, i) ? 1 : 0;
+		}
+		for (ISemState state : validatedStates) {
+			for (int i = 0, count = object.getValueCount(state.getFeatureID()); i < count; i++)
+				values[next++] = object.getValue(state, i) != INVALID ? 1 : 0;
+		}
+		Object[] elements = null;
+		ISemanticNode firstNode = object.getFirstNode();
+		if (firstNode != null || valueCount > 0) {
+			// the followers of the values' nodes determine the order in which alternatives are tried
+			elements = new Object[valueCount + 2];
+			elements[0] = eObject.eClass();
+			elements[1] = firstNode == null ? null : firstNode.getGrammarElement();
+			int nextElement = 2;
+			boolean hasNodes = firstNode != null;
+			for (int i = 0; i < featureCount; i++) {
+				for (int j = 0, count = object.getValueCount(i); j < count; j++) {
+					ISemanticNode node = object.getNode(i, j);
+					ISemanticNode follower = node == null ? null : node.getFollower();
+					if (follower != null) {
+						elements[nextElement] = follower.getGrammarElement();
+						hasNodes = true;
+					}
+					nextElement++;
+				}
+			}
+			if (!hasNodes)
+				elements = null;
+		}
+		if (elements == null)
+			elements = new Object[] { eObject.eClass() };
+		return new Signature(values, elements);
+	}
+
+	/**
+	 * Feeds the values of the object in the order of a sequence that has been found for an object with the same
+	 * signature.
+	 * 
+	 * @since 2.16
+	 */
+	protected void replay(SerializableObject object, ISemState[] sequence, SequenceFeeder feeder) {
+		int[] nextIndex = new int[object.getEObject().eClass().getFeatureCount()];
+		for (ISemState state : sequence) {
+			int featureID = state.getFeatureID();
+			int index = nextIndex[featureID]++;
+			TraceItem ti = new TraceItem(object, nextIndex);
+			ti.state = state;
+			ti.index = index;
+			ti.value = object.getValue(state, index);
+			ti.node = object.getNode(featureID, index);
+			accept(ti, feeder);
+		}
+	}
+
 }
@@ -174,12 +174,29 @@ public class HiddenTokenSequencer implements IHiddenTokenSequencer, ISyntacticSe
 
 	@Override
 	public boolean enterAssignedAction(Action action, EObject semanticChild, ICompositeNode node) {
-		return delegate.enterAssignedAction(action, semanticChild, node);
+		boolean shouldEnter = delegate.enterAssignedAction(action, semanticChild, node);
+		if (!shouldEnter)
+			skip(node);
+		return shouldEnter;
 	}
 
 	@Override
 	public boolean enterAssignedParserRuleCall(RuleCall rc, EObject semanticChild, ICompositeNode node) {
-		return delegate.enterAssignedParserRuleCall(rc, semanticChild, node);
+		boolean shouldEnter = delegate.enterAssignedParserRuleCall(rc, semanticChild, node);
+		if (!shouldEnter)
+			skip(node);
+		return shouldEnter;
+	}
+
+	/**
+	 * Continues after the node of a child that the delegate did not enter. The hidden tokens within that node,
+	 * including the leading ones, are left to whoever serializes the child.
+	 * 
+	 * @since 2.16
+	 */
+	protected void skip(ICompositeNode node) {
+		if (node != null)
+			lastNode = getLastLeaf(node);
 	}
 
 	@Override
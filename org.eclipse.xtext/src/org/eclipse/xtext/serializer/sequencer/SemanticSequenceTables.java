@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2018 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.serializer.sequencer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.xtext.serializer.analysis.IGrammarConstraintProvider.IConstraint;
+import org.eclipse.xtext.serializer.analysis.ISemanticSequencerNfaProvider.ISemState;
+import org.eclipse.xtext.util.formallang.NfaUtil;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.inject.Singleton;
+
+/**
+ * Remembers the sequences of assigned states that the {@link BacktrackingSemanticSequencer} found for a constraint,
+ * keyed by a {@link Signature} of everything the backtracking depends on: the number of values per feature, which of
+ * them are optional, the result of the value validations and the grammar elements of the nodes that follow the
+ * values in the node model. Objects with the same signature are serialized by replaying the sequence instead of
+ * searching the constraint's NFA again.
+ *
+ * @since 2.16
+ */
+@Singleton
+public class SemanticSequenceTables {
+
+	/**
+	 * The backtracking relevant properties of a serializable object.
+	 */
+	public static final class Signature {
+		private final int[] values;
+		private final Object[] elements;
+		private final int hashCode;
+
+		public Signature(int[] values, Object[] elements) {
+			this.values = values;
+			this.elements = elements;
+			this.hashCode = 31 * Arrays.hashCode(values) + Arrays.hashCode(elements);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Signature))
+				return false;
+			Signature other = (Signature) obj;
+			return hashCode == other.hashCode && Arrays.equals(values, other.values)
+					&& Arrays.equals(elements, other.elements);
+		}
+	}
+
+	/**
+	 * The sequences that have been found for one constraint.
+	 */
+	public static class Table {
+		private final ISemState[] booleanStates;
+		private final ISemState[] validatedStates;
+		private final Map<Signature, ISemState[]> sequences = new ConcurrentHashMap<Signature, ISemState[]>();
+		private final int maxSize;
+
+		protected Table(IConstraint constraint, int maxSize) {
+			this(new NfaUtil().collect(constraint.getNfa()), maxSize);
+		}
+
+		protected Table(Iterable<ISemState> states, int maxSize) {
+			this.maxSize = maxSize;
+			List<ISemState> booleans = Lists.newArrayList();
+			List<ISemState> validated = Lists.newArrayList();
+			for (ISemState state : states) {
+				if (state.getFeature() == null)
+					continue;
+				if (state.isBooleanAssignment())
+					booleans.add(state);
+				if (!state.getToBeValidatedAssignedElements().isEmpty())
+					validated.add(state);
+			}
+			this.booleanStates = booleans.toArray(new ISemState[booleans.size()]);
+			this.validatedStates = validated.toArray(new ISemState[validated.size()]);
+		}
+
+		/**
+		 * @return the states that are only entered if their value is {@link Boolean#TRUE}.
+		 */
+		public ISemState[] getBooleanStates() {
+			return booleanStates;
+		}
+
+		/**
+		 * @return the states whose values have to be validated by the {@link IAssignmentFinder}.
+		 */
+		public ISemState[] getValidatedStates() {
+			return validatedStates;
+		}
+
+		/**
+		 * @return the assigned states to serialize an object with the given signature or <code>null</code>.
+		 */
+		public ISemState[] getSequence(Signature signature) {
+			return sequences.get(signature);
+		}
+
+		public void putSequence(Signature signature, ISemState[] sequence) {
+			if (sequences.size() < maxSize)
+				sequences.put(signature, sequence);
+		}
+	}
+
+	private static final int DEFAULT_MAX_SIZE = 1024;
+
+	private final ConcurrentMap<IConstraint, Table> tables = new MapMaker().weakKeys().makeMap();
+
+	public Table getTable(IConstraint constraint) {
+		Table result = tables.get(constraint);
+		if (result == null) {
+			result = createTable(constraint);
+			Table existing = tables.putIfAbsent(constraint, result);
+			if (existing != null)
+				result = existing;
+		}
+		return result;
+	}
+
+	protected Table createTable(IConstraint constraint) {
+		return new Table(constraint, DEFAULT_MAX_SIZE);
+	}
+
+}
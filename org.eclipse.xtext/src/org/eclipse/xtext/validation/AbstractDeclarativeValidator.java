@@ -59,6 +59,15 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 
 	private static final GuardException guardException = new GuardException();
 
+	/**
+	 * The key of a validation context option that restricts the executed check methods to the
+	 * {@link Check#threadSafe() thread-safe} ones if its value is {@link Boolean#TRUE}, and to the other ones if it is
+	 * {@link Boolean#FALSE}. All check methods are executed if the option is absent.
+	 * 
+	 * @since 2.16
+	 */
+	public static final String THREAD_SAFE_CHECKS = AbstractDeclarativeValidator.class.getCanonicalName() + ".threadSafeChecks";
+
 	public static class StateAccess {
 
 		private AbstractDeclarativeValidator validator;
@@ -86,6 +95,7 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		private final String s;
 		private final AbstractDeclarativeValidator instance;
 		private final CheckType checkType;
+		private final boolean threadSafe;
 
 		protected MethodWrapper(AbstractDeclarativeValidator instance, Method m) {
 			this.instance = instance;
@@ -93,6 +103,7 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 			this.s = m.getName() + ":" + m.getParameterTypes()[0].getName();
 			Check annotation = m.getAnnotation(Check.class);
 			checkType = annotation.value();
+			threadSafe = annotation.threadSafe();
 		}
 
 		@Override
@@ -154,6 +165,13 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		public Method getMethod() {
 			return method;
 		}
+		
+		/**
+		 * @since 2.16
+		 */
+		public boolean isThreadSafe() {
+			return threadSafe;
+		}
 	}
 
 	private volatile Set<MethodWrapper> checkMethods = null;
@@ -310,8 +328,10 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		state.checkMode = checkMode;
 		state.context = context;
 
+		Object threadSafeChecks = context != null ? context.get(THREAD_SAFE_CHECKS) : null;
 		for (MethodWrapper method : methodsForType.get(object.getClass())) {
-			method.invoke(state);
+			if (threadSafeChecks == null || threadSafeChecks.equals(method.isThreadSafe()))
+				method.invoke(state);
 		}
 
 		return !state.hasErrors;
@@ -26,6 +26,14 @@ public class CancelableDiagnostician extends Diagnostician {
 	
 	public static final String CANCEL_INDICATOR = CancelableDiagnostician.class + ".CANCEL_INDICATOR";
 	
+	/**
+	 * The key of a validation context option that restricts the validation to the given object if its value is
+	 * {@link Boolean#TRUE}, i.e. its contents are not validated.
+	 * 
+	 * @since 2.16
+	 */
+	public static final String SKIP_CONTENTS = CancelableDiagnostician.class + ".SKIP_CONTENTS";
+	
 	@Inject
 	private OperationCanceledManager operationCanceledManager;
 	
@@ -40,6 +48,35 @@ public class CancelableDiagnostician extends Diagnostician {
 		return super.validate(eClass, eObject, diagnostics, context);
 	}
 	
+	/**
+	 * Validators other than {@link CompositeEValidator composite} and {@link AbstractDeclarativeValidator declarative}
+	 * ones, e.g. the default {@link org.eclipse.emf.ecore.util.EObjectValidator EObjectValidator} of a package without
+	 * a composite validator, cannot be restricted to the {@link AbstractDeclarativeValidator#THREAD_SAFE_CHECKS
+	 * thread-safe checks}. They are skipped if only those are requested, so they run only once.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	protected boolean doValidate(EValidator eValidator, EClass eClass, EObject eObject, DiagnosticChain diagnostics,
+			Map<Object, Object> context) {
+		if (context != null && Boolean.TRUE.equals(context.get(AbstractDeclarativeValidator.THREAD_SAFE_CHECKS))
+				&& !(eValidator instanceof CompositeEValidator || eValidator instanceof AbstractDeclarativeValidator)) {
+			return true;
+		}
+		return super.doValidate(eValidator, eClass, eObject, diagnostics, context);
+	}
+	
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	protected boolean doValidateContents(EObject eObject, DiagnosticChain diagnostics, Map<Object, Object> context) {
+		if (context != null && Boolean.TRUE.equals(context.get(SKIP_CONTENTS))) {
+			return true;
+		}
+		return super.doValidateContents(eObject, diagnostics, context);
+	}
+	
 	/**
 	 * @since 2.9
 	 */
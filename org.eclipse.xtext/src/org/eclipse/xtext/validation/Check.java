@@ -16,4 +16,19 @@ import java.lang.annotation.Target;
 @Target({ ElementType.METHOD})
 public @interface Check {
 	CheckType value() default CheckType.FAST;
+
+	/**
+	 * Whether the check may run concurrently with other checks on other objects of the same resource. A thread-safe
+	 * check must neither modify the model nor state that it shares with other checks. Thread-safe checks run in
+	 * parallel only if the {@link ResourceValidatorImpl#PARALLEL_VALIDATION parallel validation} is enabled.
+	 * <p>
+	 * Note that resolving a cross-reference to another resource loads that resource into the resource set. If
+	 * thread-safe checks follow such references, resources are loaded concurrently, which requires a resource set that
+	 * supports it, e.g. a {@link org.eclipse.xtext.resource.SynchronizedXtextResourceSet}. Otherwise such checks must
+	 * not be marked as thread-safe.
+	 * </p>
+	 * 
+	 * @since 2.16
+	 */
+	boolean threadSafe() default false;
 }
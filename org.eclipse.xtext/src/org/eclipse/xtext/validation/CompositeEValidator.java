@@ -130,6 +130,8 @@ public class CompositeEValidator implements EValidator {
 		boolean result = true;
 		for (int i = 0; i < getContents().size(); i++) {
 			EValidatorEqualitySupport val = getContents().get(i);
+			if (!isApplicable(val.getDelegate(), context))
+				continue;
 			try {
 				result &= val.getDelegate().validate(eObject, diagnostics, context);
 			}
@@ -147,6 +149,8 @@ public class CompositeEValidator implements EValidator {
 		boolean result = true;
 		for (int i = 0; i < getContents().size(); i++) {
 			EValidatorEqualitySupport val = getContents().get(i);
+			if (!isApplicable(val.getDelegate(), context))
+				continue;
 			try {
 				result &= val.getDelegate().validate(eClass, eObject, diagnostics, context);
 			}
@@ -164,6 +168,8 @@ public class CompositeEValidator implements EValidator {
 		boolean result = true;
 		for (int i = 0; i < getContents().size(); i++) {
 			EValidatorEqualitySupport val = getContents().get(i);
+			if (!isApplicable(val.getDelegate(), context))
+				continue;
 			try {
 				result &= val.getDelegate().validate(eDataType, value, diagnostics, context);
 			}
@@ -176,6 +182,20 @@ public class CompositeEValidator implements EValidator {
 		return result;
 	}
 
+	/**
+	 * Validators other than {@link AbstractDeclarativeValidator declarative ones} are not known to be thread-safe, so
+	 * they are skipped if only the {@link AbstractDeclarativeValidator#THREAD_SAFE_CHECKS thread-safe checks} are
+	 * requested.
+	 * 
+	 * @since 2.16
+	 */
+	protected boolean isApplicable(EValidator validator, Map<Object, Object> context) {
+		if (context != null && Boolean.TRUE.equals(context.get(AbstractDeclarativeValidator.THREAD_SAFE_CHECKS))) {
+			return validator instanceof AbstractDeclarativeValidator;
+		}
+		return true;
+	}
+
 	private Diagnostic createExceptionDiagnostic(String message, Object source, Throwable t) {
 		return new BasicDiagnostic(Diagnostic.ERROR, source.toString(), 0, message, new Object[] { t });
 
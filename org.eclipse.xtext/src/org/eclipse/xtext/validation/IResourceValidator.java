@@ -12,6 +12,7 @@ import java.util.List;
 
 import org.eclipse.xtext.service.OperationCanceledError;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.IAcceptor;
 import org.eclipse.emf.ecore.resource.Resource;
 
 import com.google.inject.ImplementedBy;
@@ -32,6 +33,44 @@ public interface IResourceValidator {
 	 */
 	List<Issue> validate(Resource resource, CheckMode mode, CancelIndicator indicator) throws OperationCanceledError;
 
+	/**
+	 * A resource validator that can hand out the issues while the validation is still running.
+	 * 
+	 * @since 2.16
+	 */
+	interface Streaming extends IResourceValidator {
+		/**
+		 * Validates the given resource like {@link #validate(Resource, CheckMode, CancelIndicator)} but passes each
+		 * issue to the given stream as soon as it is found. The issues of the resource's own diagnostics, i.e. the
+		 * syntax and linking errors, are followed by a call to {@link IssueStream#resourceDiagnosticsAccepted()}.
+		 * 
+		 * @throws OperationCanceledError if the validation was cancelled. The stream will not receive any further issues.
+		 */
+		void streamIssues(Resource resource, CheckMode mode, CancelIndicator indicator, IssueStream stream)
+				throws OperationCanceledError;
+
+		/**
+		 * Returns <code>false</code> if {@link #streamIssues(Resource, CheckMode, CancelIndicator, IssueStream)}
+		 * would not report the same issues as {@link #validate(Resource, CheckMode, CancelIndicator)}, e.g. because a
+		 * subclass customizes the latter. Clients have to call {@link #validate(Resource, CheckMode, CancelIndicator)}
+		 * then.
+		 */
+		boolean isStreamingSupported();
+	}
+
+	/**
+	 * Receives the issues of a {@link Streaming streaming} validation.
+	 * 
+	 * @since 2.16
+	 */
+	interface IssueStream extends IAcceptor<Issue> {
+		/**
+		 * Called after the issues of the resource's own diagnostics have been accepted and before the semantic
+		 * validation starts.
+		 */
+		void resourceDiagnosticsAccepted();
+	}
+
 	IResourceValidator NULL = new IResourceValidator() {
 		@Override
 		public List<Issue> validate(Resource resource, CheckMode mode, CancelIndicator indicator) {
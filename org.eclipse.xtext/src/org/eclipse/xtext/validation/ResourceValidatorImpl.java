@@ -10,9 +10,14 @@ package org.eclipse.xtext.validation;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.Diagnostic;
+import org.eclipse.emf.common.util.DiagnosticChain;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EValidator;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -31,11 +36,12 @@ import org.eclipse.xtext.validation.impl.ConcreteSyntaxEValidator;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 
 /**
  * @author Dennis Hbner - Initial contribution and API
  */
-public class ResourceValidatorImpl implements IResourceValidator {
+public class ResourceValidatorImpl implements IResourceValidator.Streaming {
 
 	/**
 	 * @author Sebastian Zarnekow - Initial contribution and API
@@ -54,8 +60,48 @@ public class ResourceValidatorImpl implements IResourceValidator {
 		}
 	}
 
+	/**
+	 * Converts the diagnostics to issues when they are added.
+	 */
+	private class AcceptingDiagnosticChain implements DiagnosticChain {
+		private final IAcceptor<Issue> acceptor;
+
+		private AcceptingDiagnosticChain(IAcceptor<Issue> acceptor) {
+			this.acceptor = acceptor;
+		}
+
+		@Override
+		public void add(Diagnostic diagnostic) {
+			issueFromEValidatorDiagnostic(diagnostic, acceptor);
+		}
+
+		@Override
+		public void addAll(Diagnostic diagnostic) {
+			for (Diagnostic child : diagnostic.getChildren()) {
+				add(child);
+			}
+		}
+
+		@Override
+		public void merge(Diagnostic diagnostic) {
+			if (diagnostic.getChildren().isEmpty()) {
+				add(diagnostic);
+			} else {
+				addAll(diagnostic);
+			}
+		}
+	}
+
 	private static final Logger log = Logger.getLogger(ResourceValidatorImpl.class);
 
+	/**
+	 * The name of the binding that enables the parallel execution of the {@link Check#threadSafe() thread-safe}
+	 * checks.
+	 * 
+	 * @since 2.16
+	 */
+	public static final String PARALLEL_VALIDATION = "org.eclipse.xtext.validation.ResourceValidatorImpl.parallelValidation";
+
 	@Inject
 	private Diagnostician diagnostician;
 
@@ -65,8 +111,66 @@ public class ResourceValidatorImpl implements IResourceValidator {
 	@Inject
 	private OperationCanceledManager operationCanceledManager;
 	
+	/**
+	 * Whether the {@link Check#threadSafe() thread-safe} checks are executed in parallel.
+	 * 
+	 * @since 2.16
+	 */
+	@Inject(optional=true)
+	@Named(PARALLEL_VALIDATION)
+	private boolean parallelValidation = false;
+	
 	@Override
 	public List<Issue> validate(Resource resource, final CheckMode mode, CancelIndicator mon) throws OperationCanceledError {
+		final List<Issue> result = Lists.newArrayListWithExpectedSize(resource.getErrors().size()
+				+ resource.getWarnings().size());
+		validate(resource, mode, mon, createAcceptor(result), null);
+		return result;
+	}
+
+	/**
+	 * Returns <code>true</code> unless a subclass customizes {@link #validate(Resource, CheckMode, CancelIndicator)}
+	 * or {@link #createAcceptor(List)}, which {@link #streamIssues(Resource, CheckMode, CancelIndicator, IssueStream)
+	 * streaming} would bypass.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	public boolean isStreamingSupported() {
+		return isNotOverridden("validate", Resource.class, CheckMode.class, CancelIndicator.class)
+				&& isNotOverridden("createAcceptor", List.class);
+	}
+
+	private boolean isNotOverridden(String name, Class<?>... parameterTypes) {
+		for (Class<?> type = getClass(); type != ResourceValidatorImpl.class; type = type.getSuperclass()) {
+			try {
+				type.getDeclaredMethod(name, parameterTypes);
+				return false;
+			} catch (NoSuchMethodException e) {
+				// not declared by this class
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	@Override
+	public void streamIssues(Resource resource, CheckMode mode, CancelIndicator mon, final IssueStream stream)
+			throws OperationCanceledError {
+		IAcceptor<Issue> acceptor = new IAcceptor<Issue>() {
+			@Override
+			public void accept(Issue issue) {
+				if (issue != null)
+					stream.accept(issue);
+			}
+		};
+		validate(resource, mode, mon, acceptor, stream);
+	}
+
+	private void validate(Resource resource, final CheckMode mode, CancelIndicator mon, IAcceptor<Issue> acceptor,
+			IssueStream stream) throws OperationCanceledError {
 		StoppedTask task = Stopwatches.forTask("ResourceValidatorImpl.validation");
 		try {
 			task.start();
@@ -74,18 +178,18 @@ public class ResourceValidatorImpl implements IResourceValidator {
 			resolveProxies(resource, monitor);
 			operationCanceledManager.checkCanceled(monitor);
 
-			final List<Issue> result = Lists.newArrayListWithExpectedSize(resource.getErrors().size()
-					+ resource.getWarnings().size());
 			try {
-				IAcceptor<Issue> acceptor = createAcceptor(result);
-
+				boolean syntaxDiagFail = false;
 				if (mode.shouldCheck(CheckType.FAST)) {
 					collectResourceDiagnostics(resource, monitor, acceptor);
+					syntaxDiagFail = !resource.getErrors().isEmpty() || !resource.getWarnings().isEmpty();
 				}
 
 				operationCanceledManager.checkCanceled(monitor);
-				boolean syntaxDiagFail = !result.isEmpty();
 				logCheckStatus(resource, syntaxDiagFail, "Syntax");
+				if (stream != null) {
+					stream.resourceDiagnosticsAccepted();
+				}
 
 				validate(resource, mode, monitor, acceptor);
 				operationCanceledManager.checkCanceled(monitor);
@@ -93,7 +197,6 @@ public class ResourceValidatorImpl implements IResourceValidator {
 				operationCanceledManager.propagateAsErrorIfCancelException(e);
 				log.error(e.getMessage(), e);
 			}
-			return result;
 		} finally {
 			task.stop();
 		}
@@ -119,6 +222,10 @@ public class ResourceValidatorImpl implements IResourceValidator {
 	 */
 	protected void validate(Resource resource, final CheckMode mode, final CancelIndicator monitor,
 			IAcceptor<Issue> acceptor) {
+		if (isParallelValidation()) {
+			validateInParallel(resource, mode, monitor, acceptor);
+			return;
+		}
 		for (EObject ele : resource.getContents()) {
 			operationCanceledManager.checkCanceled(monitor);
 			validate(resource, ele, mode, monitor, acceptor);
@@ -131,32 +238,131 @@ public class ResourceValidatorImpl implements IResourceValidator {
 	protected void validate(Resource resource, EObject element, final CheckMode mode, final CancelIndicator monitor,
 			IAcceptor<Issue> acceptor) {
 		try {
-			Map<Object, Object> options = Maps.newHashMap();
-			options.put(CheckMode.KEY, mode);
-			options.put(CancelableDiagnostician.CANCEL_INDICATOR, monitor);
-			// disable concrete syntax validation, since a semantic model that has been parsed 
-			// from the concrete syntax always complies with it - otherwise there are parse errors.
-			options.put(ConcreteSyntaxEValidator.DISABLE_CONCRETE_SYNTAX_EVALIDATOR, Boolean.TRUE);
-			// see EObjectValidator.getRootEValidator(Map<Object, Object>)
-			options.put(EValidator.class, diagnostician);
-			if (resource instanceof XtextResource) {
-				options.put(AbstractInjectableValidator.CURRENT_LANGUAGE_NAME,
-						((XtextResource) resource).getLanguageName());
-			}
-			Diagnostic diagnostic = diagnostician.validate(element, options);
-			if (!diagnostic.getChildren().isEmpty()) {
-				for (Diagnostic childDiagnostic : diagnostic.getChildren()) {
-					issueFromEValidatorDiagnostic(childDiagnostic, acceptor);
-				}
-			} else {
-				issueFromEValidatorDiagnostic(diagnostic, acceptor);
-			}
+			Map<Object, Object> options = createValidationOptions(resource, mode, monitor);
+			// the issues are accepted as soon as the validators report them
+			diagnostician.validate(element, new AcceptingDiagnosticChain(acceptor), options);
 		} catch (RuntimeException e) {
 			operationCanceledManager.propagateAsErrorIfCancelException(e);
 			log.error(e.getMessage(), e);
 		}
 	}
 
+	/**
+	 * Validates the resource with all but the {@link Check#threadSafe() thread-safe} checks first. Afterwards the
+	 * thread-safe checks validate each root object and, in parallel, the subtrees of its children. The issues are
+	 * accepted in that order, independent of the timing of the parallel validation.
+	 * 
+	 * @since 2.16
+	 */
+	protected void validateInParallel(Resource resource, final CheckMode mode, final CancelIndicator monitor,
+			IAcceptor<Issue> acceptor) {
+		for (EObject ele : resource.getContents()) {
+			operationCanceledManager.checkCanceled(monitor);
+			try {
+				Map<Object, Object> options = createValidationOptions(resource, mode, monitor);
+				options.put(AbstractDeclarativeValidator.THREAD_SAFE_CHECKS, Boolean.FALSE);
+				issuesFromDiagnostic(diagnostician.validate(ele, options), acceptor);
+			} catch (RuntimeException e) {
+				operationCanceledManager.propagateAsErrorIfCancelException(e);
+				log.error(e.getMessage(), e);
+			}
+		}
+		List<Callable<Diagnostic>> tasks = Lists.newArrayList();
+		for (EObject ele : resource.getContents()) {
+			Map<Object, Object> rootOptions = createValidationOptions(resource, mode, monitor);
+			rootOptions.put(AbstractDeclarativeValidator.THREAD_SAFE_CHECKS, Boolean.TRUE);
+			rootOptions.put(CancelableDiagnostician.SKIP_CONTENTS, Boolean.TRUE);
+			tasks.add(createValidationTask(ele, rootOptions));
+			for (EObject child : ele.eContents()) {
+				Map<Object, Object> options = createValidationOptions(resource, mode, monitor);
+				options.put(AbstractDeclarativeValidator.THREAD_SAFE_CHECKS, Boolean.TRUE);
+				tasks.add(createValidationTask(child, options));
+			}
+		}
+		operationCanceledManager.checkCanceled(monitor);
+		List<Future<Diagnostic>> results = getForkJoinPool().invokeAll(tasks);
+		for (Future<Diagnostic> result : results) {
+			try {
+				issuesFromDiagnostic(result.get(), acceptor);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				operationCanceledManager.throwOperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				operationCanceledManager.propagateAsErrorIfCancelException(cause);
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				log.error(cause.getMessage(), cause);
+			}
+		}
+		operationCanceledManager.checkCanceled(monitor);
+	}
+
+	private Callable<Diagnostic> createValidationTask(final EObject element, final Map<Object, Object> options) {
+		return new Callable<Diagnostic>() {
+			@Override
+			public Diagnostic call() throws Exception {
+				return diagnostician.validate(element, options);
+			}
+		};
+	}
+
+	/**
+	 * Whether the {@link Check#threadSafe() thread-safe} checks are executed in parallel. That requires a
+	 * {@link CancelableDiagnostician}.
+	 * 
+	 * @since 2.16
+	 */
+	protected boolean isParallelValidation() {
+		return parallelValidation && diagnostician instanceof CancelableDiagnostician;
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	public void setParallelValidation(boolean parallelValidation) {
+		this.parallelValidation = parallelValidation;
+	}
+
+	/**
+	 * The pool that executes the {@link Check#threadSafe() thread-safe} checks in parallel.
+	 * 
+	 * @since 2.16
+	 */
+	protected ForkJoinPool getForkJoinPool() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * @since 2.16
+	 */
+	protected Map<Object, Object> createValidationOptions(Resource resource, CheckMode mode, CancelIndicator monitor) {
+		Map<Object, Object> options = Maps.newHashMap();
+		options.put(CheckMode.KEY, mode);
+		options.put(CancelableDiagnostician.CANCEL_INDICATOR, monitor);
+		// disable concrete syntax validation, since a semantic model that has been parsed 
+		// from the concrete syntax always complies with it - otherwise there are parse errors.
+		options.put(ConcreteSyntaxEValidator.DISABLE_CONCRETE_SYNTAX_EVALIDATOR, Boolean.TRUE);
+		// see EObjectValidator.getRootEValidator(Map<Object, Object>)
+		options.put(EValidator.class, diagnostician);
+		if (resource instanceof XtextResource) {
+			options.put(AbstractInjectableValidator.CURRENT_LANGUAGE_NAME,
+					((XtextResource) resource).getLanguageName());
+		}
+		return options;
+	}
+
+	private void issuesFromDiagnostic(Diagnostic diagnostic, IAcceptor<Issue> acceptor) {
+		if (!diagnostic.getChildren().isEmpty()) {
+			for (Diagnostic childDiagnostic : diagnostic.getChildren()) {
+				issueFromEValidatorDiagnostic(childDiagnostic, acceptor);
+			}
+		} else {
+			issueFromEValidatorDiagnostic(diagnostic, acceptor);
+		}
+	}
+
 	protected void resolveProxies(final Resource resource, final CancelIndicator monitor) {
 		EcoreUtil2.resolveLazyCrossReferences(resource, monitor);
 	}
@@ -9,6 +9,7 @@ package org.eclipse.xtext.xtext;
 
 import static java.util.Collections.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -97,6 +98,26 @@ public class XtextLinkingService extends DefaultLinkingService {
 		return super.getLinkedObjects(context, ref, node);
 	}
 
+	/**
+	 * Links the special references of a grammar one by one.
+	 * 
+	 * @since 2.16
+	 */
+	@Override
+	public List<List<EObject>> getLinkedObjects(List<EObject> contexts, EReference ref, List<INode> nodes)
+			throws IllegalNodeException {
+		if (ref == XtextPackage.eINSTANCE.getGrammar_UsedGrammars()
+				|| ref == XtextPackage.eINSTANCE.getTypeRef_Metamodel()
+				|| ref == XtextPackage.eINSTANCE.getAbstractMetamodelDeclaration_EPackage()) {
+			List<List<EObject>> result = new ArrayList<List<EObject>>(nodes.size());
+			for (int i = 0; i < nodes.size(); i++) {
+				result.add(getLinkedObjects(contexts.get(i), ref, nodes.get(i)));
+			}
+			return result;
+		}
+		return super.getLinkedObjects(contexts, ref, nodes);
+	}
+
 	private List<EObject> getUsedGrammar(Grammar grammar, INode node) {
 		try {
 			String grammarName = (String) valueConverterService.toValue("", "GrammarID", node);
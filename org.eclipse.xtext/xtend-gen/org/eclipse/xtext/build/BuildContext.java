@@ -7,6 +7,7 @@
  */
 package org.eclipse.xtext.build;
 
+import java.util.concurrent.ExecutorService;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtend.lib.annotations.Accessors;
@@ -42,6 +43,21 @@ public class BuildContext {
   @Accessors
   private final CancelIndicator cancelIndicator;
   
+  /**
+   * The executor used to process the resources of a cluster in parallel, or <code>null</code>.
+   * @since 2.16
+   */
+  @Accessors
+  private ExecutorService executor;
+  
+  /**
+   * The executor used to load and index the resources of a cluster in parallel, or <code>null</code> to use the
+   * {@link #executor}.
+   * @since 2.16
+   */
+  @Accessors
+  private ExecutorService loadingExecutor;
+  
   private ClusteringStorageAwareResourceLoader loader;
   
   public <T extends Object> Iterable<T> executeClustered(final Iterable<URI> uri, final Function1<? super Resource, ? extends T> operation) {
@@ -55,6 +71,22 @@ public class BuildContext {
     return this.loader.<T>executeClustered(IterableExtensions.<URI>filter(uri, _function), operation);
   }
   
+  /**
+   * Like {@link #executeClustered(Iterable, Function1)}, but the operation only indexes the resources, so it may run on
+   * the {@link #loadingExecutor}.
+   * @since 2.16
+   */
+  public <T extends Object> Iterable<T> executeClusteredIndexing(final Iterable<URI> uri, final Function1<? super Resource, ? extends T> operation) {
+    if ((this.loader == null)) {
+      ClusteringStorageAwareResourceLoader _clusteringStorageAwareResourceLoader = new ClusteringStorageAwareResourceLoader(this);
+      this.loader = _clusteringStorageAwareResourceLoader;
+    }
+    final Function1<URI, Boolean> _function = (URI it) -> {
+      return Boolean.valueOf(this.canHandle(it));
+    };
+    return this.loader.<T>executeClustered(IterableExtensions.<URI>filter(uri, _function), true, operation);
+  }
+  
   protected boolean canHandle(final URI uri) {
     final IResourceServiceProvider resourceServiceProvider = this.resourceServiceProviderProvider.apply(uri);
     if ((resourceServiceProvider == null)) {
@@ -96,4 +128,22 @@ public class BuildContext {
   public CancelIndicator getCancelIndicator() {
     return this.cancelIndicator;
   }
+  
+  @Pure
+  public ExecutorService getExecutor() {
+    return this.executor;
+  }
+  
+  public void setExecutor(final ExecutorService executor) {
+    this.executor = executor;
+  }
+  
+  @Pure
+  public ExecutorService getLoadingExecutor() {
+    return this.loadingExecutor;
+  }
+  
+  public void setLoadingExecutor(final ExecutorService loadingExecutor) {
+    this.loadingExecutor = loadingExecutor;
+  }
 }
@@ -9,6 +9,7 @@ package org.eclipse.xtext.build;
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtend.lib.annotations.Accessors;
@@ -39,6 +40,20 @@ public class BuildRequest {
     public abstract boolean afterValidate(final URI validated, final Iterable<Issue> issues);
   }
   
+  /**
+   * A validation callback that is informed about the issues of a resource while it is being validated. The syntax
+   * and linking issues are passed as soon as they are known, the issues of the semantic validation follow in batches.
+   * {@link #afterValidate(URI, Iterable)} is called with all issues once the validation is done.
+   * 
+   * @since 2.16
+   */
+  public interface IStreamingValidationCallback extends BuildRequest.IPostValidationCallback {
+    /**
+     * @param issues all issues of the resource that have been found so far
+     */
+    public abstract void acceptIssues(final URI validated, final Iterable<Issue> issues);
+  }
+  
   @Log
   private static class DefaultValidationCallback implements BuildRequest.IPostValidationCallback {
     @Override
@@ -110,6 +125,34 @@ public class BuildRequest {
   
   private CancelIndicator cancelIndicator = CancelIndicator.NullImpl;
   
+  /**
+   * If set, the resources of a cluster are validated and generated in parallel on this executor. Their lazy cross
+   * references are resolved on the calling thread beforehand, because resolving them may add resources to the shared
+   * resource set. Parallel processing is only used if the {@link #resourceSet} is an
+   * {@link org.eclipse.xtext.resource.ISynchronizable}. The validators and generators of the affected languages have
+   * to be thread-safe.
+   * 
+   * @since 2.16
+   */
+  private ExecutorService parallelExecutor;
+  
+  /**
+   * If set, the resources of a cluster are loaded, i.e. read and parsed, and indexed in parallel on this executor.
+   * Unlike the {@link #parallelExecutor}, it doesn't resolve, validate or generate the resources in parallel. Parallel
+   * loading is only used if the {@link #resourceSet} is an {@link org.eclipse.xtext.resource.ISynchronizable}.
+   * 
+   * @since 2.16
+   */
+  private ExecutorService loadingExecutor;
+  
+  /**
+   * The minimum time in milliseconds between two calls to {@link IStreamingValidationCallback#acceptIssues(URI, Iterable)}
+   * for the same resource.
+   * 
+   * @since 2.16
+   */
+  private long issueStreamingInterval = 250;
+  
   public void setBaseDir(final URI baseDir) {
     this.baseDir = baseDir;
   }
@@ -212,4 +255,31 @@ public class BuildRequest {
   public void setCancelIndicator(final CancelIndicator cancelIndicator) {
     this.cancelIndicator = cancelIndicator;
   }
+  
+  @Pure
+  public ExecutorService getParallelExecutor() {
+    return this.parallelExecutor;
+  }
+  
+  public void setParallelExecutor(final ExecutorService parallelExecutor) {
+    this.parallelExecutor = parallelExecutor;
+  }
+  
+  @Pure
+  public ExecutorService getLoadingExecutor() {
+    return this.loadingExecutor;
+  }
+  
+  public void setLoadingExecutor(final ExecutorService loadingExecutor) {
+    this.loadingExecutor = loadingExecutor;
+  }
+  
+  @Pure
+  public long getIssueStreamingInterval() {
+    return this.issueStreamingInterval;
+  }
+  
+  public void setIssueStreamingInterval(final long issueStreamingInterval) {
+    this.issueStreamingInterval = issueStreamingInterval;
+  }
 }
@@ -8,21 +8,35 @@
 package org.eclipse.xtext.build;
 
 import com.google.common.collect.Iterables;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
+import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.build.BuildContext;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.IResourceServiceProviderExtension;
+import org.eclipse.xtext.resource.ISynchronizable;
 import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter;
+import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Extension;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
 
 /**
@@ -35,6 +49,16 @@ public class ClusteringStorageAwareResourceLoader {
   private final BuildContext context;
   
   public <T extends Object> Iterable<T> executeClustered(final Iterable<URI> uris, final Function1<? super Resource, ? extends T> operation) {
+    return this.<T>executeClustered(uris, false, operation);
+  }
+  
+  /**
+   * @param indexing
+   *            whether the operation only indexes the resources, so it may run on the
+   *            {@link BuildContext#getLoadingExecutor() loading executor}.
+   * @since 2.16
+   */
+  public <T extends Object> Iterable<T> executeClustered(final Iterable<URI> uris, final boolean indexing, final Function1<? super Resource, ? extends T> operation) {
     int loadedURIsCount = 0;
     final HashSet<URI> sourceLevelURIs = CollectionLiterals.<URI>newHashSet();
     final ArrayList<Resource> resources = CollectionLiterals.<Resource>newArrayList();
@@ -46,11 +70,8 @@ public class ClusteringStorageAwareResourceLoader {
         boolean _continueProcessing = this.context.getClusteringPolicy().continueProcessing(this.context.getResourceSet(), uri, loadedURIsCount);
         boolean _not = (!_continueProcessing);
         if (_not) {
-          final Function1<Resource, T> _function = (Resource it) -> {
-            return operation.apply(it);
-          };
-          List<T> _map = ListExtensions.<Resource, T>map(resources, _function);
-          Iterables.<T>addAll(result, _map);
+          List<T> _process = this.<T>process(resources, indexing, operation);
+          Iterables.<T>addAll(result, _process);
           this.clearResourceSet();
           loadedURIsCount = 0;
         }
@@ -67,18 +88,201 @@ public class ClusteringStorageAwareResourceLoader {
           }
           SourceLevelURIsAdapter.setSourceLevelUrisWithoutCopy(this.context.getResourceSet(), sourceLevelURIs);
         }
-        Resource _resource = this.context.getResourceSet().getResource(uri, true);
-        resources.add(_resource);
+        Resource _orCreateResource = this.getOrCreateResource(uri);
+        resources.add(_orCreateResource);
       }
     }
-    final Function1<Resource, T> _function = (Resource it) -> {
-      return operation.apply(it);
-    };
-    List<T> _map = ListExtensions.<Resource, T>map(resources, _function);
-    Iterables.<T>addAll(result, _map);
+    List<T> _process = this.<T>process(resources, indexing, operation);
+    Iterables.<T>addAll(result, _process);
     return result;
   }
   
+  /**
+   * Loads the resources of one cluster and applies the operation to them. The resources are loaded in parallel if
+   * there is a {@link #getParallelLoadingExecutor() loading executor}. The operation is applied in parallel on the
+   * loading executor if it only indexes the resources and on the {@link #getParallelProcessingExecutor() processing
+   * executor} otherwise. The results are in the order of the given resources in either case.
+   * 
+   * @since 2.16
+   */
+  protected <T extends Object> List<T> process(final List<Resource> resources, final boolean indexing, final Function1<? super Resource, ? extends T> operation) {
+    boolean _isParallel = this.isParallel();
+    boolean _not = (!_isParallel);
+    if (_not) {
+      final Function1<Resource, T> _function = (Resource it) -> {
+        return operation.apply(it);
+      };
+      return IterableExtensions.<T>toList(ListExtensions.<Resource, T>map(resources, _function));
+    }
+    this.load(resources);
+    ExecutorService _xifexpression = null;
+    if (indexing) {
+      _xifexpression = this.getParallelLoadingExecutor();
+    } else {
+      _xifexpression = this.getParallelProcessingExecutor();
+    }
+    final ExecutorService operationExecutor = _xifexpression;
+    if (((operationExecutor == null) || (resources.size() < 2))) {
+      final Function1<Resource, T> _function_1 = (Resource it) -> {
+        return operation.apply(it);
+      };
+      return IterableExtensions.<T>toList(ListExtensions.<Resource, T>map(resources, _function_1));
+    }
+    this.prepareParallel(resources, indexing);
+    final Function1<Resource, Callable<T>> _function_2 = (Resource resource) -> {
+      final Callable<T> _function_3 = () -> {
+        return operation.apply(resource);
+      };
+      return ((Callable<T>) _function_3);
+    };
+    return this.<T>invokeAll(operationExecutor, ListExtensions.<Resource, Callable<T>>map(resources, _function_2));
+  }
+  
+  /**
+   * Prepares the resources of one cluster on the calling thread before the operation is applied to them in parallel.
+   * The contents are initialized, because derived state must not be installed concurrently. Unless the operation
+   * only indexes the resources, the lazy cross references are resolved as well. Resolving them may load further
+   * resources into the shared resource set, which must not happen on several threads at once.
+   * 
+   * @since 2.16
+   */
+  protected void prepareParallel(final List<Resource> resources, final boolean indexing) {
+    final Consumer<Resource> _function = (Resource it) -> {
+      it.getContents();
+    };
+    resources.forEach(_function);
+    if ((!indexing)) {
+      final Consumer<Resource> _function_1 = (Resource it) -> {
+        EcoreUtil2.resolveLazyCrossReferences(it, CancelIndicator.NullImpl);
+      };
+      resources.forEach(_function_1);
+    }
+  }
+  
+  /**
+   * Returns the resource for the given URI. If the cluster is processed in parallel, resources that are not loaded
+   * yet are only created here, they are {@link #load(List) loaded} together with the other resources of the cluster.
+   * 
+   * @since 2.16
+   */
+  protected Resource getOrCreateResource(final URI uri) {
+    boolean _isParallel = this.isParallel();
+    if (_isParallel) {
+      Resource _elvis = null;
+      Resource _resource = this.context.getResourceSet().getResource(uri, false);
+      if (_resource != null) {
+        _elvis = _resource;
+      } else {
+        Resource _createResource = this.context.getResourceSet().createResource(uri);
+        _elvis = _createResource;
+      }
+      final Resource resource = _elvis;
+      if ((resource != null)) {
+        return resource;
+      }
+    }
+    return this.context.getResourceSet().getResource(uri, true);
+  }
+  
+  /**
+   * Loads the resources of one cluster that are not loaded yet in parallel. Reading and parsing the files is
+   * independent per resource, the parsers create a new lexer and parser for each invocation.
+   * 
+   * @since 2.16
+   */
+  protected void load(final List<Resource> resources) {
+    final Map<Object, Object> loadOptions = this.context.getResourceSet().getLoadOptions();
+    final Function1<Resource, Boolean> _function = (Resource it) -> {
+      boolean _isLoaded = it.isLoaded();
+      return Boolean.valueOf((!_isLoaded));
+    };
+    final Function1<Resource, Callable<Resource>> _function_1 = (Resource resource) -> {
+      final Callable<Resource> _function_2 = () -> {
+        try {
+          resource.load(loadOptions);
+        } catch (final Throwable _t) {
+          if (_t instanceof IOException) {
+            final IOException e = (IOException)_t;
+            throw new WrappedException(e);
+          } else {
+            throw Exceptions.sneakyThrow(_t);
+          }
+        }
+        return resource;
+      };
+      return ((Callable<Resource>) _function_2);
+    };
+    this.<Resource>invokeAll(this.getParallelLoadingExecutor(), IterableExtensions.<Callable<Resource>>toList(IterableExtensions.<Resource, Callable<Resource>>map(IterableExtensions.<Resource>filter(resources, _function), _function_1)));
+  }
+  
+  /**
+   * Whether the resources are loaded in parallel.
+   * 
+   * @since 2.16
+   */
+  protected boolean isParallel() {
+    ExecutorService _parallelLoadingExecutor = this.getParallelLoadingExecutor();
+    return (_parallelLoadingExecutor != null);
+  }
+  
+  /**
+   * The executor that loads and indexes the resources in parallel, or <code>null</code>. Parallel loading requires an
+   * {@link ISynchronizable} resource set.
+   * 
+   * @since 2.16
+   */
+  protected ExecutorService getParallelLoadingExecutor() {
+    XtextResourceSet _resourceSet = this.context.getResourceSet();
+    if ((_resourceSet instanceof ISynchronizable<?>)) {
+      ExecutorService _elvis = null;
+      ExecutorService _loadingExecutor = this.context.getLoadingExecutor();
+      if (_loadingExecutor != null) {
+        _elvis = _loadingExecutor;
+      } else {
+        ExecutorService _executor = this.context.getExecutor();
+        _elvis = _executor;
+      }
+      return _elvis;
+    }
+    return null;
+  }
+  
+  /**
+   * The executor that resolves, validates and generates the resources in parallel, or <code>null</code>.
+   * 
+   * @since 2.16
+   */
+  protected ExecutorService getParallelProcessingExecutor() {
+    XtextResourceSet _resourceSet = this.context.getResourceSet();
+    if ((_resourceSet instanceof ISynchronizable<?>)) {
+      return this.context.getExecutor();
+    }
+    return null;
+  }
+  
+  private <T extends Object> List<T> invokeAll(final ExecutorService executor, final List<Callable<T>> tasks) {
+    try {
+      final ArrayList<T> result = CollectionLiterals.<T>newArrayList();
+      try {
+        List<Future<T>> _invokeAll = executor.<T>invokeAll(tasks);
+        for (final Future<T> future : _invokeAll) {
+          T _get = future.get();
+          result.add(_get);
+        }
+      } catch (final Throwable _t) {
+        if (_t instanceof ExecutionException) {
+          final ExecutionException e = (ExecutionException)_t;
+          throw e.getCause();
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+      return result;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
   protected boolean isSource(final URI uri) {
     final IResourceServiceProvider provider = this.context.getResourceServiceProvider(uri);
     return ((provider instanceof IResourceServiceProviderExtension) && 
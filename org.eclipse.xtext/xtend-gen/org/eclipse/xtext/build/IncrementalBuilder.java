@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -24,6 +25,7 @@ import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.Data;
 import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.build.BatchingIssueStream;
 import org.eclipse.xtext.build.BuildContext;
 import org.eclipse.xtext.build.BuildRequest;
 import org.eclipse.xtext.build.IndexState;
@@ -42,6 +44,7 @@ import org.eclipse.xtext.generator.trace.TraceRegionSerializer;
 import org.eclipse.xtext.parser.IEncodingProvider;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.ISynchronizable;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.clustering.DisabledClusteringPolicy;
@@ -264,6 +267,8 @@ public class IncrementalBuilder {
           this.unloadResource(delta.getUri());
         }
       }
+      ExecutorService _executor = this.context.getExecutor();
+      final boolean parallel = (_executor != null);
       final ArrayList<IResourceDescription.Delta> resolvedDeltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
       final Function1<IResourceDescription.Delta, Boolean> _function_1 = (IResourceDescription.Delta it) -> {
         IResourceDescription _new = it.getNew();
@@ -287,7 +292,9 @@ public class IncrementalBuilder {
         final IResourceDescription.Manager manager = serviceProvider.getResourceDescriptionManager();
         final IResourceDescription description = manager.getResourceDescription(resource);
         final SerializableResourceDescription copiedDescription = SerializableResourceDescription.createCopy(description);
-        result.getNewIndex().addDescription(resource.getURI(), copiedDescription);
+        if ((!parallel)) {
+          result.getNewIndex().addDescription(resource.getURI(), copiedDescription);
+        }
         this._operationCanceledManager.checkCanceled(this.request.getCancelIndicator());
         if ((((!this.request.isIndexOnly()) && this.validate(resource)) && serviceProvider.<IShouldGenerate>get(IShouldGenerate.class).shouldGenerate(resource, CancelIndicator.NullImpl))) {
           this._operationCanceledManager.checkCanceled(this.request.getCancelIndicator());
@@ -298,6 +305,16 @@ public class IncrementalBuilder {
       };
       Iterable<IResourceDescription.Delta> _executeClustered = this.context.<IResourceDescription.Delta>executeClustered(IterableExtensions.<IResourceDescription.Delta, URI>map(IterableExtensions.<IResourceDescription.Delta>filter(result.getResourceDeltas(), _function_2), _function_3), _function_4);
       Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, _executeClustered);
+      if (parallel) {
+        final Function1<IResourceDescription.Delta, Boolean> _function_5 = (IResourceDescription.Delta it) -> {
+          IResourceDescription _new = it.getNew();
+          return Boolean.valueOf((_new != null));
+        };
+        Iterable<IResourceDescription.Delta> _filter_1 = IterableExtensions.<IResourceDescription.Delta>filter(resolvedDeltas, _function_5);
+        for (final IResourceDescription.Delta delta_1 : _filter_1) {
+          result.getNewIndex().addDescription(delta_1.getUri(), delta_1.getNew());
+        }
+      }
       IndexState _state = this.request.getState();
       return new IncrementalBuilder.Result(_state, resolvedDeltas);
     }
@@ -314,8 +331,30 @@ public class IncrementalBuilder {
       if ((resourceValidator == null)) {
         return true;
       }
+      final BuildRequest.IPostValidationCallback callback = this.request.getAfterValidate();
+      if ((resourceValidator instanceof IResourceValidator.Streaming)) {
+        if (((callback instanceof BuildRequest.IStreamingValidationCallback) && ((IResourceValidator.Streaming)resourceValidator).isStreamingSupported())) {
+          URI _uRI = resource.getURI();
+          long _issueStreamingInterval = this.request.getIssueStreamingInterval();
+          final BatchingIssueStream stream = new BatchingIssueStream(_uRI, ((BuildRequest.IStreamingValidationCallback)callback), this.request, _issueStreamingInterval);
+          boolean completed = false;
+          try {
+            ((IResourceValidator.Streaming)resourceValidator).streamIssues(resource, CheckMode.ALL, this.request.getCancelIndicator(), stream);
+            completed = true;
+          } finally {
+            if ((!completed)) {
+              stream.discard();
+            }
+          }
+          synchronized (this.request) {
+            return ((BuildRequest.IStreamingValidationCallback)callback).afterValidate(resource.getURI(), stream.getIssues());
+          }
+        }
+      }
       final List<Issue> validationResult = resourceValidator.validate(resource, CheckMode.ALL, null);
-      return this.request.getAfterValidate().afterValidate(resource.getURI(), validationResult);
+      synchronized (this.request) {
+        return callback.afterValidate(resource.getURI(), validationResult);
+      }
     }
     
     protected void generate(final Resource resource, final BuildRequest request, final Source2GeneratedMapping newMappings) {
@@ -324,19 +363,27 @@ public class IncrementalBuilder {
       if ((generator == null)) {
         return;
       }
-      final Set<URI> previous = newMappings.deleteSource(resource.getURI());
+      Set<URI> _xsynchronizedexpression = null;
+      synchronized (request) {
+        _xsynchronizedexpression = newMappings.deleteSource(resource.getURI());
+      }
+      final Set<URI> previous = _xsynchronizedexpression;
       URIBasedFileSystemAccess _createFileSystemAccess = this.createFileSystemAccess(serviceProvider, resource);
       final Procedure1<URIBasedFileSystemAccess> _function = (URIBasedFileSystemAccess it) -> {
         final URIBasedFileSystemAccess.BeforeWrite _function_1 = (URI uri, String outputCfgName, InputStream contents) -> {
-          newMappings.addSource2Generated(resource.getURI(), uri, outputCfgName);
-          previous.remove(uri);
-          request.getAfterGenerateFile().apply(resource.getURI(), uri);
+          synchronized (request) {
+            newMappings.addSource2Generated(resource.getURI(), uri, outputCfgName);
+            previous.remove(uri);
+            request.getAfterGenerateFile().apply(resource.getURI(), uri);
+          }
           return contents;
         };
         it.setBeforeWrite(_function_1);
         final URIBasedFileSystemAccess.BeforeDelete _function_2 = (URI uri) -> {
-          newMappings.deleteGenerated(uri);
-          request.getAfterDeleteFile().apply(uri);
+          synchronized (request) {
+            newMappings.deleteGenerated(uri);
+            request.getAfterDeleteFile().apply(uri);
+          }
           return true;
         };
         it.setBeforeDelete(_function_2);
@@ -361,7 +408,9 @@ public class IncrementalBuilder {
       final Consumer<URI> _function_1 = (URI it) -> {
         try {
           this.context.getResourceSet().getURIConverter().delete(it, CollectionLiterals.<Object, Object>emptyMap());
-          request.getAfterDeleteFile().apply(it);
+          synchronized (request) {
+            request.getAfterDeleteFile().apply(it);
+          }
         } catch (Throwable _e) {
           throw Exceptions.sneakyThrow(_e);
         }
@@ -412,6 +461,10 @@ public class IncrementalBuilder {
       final IndexState oldState = new IndexState(_copy, _copy_1);
       CancelIndicator _cancelIndicator = request.getCancelIndicator();
       final BuildContext context = new BuildContext(languages, resourceSet, oldState, clusteringPolicy, _cancelIndicator);
+      if ((resourceSet instanceof ISynchronizable<?>)) {
+        context.setExecutor(request.getParallelExecutor());
+        context.setLoadingExecutor(request.getLoadingExecutor());
+      }
       final IncrementalBuilder.InternalStatefulIncrementalBuilder builder = this.provider.get();
       builder.setContext(context);
       builder.setRequest(request);
@@ -121,8 +121,14 @@ public class Indexer {
     }
   }
   
+  /**
+   * The exported objects of a resource during the indexing phase of a build. Its reference descriptions and imported
+   * names are not known yet.
+   * 
+   * @since 2.16 public
+   */
   @Log
-  protected static class ResolvedResourceDescription extends AbstractResourceDescription {
+  public static class ResolvedResourceDescription extends AbstractResourceDescription {
     @Accessors(AccessorType.PUBLIC_GETTER)
     private URI URI;
     
@@ -259,7 +265,7 @@ public class Indexer {
       final Function1<Resource, IResourceDescription.Delta> _function = (Resource it) -> {
         return this.addToIndex(it, true, oldIndex, context);
       };
-      return IterableExtensions.<IResourceDescription.Delta>toList(context.<IResourceDescription.Delta>executeClustered(affectedUris, _function));
+      return IterableExtensions.<IResourceDescription.Delta>toList(context.<IResourceDescription.Delta>executeClusteredIndexing(affectedUris, _function));
     } finally {
       this.compilerPhases.setIndexing(context.getResourceSet(), false);
     }
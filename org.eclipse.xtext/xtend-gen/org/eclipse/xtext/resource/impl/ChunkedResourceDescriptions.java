@@ -16,9 +16,11 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import org.eclipse.emf.common.notify.Adapter;
@@ -169,6 +171,13 @@ public class ChunkedResourceDescriptions extends AbstractCompoundSelectable impl
     return this.chunk2resourceDescriptions.get(containerHandle);
   }
   
+  /**
+   * @since 2.16
+   */
+  public Set<String> getChunkNames() {
+    return Collections.<String>unmodifiableSet(this.chunk2resourceDescriptions.keySet());
+  }
+  
   @Override
   public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
     final int numChunks = in.readInt();
@@ -10,11 +10,14 @@ package org.eclipse.xtext.resource.persistence;
 import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
@@ -24,6 +27,8 @@ import org.eclipse.xtext.generator.IContextualOutputConfigurationProvider;
 import org.eclipse.xtext.generator.IFileSystemAccessExtension3;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.resource.persistence.IResourceStorageFacade;
+import org.eclipse.xtext.resource.persistence.IndexedResourceStorageLoadable;
+import org.eclipse.xtext.resource.persistence.IndexedResourceStorageWritable;
 import org.eclipse.xtext.resource.persistence.ResourceStorageLoadable;
 import org.eclipse.xtext.resource.persistence.ResourceStorageProviderAdapter;
 import org.eclipse.xtext.resource.persistence.ResourceStorageWritable;
@@ -62,6 +67,15 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
   @Accessors
   private boolean storeNodeModel = false;
   
+  /**
+   * Whether resources are stored in the uncompressed {@link IndexedResourceStorageWritable indexed format}. Stored
+   * resources are always read in the format they have been written in.
+   * 
+   * @since 2.16
+   */
+  @Accessors
+  private boolean indexedStorage = false;
+  
   /**
    * @return whether the given resource should be loaded from stored resource state
    */
@@ -96,10 +110,22 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
           return inputStream;
         }
       }
-      InputStream _xifexpression = null;
-      boolean _exists = resource.getResourceSet().getURIConverter().exists(this.getBinaryStorageURI(resource.getURI()), CollectionLiterals.<Object, Object>emptyMap());
-      if (_exists) {
-        _xifexpression = resource.getResourceSet().getURIConverter().createInputStream(this.getBinaryStorageURI(resource.getURI()));
+      final URI binaryStorageURI = this.getBinaryStorageURI(resource.getURI());
+      final boolean binaryStorageExists = resource.getResourceSet().getURIConverter().exists(binaryStorageURI, CollectionLiterals.<Object, Object>emptyMap());
+      URI _xifexpression = null;
+      if (binaryStorageExists) {
+        _xifexpression = binaryStorageURI;
+      } else {
+        _xifexpression = this.getFileSystemAccess(resource).getURI(this.computeOutputPath(resource));
+      }
+      final URI storageURI = _xifexpression;
+      final ResourceStorageLoadable mapped = this.createMappedResourceStorageLoadable(storageURI);
+      if ((mapped != null)) {
+        return mapped;
+      }
+      InputStream _xifexpression_1 = null;
+      if (binaryStorageExists) {
+        _xifexpression_1 = resource.getResourceSet().getURIConverter().createInputStream(binaryStorageURI);
       } else {
         InputStream _xblockexpression = null;
         {
@@ -107,15 +133,40 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
           final String outputRelativePath = this.computeOutputPath(resource);
           _xblockexpression = fsa.readBinaryFile(outputRelativePath);
         }
-        _xifexpression = _xblockexpression;
+        _xifexpression_1 = _xblockexpression;
       }
-      final InputStream inputStream_1 = _xifexpression;
+      final InputStream inputStream_1 = _xifexpression_1;
       return this.createResourceStorageLoadable(inputStream_1);
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
     }
   }
   
+  /**
+   * Maps the given storage into memory if it is a local file in the {@link IndexedResourceStorageWritable indexed
+   * format}.
+   * 
+   * @return the loadable for the mapped storage or <code>null</code> if the storage cannot be mapped
+   * @since 2.16
+   */
+  protected ResourceStorageLoadable createMappedResourceStorageLoadable(final URI storageURI) {
+    try {
+      if (((storageURI == null) || (!storageURI.isFile()))) {
+        return null;
+      }
+      String _fileString = storageURI.toFileString();
+      final File file = new File(_fileString);
+      if (((!file.isFile()) || (!IndexedResourceStorageLoadable.isIndexedStorage(file)))) {
+        return null;
+      }
+      ByteBuffer _map = IndexedResourceStorageLoadable.map(file);
+      boolean _isStoreNodeModel = this.isStoreNodeModel();
+      return new IndexedResourceStorageLoadable(_map, _isStoreNodeModel);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
   @Override
   public void saveResource(final StorageAwareResource resource, final IFileSystemAccessExtension3 fsa) {
     final String path = this.computeOutputPath(resource);
@@ -142,14 +193,36 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
   
   @Override
   public ResourceStorageLoadable createResourceStorageLoadable(final InputStream in) {
-    boolean _isStoreNodeModel = this.isStoreNodeModel();
-    return new ResourceStorageLoadable(in, _isStoreNodeModel);
+    try {
+      InputStream _xifexpression = null;
+      boolean _markSupported = in.markSupported();
+      if (_markSupported) {
+        _xifexpression = in;
+      } else {
+        _xifexpression = new BufferedInputStream(in);
+      }
+      final InputStream buffered = _xifexpression;
+      boolean _isIndexedStorage = IndexedResourceStorageLoadable.isIndexedStorage(buffered);
+      if (_isIndexedStorage) {
+        boolean _isStoreNodeModel = this.isStoreNodeModel();
+        return new IndexedResourceStorageLoadable(buffered, _isStoreNodeModel);
+      }
+      boolean _isStoreNodeModel_1 = this.isStoreNodeModel();
+      return new ResourceStorageLoadable(buffered, _isStoreNodeModel_1);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
   }
   
   @Override
   public ResourceStorageWritable createResourceStorageWritable(final OutputStream out) {
-    boolean _isStoreNodeModel = this.isStoreNodeModel();
-    return new ResourceStorageWritable(out, _isStoreNodeModel);
+    boolean _isIndexedStorage = this.isIndexedStorage();
+    if (_isIndexedStorage) {
+      boolean _isStoreNodeModel = this.isStoreNodeModel();
+      return new IndexedResourceStorageWritable(out, _isStoreNodeModel);
+    }
+    boolean _isStoreNodeModel_1 = this.isStoreNodeModel();
+    return new ResourceStorageWritable(out, _isStoreNodeModel_1);
   }
   
   /**
@@ -216,4 +289,13 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
   public void setStoreNodeModel(final boolean storeNodeModel) {
     this.storeNodeModel = storeNodeModel;
   }
+  
+  @Pure
+  public boolean isIndexedStorage() {
+    return this.indexedStorage;
+  }
+  
+  public void setIndexedStorage(final boolean indexedStorage) {
+    this.indexedStorage = indexedStorage;
+  }
 }
@@ -25,6 +25,7 @@ import org.eclipse.xtext.resource.persistence.ResourceStorageLoadable;
 import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.eclipse.xtext.xbase.lib.Pure;
 
 /**
@@ -49,9 +50,16 @@ public class StorageAwareResource extends LazyLinkingResource {
   @Accessors
   private boolean isLoadedFromStorage = false;
   
-  @Accessors
   private IResourceDescription resourceDescription = null;
   
+  /**
+   * Reads the resource description of a resource that was loaded from storage when it is first accessed.
+   * 
+   * @since 2.16
+   */
+  @Accessors(AccessorType.PUBLIC_SETTER)
+  private volatile Procedure0 resourceDescriptionLoader;
+  
   @Override
   public void load(final Map<?, ?> options) throws IOException {
     if (((((!this.isLoaded) && (!this.isLoading)) && (this.resourceStorageFacade != null)) && this.resourceStorageFacade.shouldLoadFromStorage(this))) {
@@ -96,15 +104,41 @@ public class StorageAwareResource extends LazyLinkingResource {
     }
   }
   
+  /**
+   * Only the first access to a lazily read resource description synchronizes on this resource.
+   */
+  public IResourceDescription getResourceDescription() {
+    if ((this.resourceDescriptionLoader != null)) {
+      synchronized (this) {
+        final Procedure0 loader = this.resourceDescriptionLoader;
+        if ((loader != null)) {
+          try {
+            loader.apply();
+          } finally {
+            this.resourceDescriptionLoader = null;
+          }
+        }
+      }
+    }
+    return this.resourceDescription;
+  }
+  
+  public void setResourceDescription(final IResourceDescription resourceDescription) {
+    this.resourceDescription = resourceDescription;
+    this.resourceDescriptionLoader = null;
+  }
+  
   @Override
   protected void doUnload() {
     super.doUnload();
     this.isLoadedFromStorage = false;
+    this.resourceDescriptionLoader = null;
   }
   
   @Override
   protected void clearInternalState() {
     this.isLoadedFromStorage = false;
+    this.resourceDescriptionLoader = null;
     super.clearInternalState();
   }
   
@@ -149,12 +183,7 @@ public class StorageAwareResource extends LazyLinkingResource {
     this.isLoadedFromStorage = isLoadedFromStorage;
   }
   
-  @Pure
-  public IResourceDescription getResourceDescription() {
-    return this.resourceDescription;
-  }
-  
-  public void setResourceDescription(final IResourceDescription resourceDescription) {
-    this.resourceDescription = resourceDescription;
+  public void setResourceDescriptionLoader(final Procedure0 resourceDescriptionLoader) {
+    this.resourceDescriptionLoader = resourceDescriptionLoader;
   }
 }